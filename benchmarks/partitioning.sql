@@ -0,0 +1,121 @@
+-- Import and per-year query benchmark: unpartitioned vs. decade-partitioned ted_talks
+--
+-- Builds both layouts side by side in a scratch schema from the same synthetic rows, then times
+-- a bulk import and the per-year queries the application runs. Nothing in the application
+-- schema is touched.
+--
+-- Run against a disposable PostgreSQL (13+) database:
+--   psql -U tedtalks_user -d tedtalks -v rows=10000000 -f benchmarks/partitioning.sql
+-- Record the reported timings and plans together with the row count and server settings;
+-- results depend heavily on shared_buffers, storage and autovacuum, so compare runs on the same host.
+--
+-- No results are recorded here yet: the script was written alongside the V6 partitioning migration
+-- but has not been run against a PostgreSQL server, so the partitioned layout's effect on import
+-- and per-year query times is unmeasured.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+    \set rows 1000000
+\endif
+\timing on
+
+DROP SCHEMA IF EXISTS bench_partitioning CASCADE;
+CREATE SCHEMA bench_partitioning;
+SET search_path = bench_partitioning;
+
+-- Synthetic source rows: years 1984-2024, ~1/20 of titles per speaker
+CREATE UNLOGGED TABLE source AS
+SELECT 'Talk ' || g                         AS title,
+       'Speaker ' || (g % (:rows / 20 + 1)) AS author,
+       1984 + (g % 41)                      AS talk_year,
+       1 + (g % 12)                         AS talk_month,
+       (random() * 10000000)::BIGINT        AS views,
+       (random() * 100000)::BIGINT          AS likes
+FROM generate_series(1, :rows) g;
+
+CREATE TABLE talks_flat (
+    id BIGSERIAL PRIMARY KEY,
+    title VARCHAR(500) NOT NULL,
+    author VARCHAR(200) NOT NULL,
+    talk_year INTEGER NOT NULL,
+    talk_month INTEGER NOT NULL,
+    views BIGINT NOT NULL,
+    likes BIGINT NOT NULL,
+    influence_score DOUBLE PRECISION GENERATED ALWAYS AS (views * 0.7 + likes * 0.3) STORED,
+    UNIQUE (title, author)
+);
+CREATE INDEX ON talks_flat(author);
+CREATE INDEX ON talks_flat(talk_year);
+CREATE INDEX ON talks_flat(talk_year, talk_month);
+CREATE INDEX ON talks_flat(talk_year, influence_score DESC);
+
+CREATE TABLE talks_partitioned (
+    id BIGSERIAL,
+    title VARCHAR(500) NOT NULL,
+    author VARCHAR(200) NOT NULL,
+    talk_year INTEGER NOT NULL,
+    talk_month INTEGER NOT NULL,
+    views BIGINT NOT NULL,
+    likes BIGINT NOT NULL,
+    influence_score DOUBLE PRECISION GENERATED ALWAYS AS (views * 0.7 + likes * 0.3) STORED,
+    PRIMARY KEY (id, talk_year),
+    UNIQUE (title, author, talk_year)
+) PARTITION BY RANGE (talk_year);
+CREATE TABLE talks_partitioned_before_1990 PARTITION OF talks_partitioned FOR VALUES FROM (MINVALUE) TO (1990);
+CREATE TABLE talks_partitioned_1990s PARTITION OF talks_partitioned FOR VALUES FROM (1990) TO (2000);
+CREATE TABLE talks_partitioned_2000s PARTITION OF talks_partitioned FOR VALUES FROM (2000) TO (2010);
+CREATE TABLE talks_partitioned_2010s PARTITION OF talks_partitioned FOR VALUES FROM (2010) TO (2020);
+CREATE TABLE talks_partitioned_2020s PARTITION OF talks_partitioned FOR VALUES FROM (2020) TO (2030);
+CREATE TABLE talks_partitioned_default PARTITION OF talks_partitioned DEFAULT;
+CREATE INDEX ON talks_partitioned(author);
+CREATE INDEX ON talks_partitioned(talk_year, talk_month);
+CREATE INDEX ON talks_partitioned(talk_year, influence_score DESC);
+
+\echo '== 1. Bulk import (all rows, indexes in place) =='
+\echo '-- unpartitioned'
+INSERT INTO talks_flat (title, author, talk_year, talk_month, views, likes)
+SELECT title, author, talk_year, talk_month, views, likes FROM source;
+\echo '-- partitioned'
+INSERT INTO talks_partitioned (title, author, talk_year, talk_month, views, likes)
+SELECT title, author, talk_year, talk_month, views, likes FROM source;
+
+\echo '== 2. Incremental import of the newest year (upsert, as the CSV import does) =='
+\echo '-- unpartitioned'
+INSERT INTO talks_flat (title, author, talk_year, talk_month, views, likes)
+SELECT title || ' (new)', author, 2024, talk_month, views, likes FROM source WHERE talk_year = 2020
+ON CONFLICT (title, author) DO UPDATE SET views = EXCLUDED.views, likes = EXCLUDED.likes;
+\echo '-- partitioned'
+INSERT INTO talks_partitioned (title, author, talk_year, talk_month, views, likes)
+SELECT title || ' (new)', author, 2024, talk_month, views, likes FROM source WHERE talk_year = 2020
+ON CONFLICT (title, author, talk_year) DO UPDATE SET views = EXCLUDED.views, likes = EXCLUDED.likes;
+
+VACUUM ANALYZE talks_flat;
+VACUUM ANALYZE talks_partitioned;
+
+\echo '== 3. findByYear =='
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM talks_flat WHERE talk_year = 2015;
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM talks_partitioned WHERE talk_year = 2015;
+
+\echo '== 4. Most influential talk per year =='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT DISTINCT ON (talk_year) * FROM talks_flat ORDER BY talk_year, influence_score DESC;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT DISTINCT ON (talk_year) * FROM talks_partitioned ORDER BY talk_year, influence_score DESC;
+
+\echo '== 5. Per-year totals for one decade =='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT talk_year, COUNT(*), SUM(views) FROM talks_flat WHERE talk_year BETWEEN 2010 AND 2019 GROUP BY talk_year;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT talk_year, COUNT(*), SUM(views) FROM talks_partitioned WHERE talk_year BETWEEN 2010 AND 2019 GROUP BY talk_year;
+
+\echo '== 6. Vacuum after updating one year (only one partition is dirtied) =='
+UPDATE talks_flat SET views = views + 1 WHERE talk_year = 2023;
+UPDATE talks_partitioned SET views = views + 1 WHERE talk_year = 2023;
+\echo '-- unpartitioned'
+VACUUM talks_flat;
+\echo '-- partitioned (newest partition only)'
+VACUUM talks_partitioned_2020s;
+
+RESET search_path;
+DROP SCHEMA bench_partitioning CASCADE;
@@ -0,0 +1,130 @@
+-- Size and aggregation benchmark: speaker name column vs. speaker_id foreign key on ted_talks
+--
+-- Builds both layouts side by side in a scratch schema from the same synthetic rows, reports
+-- table and index sizes, and times the per-speaker aggregations the application runs.
+-- Nothing in the application schema is touched.
+--
+-- Run against a disposable PostgreSQL (13+) database:
+--   psql -U tedtalks_user -d tedtalks -v rows=5000000 -v speakers=50000 -f benchmarks/speaker_fk.sql
+-- Compare runs on the same host; record the row and speaker counts with the results.
+--
+-- No results are recorded here yet: the script was written alongside the V7 speaker_id migration
+-- but has not been run against a PostgreSQL server, so the size saving and the cost of the speakers
+-- join are unmeasured.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+    \set rows 1000000
+\endif
+\if :{?speakers}
+\else
+    \set speakers 20000
+\endif
+\timing on
+
+DROP SCHEMA IF EXISTS bench_speaker_fk CASCADE;
+CREATE SCHEMA bench_speaker_fk;
+SET search_path = bench_speaker_fk;
+
+-- Speaker names of realistic length (TED speaker names average ~14 characters)
+CREATE TABLE speakers (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(200) NOT NULL UNIQUE
+);
+INSERT INTO speakers (name)
+SELECT 'Speaker ' || md5(g::text) FROM generate_series(1, :speakers) g;
+
+CREATE UNLOGGED TABLE source AS
+SELECT 'Talk ' || g                       AS title,
+       1 + (g % :speakers)                AS speaker_id,
+       1984 + (g % 41)                    AS talk_year,
+       (random() * 10000000)::BIGINT      AS views,
+       (random() * 100000)::BIGINT        AS likes
+FROM generate_series(1, :rows) g;
+
+CREATE TABLE talks_by_name (
+    id BIGSERIAL PRIMARY KEY,
+    title VARCHAR(500) NOT NULL,
+    author VARCHAR(200) NOT NULL,
+    talk_year INTEGER NOT NULL,
+    views BIGINT NOT NULL,
+    likes BIGINT NOT NULL,
+    influence_score DOUBLE PRECISION GENERATED ALWAYS AS (views * 0.7 + likes * 0.3) STORED,
+    UNIQUE (title, author, talk_year)
+);
+CREATE INDEX idx_talks_by_name_author ON talks_by_name(author);
+
+CREATE TABLE talks_by_id (
+    id BIGSERIAL PRIMARY KEY,
+    title VARCHAR(500) NOT NULL,
+    speaker_id BIGINT NOT NULL REFERENCES speakers(id),
+    talk_year INTEGER NOT NULL,
+    views BIGINT NOT NULL,
+    likes BIGINT NOT NULL,
+    influence_score DOUBLE PRECISION GENERATED ALWAYS AS (views * 0.7 + likes * 0.3) STORED,
+    UNIQUE (title, speaker_id, talk_year)
+);
+CREATE INDEX idx_talks_by_id_speaker ON talks_by_id(speaker_id);
+
+\echo '== 1. Load =='
+\echo '-- name column'
+INSERT INTO talks_by_name (title, author, talk_year, views, likes)
+SELECT src.title, s.name, src.talk_year, src.views, src.likes
+FROM source src JOIN speakers s ON s.id = src.speaker_id;
+\echo '-- speaker_id column (includes the foreign key checks)'
+INSERT INTO talks_by_id (title, speaker_id, talk_year, views, likes)
+SELECT title, speaker_id, talk_year, views, likes FROM source;
+
+VACUUM ANALYZE talks_by_name;
+VACUUM ANALYZE talks_by_id;
+
+\echo '== 2. Table and index sizes =='
+SELECT relname                                               AS table_name,
+       pg_size_pretty(pg_relation_size(relid))              AS heap,
+       pg_size_pretty(pg_indexes_size(relid))               AS indexes,
+       pg_size_pretty(pg_total_relation_size(relid))        AS total
+FROM pg_stat_user_tables
+WHERE schemaname = 'bench_speaker_fk' AND relname IN ('talks_by_name', 'talks_by_id')
+ORDER BY relname;
+
+SELECT indexrelname                                          AS index_name,
+       pg_size_pretty(pg_relation_size(indexrelid))          AS size
+FROM pg_stat_user_indexes
+WHERE schemaname = 'bench_speaker_fk' AND relname IN ('talks_by_name', 'talks_by_id')
+ORDER BY relname, indexrelname;
+
+\echo '== 3. Totals per speaker (speaker_stats / findAllWithStats) =='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT author, COUNT(*), SUM(views), SUM(likes), SUM(influence_score)
+FROM talks_by_name
+GROUP BY author;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT s.name, t.talk_count, t.total_views, t.total_likes, t.total_influence
+FROM (
+    SELECT speaker_id, COUNT(*) AS talk_count, SUM(views) AS total_views, SUM(likes) AS total_likes,
+           SUM(influence_score) AS total_influence
+    FROM talks_by_id
+    GROUP BY speaker_id
+) t
+JOIN speakers s ON s.id = t.speaker_id;
+
+\echo '== 4. Top 10 speakers by influence =='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT author, SUM(influence_score) AS total FROM talks_by_name
+GROUP BY author ORDER BY total DESC LIMIT 10;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT s.name, t.total
+FROM (SELECT speaker_id, SUM(influence_score) AS total FROM talks_by_id
+      GROUP BY speaker_id ORDER BY total DESC LIMIT 10) t
+JOIN speakers s ON s.id = t.speaker_id;
+
+\echo '== 5. One speaker by name (findBySpeakerName) =='
+SELECT name AS probe FROM speakers WHERE id = :speakers / 2 \gset
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM talks_by_name WHERE author = :'probe';
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.*, s.name FROM talks_by_id t JOIN speakers s ON s.id = t.speaker_id WHERE s.name = :'probe';
+
+RESET search_path;
+DROP SCHEMA bench_speaker_fk CASCADE;
@@ -0,0 +1,13 @@
+package com.iodigital.tedtalks.application.analysis;
+
+/**
+ * Where influence aggregations are evaluated.
+ */
+public enum AnalysisExecutionMode {
+    /** Push aggregation down to SQL when the repository supports it, otherwise aggregate in the JVM. */
+    AUTO,
+    /** Always push GROUP BY / per-year selection down to the database. */
+    SQL,
+    /** Always scan the metrics projection and aggregate in the JVM. */
+    JVM
+}
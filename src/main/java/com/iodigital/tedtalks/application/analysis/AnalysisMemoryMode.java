@@ -0,0 +1,11 @@
+package com.iodigital.tedtalks.application.analysis;
+
+/**
+ * Which in-memory views of every talk are kept.
+ */
+public enum AnalysisMemoryMode {
+    /** Keep the exact speaker aggregates, distribution sketches and analysis snapshots, plus the top-k sketch. */
+    EXACT,
+    /** Keep only the constant-memory top-k sketch; exact analyses are answered by the database or a scan. */
+    APPROXIMATE
+}
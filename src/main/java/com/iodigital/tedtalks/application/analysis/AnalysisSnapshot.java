@@ -0,0 +1,545 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import com.iodigital.tedtalks.application.dto.TedTalkDto;
+import com.iodigital.tedtalks.domain.model.Speaker;
+import com.iodigital.tedtalks.domain.model.TedTalk;
+import com.iodigital.tedtalks.domain.model.valueobject.InfluenceWeights;
+import com.iodigital.tedtalks.domain.model.valueobject.TalkDate;
+import com.iodigital.tedtalks.domain.repository.SpeakerAggregate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable, column-oriented copy of the talk dataset with everything the influence analyses
+ * need precomputed: the score of every talk, per-speaker totals, the speaker ranking and the
+ * best talk of every year, and a {@link RollupCube} over year, month and speaker. Row {@code r}
+ * of every talk column belongs to the same talk.
+ * <p>
+ * Instances are built once by {@link Builder} and never change, so any number of readers can
+ * use one without locking while a newer one is being built. Rankings under non-default
+ * {@link InfluenceWeights} and results of year and month range queries are computed on first
+ * use and the most recently used ones are kept, for as long as the snapshot is current.
+ */
+public final class AnalysisSnapshot {
+
+    private static final int MAX_CACHED_WEIGHTINGS = 16;
+    private static final int MAX_CACHED_RANGES = 256;
+
+    private final long epoch;
+    private final ScoringKernel kernel;
+
+    // Talk columns
+    private final long[] idHigh;
+    private final long[] idLow;
+    private final String[] titles;
+    private final String[] links;
+    private final int[] speaker;
+    private final int[] year;
+    private final int[] month;
+    private final long[] views;
+    private final long[] likes;
+
+    // Speaker columns, indexed by speaker code
+    private final String[] speakerNames;
+    private final Map<String, Integer> speakerCodes;
+    private final long[] speakerTalks;
+    private final long[] speakerViews;
+    private final long[] speakerLikes;
+    private final int[] speakerFirstYear;
+    private final int[] speakerLastYear;
+
+    // Rows grouped by talk year, in row order within a year: year y holds
+    // rowsByYear[yearStart[y - firstYear]] until rowsByYear[yearStart[y - firstYear + 1]]
+    private final int firstYear;
+    private final int[] yearStart;
+    private final int[] rowsByYear;
+
+    // Per-speaker running totals by year, for year ranges: entries speakerYearStart[code] until
+    // speakerYearStart[code + 1] hold the speaker's talk years in ascending order
+    private final int[] speakerYearStart;
+    private final int[] speakerYears;
+    private final long[] cumulativeTalks;
+    private final long[] cumulativeViews;
+    private final long[] cumulativeLikes;
+    private final double[] cumulativeInfluence;
+
+    // Rows by talk month, best score first within a month: month key m = year * 12 + month - 1
+    // holds rowsByMonth[monthStart[m - firstMonthKey]] until rowsByMonth[monthStart[m - firstMonthKey + 1]]
+    private final int firstMonthKey;
+    private final int[] monthStart;
+    private final int[] rowsByMonth;
+
+    private final Ranking defaultRanking;
+    private final RollupCube rollup;
+    private final LruMemo<InfluenceWeights, Ranking> weightedRankings = new LruMemo<>(MAX_CACHED_WEIGHTINGS);
+    private final LruMemo<YearRange, List<SpeakerAggregate>> yearRangeResults = new LruMemo<>(MAX_CACHED_RANGES);
+    private final LruMemo<MonthRange, List<TedTalkDto>> monthRangeResults = new LruMemo<>(MAX_CACHED_RANGES);
+
+    private AnalysisSnapshot(long epoch, Builder builder, ScoringKernel kernel) {
+        int rows = builder.size;
+        this.epoch = epoch;
+        this.kernel = kernel;
+        this.idHigh = Arrays.copyOf(builder.idHigh, rows);
+        this.idLow = Arrays.copyOf(builder.idLow, rows);
+        this.titles = builder.titles.toArray(new String[0]);
+        this.links = builder.links.toArray(new String[0]);
+        this.speaker = Arrays.copyOf(builder.speaker, rows);
+        this.year = Arrays.copyOf(builder.year, rows);
+        this.month = Arrays.copyOf(builder.month, rows);
+        this.views = Arrays.copyOf(builder.views, rows);
+        this.likes = Arrays.copyOf(builder.likes, rows);
+
+        int speakers = builder.speakerNames.size();
+        this.speakerNames = builder.speakerNames.toArray(new String[0]);
+        this.speakerCodes = Map.copyOf(builder.speakerCodes);
+        this.speakerTalks = new long[speakers];
+        this.speakerViews = new long[speakers];
+        this.speakerLikes = new long[speakers];
+        this.speakerFirstYear = new int[speakers];
+        this.speakerLastYear = new int[speakers];
+        for (int row = 0; row < rows; row++) {
+            int code = speaker[row];
+            speakerFirstYear[code] = speakerTalks[code] == 0 ? year[row] : Math.min(speakerFirstYear[code], year[row]);
+            speakerLastYear[code] = speakerTalks[code] == 0 ? year[row] : Math.max(speakerLastYear[code], year[row]);
+            speakerTalks[code]++;
+            speakerViews[code] += views[row];
+            speakerLikes[code] += likes[row];
+        }
+
+        int minYear = Integer.MAX_VALUE;
+        int maxYear = Integer.MIN_VALUE;
+        for (int row = 0; row < rows; row++) {
+            minYear = Math.min(minYear, year[row]);
+            maxYear = Math.max(maxYear, year[row]);
+        }
+        this.firstYear = rows == 0 ? 0 : minYear;
+        this.yearStart = new int[rows == 0 ? 1 : maxYear - minYear + 2];
+        this.rowsByYear = countingSort(IntStream.range(0, rows).toArray(), year, yearStart);
+
+        this.defaultRanking = new Ranking(InfluenceWeights.DEFAULT);
+
+        // Stable counting sorts: by year, then by speaker, give rows ordered by speaker and year
+        int[] bySpeakerAndYear = countingSort(rowsByYear, speaker, null);
+        int entries = 0;
+        for (int i = 0; i < rows; i++) {
+            int row = bySpeakerAndYear[i];
+            int previous = i == 0 ? -1 : bySpeakerAndYear[i - 1];
+            if (previous < 0 || speaker[previous] != speaker[row] || year[previous] != year[row]) {
+                entries++;
+            }
+        }
+        this.speakerYearStart = new int[speakers + 1];
+        this.speakerYears = new int[entries];
+        this.cumulativeTalks = new long[entries];
+        this.cumulativeViews = new long[entries];
+        this.cumulativeLikes = new long[entries];
+        this.cumulativeInfluence = new double[entries];
+        int entry = -1;
+        for (int i = 0; i < rows; i++) {
+            int row = bySpeakerAndYear[i];
+            int previous = i == 0 ? -1 : bySpeakerAndYear[i - 1];
+            boolean newSpeaker = previous < 0 || speaker[previous] != speaker[row];
+            if (newSpeaker || year[previous] != year[row]) {
+                entry++;
+                speakerYears[entry] = year[row];
+                if (newSpeaker) {
+                    speakerYearStart[speaker[row]] = entry;
+                }
+                if (!newSpeaker) {
+                    cumulativeTalks[entry] = cumulativeTalks[entry - 1];
+                    cumulativeViews[entry] = cumulativeViews[entry - 1];
+                    cumulativeLikes[entry] = cumulativeLikes[entry - 1];
+                    cumulativeInfluence[entry] = cumulativeInfluence[entry - 1];
+                }
+            }
+            cumulativeTalks[entry]++;
+            cumulativeViews[entry] += views[row];
+            cumulativeLikes[entry] += likes[row];
+            cumulativeInfluence[entry] += defaultRanking.score[row];
+        }
+        speakerYearStart[speakers] = entries;
+
+        // Stable counting sort of the score ranking by month keeps the best talk first in every month
+        int[] monthKeys = new int[rows];
+        int minMonth = Integer.MAX_VALUE;
+        int maxMonth = Integer.MIN_VALUE;
+        for (int row = 0; row < rows; row++) {
+            monthKeys[row] = monthKey(year[row], month[row]);
+            minMonth = Math.min(minMonth, monthKeys[row]);
+            maxMonth = Math.max(maxMonth, monthKeys[row]);
+        }
+        this.firstMonthKey = rows == 0 ? 0 : minMonth;
+        this.monthStart = new int[rows == 0 ? 1 : maxMonth - minMonth + 2];
+        this.rowsByMonth = countingSort(rankByInfluence(defaultRanking.score), monthKeys, monthStart);
+
+        this.rollup = RollupCube.of(rows, speaker, year, month, views, likes, defaultRanking.score, speakerNames);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Increases with every published snapshot.
+     */
+    public long epoch() {
+        return epoch;
+    }
+
+    public int talkCount() {
+        return views.length;
+    }
+
+    public List<SpeakerAggregate> topSpeakers(int limit) {
+        return defaultRanking.topSpeakers(limit);
+    }
+
+    public Optional<SpeakerAggregate> speaker(String name) {
+        return defaultRanking.speaker(name);
+    }
+
+    /**
+     * The highest-scoring talk of every year, ordered by year.
+     */
+    public Map<Integer, TedTalkDto> mostInfluentialPerYear() {
+        return defaultRanking.mostInfluentialPerYear();
+    }
+
+    /**
+     * The analyses under the given weights. The default weights are always precomputed; others
+     * are scored in one pass over the view and like columns on first use.
+     */
+    public Ranking ranking(InfluenceWeights weights) {
+        if (weights.isDefault()) {
+            return defaultRanking;
+        }
+        return weightedRankings.get(weights, Ranking::new);
+    }
+
+    /**
+     * Speakers ranked by the influence of their talks from {@code fromYear} to {@code toYear}
+     * inclusive. Each speaker's totals are the difference of two running totals found by binary
+     * search, so a range costs O(speakers), however many talks it spans.
+     */
+    public List<SpeakerAggregate> topSpeakers(int fromYear, int toYear, int limit) {
+        return yearRangeResults.get(new YearRange(fromYear, toYear, limit), range -> {
+            TopK<SpeakerAggregate> best = new TopK<>(limit);
+            for (int code = 0; code < speakerNames.length; code++) {
+                int start = speakerYearStart[code];
+                int end = speakerYearStart[code + 1];
+                int first = firstYearAtLeast(start, end, fromYear);
+                int last = firstYearAtLeast(first, end, toYear);
+                if (last == end || speakerYears[last] != toYear) {
+                    last--;
+                }
+                if (first > last) {
+                    continue;
+                }
+                double influence = cumulativeInfluence[last] - (first > start ? cumulativeInfluence[first - 1] : 0);
+                if (best.accepts(influence)) {
+                    best.offer(new SpeakerAggregate(speakerNames[code],
+                            difference(cumulativeTalks, start, first, last),
+                            difference(cumulativeViews, start, first, last),
+                            difference(cumulativeLikes, start, first, last),
+                            influence, speakerYears[first], speakerYears[last]), influence);
+                }
+            }
+            return List.copyOf(best.toSortedList());
+        });
+    }
+
+    /**
+     * The highest-scoring talks from month {@code from} to {@code to} inclusive, best first.
+     * Every month's talks are stored best first, so this merges one cursor per month through a
+     * heap: O((months + limit) log months).
+     */
+    public List<TedTalkDto> topTalks(TalkDate from, TalkDate to, int limit) {
+        MonthRange key = new MonthRange(monthKey(from.year(), from.month()), monthKey(to.year(), to.month()), limit);
+        return monthRangeResults.get(key, range -> {
+            double[] score = defaultRanking.score;
+            int fromBucket = Math.max(0, range.from() - firstMonthKey);
+            int toBucket = Math.min(monthStart.length - 2, range.to() - firstMonthKey);
+            PriorityQueue<int[]> cursors = new PriorityQueue<>(
+                    (a, b) -> Double.compare(score[rowsByMonth[b[0]]], score[rowsByMonth[a[0]]]));
+            for (int bucket = fromBucket; bucket <= toBucket; bucket++) {
+                if (monthStart[bucket] < monthStart[bucket + 1]) {
+                    cursors.add(new int[]{monthStart[bucket], monthStart[bucket + 1]});
+                }
+            }
+            List<TedTalkDto> result = new ArrayList<>(Math.min(limit, rowsByMonth.length));
+            while (result.size() < limit && !cursors.isEmpty()) {
+                int[] cursor = cursors.poll();
+                int row = rowsByMonth[cursor[0]];
+                result.add(toDto(row, score[row]));
+                if (++cursor[0] < cursor[1]) {
+                    cursors.add(cursor);
+                }
+            }
+            return List.copyOf(result);
+        });
+    }
+
+    /**
+     * Talk counts, views, likes and influence by any combination of year, month and speaker.
+     */
+    public RollupCube rollup() {
+        return rollup;
+    }
+
+    private int firstYearAtLeast(int from, int to, int year) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (speakerYears[mid] < year) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long difference(long[] cumulative, int start, int first, int last) {
+        return cumulative[last] - (first > start ? cumulative[first - 1] : 0);
+    }
+
+    private static int monthKey(int year, int month) {
+        return year * 12 + month - 1;
+    }
+
+    private TedTalkDto toDto(int row, double score) {
+        return new TedTalkDto(
+                new UUID(idHigh[row], idLow[row]).toString(),
+                titles[row],
+                Speaker.create(speakerNames[speaker[row]], null),
+                year[row],
+                month[row],
+                views[row],
+                likes[row],
+                links[row],
+                score
+        );
+    }
+
+    /**
+     * {@code order} stably sorted by {@code key[row]}. When given, {@code starts} receives the
+     * position of the first row of every key from the smallest one up, plus the end.
+     */
+    static int[] countingSort(int[] order, int[] key, int[] starts) {
+        if (order.length == 0) {
+            return order;
+        }
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int row : order) {
+            min = Math.min(min, key[row]);
+            max = Math.max(max, key[row]);
+        }
+        int[] next = new int[max - min + 2];
+        for (int row : order) {
+            next[key[row] - min + 1]++;
+        }
+        for (int i = 1; i < next.length; i++) {
+            next[i] += next[i - 1];
+        }
+        if (starts != null) {
+            System.arraycopy(next, 0, starts, 0, next.length);
+        }
+        int[] sorted = new int[order.length];
+        for (int row : order) {
+            sorted[next[key[row] - min]++] = row;
+        }
+        return sorted;
+    }
+
+    /**
+     * Indexes of {@code influence}, highest value first and equal values in index order.
+     * Sorts longs holding the upper half of a descending sort key above the index; indexes
+     * whose keys share the upper half are then sorted the same way on the lower half.
+     */
+    static int[] rankByInfluence(double[] influence) {
+        int n = influence.length;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = (long) (int) (descendingKey(influence[i]) >>> 32) << 32 | i;
+        }
+        Arrays.sort(packed);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) packed[i];
+        }
+        int start = 0;
+        while (start < n) {
+            int end = start + 1;
+            while (end < n && packed[end] >>> 32 == packed[start] >>> 32) {
+                end++;
+            }
+            if (end - start > 1) {
+                for (int i = start; i < end; i++) {
+                    int row = order[i];
+                    // Flipping the sign bit makes the signed comparison order the lower half unsigned
+                    packed[i] = (long) ((int) descendingKey(influence[row]) ^ Integer.MIN_VALUE) << 32 | row;
+                }
+                Arrays.sort(packed, start, end);
+                for (int i = start; i < end; i++) {
+                    order[i] = (int) packed[i];
+                }
+            }
+            start = end;
+        }
+        return order;
+    }
+
+    /**
+     * A long whose signed order is the reverse of {@link Double#compare} on the values.
+     */
+    private static long descendingKey(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return ~(bits ^ (bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Talk scores, speaker totals, speaker ranking and best talk per year under one weighting.
+     * The default weighting goes through the same code, so any weighting equal to it ranks
+     * exactly like the default.
+     */
+    public final class Ranking {
+        private final InfluenceWeights weights;
+        private final double[] score;
+        private final double[] speakerInfluence;
+        // Speaker codes by total influence, best first
+        private final int[] order;
+        private final Map<Integer, TedTalkDto> bestTalkPerYear;
+
+        private Ranking(InfluenceWeights weights) {
+            int rows = views.length;
+            this.weights = weights;
+            this.score = new double[rows];
+            kernel.scores(views, likes, weights, score, rows);
+            this.speakerInfluence = new double[speakerNames.length];
+            kernel.groupSums(speaker, score, speakerInfluence, rows);
+            this.order = rankByInfluence(speakerInfluence);
+
+            // Scores in year order, so each year's best talk is the kernel's argmax over its range;
+            // rows keep their order within a year, so ties go to the first row as before
+            double[] scoreByYear = new double[rows];
+            for (int i = 0; i < rows; i++) {
+                scoreByYear[i] = score[rowsByYear[i]];
+            }
+            Map<Integer, TedTalkDto> bestTalks = new TreeMap<>();
+            for (int bucket = 0; bucket < yearStart.length - 1; bucket++) {
+                int best = kernel.argmax(scoreByYear, yearStart[bucket], yearStart[bucket + 1]);
+                if (best >= 0) {
+                    int row = rowsByYear[best];
+                    bestTalks.put(firstYear + bucket, toDto(row, score[row]));
+                }
+            }
+            this.bestTalkPerYear = Collections.unmodifiableMap(bestTalks);
+        }
+
+        public InfluenceWeights weights() {
+            return weights;
+        }
+
+        public List<SpeakerAggregate> topSpeakers(int limit) {
+            int count = Math.min(limit, order.length);
+            List<SpeakerAggregate> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(aggregate(order[i]));
+            }
+            return result;
+        }
+
+        public Optional<SpeakerAggregate> speaker(String name) {
+            Integer code = speakerCodes.get(name);
+            return code == null ? Optional.empty() : Optional.of(aggregate(code));
+        }
+
+        /**
+         * The highest-scoring talk of every year, ordered by year.
+         */
+        public Map<Integer, TedTalkDto> mostInfluentialPerYear() {
+            return bestTalkPerYear;
+        }
+
+        private SpeakerAggregate aggregate(int code) {
+            return new SpeakerAggregate(speakerNames[code], speakerTalks[code], speakerViews[code],
+                    speakerLikes[code], speakerInfluence[code], speakerFirstYear[code], speakerLastYear[code]);
+        }
+    }
+
+    private record YearRange(int from, int to, int limit) {
+    }
+
+    private record MonthRange(int from, int to, int limit) {
+    }
+
+    /**
+     * Collects talks into growable columns; {@link #build(long, ScoringKernel)} freezes them into a snapshot.
+     */
+    public static final class Builder {
+        private int size;
+        private long[] idHigh = new long[1024];
+        private long[] idLow = new long[1024];
+        private int[] speaker = new int[1024];
+        private int[] year = new int[1024];
+        private int[] month = new int[1024];
+        private long[] views = new long[1024];
+        private long[] likes = new long[1024];
+        private final List<String> titles = new ArrayList<>();
+        private final List<String> links = new ArrayList<>();
+        private final List<String> speakerNames = new ArrayList<>();
+        private final Map<String, Integer> speakerCodes = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder add(TedTalk talk) {
+            return add(talk.getId().value(), talk.getTitle(), talk.getSpeaker().getName(), talk.getDate().year(),
+                    talk.getDate().month(), talk.getViews().value(), talk.getLikes().value(), talk.getLink().value());
+        }
+
+        public Builder add(UUID id, String title, String speakerName, int talkYear, int talkMonth,
+                           long talkViews, long talkLikes, String link) {
+            if (size == idHigh.length) {
+                int capacity = size * 2;
+                idHigh = Arrays.copyOf(idHigh, capacity);
+                idLow = Arrays.copyOf(idLow, capacity);
+                speaker = Arrays.copyOf(speaker, capacity);
+                year = Arrays.copyOf(year, capacity);
+                month = Arrays.copyOf(month, capacity);
+                views = Arrays.copyOf(views, capacity);
+                likes = Arrays.copyOf(likes, capacity);
+            }
+            idHigh[size] = id.getMostSignificantBits();
+            idLow[size] = id.getLeastSignificantBits();
+            speaker[size] = speakerCodes.computeIfAbsent(speakerName, name -> {
+                speakerNames.add(name);
+                return speakerNames.size() - 1;
+            });
+            year[size] = talkYear;
+            month[size] = talkMonth;
+            views[size] = talkViews;
+            likes[size] = talkLikes;
+            titles.add(title);
+            links.add(link);
+            size++;
+            return this;
+        }
+
+        public AnalysisSnapshot build(long epoch, ScoringKernel kernel) {
+            return new AnalysisSnapshot(epoch, this, kernel);
+        }
+    }
+}
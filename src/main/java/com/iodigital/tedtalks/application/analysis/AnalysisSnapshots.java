@@ -0,0 +1,136 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import com.iodigital.tedtalks.application.cache.ChangeKind;
+import com.iodigital.tedtalks.application.event.DataChangeEvent;
+import com.iodigital.tedtalks.application.event.RemoteDataChangedEvent;
+import com.iodigital.tedtalks.domain.repository.TedTalkRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Publishes the current {@link AnalysisSnapshot}. Snapshots are rebuilt on the analysis executor
+ * after talks change and swapped in with a single reference write, so readers never wait for a
+ * rebuild and never see a snapshot with only part of a committed import.
+ * <p>
+ * Rebuild requests that arrive while one runs are coalesced into one more rebuild. In
+ * {@link AnalysisMemoryMode#APPROXIMATE} no snapshot is built and {@link #current()} stays empty.
+ */
+@Component
+@Slf4j
+public class AnalysisSnapshots {
+
+    private final TedTalkRepository repository;
+    private final Executor analysisExecutor;
+    private final TransactionOperations readOnlyTransaction;
+    private final ScoringKernel kernel;
+    private final boolean enabled;
+    private final AtomicReference<AnalysisSnapshot> current = new AtomicReference<>();
+    private final AtomicBoolean rebuildRunning = new AtomicBoolean();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+
+    public AnalysisSnapshots(TedTalkRepository repository,
+                             @Qualifier("analysisExecutor") Executor analysisExecutor,
+                             @Qualifier("readOnlyTransaction") TransactionOperations readOnlyTransaction,
+                             ScoringKernel kernel,
+                             @Value("${app.analysis.memory-mode:EXACT}") AnalysisMemoryMode memoryMode) {
+        this.repository = repository;
+        this.analysisExecutor = analysisExecutor;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.kernel = kernel;
+        this.enabled = memoryMode == AnalysisMemoryMode.EXACT;
+    }
+
+    /**
+     * The newest published snapshot, empty until the first build completes.
+     */
+    public Optional<AnalysisSnapshot> current() {
+        return Optional.ofNullable(current.get());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRebuild();
+    }
+
+    @EventListener
+    public void onRemoteChanges(RemoteDataChangedEvent event) {
+        if (event.kinds().contains(ChangeKind.TALKS) || event.kinds().contains(ChangeKind.SPEAKER_RENAMED)) {
+            requestRebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocalChange(DataChangeEvent event) {
+        if (event.changeKind() != ChangeKind.SPEAKER_PROFILE) {
+            requestRebuild();
+        }
+    }
+
+    public void requestRebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuildRequested.set(true);
+        if (!rebuildRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            analysisExecutor.execute(this::runRebuilds);
+        } catch (RejectedExecutionException e) {
+            rebuildRunning.set(false);
+            log.warn("Analysis snapshot rebuild rejected, keeping epoch {}: {}", epoch(), e.getMessage());
+        }
+    }
+
+    private void runRebuilds() {
+        try {
+            while (rebuildRequested.getAndSet(false)) {
+                rebuild();
+            }
+        } finally {
+            rebuildRunning.set(false);
+        }
+        // A request that arrived between the last check and the reset above
+        if (rebuildRequested.get()) {
+            requestRebuild();
+        }
+    }
+
+    /**
+     * Builds a snapshot from the repository's row projection and publishes it. The scan runs in
+     * a read-only transaction so the cursor streams rather than buffering every row. Package-private
+     * for tests, which call it on their own thread.
+     */
+    void rebuild() {
+        long startTime = System.currentTimeMillis();
+        // Readers of the old snapshot rebuild a speaker cuboid if they still need one
+        current().ifPresent(previous -> previous.rollup().dropSpeakerCuboids());
+        try {
+            AnalysisSnapshot.Builder builder = AnalysisSnapshot.builder();
+            readOnlyTransaction.executeWithoutResult(status -> repository.forEachTalkRow(builder::add));
+            AnalysisSnapshot snapshot = builder.build(epoch() + 1, kernel);
+            current.set(snapshot);
+            log.info("Published analysis snapshot {} of {} talks in {} ms", snapshot.epoch(),
+                    snapshot.talkCount(), System.currentTimeMillis() - startTime);
+        } catch (RuntimeException e) {
+            log.warn("Building the analysis snapshot failed, keeping epoch {}: {}", epoch(), e.getMessage());
+        }
+    }
+
+    private long epoch() {
+        AnalysisSnapshot snapshot = current.get();
+        return snapshot == null ? 0 : snapshot.epoch();
+    }
+}
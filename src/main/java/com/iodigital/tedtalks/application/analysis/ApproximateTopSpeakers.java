@@ -0,0 +1,75 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import com.iodigital.tedtalks.domain.model.TedTalk;
+import com.iodigital.tedtalks.domain.repository.TedTalkRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Most influential speakers in constant memory: a {@link SpaceSaving} sketch of per-speaker
+ * influence with a fixed number of counters, for datasets whose exact per-speaker totals do not
+ * fit comfortably in memory. Fed by a single pass over the metrics projection at startup and
+ * then by every committed talk write.
+ */
+@Component
+public class ApproximateTopSpeakers extends IncrementalTalkStore<SpaceSaving<String>> {
+
+    private final int capacity;
+
+    public ApproximateTopSpeakers(TedTalkRepository repository,
+                                  @Qualifier("analysisExecutor") Executor analysisExecutor,
+                                  @Qualifier("readOnlyTransaction") TransactionOperations readOnlyTransaction,
+                                  @Value("${app.analysis.approximate-top-k.capacity:10000}") int capacity) {
+        super("approximate top speakers", repository, analysisExecutor, readOnlyTransaction, true,
+                new SpaceSaving<>(capacity));
+        this.capacity = capacity;
+    }
+
+    public Result top(int limit) {
+        SpaceSaving<String> sketch = state();
+        // Every update is O(log capacity), so writers and readers simply take turns
+        synchronized (sketch) {
+            return new Result(sketch.top(limit), sketch.floor(), sketch.capacity());
+        }
+    }
+
+    @Override
+    protected SpaceSaving<String> newState() {
+        return new SpaceSaving<>(capacity);
+    }
+
+    @Override
+    protected void addScanned(SpaceSaving<String> sketch, String speaker, int year, long views, long likes) {
+        sketch.add(speaker, TedTalk.influenceScore(views, likes));
+    }
+
+    @Override
+    protected void apply(SpaceSaving<String> sketch, List<TalkDelta> deltas) {
+        synchronized (sketch) {
+            for (TalkDelta delta : deltas) {
+                double influence = TedTalk.influenceScore(delta.views(), delta.likes());
+                if (delta.added()) {
+                    sketch.add(delta.speaker(), influence);
+                } else {
+                    sketch.subtract(delta.speaker(), influence);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected String describe(SpaceSaving<String> sketch) {
+        return capacity + " counters";
+    }
+
+    /**
+     * The top entries, and the bound on the influence of every speaker the sketch does not track.
+     */
+    public record Result(List<SpaceSaving.Entry<String>> speakers, double maxUntrackedInfluence, int counters) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import com.iodigital.tedtalks.domain.repository.TedTalkRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Quantile sketches of talk views and likes, overall and per talk year, kept up to date by every
+ * talk write: a committed write adds or takes back its talk's values. Year sketches merge into
+ * the distribution of any range of years.
+ * <p>
+ * There are no per-speaker sketches: with millions of speakers they would cost far more heap
+ * than the handful of talks each speaker has, which are sketched on demand instead.
+ */
+@Component
+public class DistributionSketches extends IncrementalTalkStore<DistributionSketches.State> {
+
+    public DistributionSketches(TedTalkRepository repository,
+                                @Qualifier("analysisExecutor") Executor analysisExecutor,
+                                @Qualifier("readOnlyTransaction") TransactionOperations readOnlyTransaction,
+                                @Value("${app.analysis.memory-mode:EXACT}") AnalysisMemoryMode memoryMode) {
+        super("distribution sketches", repository, analysisExecutor, readOnlyTransaction,
+                memoryMode == AnalysisMemoryMode.EXACT, new State());
+    }
+
+    public Distribution overall() {
+        return state().overall.snapshot();
+    }
+
+    /**
+     * The merged distribution of the talks given from {@code fromYear} to {@code toYear} inclusive.
+     */
+    public Distribution years(int fromYear, int toYear) {
+        Distribution merged = Distribution.empty();
+        state().byYear.subMap(fromYear, true, toYear, true).values()
+                .forEach(sketches -> sketches.mergeInto(merged));
+        return merged;
+    }
+
+    @Override
+    protected State newState() {
+        return new State();
+    }
+
+    @Override
+    protected void addScanned(State state, String speaker, int year, long views, long likes) {
+        state.apply(new TalkDelta(speaker, year, views, likes, true));
+    }
+
+    @Override
+    protected void apply(State state, List<TalkDelta> deltas) {
+        deltas.forEach(state::apply);
+    }
+
+    @Override
+    protected String describe(State state) {
+        return state.overall.snapshot().count() + " talks";
+    }
+
+    /**
+     * Views and likes of a set of talks. Instances handed out are copies owned by the caller.
+     */
+    public static final class Distribution {
+        private final QuantileSketch views;
+        private final QuantileSketch likes;
+
+        private Distribution(QuantileSketch views, QuantileSketch likes) {
+            this.views = views;
+            this.likes = likes;
+        }
+
+        public static Distribution empty() {
+            return new Distribution(new QuantileSketch(), new QuantileSketch());
+        }
+
+        public void add(long talkViews, long talkLikes) {
+            views.add(talkViews);
+            likes.add(talkLikes);
+        }
+
+        public Distribution merge(Distribution other) {
+            views.merge(other.views);
+            likes.merge(other.likes);
+            return this;
+        }
+
+        public long count() {
+            return views.count();
+        }
+
+        public boolean isEmpty() {
+            return views.isEmpty();
+        }
+
+        public QuantileSketch views() {
+            return views;
+        }
+
+        public QuantileSketch likes() {
+            return likes;
+        }
+    }
+
+    static final class State {
+        private final Sketches overall = new Sketches();
+        private final ConcurrentSkipListMap<Integer, Sketches> byYear = new ConcurrentSkipListMap<>();
+
+        void apply(TalkDelta delta) {
+            overall.apply(delta);
+            byYear.computeIfAbsent(delta.year(), year -> new Sketches()).apply(delta);
+        }
+    }
+
+    /**
+     * Sketches of one scope, guarded by the instance monitor.
+     */
+    private static final class Sketches {
+        private final QuantileSketch views = new QuantileSketch();
+        private final QuantileSketch likes = new QuantileSketch();
+
+        synchronized void apply(TalkDelta delta) {
+            if (delta.added()) {
+                views.add(delta.views());
+                likes.add(delta.likes());
+            } else {
+                views.remove(delta.views());
+                likes.remove(delta.likes());
+            }
+        }
+
+        synchronized Distribution snapshot() {
+            return new Distribution(views.copy(), likes.copy());
+        }
+
+        synchronized void mergeInto(Distribution target) {
+            target.views.merge(views);
+            target.likes.merge(likes);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import com.iodigital.tedtalks.application.cache.ChangeKind;
+import com.iodigital.tedtalks.application.event.DataChangeEvent;
+import com.iodigital.tedtalks.application.event.RemoteDataChangedEvent;
+import com.iodigital.tedtalks.application.event.TalkDeltaEvent;
+import com.iodigital.tedtalks.domain.model.TedTalk;
+import com.iodigital.tedtalks.domain.repository.TedTalkRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * State derived from every talk and kept up to date by talk writes instead of being recomputed.
+ * Each {@link TalkDeltaEvent} is applied once its transaction commits. The state is built from
+ * the metrics projection when the application is ready, and rebuilt on the analysis executor
+ * whenever deltas cannot be known here: speaker renames, changes committed by other nodes and
+ * writes whose previous state was not seen. Until the first build completes {@link #isReady()}
+ * is false and callers compute on their own.
+ * <p>
+ * Every committing write takes a sequence number under a shared commit gate. A rebuild holds the
+ * gate exclusively from reading the sequence until its scan returns the first row, so the scan
+ * has seen exactly the writes numbered up to that sequence and replays only the later ones.
+ * The scan runs in a read-only transaction begun before the gate is taken: writers wait at the
+ * gate holding their pool connections, so the rebuild must already hold its own, and outside a
+ * transaction the driver would buffer the whole projection before the first row arrived.
+ * <p>
+ * A disabled store is never built and ignores writes; it stays not ready.
+ *
+ * @param <S> the state; {@link #apply} may be called concurrently on it
+ */
+@Slf4j
+public abstract class IncrementalTalkStore<S> {
+
+    // Sequence of writes that committed outside a transaction; a rebuild cannot tell if it saw them
+    private static final long UNSEQUENCED = Long.MAX_VALUE;
+
+    private final String name;
+    private final TedTalkRepository repository;
+    private final Executor analysisExecutor;
+    private final TransactionOperations readOnlyTransaction;
+    private final boolean enabled;
+    // Writes share the read lock; only swapping in a rebuilt state takes the write lock
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+    // Committing writes share the read lock; a rebuild takes the write lock until its scan started
+    private final ReadWriteLock commitGate = new ReentrantReadWriteLock();
+    private final AtomicLong commitSequence = new AtomicLong();
+    private final AtomicBoolean rebuildRunning = new AtomicBoolean();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    private volatile S state;
+    private volatile boolean ready;
+    // Deltas committed while a rebuild scans, replayed onto the rebuilt state
+    private Queue<Sequenced> replay;
+    private boolean unsequencedDuringRebuild;
+
+    protected IncrementalTalkStore(String name, TedTalkRepository repository, Executor analysisExecutor,
+                                   TransactionOperations readOnlyTransaction, boolean enabled, S initialState) {
+        this.name = name;
+        this.repository = repository;
+        this.analysisExecutor = analysisExecutor;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.enabled = enabled;
+        this.state = initialState;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    protected S state() {
+        return state;
+    }
+
+    protected abstract S newState();
+
+    /**
+     * Adds one talk read by a rebuild scan to a state no other thread sees yet.
+     */
+    protected abstract void addScanned(S state, String speaker, int year, long views, long likes);
+
+    /**
+     * Applies one committed write; may run concurrently with other writes on the same state.
+     */
+    protected abstract void apply(S state, List<TalkDelta> deltas);
+
+    /**
+     * What a freshly built state holds, for the log.
+     */
+    protected abstract String describe(S state);
+
+    @EventListener
+    public void onTalkDelta(TalkDeltaEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!event.known()) {
+            rebuildAfterCommit();
+            return;
+        }
+        List<TalkDelta> deltas = new ArrayList<>(event.removed().size() + event.added().size());
+        event.removed().forEach(talk -> deltas.add(TalkDelta.of(talk, false)));
+        event.added().forEach(talk -> deltas.add(TalkDelta.of(talk, true)));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new SequencedCommit(deltas));
+        } else {
+            applyCommitted(deltas, UNSEQUENCED);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRebuild();
+    }
+
+    @EventListener
+    public void onRemoteChanges(RemoteDataChangedEvent event) {
+        if (event.kinds().contains(ChangeKind.TALKS) || event.kinds().contains(ChangeKind.SPEAKER_RENAMED)) {
+            requestRebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocalChange(DataChangeEvent event) {
+        if (event.changeKind() == ChangeKind.SPEAKER_RENAMED) {
+            requestRebuild();
+        }
+    }
+
+    /**
+     * Rebuilds on the analysis executor; requests that arrive while one runs are coalesced into
+     * one more rebuild.
+     */
+    public void requestRebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuildRequested.set(true);
+        if (!rebuildRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            analysisExecutor.execute(this::runRebuilds);
+        } catch (RejectedExecutionException e) {
+            rebuildRunning.set(false);
+            log.warn("Rebuilding {} rejected: {}", name, e.getMessage());
+        }
+    }
+
+    private void runRebuilds() {
+        try {
+            while (rebuildRequested.getAndSet(false)) {
+                rebuild();
+            }
+        } finally {
+            rebuildRunning.set(false);
+        }
+        // A request that arrived between the last check and the reset above
+        if (rebuildRequested.get()) {
+            requestRebuild();
+        }
+    }
+
+    /**
+     * Scans every talk through the metrics projection into a new state and swaps it in.
+     * Commits wait at the gate until the scan returns its first row (or ends, on an empty
+     * table); deltas numbered after the sequence read under the gate are replayed.
+     */
+    public synchronized void rebuild() {
+        long startTime = System.currentTimeMillis();
+        S fresh = newState();
+        AtomicBoolean gateHeld = new AtomicBoolean();
+        Runnable openGate = () -> {
+            if (gateHeld.getAndSet(false)) {
+                commitGate.writeLock().unlock();
+            }
+        };
+
+        long scannedThrough;
+        try {
+            scannedThrough = readOnlyTransaction.execute(status -> {
+                commitGate.writeLock().lock();
+                gateHeld.set(true);
+                long sequence = commitSequence.get();
+                stateLock.writeLock().lock();
+                try {
+                    replay = new ConcurrentLinkedQueue<>();
+                    unsequencedDuringRebuild = false;
+                } finally {
+                    stateLock.writeLock().unlock();
+                }
+                repository.forEachTalkMetrics((speaker, year, month, views, likes) -> {
+                    // The scan's snapshot is fixed once a row arrives; later commits are replayed
+                    openGate.run();
+                    addScanned(fresh, speaker, year, views, likes);
+                });
+                return sequence;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Building {} failed: {}", name, e.getMessage());
+            stateLock.writeLock().lock();
+            try {
+                replay = null;
+            } finally {
+                stateLock.writeLock().unlock();
+            }
+            return;
+        } finally {
+            openGate.run();
+        }
+
+        boolean rescan;
+        stateLock.writeLock().lock();
+        try {
+            for (Sequenced pending : replay) {
+                if (pending.sequence() > scannedThrough) {
+                    apply(fresh, pending.deltas());
+                }
+            }
+            rescan = unsequencedDuringRebuild;
+            replay = null;
+            state = fresh;
+            ready = true;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+        log.info("Built {} of {} in {} ms", name, describe(fresh), System.currentTimeMillis() - startTime);
+        if (rescan) {
+            // A write without a transaction may have been both scanned and replayed
+            requestRebuild();
+        }
+    }
+
+    private void rebuildAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestRebuild();
+                }
+            });
+        } else {
+            requestRebuild();
+        }
+    }
+
+    private void applyCommitted(List<TalkDelta> deltas, long sequence) {
+        stateLock.readLock().lock();
+        try {
+            apply(state, deltas);
+            if (replay != null) {
+                if (sequence == UNSEQUENCED) {
+                    unsequencedDuringRebuild = true;
+                }
+                replay.add(new Sequenced(sequence, deltas));
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One talk's values, added or taken back.
+     */
+    record TalkDelta(String speaker, int year, long views, long likes, boolean added) {
+
+        static TalkDelta of(TedTalk talk, boolean added) {
+            return new TalkDelta(talk.getSpeaker().getName(), talk.getDate().year(),
+                    talk.getViews().value(), talk.getLikes().value(), added);
+        }
+    }
+
+    private record Sequenced(long sequence, List<TalkDelta> deltas) {
+    }
+
+    /**
+     * Applies one transaction's deltas once it commits. The sequence number is taken in
+     * {@code beforeCommit} under the commit gate, which stays held until the transaction completed.
+     */
+    private final class SequencedCommit implements TransactionSynchronization {
+        private final List<TalkDelta> deltas;
+        private long sequence = UNSEQUENCED;
+        private boolean gateHeld;
+
+        SequencedCommit(List<TalkDelta> deltas) {
+            this.deltas = deltas;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commitGate.readLock().lock();
+            gateHeld = true;
+            sequence = commitSequence.incrementAndGet();
+        }
+
+        @Override
+        public void afterCommit() {
+            applyCommitted(deltas, sequence);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (gateHeld) {
+                gateHeld = false;
+                commitGate.readLock().unlock();
+            }
+        }
+    }
+}
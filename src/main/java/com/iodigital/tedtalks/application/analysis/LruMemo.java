@@ -0,0 +1,38 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded memo of derived results, evicting the least recently used entry. Values are computed
+ * outside the lock, so a slow computation never blocks readers of other keys; two threads
+ * missing the same key at once may both compute it and the first stored value wins.
+ */
+final class LruMemo<K, V> {
+
+    private final Map<K, V> entries;
+
+    LruMemo(int capacity) {
+        this.entries = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    V get(K key, Function<K, V> compute) {
+        synchronized (entries) {
+            V cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        V computed = compute.apply(key);
+        synchronized (entries) {
+            V existing = entries.putIfAbsent(key, computed);
+            return existing != null ? existing : computed;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch of non-negative counts with logarithmic buckets (the DDSketch
+ * scheme). Bucket {@code i} counts the values in {@code (gamma^(i-1), gamma^i]} with
+ * {@code gamma = (1 + a) / (1 - a)}, and reports them as the point of least relative error.
+ * <p>
+ * Error bound: {@link #quantile(double)} returns a value within relative accuracy {@code a} of
+ * the exact value at rank {@code floor(q * (count - 1))}, plus rounding to a whole number; zeros
+ * are counted exactly. The bound does not depend on the number or distribution of values, and
+ * holds for sketches built by any sequence of {@link #add}, {@link #remove} and {@link #merge}.
+ * Memory grows with the logarithm of the value range: with the default 1% accuracy, values from
+ * 1 to 10^12 need at most about 1,400 buckets.
+ * <p>
+ * Not thread-safe.
+ */
+public final class QuantileSketch {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    private static final long[] NO_BUCKETS = new long[0];
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private long zeroCount;
+    private long count;
+    // counts[i] is bucket offset + i
+    private long[] counts = NO_BUCKETS;
+    private int offset;
+
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1: " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public double relativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count <= 0;
+    }
+
+    public void add(long value) {
+        add(value, 1);
+    }
+
+    /**
+     * Takes back one earlier {@link #add(long)} of the same value.
+     */
+    public void remove(long value) {
+        add(value, -1);
+    }
+
+    public QuantileSketch merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches of different accuracy");
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        if (other.counts.length > 0) {
+            include(other.offset);
+            include(other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+        return this;
+    }
+
+    public QuantileSketch copy() {
+        QuantileSketch copy = new QuantileSketch(relativeAccuracy);
+        copy.zeroCount = zeroCount;
+        copy.count = count;
+        copy.counts = counts.clone();
+        copy.offset = offset;
+        return copy;
+    }
+
+    /**
+     * The value at quantile {@code q}, between 0 and 1, within the documented error bound.
+     */
+    public long quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+        }
+        if (isEmpty()) {
+            throw new IllegalStateException("Quantile of an empty sketch");
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (rank < seen) {
+                return Math.round(2 * Math.pow(gamma, offset + i) / (gamma + 1));
+            }
+        }
+        return Math.round(2 * Math.pow(gamma, offset + counts.length - 1) / (gamma + 1));
+    }
+
+    private void add(long value, long times) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Sketched values cannot be negative: " + value);
+        }
+        count += times;
+        if (value == 0) {
+            zeroCount += times;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / logGamma);
+        include(index);
+        counts[index - offset] += times;
+    }
+
+    /**
+     * Grows the dense bucket array to cover {@code index}.
+     */
+    private void include(int index) {
+        if (counts.length == 0) {
+            counts = new long[1];
+            offset = index;
+        } else if (index < offset) {
+            long[] grown = new long[counts.length + offset - index];
+            System.arraycopy(counts, 0, grown, offset - index, counts.length);
+            counts = grown;
+            offset = index;
+        } else if (index >= offset + counts.length) {
+            counts = Arrays.copyOf(counts, index - offset + 1);
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import com.iodigital.tedtalks.application.dto.RollupQuery;
+import com.iodigital.tedtalks.application.dto.RollupQuery.Dimension;
+import com.iodigital.tedtalks.application.dto.RollupQuery.Measure;
+import com.iodigital.tedtalks.application.dto.RollupRowDto;
+import com.iodigital.tedtalks.domain.model.TedTalk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * Talk count, views, likes, total and maximum influence pre-aggregated for every combination of
+ * year, month and speaker: one cuboid per subset of the three dimensions, eight in all. A query
+ * reads the smallest cuboid that has every dimension it groups or filters by, so per-year or
+ * per-month answers read a few hundred cells and only speaker breakdowns read more.
+ * <p>
+ * The four cuboids without the speaker dimension are small and built up front. Each one with it
+ * can hold a cell per talk, so it is rolled up from the talk columns on the first query that needs
+ * it, and {@link #dropSpeakerCuboids()} lets a cube about to be replaced give them back.
+ * <p>
+ * Cells are ordered by year, then month, then speaker name, so results in dimension order need
+ * no sorting and a year range is found by binary search. Cells never change once built.
+ */
+public final class RollupCube {
+
+    private static final int YEAR = 1;
+    private static final int MONTH = 2;
+    private static final int SPEAKER = 4;
+    private static final int ALL = YEAR | MONTH | SPEAKER;
+
+    // Speaker names in alphabetical order; cells refer to a speaker by its index here
+    private final String[] speakerNames;
+    private final Map<String, Integer> speakerRanks;
+    // Every talk as a cell of its own, over the caller's columns; talk counts are implicitly one
+    private final Cuboid talks;
+    // Entries with the speaker dimension are built on demand, guarded by the array's monitor
+    private final Cuboid[] cuboids = new Cuboid[8];
+
+    private RollupCube(int rows, int[] speaker, int[] year, int[] month, long[] views, long[] likes,
+                       double[] influence, String[] names) {
+        int[] byName = IntStream.range(0, names.length).boxed()
+                .sorted(Comparator.comparing(code -> names[code]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.speakerNames = new String[names.length];
+        int[] rankOfCode = new int[names.length];
+        Map<String, Integer> ranks = new TreeMap<>();
+        for (int rank = 0; rank < byName.length; rank++) {
+            speakerNames[rank] = names[byName[rank]];
+            rankOfCode[byName[rank]] = rank;
+            ranks.put(speakerNames[rank], rank);
+        }
+        this.speakerRanks = Map.copyOf(ranks);
+
+        int[] speakerRank = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            speakerRank[row] = rankOfCode[speaker[row]];
+        }
+        this.talks = new Cuboid(rows, year, month, speakerRank, null, views, likes, influence, influence);
+        Cuboid byYearAndMonth = talks.rollUp(YEAR | MONTH);
+        cuboids[YEAR | MONTH] = byYearAndMonth;
+        cuboids[YEAR] = byYearAndMonth.rollUp(YEAR);
+        cuboids[MONTH] = byYearAndMonth.rollUp(MONTH);
+        cuboids[0] = byYearAndMonth.rollUp(0);
+    }
+
+    /**
+     * Cube over talk columns where {@code speaker[row]} indexes {@code speakerNames}. The columns
+     * are referenced, not copied, and must not change while the cube is in use.
+     */
+    static RollupCube of(int rows, int[] speaker, int[] year, int[] month, long[] views, long[] likes,
+                         double[] influence, String[] speakerNames) {
+        return new RollupCube(rows, speaker, year, month, views, likes, influence, speakerNames);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Number of cells over the cuboids built so far.
+     */
+    public int cellCount() {
+        synchronized (cuboids) {
+            return Arrays.stream(cuboids).filter(Objects::nonNull).mapToInt(cuboid -> cuboid.size).sum();
+        }
+    }
+
+    /**
+     * Forgets the speaker cuboids built so far; a later query that needs one builds it again.
+     */
+    void dropSpeakerCuboids() {
+        synchronized (cuboids) {
+            for (int mask = 0; mask < cuboids.length; mask++) {
+                if ((mask & SPEAKER) != 0) {
+                    cuboids[mask] = null;
+                }
+            }
+        }
+    }
+
+    private Cuboid cuboid(int mask) {
+        if ((mask & SPEAKER) == 0) {
+            return cuboids[mask];
+        }
+        synchronized (cuboids) {
+            if (cuboids[mask] == null) {
+                cuboids[mask] = talks.rollUp(mask);
+            }
+            return cuboids[mask];
+        }
+    }
+
+    public List<RollupRowDto> query(RollupQuery query) {
+        int groupBy = mask(query.groupBy().contains(Dimension.YEAR), query.groupBy().contains(Dimension.MONTH),
+                query.groupBy().contains(Dimension.SPEAKER));
+        int needed = groupBy | mask(query.filtersYears(), query.filtersMonths(), !query.speakers().isEmpty());
+        Cuboid cuboid = cuboid(needed);
+
+        boolean[] keepSpeaker = null;
+        if (!query.speakers().isEmpty()) {
+            keepSpeaker = new boolean[speakerNames.length];
+            boolean any = false;
+            for (String name : query.speakers()) {
+                Integer rank = speakerRanks.get(name);
+                if (rank != null) {
+                    keepSpeaker[rank] = true;
+                    any = true;
+                }
+            }
+            if (!any) {
+                return List.of();
+            }
+        }
+        int fromYear = query.fromYear() == null ? Integer.MIN_VALUE : query.fromYear();
+        int toYear = query.toYear() == null ? Integer.MAX_VALUE : query.toYear();
+        int fromMonth = query.fromMonth() == null ? 1 : query.fromMonth();
+        int toMonth = query.toMonth() == null ? 12 : query.toMonth();
+
+        // Years lead the cell order, so a year range is one contiguous run of cells
+        int start = (needed & YEAR) != 0 ? cuboid.firstYearAtLeast(fromYear) : 0;
+        Aggregation result = new Aggregation(groupBy, needed == groupBy, query.sortBy(), query.limit());
+        for (int cell = start; cell < cuboid.size && !result.isFull(); cell++) {
+            if ((needed & YEAR) != 0 && cuboid.years[cell] > toYear) {
+                break;
+            }
+            if ((needed & MONTH) != 0 && (cuboid.months[cell] < fromMonth || cuboid.months[cell] > toMonth)) {
+                continue;
+            }
+            if (keepSpeaker != null && !keepSpeaker[cuboid.speakers[cell]]) {
+                continue;
+            }
+            result.add(cuboid, cell);
+        }
+        return result.rows();
+    }
+
+    private static int mask(boolean year, boolean month, boolean speaker) {
+        return (year ? YEAR : 0) | (month ? MONTH : 0) | (speaker ? SPEAKER : 0);
+    }
+
+    private static double measure(Measure measure, long talks, long views, long likes, double influence,
+                                  double maxInfluence) {
+        return switch (measure) {
+            case TALKS -> talks;
+            case VIEWS -> views;
+            case LIKES -> likes;
+            case INFLUENCE -> influence;
+            case MAX_INFLUENCE -> maxInfluence;
+        };
+    }
+
+    /**
+     * Cells of one cuboid in columns; the key columns of dimensions it does not have are null,
+     * and a null talk count column counts one talk per cell.
+     */
+    private static final class Cuboid {
+        private final int size;
+        private final int[] years;
+        private final int[] months;
+        private final int[] speakers;
+        private final long[] talks;
+        private final long[] views;
+        private final long[] likes;
+        private final double[] influence;
+        private final double[] maxInfluence;
+
+        Cuboid(int size, int[] years, int[] months, int[] speakers, long[] talks, long[] views,
+               long[] likes, double[] influence, double[] maxInfluence) {
+            this.size = size;
+            this.years = years;
+            this.months = months;
+            this.speakers = speakers;
+            this.talks = talks;
+            this.views = views;
+            this.likes = likes;
+            this.influence = influence;
+            this.maxInfluence = maxInfluence;
+        }
+
+        /**
+         * This cuboid aggregated to the given dimensions, which must be a subset of its own.
+         * Stable counting sorts from the last key to the first put equal keys next to each other.
+         */
+        Cuboid rollUp(int target) {
+            int[] order = IntStream.range(0, size).toArray();
+            if ((target & SPEAKER) != 0) {
+                order = AnalysisSnapshot.countingSort(order, speakers, null);
+            }
+            if ((target & MONTH) != 0) {
+                order = AnalysisSnapshot.countingSort(order, months, null);
+            }
+            if ((target & YEAR) != 0) {
+                order = AnalysisSnapshot.countingSort(order, years, null);
+            }
+
+            int cells = 0;
+            for (int i = 0; i < order.length; i++) {
+                if (i == 0 || !sameKey(order[i - 1], order[i], target)) {
+                    cells++;
+                }
+            }
+            Cuboid result = new Cuboid(cells,
+                    (target & YEAR) != 0 ? new int[cells] : null,
+                    (target & MONTH) != 0 ? new int[cells] : null,
+                    (target & SPEAKER) != 0 ? new int[cells] : null,
+                    new long[cells], new long[cells], new long[cells], new double[cells], new double[cells]);
+            int cell = -1;
+            for (int i = 0; i < order.length; i++) {
+                int source = order[i];
+                if (i == 0 || !sameKey(order[i - 1], source, target)) {
+                    cell++;
+                    if (result.years != null) result.years[cell] = years[source];
+                    if (result.months != null) result.months[cell] = months[source];
+                    if (result.speakers != null) result.speakers[cell] = speakers[source];
+                    result.maxInfluence[cell] = maxInfluence[source];
+                }
+                result.talks[cell] += talks == null ? 1 : talks[source];
+                result.views[cell] += views[source];
+                result.likes[cell] += likes[source];
+                result.influence[cell] += influence[source];
+                result.maxInfluence[cell] = Math.max(result.maxInfluence[cell], maxInfluence[source]);
+            }
+            return result;
+        }
+
+        private boolean sameKey(int a, int b, int target) {
+            return ((target & YEAR) == 0 || years[a] == years[b])
+                    && ((target & MONTH) == 0 || months[a] == months[b])
+                    && ((target & SPEAKER) == 0 || speakers[a] == speakers[b]);
+        }
+
+        int firstYearAtLeast(int year) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (years[mid] < year) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Collects the matching cells of a cuboid into result rows. When the cuboid has exactly the
+     * grouped dimensions every cell is a row and arrives in dimension order; otherwise cells are
+     * merged by their grouped key first.
+     */
+    private final class Aggregation {
+        private final int groupBy;
+        private final boolean direct;
+        private final Measure sortBy;
+        private final int limit;
+        private final List<RollupRowDto> inOrder = new ArrayList<>();
+        private final TreeMap<Long, long[]> counts = new TreeMap<>();
+        private final TreeMap<Long, double[]> scores = new TreeMap<>();
+        private final TopK<RollupRowDto> best;
+
+        Aggregation(int groupBy, boolean direct, Measure sortBy, int limit) {
+            this.groupBy = groupBy;
+            this.direct = direct;
+            this.sortBy = sortBy;
+            this.limit = limit;
+            this.best = sortBy == null ? null : new TopK<>(limit);
+        }
+
+        /**
+         * Cells in dimension order past the limit cannot change the result.
+         */
+        boolean isFull() {
+            return direct && sortBy == null && inOrder.size() == limit;
+        }
+
+        void add(Cuboid cuboid, int cell) {
+            int year = (groupBy & YEAR) != 0 ? cuboid.years[cell] : 0;
+            int month = (groupBy & MONTH) != 0 ? cuboid.months[cell] : 0;
+            int speaker = (groupBy & SPEAKER) != 0 ? cuboid.speakers[cell] : 0;
+            if (direct) {
+                offer(year, month, speaker, cuboid.talks[cell], cuboid.views[cell], cuboid.likes[cell],
+                        cuboid.influence[cell], cuboid.maxInfluence[cell]);
+                return;
+            }
+            // Years in range of an int, months 1 to 12 and speaker ranks below 2^32 pack without overlap
+            long key = ((long) year << 36) + ((long) month << 32) + speaker;
+            long[] count = counts.computeIfAbsent(key, k -> new long[3]);
+            double[] score = scores.computeIfAbsent(key, k -> new double[]{0, Double.NEGATIVE_INFINITY});
+            count[0] += cuboid.talks[cell];
+            count[1] += cuboid.views[cell];
+            count[2] += cuboid.likes[cell];
+            score[0] += cuboid.influence[cell];
+            score[1] = Math.max(score[1], cuboid.maxInfluence[cell]);
+        }
+
+        List<RollupRowDto> rows() {
+            counts.forEach((key, count) -> {
+                double[] score = scores.get(key);
+                offer((int) (key >> 36), (int) ((key >>> 32) & 0xF), (int) (key & 0xFFFFFFFFL),
+                        count[0], count[1], count[2], score[0], score[1]);
+            });
+            if (best != null) {
+                return best.toSortedList();
+            }
+            return inOrder.size() > limit ? List.copyOf(inOrder.subList(0, limit)) : List.copyOf(inOrder);
+        }
+
+        private void offer(int year, int month, int speaker, long talks, long views, long likes,
+                           double influence, double maxInfluence) {
+            if (best != null) {
+                double value = measure(sortBy, talks, views, likes, influence, maxInfluence);
+                if (best.accepts(value)) {
+                    best.offer(row(year, month, speaker, talks, views, likes, influence, maxInfluence), value);
+                }
+            } else if (inOrder.size() < limit) {
+                inOrder.add(row(year, month, speaker, talks, views, likes, influence, maxInfluence));
+            }
+        }
+
+        private RollupRowDto row(int year, int month, int speaker, long talks, long views, long likes,
+                                 double influence, double maxInfluence) {
+            return new RollupRowDto(
+                    (groupBy & YEAR) != 0 ? year : null,
+                    (groupBy & MONTH) != 0 ? month : null,
+                    (groupBy & SPEAKER) != 0 ? speakerNames[speaker] : null,
+                    talks, views, likes, influence, maxInfluence
+            );
+        }
+    }
+
+    /**
+     * Collects talk metrics into growable columns, for building a cube without a snapshot.
+     */
+    public static final class Builder {
+        private int size;
+        private int[] speaker = new int[1024];
+        private int[] year = new int[1024];
+        private int[] month = new int[1024];
+        private long[] views = new long[1024];
+        private long[] likes = new long[1024];
+        private double[] influence = new double[1024];
+        private final List<String> speakerNames = new ArrayList<>();
+        private final Map<String, Integer> speakerCodes = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder add(String speakerName, int talkYear, int talkMonth, long talkViews, long talkLikes) {
+            if (size == year.length) {
+                int capacity = size * 2;
+                speaker = Arrays.copyOf(speaker, capacity);
+                year = Arrays.copyOf(year, capacity);
+                month = Arrays.copyOf(month, capacity);
+                views = Arrays.copyOf(views, capacity);
+                likes = Arrays.copyOf(likes, capacity);
+                influence = Arrays.copyOf(influence, capacity);
+            }
+            speaker[size] = speakerCodes.computeIfAbsent(speakerName, name -> {
+                speakerNames.add(name);
+                return speakerNames.size() - 1;
+            });
+            year[size] = talkYear;
+            month[size] = talkMonth;
+            views[size] = talkViews;
+            likes[size] = talkLikes;
+            influence[size] = TedTalk.influenceScore(talkViews, talkLikes);
+            size++;
+            return this;
+        }
+
+        public RollupCube build() {
+            return new RollupCube(size, speaker, year, month, views, likes, influence,
+                    speakerNames.toArray(new String[0]));
+        }
+    }
+}
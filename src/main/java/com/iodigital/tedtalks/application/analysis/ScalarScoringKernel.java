@@ -0,0 +1,34 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import com.iodigital.tedtalks.domain.model.valueobject.InfluenceWeights;
+
+/**
+ * Plain loops; the JIT may still auto-vectorize the scoring loop.
+ */
+public final class ScalarScoringKernel implements ScoringKernel {
+
+    @Override
+    public void scores(long[] views, long[] likes, InfluenceWeights weights, double[] out, int length) {
+        double viewsWeight = weights.viewsWeight();
+        double likesWeight = weights.likesWeight();
+        for (int i = 0; i < length; i++) {
+            out[i] = views[i] * viewsWeight + likes[i] * likesWeight;
+        }
+    }
+
+    @Override
+    public int argmax(double[] values, int from, int to) {
+        int best = -1;
+        for (int i = from; i < to; i++) {
+            if (best < 0 || values[i] > values[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,34 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import com.iodigital.tedtalks.domain.model.valueobject.InfluenceWeights;
+
+/**
+ * Bulk influence arithmetic over primitive columns. {@link #scores} produces exactly the values
+ * {@link InfluenceWeights#score} computes per talk, so every implementation ranks identically
+ * to the per-talk formula.
+ */
+public interface ScoringKernel {
+
+    /**
+     * {@code out[i] = weights.score(views[i], likes[i])} for {@code i < length}.
+     */
+    void scores(long[] views, long[] likes, InfluenceWeights weights, double[] out, int length);
+
+    /**
+     * Index of the first largest value in {@code values[from, to)}, or -1 when the range is empty.
+     */
+    int argmax(double[] values, int from, int to);
+
+    /**
+     * Adds {@code values[i]} to {@code sums[groups[i]]} for {@code i < length}, in index order.
+     * Scatter-adds can collide within a vector, so this stays scalar in every implementation;
+     * keeping the order also keeps group sums identical across implementations.
+     */
+    default void groupSums(int[] groups, double[] values, double[] sums, int length) {
+        for (int i = 0; i < length; i++) {
+            sums[groups[i]] += values[i];
+        }
+    }
+
+    String name();
+}
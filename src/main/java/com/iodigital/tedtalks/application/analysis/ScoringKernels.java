@@ -0,0 +1,32 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Picks the scoring kernel: the Vector API one when requested and the incubator module is
+ * present at runtime, the scalar one otherwise.
+ */
+@Slf4j
+public final class ScoringKernels {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private ScoringKernels() {
+    }
+
+    public static ScoringKernel select(boolean preferVector) {
+        if (preferVector && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                ScoringKernel kernel = new VectorScoringKernel();
+                log.info("Using the {} scoring kernel", kernel.name());
+                return kernel;
+            } catch (LinkageError e) {
+                log.warn("Vector scoring kernel unavailable, using the scalar one: {}", e.getMessage());
+            }
+        } else if (preferVector) {
+            log.info("Module {} not present (start with --add-modules {}), using the scalar scoring kernel",
+                    VECTOR_MODULE, VECTOR_MODULE);
+        }
+        return new ScalarScoringKernel();
+    }
+}
@@ -0,0 +1,164 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Weighted SpaceSaving heavy-hitters sketch: the items with the largest total weight, tracked
+ * with a fixed number of counters whatever the number of distinct items. Counters sit in a
+ * min-heap, so every update is O(log capacity).
+ * <p>
+ * Error bounds: every tracked item's estimate is at least its true total and at most
+ * {@link Entry#maxError()} above it, and no untracked item totals more than {@link #floor()}.
+ * Without subtractions the floor is at most the total weight added divided by the capacity.
+ * <p>
+ * {@link #subtract} lowers a tracked counter and ignores untracked items, whose bound the floor
+ * already covers; the floor never decreases, so taking weight back cannot break either bound.
+ * Not thread-safe.
+ */
+public final class SpaceSaving<T> {
+
+    private final int capacity;
+    private final Object[] items;
+    private final double[] counts;
+    private final double[] errors;
+    private final Map<T, Integer> positions;
+    private int size;
+    private double floor;
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.items = new Object[capacity];
+        this.counts = new double[capacity];
+        this.errors = new double[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Upper bound on the true total of any item not tracked.
+     */
+    public double floor() {
+        return floor;
+    }
+
+    public void add(T item, double weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight cannot be negative: " + weight);
+        }
+        Integer position = positions.get(item);
+        if (position != null) {
+            counts[position] += weight;
+            siftDown(position);
+        } else if (size < capacity) {
+            items[size] = item;
+            counts[size] = floor + weight;
+            errors[size] = floor;
+            positions.put(item, size);
+            siftUp(size++);
+        } else {
+            // Replace the smallest counter: the new item's total so far is at most the floor
+            @SuppressWarnings("unchecked")
+            T evicted = (T) items[0];
+            positions.remove(evicted);
+            floor = Math.max(floor, counts[0]);
+            items[0] = item;
+            counts[0] = floor + weight;
+            errors[0] = floor;
+            positions.put(item, 0);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Takes back weight added earlier for the item. Keeps the counter at or above its error, so
+     * the lower bound {@code estimate - maxError} never goes negative.
+     */
+    public void subtract(T item, double weight) {
+        Integer position = positions.get(item);
+        if (position != null) {
+            counts[position] = Math.max(errors[position], counts[position] - weight);
+            siftUp(position);
+        }
+    }
+
+    /**
+     * The {@code k} largest estimates, largest first. An entry is {@link Entry#guaranteed()} when
+     * even its lowest possible total beats every item outside the returned ones.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Entry<T>> top(int k) {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> counts[i]).reversed());
+        int count = Math.min(k, size);
+        double bestOutside = count < size ? Math.max(floor, counts[order[count]]) : floor;
+        List<Entry<T>> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int position = order[i];
+            result.add(new Entry<>((T) items[position], counts[position], errors[position],
+                    counts[position] - errors[position] >= bestOutside));
+        }
+        return result;
+    }
+
+    public record Entry<T>(T item, double estimate, double maxError, boolean guaranteed) {
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (counts[parent] <= counts[index]) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && counts[left] < counts[smallest]) {
+                smallest = left;
+            }
+            if (right < size && counts[right] < counts[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void swap(int a, int b) {
+        Object item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+        double count = counts[a];
+        counts[a] = counts[b];
+        counts[b] = count;
+        double error = errors[a];
+        errors[a] = errors[b];
+        errors[b] = error;
+        positions.put((T) items[a], a);
+        positions.put((T) items[b], b);
+    }
+}
@@ -0,0 +1,162 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import com.iodigital.tedtalks.domain.model.TedTalk;
+import com.iodigital.tedtalks.domain.repository.SpeakerAggregate;
+import com.iodigital.tedtalks.domain.repository.TedTalkRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+
+/**
+ * Per-speaker talk totals kept up to date by every talk write, so speaker rankings never need a
+ * full scan after startup. A committed write applies a delta to its speakers; a skip list
+ * ordered by total influence turns top-N into reading the first N entries.
+ */
+@Component
+public class SpeakerAggregates extends IncrementalTalkStore<SpeakerAggregates.State> {
+
+    private static final Comparator<Rank> BY_INFLUENCE = Comparator.comparingDouble(Rank::influence).reversed()
+            .thenComparing(Rank::speaker);
+
+    public SpeakerAggregates(TedTalkRepository repository,
+                             @Qualifier("analysisExecutor") Executor analysisExecutor,
+                             @Qualifier("readOnlyTransaction") TransactionOperations readOnlyTransaction,
+                             @Value("${app.analysis.memory-mode:EXACT}") AnalysisMemoryMode memoryMode) {
+        super("speaker aggregates", repository, analysisExecutor, readOnlyTransaction,
+                memoryMode == AnalysisMemoryMode.EXACT, new State());
+    }
+
+    /**
+     * The speakers with the highest total influence, best first.
+     */
+    public List<SpeakerAggregate> top(int limit) {
+        State current = state();
+        List<SpeakerAggregate> result = new ArrayList<>(Math.min(limit, 64));
+        for (Rank rank : current.ranking) {
+            if (result.size() == limit) {
+                break;
+            }
+            Totals totals = current.bySpeaker.get(rank.speaker());
+            if (totals != null) {
+                totals.toAggregate().ifPresent(result::add);
+            }
+        }
+        return result;
+    }
+
+    public Optional<SpeakerAggregate> find(String speaker) {
+        Totals totals = state().bySpeaker.get(speaker);
+        return totals == null ? Optional.empty() : totals.toAggregate();
+    }
+
+    @Override
+    protected State newState() {
+        return new State();
+    }
+
+    @Override
+    protected void addScanned(State state, String speaker, int year, long views, long likes) {
+        state.apply(new Delta(speaker, year, 1, views, likes));
+    }
+
+    @Override
+    protected void apply(State state, List<TalkDelta> deltas) {
+        // Import batches touch a speaker many times; merge first so it is re-ranked once per year
+        Map<String, Map<Integer, Delta>> merged = new HashMap<>();
+        for (TalkDelta delta : deltas) {
+            merged.computeIfAbsent(delta.speaker(), speaker -> new HashMap<>())
+                    .merge(delta.year(), Delta.of(delta), Delta::plus);
+        }
+        merged.values().forEach(byYear -> byYear.values().forEach(state::apply));
+    }
+
+    @Override
+    protected String describe(State state) {
+        return state.ranking.size() + " speakers";
+    }
+
+    /**
+     * Change of one speaker's totals for one talk year.
+     */
+    private record Delta(String speaker, int year, long talks, long views, long likes) {
+
+        static Delta of(TalkDelta delta) {
+            int sign = delta.added() ? 1 : -1;
+            return new Delta(delta.speaker(), delta.year(), sign, sign * delta.views(), sign * delta.likes());
+        }
+
+        Delta plus(Delta other) {
+            return new Delta(speaker, year, talks + other.talks, views + other.views, likes + other.likes);
+        }
+    }
+
+    private record Rank(double influence, String speaker) {
+    }
+
+    static final class State {
+        private final Map<String, Totals> bySpeaker = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListSet<Rank> ranking = new ConcurrentSkipListSet<>(BY_INFLUENCE);
+
+        void apply(Delta delta) {
+            Totals totals = bySpeaker.computeIfAbsent(delta.speaker(), Totals::new);
+            // Entries are never removed from the map, so no writer can update an orphan
+            synchronized (totals) {
+                totals.add(delta);
+                if (totals.rank != null) {
+                    ranking.remove(totals.rank);
+                    totals.rank = null;
+                }
+                if (totals.talks > 0) {
+                    totals.rank = new Rank(TedTalk.influenceScore(totals.views, totals.likes), totals.speaker);
+                    ranking.add(totals.rank);
+                }
+            }
+        }
+    }
+
+    /**
+     * Totals of one speaker, guarded by the instance monitor. The talk count per year keeps the
+     * first and last year correct when talks are removed.
+     */
+    private static final class Totals {
+        private final String speaker;
+        private final Map<Integer, Long> talksByYear = new HashMap<>();
+        private long talks;
+        private long views;
+        private long likes;
+        private Rank rank;
+
+        Totals(String speaker) {
+            this.speaker = speaker;
+        }
+
+        void add(Delta delta) {
+            talks += delta.talks();
+            views += delta.views();
+            likes += delta.likes();
+            talksByYear.merge(delta.year(), delta.talks(), Long::sum);
+            talksByYear.values().removeIf(count -> count <= 0);
+        }
+
+        synchronized Optional<SpeakerAggregate> toAggregate() {
+            if (talks <= 0) {
+                return Optional.empty();
+            }
+            int firstYear = talksByYear.keySet().stream().min(Integer::compare).orElse(0);
+            int lastYear = talksByYear.keySet().stream().max(Integer::compare).orElse(0);
+            return Optional.of(new SpeakerAggregate(speaker, talks, views, likes,
+                    TedTalk.influenceScore(views, likes), firstYear, lastYear));
+        }
+    }
+}
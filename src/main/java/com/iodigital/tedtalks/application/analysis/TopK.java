@@ -0,0 +1,123 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code k} highest-scoring items seen so far, kept in a bounded min-heap on primitive scores.
+ * Offering n items costs O(n log k) and no allocation beyond the two arrays; heaps filled from
+ * disjoint partitions combine with {@link #merge(TopK)}. Not thread-safe: use one per partition.
+ */
+public final class TopK<T> {
+
+    private final int k;
+    private final double[] scores;
+    private final Object[] items;
+    private int size;
+
+    public TopK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be negative: " + k);
+        }
+        this.k = k;
+        this.scores = new double[k];
+        this.items = new Object[k];
+    }
+
+    /**
+     * Whether an item with this score would be kept; lets callers skip building items that would not.
+     */
+    public boolean accepts(double score) {
+        return size < k || (k > 0 && score > scores[0]);
+    }
+
+    public void offer(T item, double score) {
+        if (size < k) {
+            scores[size] = score;
+            items[size] = item;
+            siftUp(size++);
+        } else if (accepts(score)) {
+            scores[0] = score;
+            items[0] = item;
+            siftDown(0);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public TopK<T> merge(TopK<T> other) {
+        for (int i = 0; i < other.size; i++) {
+            offer((T) other.items[i], other.scores[i]);
+        }
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The kept items, highest score first. Leaves this heap unchanged.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> toSortedList() {
+        TopK<T> copy = new TopK<>(k);
+        copy.merge(this);
+        List<T> result = new ArrayList<>(size);
+        while (copy.size > 0) {
+            result.add((T) copy.items[0]);
+            copy.removeMin();
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private void removeMin() {
+        size--;
+        scores[0] = scores[size];
+        items[0] = items[size];
+        items[size] = null;
+        if (size > 0) {
+            siftDown(0);
+        }
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[parent] <= scores[index]) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && scores[left] < scores[smallest]) {
+                smallest = left;
+            }
+            if (right < size && scores[right] < scores[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+        Object item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+    }
+}
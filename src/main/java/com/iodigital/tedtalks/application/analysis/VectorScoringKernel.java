@@ -0,0 +1,82 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import com.iodigital.tedtalks.domain.model.valueobject.InfluenceWeights;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ScoringKernel} on the incubating Vector API, using the widest vectors the CPU supports.
+ * Needs {@code --add-modules jdk.incubator.vector}; {@link ScoringKernels} falls back to
+ * {@link ScalarScoringKernel} when the module is absent.
+ * <p>
+ * Scores use a separate multiply and add per lane (no fused multiply-add), so they are bit-for-bit
+ * equal to the scalar formula.
+ */
+public final class VectorScoringKernel implements ScoringKernel {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void scores(long[] views, long[] likes, InfluenceWeights weights, double[] out, int length) {
+        double viewsWeight = weights.viewsWeight();
+        double likesWeight = weights.likesWeight();
+        int i = 0;
+        int upper = LONGS.loopBound(length);
+        for (; i < upper; i += LONGS.length()) {
+            DoubleVector viewScores = (DoubleVector) LongVector.fromArray(LONGS, views, i)
+                    .convert(VectorOperators.L2D, 0);
+            DoubleVector likeScores = (DoubleVector) LongVector.fromArray(LONGS, likes, i)
+                    .convert(VectorOperators.L2D, 0);
+            viewScores.mul(viewsWeight).add(likeScores.mul(likesWeight)).intoArray(out, i);
+        }
+        for (; i < length; i++) {
+            out[i] = views[i] * viewsWeight + likes[i] * likesWeight;
+        }
+    }
+
+    /**
+     * Finds the maximum with lane-wise max, then the first index holding it with lane compares.
+     */
+    @Override
+    public int argmax(double[] values, int from, int to) {
+        if (from >= to) {
+            return -1;
+        }
+        int lanes = DOUBLES.length();
+        int upper = from + DOUBLES.loopBound(to - from);
+
+        double max = Double.NEGATIVE_INFINITY;
+        int i = from;
+        if (upper > from) {
+            DoubleVector maxes = DoubleVector.fromArray(DOUBLES, values, i);
+            for (i += lanes; i < upper; i += lanes) {
+                maxes = maxes.max(DoubleVector.fromArray(DOUBLES, values, i));
+            }
+            max = maxes.reduceLanes(VectorOperators.MAX);
+        }
+        for (; i < to; i++) {
+            max = Math.max(max, values[i]);
+        }
+
+        for (i = from; i < upper; i += lanes) {
+            int lane = DoubleVector.fromArray(DOUBLES, values, i).eq(max).firstTrue();
+            if (lane < lanes) {
+                return i + lane;
+            }
+        }
+        for (; i < to; i++) {
+            if (values[i] == max) {
+                return i;
+            }
+        }
+        return from;
+    }
+
+    @Override
+    public String name() {
+        return "vector(" + DOUBLES.length() + " lanes)";
+    }
+}
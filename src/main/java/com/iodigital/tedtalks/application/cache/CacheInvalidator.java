@@ -0,0 +1,31 @@
+package com.iodigital.tedtalks.application.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts the local caches a change affects. Used for this node's own writes and for changes
+ * made by other nodes.
+ */
+@Component
+@Slf4j
+public class CacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    public CacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void evict(ChangeKind kind) {
+        for (String cacheName : kind.cacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        log.debug("Evicted caches {} after {} change", kind.cacheNames(), kind);
+    }
+}
@@ -0,0 +1,28 @@
+package com.iodigital.tedtalks.application.cache;
+
+import java.util.List;
+
+/**
+ * What changed, and therefore which caches are stale on every node.
+ */
+public enum ChangeKind {
+    /**
+     * Talks were created, updated, deleted or imported: talk lists and speaker totals.
+     * Influence analyses are not cached; SpeakerAggregates and AnalysisSnapshots follow the change.
+     */
+    TALKS("allTedTalks", "allSpeakers"),
+    /** A speaker was renamed: every cached view that shows speaker names. */
+    SPEAKER_RENAMED("allTedTalks", "allSpeakers"),
+    /** A speaker was added, removed or got a new bio: only the speaker list. */
+    SPEAKER_PROFILE("allSpeakers");
+
+    private final List<String> cacheNames;
+
+    ChangeKind(String... cacheNames) {
+        this.cacheNames = List.of(cacheNames);
+    }
+
+    public List<String> cacheNames() {
+        return cacheNames;
+    }
+}
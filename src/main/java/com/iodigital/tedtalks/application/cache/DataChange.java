@@ -0,0 +1,7 @@
+package com.iodigital.tedtalks.application.cache;
+
+/**
+ * One committed change as recorded in the change feed.
+ */
+public record DataChange(long id, ChangeKind kind, String originNode) {
+}
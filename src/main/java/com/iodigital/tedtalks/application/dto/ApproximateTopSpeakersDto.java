@@ -0,0 +1,17 @@
+package com.iodigital.tedtalks.application.dto;
+
+import java.util.List;
+
+/**
+ * Top speakers estimated in constant memory. Each speaker's true total influence lies between
+ * {@code estimatedInfluence - maxError} and {@code estimatedInfluence}; {@code guaranteed} means
+ * the speaker is certainly among the true top speakers. No speaker left out of the estimate
+ * totals more than {@code maxUntrackedInfluence}.
+ */
+public record ApproximateTopSpeakersDto(
+        int counters,
+        double maxUntrackedInfluence,
+        List<Entry> speakers
+) {
+    public record Entry(String speaker, double estimatedInfluence, double maxError, boolean guaranteed) {}
+}
@@ -0,0 +1,15 @@
+package com.iodigital.tedtalks.application.dto;
+
+/**
+ * Percentiles of talk views and likes. Each percentile is within {@code relativeError} of the
+ * exact value (e.g. 0.01 = 1%).
+ */
+public record DistributionDto(
+        String scope,
+        long talkCount,
+        Percentiles views,
+        Percentiles likes,
+        double relativeError
+) {
+    public record Percentiles(long p50, long p90, long p99) {}
+}
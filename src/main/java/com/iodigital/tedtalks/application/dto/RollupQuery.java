@@ -0,0 +1,49 @@
+package com.iodigital.tedtalks.application.dto;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A slice or dice of the (year, month, speaker) rollup: the dimensions to group by, optional
+ * ranges and speakers to keep, and either dimension order or a measure, highest first, to sort by.
+ * Null bounds are open.
+ */
+public record RollupQuery(
+        Set<Dimension> groupBy,
+        Integer fromYear,
+        Integer toYear,
+        Integer fromMonth,
+        Integer toMonth,
+        Set<String> speakers,
+        Measure sortBy,
+        int limit
+) {
+    public enum Dimension { YEAR, MONTH, SPEAKER }
+
+    public enum Measure { TALKS, VIEWS, LIKES, INFLUENCE, MAX_INFLUENCE }
+
+    public RollupQuery {
+        groupBy = groupBy == null || groupBy.isEmpty() ? Set.of() : Set.copyOf(EnumSet.copyOf(groupBy));
+        speakers = speakers == null ? Set.of() : Set.copyOf(speakers);
+        if (fromYear != null && toYear != null && fromYear > toYear) {
+            throw new IllegalArgumentException("fromYear must not be after toYear");
+        }
+        if (fromMonth != null && (fromMonth < 1 || fromMonth > 12) || toMonth != null && (toMonth < 1 || toMonth > 12)) {
+            throw new IllegalArgumentException("Months must be between 1 and 12");
+        }
+        if (fromMonth != null && toMonth != null && fromMonth > toMonth) {
+            throw new IllegalArgumentException("fromMonth must not be after toMonth");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+    }
+
+    public boolean filtersYears() {
+        return fromYear != null || toYear != null;
+    }
+
+    public boolean filtersMonths() {
+        return fromMonth != null || toMonth != null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.iodigital.tedtalks.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One group of a rollup. Dimensions the query did not group by are null and left out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RollupRowDto(
+        Integer year,
+        Integer month,
+        String speaker,
+        long talks,
+        long totalViews,
+        long totalLikes,
+        double totalInfluence,
+        double maxInfluence
+) {}
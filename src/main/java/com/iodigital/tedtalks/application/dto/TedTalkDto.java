@@ -2,6 +2,7 @@ package com.iodigital.tedtalks.application.dto;
 
 import com.iodigital.tedtalks.domain.model.Speaker;
 import com.iodigital.tedtalks.domain.model.TedTalk;
+import com.iodigital.tedtalks.domain.model.valueobject.InfluenceWeights;
 
 public record TedTalkDto(
         String id,
@@ -15,6 +16,10 @@ public record TedTalkDto(
         double influenceScore
 ) {
     public static TedTalkDto fromDomain(TedTalk talk) {
+        return fromDomain(talk, InfluenceWeights.DEFAULT);
+    }
+
+    public static TedTalkDto fromDomain(TedTalk talk, InfluenceWeights weights) {
         return new TedTalkDto(
                 talk.getId().value().toString(),
                 talk.getTitle(),
@@ -24,7 +29,7 @@ public record TedTalkDto(
                 talk.getViews().value(),
                 talk.getLikes().value(),
                 talk.getLink().value(),
-                talk.calculateInfluenceScore()
+                talk.calculateInfluenceScore(weights)
         );
     }
 }
@@ -0,0 +1,14 @@
+package com.iodigital.tedtalks.application.dto;
+
+/**
+ * Growth of a speaker's talks over a window of recorded imports, next to their current totals.
+ */
+public record TrendingSpeakerDto(
+        String speaker,
+        long totalViews,
+        long totalLikes,
+        long viewsGained,
+        long likesGained,
+        double influenceGained,
+        Double viewsGrowthRate
+) {}
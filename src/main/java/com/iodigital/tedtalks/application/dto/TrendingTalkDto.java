@@ -0,0 +1,13 @@
+package com.iodigital.tedtalks.application.dto;
+
+/**
+ * Growth of a talk over a window of recorded imports. {@code viewsGrowthRate} is the views gained
+ * relative to the views at the start of the window, or null when the talk started from none.
+ */
+public record TrendingTalkDto(
+        TedTalkDto talk,
+        long viewsGained,
+        long likesGained,
+        double influenceGained,
+        Double viewsGrowthRate
+) {}
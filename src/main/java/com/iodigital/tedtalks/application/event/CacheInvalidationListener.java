@@ -0,0 +1,40 @@
+package com.iodigital.tedtalks.application.event;
+
+import com.iodigital.tedtalks.application.cache.CacheInvalidator;
+import com.iodigital.tedtalks.application.port.ChangeFeed;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Records every data change in the shared change feed and evicts this node's own caches.
+ * Other nodes pick the change up from the feed.
+ */
+@Component
+public class CacheInvalidationListener {
+
+    private final ChangeFeed changeFeed;
+    private final CacheInvalidator cacheInvalidator;
+
+    public CacheInvalidationListener(ChangeFeed changeFeed, CacheInvalidator cacheInvalidator) {
+        this.changeFeed = changeFeed;
+        this.cacheInvalidator = cacheInvalidator;
+    }
+
+    /**
+     * Appends inside the publishing transaction, so the change is committed (and announced)
+     * together with the data, or not at all.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void recordChange(DataChangeEvent event) {
+        changeFeed.append(event.changeKind());
+    }
+
+    /**
+     * Evicts only after commit, so a concurrent read cannot cache the pre-commit state again.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void evictLocalCaches(DataChangeEvent event) {
+        cacheInvalidator.evict(event.changeKind());
+    }
+}
@@ -0,0 +1,11 @@
+package com.iodigital.tedtalks.application.event;
+
+import com.iodigital.tedtalks.application.cache.ChangeKind;
+
+/**
+ * An application event that changes cached data.
+ */
+public interface DataChangeEvent {
+
+    ChangeKind changeKind();
+}
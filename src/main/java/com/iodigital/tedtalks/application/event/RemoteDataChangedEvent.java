@@ -0,0 +1,16 @@
+package com.iodigital.tedtalks.application.event;
+
+import com.iodigital.tedtalks.application.cache.ChangeKind;
+
+import java.util.Set;
+
+/**
+ * Published on this node after it read changes committed by other nodes from the change feed.
+ * Caches are already evicted; listeners holding their own copy of the data refresh it.
+ */
+public record RemoteDataChangedEvent(Set<ChangeKind> kinds) {
+
+    public RemoteDataChangedEvent {
+        kinds = Set.copyOf(kinds);
+    }
+}
@@ -0,0 +1,21 @@
+package com.iodigital.tedtalks.application.event;
+
+import com.iodigital.tedtalks.application.cache.ChangeKind;
+
+/**
+ * Published after a speaker was created, updated or deleted. A rename reaches every view that
+ * shows the speaker's name; other changes only affect the speaker list.
+ */
+public record SpeakersChangedEvent(Origin origin, boolean renamed) implements DataChangeEvent {
+
+    public enum Origin {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    @Override
+    public ChangeKind changeKind() {
+        return renamed ? ChangeKind.SPEAKER_RENAMED : ChangeKind.SPEAKER_PROFILE;
+    }
+}
@@ -0,0 +1,91 @@
+package com.iodigital.tedtalks.application.event;
+
+import com.iodigital.tedtalks.domain.repository.TedTalkRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Brings the pre-aggregated summaries up to date after talks changed. An import refreshes them
+ * once, inline on its own thread, before reporting completion. Single-talk writes only schedule
+ * a refresh on a background thread after a short delay, so a burst of writes costs one refresh
+ * and no request waits for it.
+ */
+@Component
+@Slf4j
+public class SummaryRefreshListener {
+
+    private final TedTalkRepository tedTalkRepository;
+    private final Duration delay;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    public SummaryRefreshListener(TedTalkRepository tedTalkRepository,
+                                  @Value("${app.analysis.summary-refresh-delay:2s}") Duration delay) {
+        this.tedTalkRepository = tedTalkRepository;
+        this.delay = delay;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "summary-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs after the publishing transaction committed (or immediately when there is none).
+     * Scheduling needs no transaction; the refresh opens its own, because the publishing one
+     * is already completed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTalksChanged(TalksChangedEvent event) {
+        if (event.origin() == TalksChangedEvent.Origin.IMPORT) {
+            refresh(event.origin());
+        } else {
+            scheduleRefresh();
+        }
+    }
+
+    /**
+     * Schedules a refresh unless one is already waiting; that one will see this change too,
+     * because it is cleared before it starts refreshing.
+     */
+    void scheduleRefresh() {
+        if (!refreshScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scheduler.schedule(() -> {
+                refreshScheduled.set(false);
+                refresh("scheduled refresh");
+            }, delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            refreshScheduled.set(false);
+            log.warn("Summary refresh rejected: {}", e.getMessage());
+        }
+    }
+
+    private void refresh(Object reason) {
+        long startTime = System.currentTimeMillis();
+        try {
+            tedTalkRepository.refreshSummaries();
+            log.debug("Refreshed talk summaries after {} in {} ms", reason,
+                    System.currentTimeMillis() - startTime);
+        } catch (RuntimeException e) {
+            log.warn("Refreshing talk summaries after {} failed: {}", reason, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+}
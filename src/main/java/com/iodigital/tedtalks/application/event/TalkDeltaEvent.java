@@ -0,0 +1,40 @@
+package com.iodigital.tedtalks.application.event;
+
+import com.iodigital.tedtalks.domain.model.TedTalk;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published inside a talk write's transaction with the talks it took away and put in, so that
+ * state derived from every talk can apply the write once it commits. A replaced talk is both
+ * removed (as stored before) and added. When {@code known} is false the write's previous state
+ * was not seen and listeners rebuild instead.
+ */
+public record TalkDeltaEvent(List<TedTalk> removed, List<TedTalk> added, boolean known) {
+
+    public TalkDeltaEvent {
+        removed = List.copyOf(removed);
+        added = List.copyOf(added);
+    }
+
+    public static TalkDeltaEvent added(Collection<TedTalk> talks) {
+        return new TalkDeltaEvent(List.of(), List.copyOf(talks), true);
+    }
+
+    public static TalkDeltaEvent replaced(TedTalk before, TedTalk after) {
+        return new TalkDeltaEvent(List.of(before), List.of(after), true);
+    }
+
+    public static TalkDeltaEvent replaced(List<TedTalk> before, List<TedTalk> after) {
+        return new TalkDeltaEvent(before, after, true);
+    }
+
+    public static TalkDeltaEvent removed(TedTalk talk) {
+        return new TalkDeltaEvent(List.of(talk), List.of(), true);
+    }
+
+    public static TalkDeltaEvent unknown() {
+        return new TalkDeltaEvent(List.of(), List.of(), false);
+    }
+}
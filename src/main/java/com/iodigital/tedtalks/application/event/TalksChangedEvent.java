@@ -0,0 +1,21 @@
+package com.iodigital.tedtalks.application.event;
+
+import com.iodigital.tedtalks.application.cache.ChangeKind;
+
+/**
+ * Published after talks were created, updated, deleted or imported.
+ */
+public record TalksChangedEvent(Origin origin) implements DataChangeEvent {
+
+    public enum Origin {
+        CREATE,
+        UPDATE,
+        DELETE,
+        IMPORT
+    }
+
+    @Override
+    public ChangeKind changeKind() {
+        return ChangeKind.TALKS;
+    }
+}
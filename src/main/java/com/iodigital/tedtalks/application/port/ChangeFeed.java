@@ -0,0 +1,63 @@
+package com.iodigital.tedtalks.application.port;
+
+import com.iodigital.tedtalks.application.cache.ChangeKind;
+import com.iodigital.tedtalks.application.cache.DataChange;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Shared, ordered log of committed changes that every application node reads to keep its caches fresh.
+ */
+public interface ChangeFeed {
+
+    /**
+     * Identifies this application node in the changes it appends.
+     */
+    String nodeId();
+
+    /**
+     * Record a change made by this node. Joins the caller's transaction, so the change becomes
+     * visible to other nodes exactly when the data does.
+     */
+    void append(ChangeKind kind);
+
+    /**
+     * Changes with an id greater than the given one, oldest first.
+     */
+    List<DataChange> readAfter(long afterId, int limit);
+
+    /**
+     * Changes with the given ids that exist by now.
+     */
+    List<DataChange> readByIds(Collection<Long> ids);
+
+    /**
+     * Id of the newest change, or 0 when there is none.
+     */
+    long lastId();
+
+    /**
+     * Horizon below which every change has committed or been rolled back. Data read after taking
+     * it reflects every change below it, so it can stamp a copy of that data. It never goes back,
+     * and unlike {@link #lastId()} it is not lowered by pruning.
+     */
+    long version();
+
+    /**
+     * Number of changes made by other nodes at or above the first version and below the second.
+     */
+    long countFromOtherNodes(long fromVersion, long toVersion);
+
+    /**
+     * Number of changes, by any node, at or above the version; changes below it may be pruned,
+     * but never the newest one.
+     */
+    long countSince(long fromVersion);
+
+    /**
+     * Drop changes recorded before the cutoff, except the newest one.
+     */
+    int pruneBefore(Instant cutoff);
+}
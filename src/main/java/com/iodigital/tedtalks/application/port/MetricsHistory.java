@@ -0,0 +1,58 @@
+package com.iodigital.tedtalks.application.port;
+
+import com.iodigital.tedtalks.domain.model.TedTalk;
+import com.iodigital.tedtalks.domain.model.valueobject.TedTalkId;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Append-only record of how imports changed talk views and likes, read back to find what is growing.
+ */
+public interface MetricsHistory {
+
+    /**
+     * Record the changes of one import batch. Joins the caller's transaction, so the history
+     * holds exactly the changes that committed.
+     */
+    void record(List<MetricChange> changes);
+
+    /**
+     * Talks that gained the most influence from changes recorded since the cutoff, best first.
+     * A talk's first recorded values are its starting point, not growth.
+     */
+    List<TalkGrowth> fastestGrowingTalks(Instant since, int limit);
+
+    /**
+     * Speakers whose talks together gained the most influence since the cutoff, best first.
+     */
+    List<SpeakerGrowth> fastestGrowingSpeakers(Instant since, int limit);
+
+    /**
+     * Change of one talk's metrics; a talk the import created changes from zero.
+     */
+    record MetricChange(TedTalkId talk, boolean created, long viewsDelta, long likesDelta) {
+
+        public static MetricChange created(TedTalk talk) {
+            return new MetricChange(talk.getId(), true, talk.getViews().value(), talk.getLikes().value());
+        }
+
+        public static MetricChange updated(TedTalk before, TedTalk after) {
+            return new MetricChange(after.getId(), false,
+                    after.getViews().value() - before.getViews().value(),
+                    after.getLikes().value() - before.getLikes().value());
+        }
+    }
+
+    /**
+     * Growth of one talk, with its current totals.
+     */
+    record TalkGrowth(TedTalkId talk, long views, long likes, long viewsGained, long likesGained) {
+    }
+
+    /**
+     * Growth of one speaker's talks, with their current totals.
+     */
+    record SpeakerGrowth(String speaker, long views, long likes, long viewsGained, long likesGained) {
+    }
+}
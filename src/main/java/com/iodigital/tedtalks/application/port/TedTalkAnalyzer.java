@@ -1,8 +1,17 @@
 package com.iodigital.tedtalks.application.port;
 
+import com.iodigital.tedtalks.application.dto.ApproximateTopSpeakersDto;
+import com.iodigital.tedtalks.application.dto.DistributionDto;
+import com.iodigital.tedtalks.application.dto.RollupQuery;
+import com.iodigital.tedtalks.application.dto.RollupRowDto;
 import com.iodigital.tedtalks.application.dto.SpeakerInfluenceDto;
 import com.iodigital.tedtalks.application.dto.TedTalkDto;
+import com.iodigital.tedtalks.application.dto.TrendingSpeakerDto;
+import com.iodigital.tedtalks.application.dto.TrendingTalkDto;
+import com.iodigital.tedtalks.domain.model.valueobject.InfluenceWeights;
+import com.iodigital.tedtalks.domain.model.valueobject.TalkDate;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -11,8 +20,47 @@ public interface TedTalkAnalyzer {
 
     List<SpeakerInfluenceDto> getTopInfluentialSpeakers(int limit);
 
+    List<SpeakerInfluenceDto> getTopInfluentialSpeakers(int limit, InfluenceWeights weights);
+
+    /**
+     * Top speakers estimated by a heavy-hitters sketch in constant memory, with error bounds.
+     */
+    ApproximateTopSpeakersDto getApproximateTopInfluentialSpeakers(int limit);
+
+    /**
+     * Speakers ranked by the influence of their talks given from {@code fromYear} to {@code toYear} inclusive.
+     */
+    List<SpeakerInfluenceDto> getTopInfluentialSpeakersBetween(int fromYear, int toYear, int limit);
+
+    /**
+     * The most influential talks given from month {@code from} to month {@code to} inclusive.
+     */
+    List<TedTalkDto> getTopTalksBetween(TalkDate from, TalkDate to, int limit);
+
     Map<Integer, TedTalkDto> getMostInfluentialTalkPerYear();
 
+    Map<Integer, TedTalkDto> getMostInfluentialTalkPerYear(InfluenceWeights weights);
+
     Optional<SpeakerInfluenceDto> analyzeSpeaker(String speakerName);
-}
 
+    /**
+     * Percentiles of views and likes over all talks; empty when there are none.
+     */
+    Optional<DistributionDto> getDistribution();
+
+    Optional<DistributionDto> getDistributionBetween(int fromYear, int toYear);
+
+    Optional<DistributionDto> getSpeakerDistribution(String speakerName);
+
+    /**
+     * Talk counts, views, likes and influence grouped by any of year, month and speaker.
+     */
+    List<RollupRowDto> getRollup(RollupQuery query);
+
+    /**
+     * Talks that gained the most influence through imports recorded since the cutoff.
+     */
+    List<TrendingTalkDto> getTrendingTalks(Instant since, int limit);
+
+    List<TrendingSpeakerDto> getTrendingSpeakers(Instant since, int limit);
+}
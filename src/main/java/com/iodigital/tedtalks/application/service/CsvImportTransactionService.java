@@ -1,7 +1,12 @@
 package com.iodigital.tedtalks.application.service;
 
+import com.iodigital.tedtalks.application.event.TalkDeltaEvent;
+import com.iodigital.tedtalks.application.event.TalksChangedEvent;
+import com.iodigital.tedtalks.application.port.MetricsHistory;
+import com.iodigital.tedtalks.application.port.MetricsHistory.MetricChange;
 import com.iodigital.tedtalks.domain.model.Speaker;
 import com.iodigital.tedtalks.domain.model.TedTalk;
+import com.iodigital.tedtalks.domain.model.valueobject.TedTalkId;
 import com.iodigital.tedtalks.domain.repository.SpeakerRepository;
 import com.iodigital.tedtalks.domain.repository.TedTalkRepository;
 import com.iodigital.tedtalks.domain.service.ImportStatistics;
@@ -9,6 +14,7 @@ import com.iodigital.tedtalks.infrastructure.csv.CsvParser;
 import com.iodigital.tedtalks.infrastructure.csv.TedTalkCsvMapper.CsvImportRecord;
 import com.iodigital.tedtalks.infrastructure.csv.ValidationError;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,8 +22,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 @Slf4j
@@ -26,13 +34,19 @@ public class CsvImportTransactionService {
     private final CsvParser csvParser;
     private final SpeakerRepository speakerRepository;
     private final TedTalkRepository tedTalkRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MetricsHistory metricsHistory;
 
     public CsvImportTransactionService(CsvParser csvParser,
                                        SpeakerRepository speakerRepository,
-                                       TedTalkRepository tedTalkRepository) {
+                                       TedTalkRepository tedTalkRepository,
+                                       ApplicationEventPublisher eventPublisher,
+                                       MetricsHistory metricsHistory) {
         this.csvParser = csvParser;
         this.speakerRepository = speakerRepository;
         this.tedTalkRepository = tedTalkRepository;
+        this.eventPublisher = eventPublisher;
+        this.metricsHistory = metricsHistory;
     }
 
     /**
@@ -45,6 +59,7 @@ public class CsvImportTransactionService {
 
         ImportStatistics stats = new ImportStatistics();
         Map<String, Speaker> speakerCache = new HashMap<>();
+        // Valid rows not saved yet; whether each creates or updates a talk is decided per batch
         List<TedTalk> talkBatch = new ArrayList<>(1000);
 
         try (var validationStream = csvParser.parseSafe(csvStream)) {
@@ -68,11 +83,11 @@ public class CsvImportTransactionService {
                 // Process valid record
                 validationResult.record().ifPresent(record -> {
                     try {
-                        processImportRecord(record, speakerCache, talkBatch, stats);
+                        processImportRecord(record, speakerCache, talkBatch);
 
-                        // Batch insert talks when batch is full
+                        // Batch upsert talks when batch is full
                         if (talkBatch.size() >= 1000) {
-                            saveBatch(talkBatch);
+                            saveBatch(talkBatch, stats);
                             talkBatch.clear();
                             logProgress(importId, stats);
                         }
@@ -88,7 +103,7 @@ public class CsvImportTransactionService {
             // Save final batch
             if (!talkBatch.isEmpty()) {
                 log.info("Saving final batch of {} talks", talkBatch.size());
-                saveBatch(talkBatch);
+                saveBatch(talkBatch, stats);
                 logProgress(importId, stats);
             }
 
@@ -104,16 +119,21 @@ public class CsvImportTransactionService {
             logValidationErrorSummary(stats);
         }
 
-        log.info("Import {} completed: Total={}, Successful={}, Failed={}, Skipped={}",
-                importId, stats.getTotal(), stats.getSuccessful(), stats.getFailed(), stats.getSkipped());
+        log.info("Import {} completed: Total={}, Successful={}, Updated={}, Failed={}, Skipped={}",
+                importId, stats.getTotal(), stats.getSuccessful(), stats.getUpdated(), stats.getFailed(),
+                stats.getSkipped());
+
+        // Delivered once the import transaction commits
+        if (stats.getSuccessful() > 0 || stats.getUpdated() > 0) {
+            eventPublisher.publishEvent(new TalksChangedEvent(TalksChangedEvent.Origin.IMPORT));
+        }
 
         return stats;
     }
 
     private void processImportRecord(CsvImportRecord record,
                                      Map<String, Speaker> speakerCache,
-                                     List<TedTalk> talkBatch,
-                                     ImportStatistics stats) {
+                                     List<TedTalk> talkBatch) {
         Speaker speaker = record.speaker();
         TedTalk talk = record.talk();
 
@@ -138,37 +158,92 @@ public class CsvImportTransactionService {
             speakerCache.put(existingSpeaker.getName(), existingSpeaker);
         }
 
-        // Check if talk already exists
-        boolean talkExists = tedTalkRepository.existsByTitleAndSpeakerId(
-                talk.getTitle(), existingSpeaker.getId());
-
-        log.debug("Talk '{}' by speaker {} exists: {}", talk.getTitle(), existingSpeaker.getName(), talkExists);
-
-        if (!talkExists) {
-            // Create new talk with existing speaker
-            TedTalk newTalk = TedTalk.create(
-                    talk.getTitle(),
-                    existingSpeaker,
-                    talk.getDate(),
-                    talk.getViews(),
-                    talk.getLikes(),
-                    talk.getLink()
-            );
-
-            talkBatch.add(newTalk);
-            log.debug("Added talk to batch: {} (batch size: {})", talk.getTitle(), talkBatch.size());
-            stats.incrementSuccessful();  // Only count successful talk imports
-        } else {
-            stats.incrementSkipped();
-            log.debug("Skipping duplicate talk: {} by {}", talk.getTitle(), existingSpeaker.getName());
-        }
+        talkBatch.add(TedTalk.create(
+                talk.getTitle(),
+                existingSpeaker,
+                talk.getDate(),
+                talk.getViews(),
+                talk.getLikes(),
+                talk.getLink()
+        ));
+        log.debug("Added talk to batch: {} (batch size: {})", talk.getTitle(), talkBatch.size());
     }
 
-    private void saveBatch(List<TedTalk> talks) {
+    /**
+     * Looks up the stored talks of the whole batch at once, then upserts the new talks and the
+     * ones whose metrics changed. The same title by the same speaker in the same year is the same
+     * talk; in another year it is counted as new, and the upsert replaces the stored row for the
+     * old year.
+     */
+    private void saveBatch(List<TedTalk> importedTalks, ImportStatistics stats) {
+        Map<TalkKey, TedTalk> storedTalks = new HashMap<>();
+        tedTalkRepository.findSameTalks(importedTalks).forEach(stored -> storedTalks.put(TalkKey.of(stored), stored));
+
+        List<TedTalk> talks = new ArrayList<>(importedTalks.size());
+        // Stored state of the talks in the batch that update an existing talk
+        Map<TedTalkId, TedTalk> replacedTalks = new HashMap<>();
+        Set<TalkKey> createdTalks = new HashSet<>();
+        for (TedTalk talk : importedTalks) {
+            TalkKey key = TalkKey.of(talk);
+            TedTalk existingTalk = storedTalks.get(key);
+
+            // A talk listed again in the same batch keeps the first row's metrics
+            if (existingTalk == null) {
+                if (createdTalks.add(key)) {
+                    talks.add(talk);
+                    stats.incrementSuccessful();  // Only count successful talk imports
+                } else {
+                    stats.incrementSkipped();
+                    log.debug("Skipping repeated new talk: {} by {}", talk.getTitle(), talk.getSpeaker().getName());
+                }
+                continue;
+            }
+
+            boolean metricsChanged = existingTalk.getViews().value() != talk.getViews().value()
+                    || existingTalk.getLikes().value() != talk.getLikes().value();
+            if (metricsChanged && !replacedTalks.containsKey(existingTalk.getId())) {
+                // Re-imports refresh the metrics; the talk keeps its id, date and link
+                TedTalk updatedTalk = TedTalk.withId(
+                        existingTalk.getId(),
+                        existingTalk.getTitle(),
+                        talk.getSpeaker(),
+                        existingTalk.getDate(),
+                        talk.getViews(),
+                        talk.getLikes(),
+                        existingTalk.getLink()
+                );
+
+                talks.add(updatedTalk);
+                replacedTalks.put(updatedTalk.getId(), existingTalk);
+                log.debug("Updating metrics of talk: {} by {}", talk.getTitle(), talk.getSpeaker().getName());
+                stats.incrementUpdated();
+            } else {
+                stats.incrementSkipped();
+                log.debug("Skipping unchanged talk: {} by {}", talk.getTitle(), talk.getSpeaker().getName());
+            }
+        }
+
         if (!talks.isEmpty()) {
             log.info("Saving batch of {} talks to database", talks.size());
             try {
+                // Upserts: talks in replacedTalks overwrite the metrics of their stored row
                 tedTalkRepository.saveAll(talks);
+
+                // A replaced talk takes back its stored state and adds the imported one
+                List<TedTalk> removed = new ArrayList<>(replacedTalks.size());
+                List<MetricChange> changes = new ArrayList<>(talks.size());
+                for (TedTalk talk : talks) {
+                    TedTalk stored = replacedTalks.get(talk.getId());
+                    if (stored == null) {
+                        changes.add(MetricChange.created(talk));
+                    } else {
+                        removed.add(stored);
+                        changes.add(MetricChange.updated(stored, talk));
+                    }
+                }
+
+                eventPublisher.publishEvent(new TalkDeltaEvent(removed, talks, true));
+                metricsHistory.record(changes);
                 log.info("Successfully saved {} talks to database", talks.size());
             } catch (Exception e) {
                 log.error("Failed to save batch of {} talks: {}", talks.size(), e.getMessage(), e);
@@ -178,11 +253,12 @@ public class CsvImportTransactionService {
     }
 
     private void logProgress(String importId, ImportStatistics stats) {
-        log.info("Import {}: Processed {}/{} records ({} successful, {} failed, {} skipped)",
+        log.info("Import {}: Processed {}/{} records ({} successful, {} updated, {} failed, {} skipped)",
                 importId,
                 stats.getTotal(),
                 stats.getTotal(),
                 stats.getSuccessful(),
+                stats.getUpdated(),
                 stats.getFailed(),
                 stats.getSkipped());
     }
@@ -200,5 +276,12 @@ public class CsvImportTransactionService {
                 log.warn("  - {}: {} occurrences", type, count)
         );
     }
+
+    private record TalkKey(String title, String speaker, int year) {
+
+        static TalkKey of(TedTalk talk) {
+            return new TalkKey(talk.getTitle(), talk.getSpeaker().getName(), talk.getDate().year());
+        }
+    }
 }
 
@@ -1,24 +1,51 @@
 package com.iodigital.tedtalks.application.service;
 
+import com.iodigital.tedtalks.application.analysis.AnalysisExecutionMode;
+import com.iodigital.tedtalks.application.analysis.AnalysisSnapshot;
+import com.iodigital.tedtalks.application.analysis.AnalysisSnapshots;
+import com.iodigital.tedtalks.application.analysis.ApproximateTopSpeakers;
+import com.iodigital.tedtalks.application.analysis.DistributionSketches;
+import com.iodigital.tedtalks.application.analysis.DistributionSketches.Distribution;
+import com.iodigital.tedtalks.application.analysis.QuantileSketch;
+import com.iodigital.tedtalks.application.analysis.RollupCube;
+import com.iodigital.tedtalks.application.analysis.SpeakerAggregates;
+import com.iodigital.tedtalks.application.analysis.TopK;
+import com.iodigital.tedtalks.application.dto.ApproximateTopSpeakersDto;
+import com.iodigital.tedtalks.application.dto.DistributionDto;
+import com.iodigital.tedtalks.application.dto.RollupQuery;
+import com.iodigital.tedtalks.application.dto.RollupRowDto;
 import com.iodigital.tedtalks.application.dto.SpeakerInfluenceDto;
 import com.iodigital.tedtalks.application.dto.TedTalkDto;
+import com.iodigital.tedtalks.application.dto.TrendingSpeakerDto;
+import com.iodigital.tedtalks.application.dto.TrendingTalkDto;
+import com.iodigital.tedtalks.application.port.MetricsHistory;
 import com.iodigital.tedtalks.application.port.TedTalkAnalyzer;
+import com.iodigital.tedtalks.domain.exception.AnalysisUnavailableException;
 import com.iodigital.tedtalks.domain.model.TedTalk;
+import com.iodigital.tedtalks.domain.model.valueobject.InfluenceWeights;
+import com.iodigital.tedtalks.domain.model.valueobject.TalkDate;
+import com.iodigital.tedtalks.domain.repository.SpeakerAggregate;
 import com.iodigital.tedtalks.domain.repository.TedTalkRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -26,41 +53,178 @@ import java.util.stream.Stream;
 @Slf4j
 public class InfluenceAnalysisService implements TedTalkAnalyzer {
 
+    private static final int MAX_TOP_K_PARTITIONS = 4;
+    private static final int MIN_TOP_K_PARTITION_SIZE = 250_000;
+
     private final TedTalkRepository repository;
     private final Executor analysisExecutor;
     private final CacheManager cacheManager;
+    private final AnalysisExecutionMode executionMode;
+    private final SpeakerAggregates speakerAggregates;
+    private final AnalysisSnapshots analysisSnapshots;
+    private final DistributionSketches distributionSketches;
+    private final ApproximateTopSpeakers approximateTopSpeakers;
+    private final MetricsHistory metricsHistory;
 
     public InfluenceAnalysisService(TedTalkRepository repository,
                                     @Qualifier("analysisExecutor") Executor analysisExecutor,
-                                    CacheManager cacheManager) {
+                                    CacheManager cacheManager,
+                                    @Value("${app.analysis.execution-mode:AUTO}") AnalysisExecutionMode executionMode,
+                                    SpeakerAggregates speakerAggregates,
+                                    AnalysisSnapshots analysisSnapshots,
+                                    DistributionSketches distributionSketches,
+                                    ApproximateTopSpeakers approximateTopSpeakers,
+                                    MetricsHistory metricsHistory) {
         this.repository = repository;
         this.analysisExecutor = analysisExecutor;
         this.cacheManager = cacheManager;
+        this.executionMode = executionMode;
+        this.speakerAggregates = speakerAggregates;
+        this.analysisSnapshots = analysisSnapshots;
+        this.distributionSketches = distributionSketches;
+        this.approximateTopSpeakers = approximateTopSpeakers;
+        this.metricsHistory = metricsHistory;
     }
 
+    /**
+     * Read from the incrementally maintained speaker aggregates once they are built, which
+     * already include the latest commit; before that from the analysis snapshot, and only
+     * without either are the totals aggregated by the database or in the JVM.
+     */
     @Override
-    @Cacheable(value = "topSpeakers", key = "#limit")
+    @Transactional(readOnly = true)
     public List<SpeakerInfluenceDto> getTopInfluentialSpeakers(int limit) {
+        if (speakerAggregates.isReady()) {
+            return speakerAggregates.top(limit).stream()
+                    .map(this::toInfluenceDto)
+                    .toList();
+        }
+        Optional<AnalysisSnapshot> snapshot = analysisSnapshots.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().topSpeakers(limit).stream()
+                    .map(this::toInfluenceDto)
+                    .toList();
+        }
+
         log.info("Calculating top {} influential speakers", limit);
         long startTime = System.currentTimeMillis();
 
-        // Step 1: Stream data from DB (memory efficient)
-        Map<String, List<TedTalk>> talksBySpeaker;
+        if (useSqlPushdown()) {
+            List<SpeakerInfluenceDto> result = repository.findTopSpeakerAggregates(limit).stream()
+                    .map(this::toInfluenceDto)
+                    .toList();
+
+            log.info("Aggregated top {} speakers in the database in {} ms", limit,
+                    System.currentTimeMillis() - startTime);
+            return result;
+        }
+
+        return aggregateInJvm(limit, InfluenceWeights.DEFAULT, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Default weights rank through the stored influence column like {@link #getTopInfluentialSpeakers(int)};
+     * other weights rank from the analysis snapshot, which keeps recently used weightings, or
+     * by a scan in the JVM until the first snapshot is published.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SpeakerInfluenceDto> getTopInfluentialSpeakers(int limit, InfluenceWeights weights) {
+        if (weights.isDefault()) {
+            return getTopInfluentialSpeakers(limit);
+        }
+        Optional<AnalysisSnapshot> snapshot = analysisSnapshots.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().ranking(weights).topSpeakers(limit).stream()
+                    .map(this::toInfluenceDto)
+                    .toList();
+        }
+
+        log.info("Calculating top {} influential speakers weighted {}", limit, weights);
+        return aggregateInJvm(limit, weights, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Answered from the sketch alone, never by a scan: until its startup pass completes there
+     * is no estimate to report, and the request is answered with 503.
+     */
+    @Override
+    public ApproximateTopSpeakersDto getApproximateTopInfluentialSpeakers(int limit) {
+        if (!approximateTopSpeakers.isReady()) {
+            throw new AnalysisUnavailableException("Approximate top speakers are still being built");
+        }
+        ApproximateTopSpeakers.Result result = approximateTopSpeakers.top(limit);
+        return new ApproximateTopSpeakersDto(
+                result.counters(),
+                result.maxUntrackedInfluence(),
+                result.speakers().stream()
+                        .map(entry -> new ApproximateTopSpeakersDto.Entry(
+                                entry.item(), entry.estimate(), entry.maxError(), entry.guaranteed()))
+                        .toList()
+        );
+    }
+
+    /**
+     * Answered from the per-year running totals of the analysis snapshot; scanned in the JVM
+     * only until the first snapshot is published.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SpeakerInfluenceDto> getTopInfluentialSpeakersBetween(int fromYear, int toYear, int limit) {
+        Optional<AnalysisSnapshot> snapshot = analysisSnapshots.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().topSpeakers(fromYear, toYear, limit).stream()
+                    .map(this::toInfluenceDto)
+                    .toList();
+        }
+
+        log.info("Calculating top {} influential speakers of {} to {}", limit, fromYear, toYear);
+        return aggregateInJvm(limit, InfluenceWeights.DEFAULT, fromYear, toYear);
+    }
+
+    /**
+     * Answered from the per-month talk lists of the analysis snapshot; scanned in the JVM only
+     * until the first snapshot is published.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TedTalkDto> getTopTalksBetween(TalkDate from, TalkDate to, int limit) {
+        Optional<AnalysisSnapshot> snapshot = analysisSnapshots.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().topTalks(from, to, limit);
+        }
+
+        log.info("Calculating top {} talks of {} to {}", limit, from, to);
+        TopK<TedTalk> best = new TopK<>(limit);
         try (Stream<TedTalk> talkStream = repository.streamAll()) {
-            talksBySpeaker = talkStream
-                    .collect(Collectors.groupingBy(talk -> talk.getSpeaker().getName()));
+            talkStream
+                    .filter(talk -> talk.getDate().compareTo(from) >= 0 && talk.getDate().compareTo(to) <= 0)
+                    .forEach(talk -> best.offer(talk, talk.calculateInfluenceScore()));
         }
+        return best.toSortedList().stream()
+                .map(TedTalkDto::fromDomain)
+                .toList();
+    }
+
+    private List<SpeakerInfluenceDto> aggregateInJvm(int limit, InfluenceWeights weights, int fromYear, int toYear) {
+        long startTime = System.currentTimeMillis();
+
+        // Step 1: Scan the narrow metrics projection, keeping only per-speaker totals
+        Map<String, SpeakerAccumulator> talksBySpeaker = new HashMap<>();
+        repository.forEachTalkMetrics((speaker, year, month, views, likes) -> {
+            if (year >= fromYear && year <= toYear) {
+                talksBySpeaker.computeIfAbsent(speaker, name -> new SpeakerAccumulator(weights))
+                        .add(year, views, likes);
+            }
+        });
 
         log.debug("Grouped {} speakers in {} ms", talksBySpeaker.size(),
                 System.currentTimeMillis() - startTime);
 
-        // Step 2: Process speakers in parallel using async for maximum performance
-        List<SpeakerInfluenceDto> result = talksBySpeaker.entrySet().parallelStream()
-                .map(entry -> calculateSpeakerInfluenceAsync(entry.getKey(), entry.getValue()))
-                .map(CompletableFuture::join) // Wait for all async operations
-                .sorted(Comparator.comparingDouble(SpeakerInfluenceDto::totalInfluenceScore).reversed())
-                .limit(limit)
-                .collect(Collectors.toList());
+        // Step 2: Keep the best speakers of each partition in a bounded heap, then merge the heaps
+        List<SpeakerInfluenceDto> result = topSpeakers(talksBySpeaker, limit).stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .toList();
 
         log.info("Calculated top {} speakers in {} ms", limit,
                 System.currentTimeMillis() - startTime);
@@ -78,105 +242,353 @@ public class InfluenceAnalysisService implements TedTalkAnalyzer {
         }, analysisExecutor);
     }
 
+    /**
+     * Precomputed by the analysis snapshot; computed from the repository only until the first
+     * snapshot is published.
+     */
     @Override
-    @Cacheable("mostInfluentialPerYear")
+    @Transactional(readOnly = true)
     public Map<Integer, TedTalkDto> getMostInfluentialTalkPerYear() {
+        Optional<AnalysisSnapshot> snapshot = analysisSnapshots.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().mostInfluentialPerYear();
+        }
+
         log.info("Calculating most influential talk per year");
 
+        if (useSqlPushdown()) {
+            return repository.findMostInfluentialPerYear().stream()
+                    .collect(Collectors.toMap(
+                            talk -> talk.getDate().year(),
+                            TedTalkDto::fromDomain
+                    ));
+        }
+
+        return mostInfluentialPerYearInJvm(InfluenceWeights.DEFAULT);
+    }
+
+    /**
+     * Default weights behave like {@link #getMostInfluentialTalkPerYear()}; other weights are
+     * answered from the analysis snapshot or, before the first one, by a scan in the JVM.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, TedTalkDto> getMostInfluentialTalkPerYear(InfluenceWeights weights) {
+        if (weights.isDefault()) {
+            return getMostInfluentialTalkPerYear();
+        }
+        Optional<AnalysisSnapshot> snapshot = analysisSnapshots.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().ranking(weights).mostInfluentialPerYear();
+        }
+
+        log.info("Calculating most influential talk per year weighted {}", weights);
+        return mostInfluentialPerYearInJvm(weights);
+    }
+
+    private Map<Integer, TedTalkDto> mostInfluentialPerYearInJvm(InfluenceWeights weights) {
         // Use streaming to avoid loading all data into memory at once
         try (Stream<TedTalk> talkStream = repository.streamAll()) {
             return talkStream
                     .collect(Collectors.groupingBy(
                             talk -> talk.getDate().year(),
                             Collectors.maxBy(
-                                    Comparator.comparingDouble(TedTalk::calculateInfluenceScore)
+                                    Comparator.comparingDouble(talk -> talk.calculateInfluenceScore(weights))
                             )
                     ))
                     .entrySet().stream()
                     .filter(entry -> entry.getValue().isPresent())
                     .collect(Collectors.toMap(
                             Map.Entry::getKey,
-                            entry -> TedTalkDto.fromDomain(entry.getValue().get())
+                            entry -> TedTalkDto.fromDomain(entry.getValue().get(), weights)
                     ));
         }
     }
 
     @Override
-    @Cacheable(value = "speakerAnalysis", key = "#speakerName.toLowerCase()")
+    @Transactional(readOnly = true)
     public Optional<SpeakerInfluenceDto> analyzeSpeaker(String speakerName) {
+        if (speakerAggregates.isReady()) {
+            return speakerAggregates.find(speakerName).map(this::toInfluenceDto);
+        }
+        Optional<AnalysisSnapshot> snapshot = analysisSnapshots.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().speaker(speakerName).map(this::toInfluenceDto);
+        }
+
         log.info("Analyzing speaker: {} (cache miss - calculating)", speakerName);
 
-        // Use repository method to query specific speaker instead of loading all data
-        List<TedTalk> talks = repository.findBySpeakerName(speakerName);
+        // Use repository projection for this speaker instead of loading all data
+        SpeakerAccumulator accumulator = new SpeakerAccumulator(InfluenceWeights.DEFAULT);
+        repository.forEachTalkMetricsBySpeaker(speakerName,
+                (speaker, year, month, views, likes) -> accumulator.add(year, views, likes));
 
-        if (talks.isEmpty()) {
+        if (accumulator.isEmpty()) {
             return Optional.empty();
         }
 
-        return Optional.of(calculateSpeakerInfluence(speakerName, talks));
+        return Optional.of(accumulator.toDto(speakerName));
+    }
+
+    /**
+     * Read from the incrementally maintained sketches once they are built; until then the talks
+     * are sketched by a scan of the metrics projection.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DistributionDto> getDistribution() {
+        Distribution distribution;
+        if (distributionSketches.isReady()) {
+            distribution = distributionSketches.overall();
+        } else {
+            distribution = Distribution.empty();
+            repository.forEachTalkMetrics((speaker, year, month, views, likes) -> distribution.add(views, likes));
+        }
+        return toDistributionDto("all talks", distribution);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DistributionDto> getDistributionBetween(int fromYear, int toYear) {
+        Distribution distribution;
+        if (distributionSketches.isReady()) {
+            distribution = distributionSketches.years(fromYear, toYear);
+        } else {
+            distribution = Distribution.empty();
+            repository.forEachTalkMetrics((speaker, year, month, views, likes) -> {
+                if (year >= fromYear && year <= toYear) {
+                    distribution.add(views, likes);
+                }
+            });
+        }
+        return toDistributionDto("talks of " + fromYear + " to " + toYear, distribution);
     }
 
     /**
-     * Async version for parallel processing of speaker statistics
+     * Sketched on demand from the speaker's talks, which an index finds directly.
      */
-    private CompletableFuture<SpeakerInfluenceDto> calculateSpeakerInfluenceAsync(
-            String speaker, List<TedTalk> talks) {
-        return CompletableFuture.supplyAsync(() ->
-            calculateSpeakerInfluence(speaker, talks), analysisExecutor);
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DistributionDto> getSpeakerDistribution(String speakerName) {
+        Distribution distribution = Distribution.empty();
+        repository.forEachTalkMetricsBySpeaker(speakerName,
+                (speaker, year, month, views, likes) -> distribution.add(views, likes));
+        return toDistributionDto("talks of " + speakerName, distribution);
     }
 
     /**
-     * Optimized calculation using single-pass processing
+     * Read from the rollup cube of the analysis snapshot; until the first snapshot is published,
+     * a rollup by year alone is read from the database's per-year totals where it keeps them,
+     * and any other query builds a cube from a scan of the metrics projection.
      */
-    private SpeakerInfluenceDto calculateSpeakerInfluence(String speaker, List<TedTalk> talks) {
-        // Single pass through data for better performance
-        long totalViews = 0;
-        long totalLikes = 0;
-        double totalInfluence = 0;
-        int firstYear = Integer.MAX_VALUE;
-        int lastYear = Integer.MIN_VALUE;
-
-        for (TedTalk talk : talks) {
-            totalViews += talk.getViews().value();
-            totalLikes += talk.getLikes().value();
-            totalInfluence += talk.calculateInfluenceScore();
-
-            int year = talk.getDate().year();
-            if (year < firstYear) firstYear = year;
-            if (year > lastYear) lastYear = year;
+    @Override
+    @Transactional(readOnly = true)
+    public List<RollupRowDto> getRollup(RollupQuery query) {
+        Optional<AnalysisSnapshot> snapshot = analysisSnapshots.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().rollup().query(query);
+        }
+        if (useSqlPushdown() && query.groupBy().equals(Set.of(RollupQuery.Dimension.YEAR))
+                && !query.filtersMonths() && query.speakers().isEmpty()) {
+            return rollupByYear(query);
+        }
+        RollupCube.Builder cube = RollupCube.builder();
+        repository.forEachTalkMetrics(cube::add);
+        return cube.build().query(query);
+    }
+
+    private List<RollupRowDto> rollupByYear(RollupQuery query) {
+        int fromYear = query.fromYear() == null ? Integer.MIN_VALUE : query.fromYear();
+        int toYear = query.toYear() == null ? Integer.MAX_VALUE : query.toYear();
+        Stream<RollupRowDto> rows = repository.findYearAggregates().stream()
+                .filter(aggregate -> aggregate.year() >= fromYear && aggregate.year() <= toYear)
+                .map(aggregate -> new RollupRowDto(aggregate.year(), null, null, aggregate.talkCount(),
+                        aggregate.totalViews(), aggregate.totalLikes(), aggregate.totalInfluence(),
+                        aggregate.maxInfluence()));
+        if (query.sortBy() != null) {
+            rows = rows.sorted(Comparator.comparingDouble((RollupRowDto row) -> measure(query.sortBy(), row))
+                    .reversed());
+        }
+        return rows.limit(query.limit()).toList();
+    }
+
+    private static double measure(RollupQuery.Measure measure, RollupRowDto row) {
+        return switch (measure) {
+            case TALKS -> row.talks();
+            case VIEWS -> row.totalViews();
+            case LIKES -> row.totalLikes();
+            case INFLUENCE -> row.totalInfluence();
+            case MAX_INFLUENCE -> row.maxInfluence();
+        };
+    }
+
+    /**
+     * Ranked in one pass over the metrics history of the window; only the ranked talks are read.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TrendingTalkDto> getTrendingTalks(Instant since, int limit) {
+        List<TrendingTalkDto> result = new ArrayList<>(limit);
+        for (MetricsHistory.TalkGrowth growth : metricsHistory.fastestGrowingTalks(since, limit)) {
+            repository.findById(growth.talk()).ifPresent(talk -> result.add(new TrendingTalkDto(
+                    TedTalkDto.fromDomain(talk),
+                    growth.viewsGained(),
+                    growth.likesGained(),
+                    InfluenceWeights.DEFAULT.score(growth.viewsGained(), growth.likesGained()),
+                    growthRate(growth.views(), growth.viewsGained())
+            )));
         }
+        return result;
+    }
 
-        double averageInfluence = totalInfluence / talks.size();
+    @Override
+    @Transactional(readOnly = true)
+    public List<TrendingSpeakerDto> getTrendingSpeakers(Instant since, int limit) {
+        return metricsHistory.fastestGrowingSpeakers(since, limit).stream()
+                .map(growth -> new TrendingSpeakerDto(
+                        growth.speaker(),
+                        growth.views(),
+                        growth.likes(),
+                        growth.viewsGained(),
+                        growth.likesGained(),
+                        InfluenceWeights.DEFAULT.score(growth.viewsGained(), growth.likesGained()),
+                        growthRate(growth.views(), growth.viewsGained())
+                ))
+                .toList();
+    }
+
+    /**
+     * Gain relative to the value at the start of the window, which is the current value minus the gain.
+     */
+    private static Double growthRate(long current, long gained) {
+        long start = current - gained;
+        return start > 0 ? (double) gained / start : null;
+    }
 
+    private static Optional<DistributionDto> toDistributionDto(String scope, Distribution distribution) {
+        if (distribution.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new DistributionDto(
+                scope,
+                distribution.count(),
+                toPercentiles(distribution.views()),
+                toPercentiles(distribution.likes()),
+                distribution.views().relativeAccuracy()
+        ));
+    }
+
+    private static DistributionDto.Percentiles toPercentiles(QuantileSketch sketch) {
+        return new DistributionDto.Percentiles(sketch.quantile(0.5), sketch.quantile(0.9), sketch.quantile(0.99));
+    }
+
+    private boolean useSqlPushdown() {
+        return switch (executionMode) {
+            case SQL -> true;
+            case JVM -> false;
+            case AUTO -> repository.supportsAggregatePushdown();
+        };
+    }
+
+    private SpeakerInfluenceDto toInfluenceDto(SpeakerAggregate aggregate) {
         return new SpeakerInfluenceDto(
-                speaker,
-                talks.size(),
-                totalViews,
-                totalLikes,
-                averageInfluence,
-                totalInfluence,
-                firstYear == Integer.MAX_VALUE ? 0 : firstYear,
-                lastYear == Integer.MIN_VALUE ? 0 : lastYear
+                aggregate.speaker(),
+                aggregate.talkCount(),
+                aggregate.totalViews(),
+                aggregate.totalLikes(),
+                aggregate.averageInfluence(),
+                aggregate.totalInfluence(),
+                aggregate.firstYear(),
+                aggregate.lastYear()
         );
     }
 
-    @Scheduled(cron = "0 0 2 * * *") // Daily at 2 AM
-    public void refreshCache() {
-        log.info("Refreshing analysis cache");
+    /**
+     * Top speakers by total influence. Large speaker sets are split into a few contiguous
+     * partitions, one task each on the analysis executor with the caller taking the first;
+     * smaller ones are a single pass on the calling thread.
+     */
+    private List<Map.Entry<String, SpeakerAccumulator>> topSpeakers(
+            Map<String, SpeakerAccumulator> talksBySpeaker, int limit) {
+        @SuppressWarnings("unchecked")
+        Map.Entry<String, SpeakerAccumulator>[] entries = talksBySpeaker.entrySet().toArray(new Map.Entry[0]);
+        int partitions = Math.max(1, Math.min(MAX_TOP_K_PARTITIONS, entries.length / MIN_TOP_K_PARTITION_SIZE));
+        int partitionSize = (entries.length + partitions - 1) / partitions;
+
+        List<CompletableFuture<TopK<Map.Entry<String, SpeakerAccumulator>>>> others = new ArrayList<>();
+        for (int partition = 1; partition < partitions; partition++) {
+            int from = partition * partitionSize;
+            int to = Math.min(entries.length, from + partitionSize);
+            try {
+                others.add(CompletableFuture.supplyAsync(() -> topK(entries, from, to, limit), analysisExecutor));
+            } catch (RejectedExecutionException e) {
+                others.add(CompletableFuture.completedFuture(topK(entries, from, to, limit)));
+            }
+        }
+
+        TopK<Map.Entry<String, SpeakerAccumulator>> best =
+                topK(entries, 0, Math.min(entries.length, partitionSize), limit);
+        others.forEach(other -> best.merge(other.join()));
+        return best.toSortedList();
+    }
 
-        // Clear analysis caches
-        Cache topSpeakersCache = cacheManager.getCache("topSpeakers");
-        if (topSpeakersCache != null) {
-            topSpeakersCache.clear();
-            log.debug("Cleared topSpeakers cache");
+    private static TopK<Map.Entry<String, SpeakerAccumulator>> topK(
+            Map.Entry<String, SpeakerAccumulator>[] entries, int from, int to, int limit) {
+        TopK<Map.Entry<String, SpeakerAccumulator>> best = new TopK<>(limit);
+        for (int i = from; i < to; i++) {
+            best.offer(entries[i], entries[i].getValue().totalInfluence);
         }
+        return best;
+    }
 
-        Cache mostInfluentialCache = cacheManager.getCache("mostInfluentialPerYear");
-        if (mostInfluentialCache != null) {
-            mostInfluentialCache.clear();
-            log.debug("Cleared mostInfluentialPerYear cache");
+    /**
+     * Running per-speaker totals, so a full scan never has to keep the talks themselves.
+     */
+    private static final class SpeakerAccumulator {
+        private final InfluenceWeights weights;
+        private long talks;
+        private long totalViews;
+        private long totalLikes;
+        private double totalInfluence;
+        private int firstYear = Integer.MAX_VALUE;
+        private int lastYear = Integer.MIN_VALUE;
+
+        SpeakerAccumulator(InfluenceWeights weights) {
+            this.weights = weights;
         }
 
+        void add(int year, long views, long likes) {
+            talks++;
+            totalViews += views;
+            totalLikes += likes;
+            totalInfluence += weights.score(views, likes);
+
+            if (year < firstYear) firstYear = year;
+            if (year > lastYear) lastYear = year;
+        }
+
+        boolean isEmpty() {
+            return talks == 0;
+        }
+
+        SpeakerInfluenceDto toDto(String speaker) {
+            return new SpeakerInfluenceDto(
+                    speaker,
+                    talks,
+                    totalViews,
+                    totalLikes,
+                    talks == 0 ? 0.0 : totalInfluence / talks,
+                    totalInfluence,
+                    firstYear == Integer.MAX_VALUE ? 0 : firstYear,
+                    lastYear == Integer.MIN_VALUE ? 0 : lastYear
+            );
+        }
+    }
+
+    @Scheduled(cron = "0 0 2 * * *") // Daily at 2 AM
+    public void refreshCache() {
+        log.info("Refreshing analysis cache");
+
         // Clear new critical caches
         Cache allTedTalksCache = cacheManager.getCache("allTedTalks");
         if (allTedTalksCache != null) {
@@ -190,13 +602,6 @@ public class InfluenceAnalysisService implements TedTalkAnalyzer {
             log.debug("Cleared allSpeakers cache");
         }
 
-        // Clear speaker analysis cache
-        Cache speakerAnalysisCache = cacheManager.getCache("speakerAnalysis");
-        if (speakerAnalysisCache != null) {
-            speakerAnalysisCache.clear();
-            log.debug("Cleared speakerAnalysis cache");
-        }
-
         log.info("Analysis cache refreshed successfully");
     }
 
@@ -2,21 +2,27 @@ package com.iodigital.tedtalks.application.service;
 
 import com.iodigital.tedtalks.application.dto.SpeakerDto;
 import com.iodigital.tedtalks.application.dto.TedTalkDto;
+import com.iodigital.tedtalks.application.event.SpeakersChangedEvent;
 import com.iodigital.tedtalks.presentation.rest.request.CreateSpeakerRequest;
 import com.iodigital.tedtalks.presentation.rest.request.UpdateSpeakerRequest;
 import com.iodigital.tedtalks.domain.model.Speaker;
-import com.iodigital.tedtalks.domain.model.TedTalk;
 import com.iodigital.tedtalks.domain.model.valueobject.SpeakerId;
+import com.iodigital.tedtalks.domain.repository.CursorPage;
+import com.iodigital.tedtalks.domain.repository.PageCursor;
+import com.iodigital.tedtalks.domain.repository.SpeakerAggregate;
 import com.iodigital.tedtalks.domain.repository.SpeakerRepository;
+import com.iodigital.tedtalks.domain.repository.SpeakerWithStats;
 import com.iodigital.tedtalks.domain.repository.TedTalkRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -25,25 +31,37 @@ public class SpeakerService {
 
     private final SpeakerRepository speakerRepository;
     private final TedTalkRepository tedTalkRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public SpeakerService(SpeakerRepository speakerRepository, TedTalkRepository tedTalkRepository) {
+    public SpeakerService(SpeakerRepository speakerRepository,
+                          TedTalkRepository tedTalkRepository,
+                          ApplicationEventPublisher eventPublisher) {
         this.speakerRepository = speakerRepository;
         this.tedTalkRepository = tedTalkRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Cacheable("allSpeakers")
+    @Transactional(readOnly = true)
     public List<SpeakerDto> getAllSpeakers() {
-        log.info("Fetching all speakers from database (cache miss) - This may take 2-5 seconds due to N+1 queries");
-        return speakerRepository.findAll().stream()
+        log.info("Fetching all speakers with talk totals from database (cache miss)");
+        return speakerRepository.findAllWithStats().stream()
                 .map(this::toDto)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<SpeakerDto> getSpeakersPage(String cursor, int size) {
+        log.debug("Fetching speakers page after cursor: {}", cursor);
+        return withStats(speakerRepository.findPage(PageCursor.decode(cursor), size));
+    }
+
+    @Transactional(readOnly = true)
     public Optional<SpeakerDto> getSpeakerById(String id) {
         log.debug("Fetching speaker by id: {}", id);
         try {
             SpeakerId speakerId = SpeakerId.fromString(id);
-            return speakerRepository.findById(speakerId)
+            return speakerRepository.findByIdWithStats(speakerId)
                     .map(this::toDto);
         } catch (IllegalArgumentException e) {
             log.warn("Invalid Speaker ID format: {}", id);
@@ -51,19 +69,20 @@ public class SpeakerService {
         }
     }
 
+    @Transactional(readOnly = true)
     public Optional<SpeakerDto> getSpeakerByName(String name) {
         log.debug("Fetching speaker by name: {}", name);
-        return speakerRepository.findByName(name)
+        return speakerRepository.findByNameWithStats(name)
                 .map(this::toDto);
     }
 
-    public List<SpeakerDto> searchSpeakers(String namePattern) {
-        log.debug("Searching speakers by name pattern: {}", namePattern);
-        return speakerRepository.findByNameContaining(namePattern).stream()
-                .map(this::toDto)
-                .toList();
+    @Transactional(readOnly = true)
+    public CursorPage<SpeakerDto> searchSpeakers(String nameFragment, String cursor, int size) {
+        log.debug("Searching speakers by name fragment: {} after cursor: {}", nameFragment, cursor);
+        return withStats(speakerRepository.searchByName(nameFragment, PageCursor.decode(cursor), size));
     }
 
+    @Transactional(readOnly = true)
     public List<TedTalkDto> getSpeakerTalks(String speakerId) {
         log.debug("Fetching talks for speaker: {}", speakerId);
         try {
@@ -77,6 +96,7 @@ public class SpeakerService {
         }
     }
 
+    @Transactional(readOnly = true)
     public long count() {
         return speakerRepository.count();
     }
@@ -84,9 +104,8 @@ public class SpeakerService {
     /**
      * Create a new speaker
      */
-    @CacheEvict(value = {"allSpeakers", "topSpeakers", "speakerAnalysis"}, allEntries = true)
     public SpeakerDto create(CreateSpeakerRequest request) {
-        log.info("Creating new speaker: {} (will invalidate caches)", request.name());
+        log.info("Creating new speaker: {}", request.name());
 
         // Check if speaker already exists
         Optional<Speaker> existing = speakerRepository.findByName(request.name());
@@ -102,17 +121,17 @@ public class SpeakerService {
 
         // Save to repository
         Speaker saved = speakerRepository.save(speaker);
+        eventPublisher.publishEvent(new SpeakersChangedEvent(SpeakersChangedEvent.Origin.CREATE, false));
 
         log.info("Speaker created successfully: {}", saved.getName());
-        return toDto(saved);
+        return toDtoWithStats(saved);
     }
 
     /**
      * Update an existing speaker
      */
-    @CacheEvict(value = {"allSpeakers", "topSpeakers", "speakerAnalysis"}, allEntries = true)
     public SpeakerDto update(String id, UpdateSpeakerRequest request) {
-        log.info("Updating speaker with id: {} (will invalidate caches)", id);
+        log.info("Updating speaker with id: {}", id);
 
         // Find existing speaker
         SpeakerId speakerId = parseSpeakerId(id);
@@ -122,43 +141,43 @@ public class SpeakerService {
                         "Speaker not found with id: " + id
                 ));
 
-        // Create updated domain object
-        Speaker updated = Speaker.create(request.name(), request.bio());
+        // Create updated domain object, keeping the persisted id stable
+        Speaker updated = Speaker.withId(existing.getId(), request.name(), request.bio());
 
         // Save to repository
         Speaker saved = speakerRepository.save(updated);
+        boolean renamed = !existing.getName().equals(saved.getName());
+        eventPublisher.publishEvent(new SpeakersChangedEvent(SpeakersChangedEvent.Origin.UPDATE, renamed));
 
         log.info("Speaker updated successfully: {}", saved.getName());
-        return toDto(saved);
+        return toDtoWithStats(saved);
     }
 
     /**
      * Delete a speaker by ID
      */
-    @CacheEvict(value = {"allSpeakers", "topSpeakers", "speakerAnalysis"}, allEntries = true)
     public void delete(String id) {
-        log.info("Deleting speaker with id: {} (will invalidate caches)", id);
+        log.info("Deleting speaker with id: {}", id);
 
         SpeakerId speakerId = parseSpeakerId(id);
 
         // Verify it exists before deleting
-        if (speakerRepository.findById(speakerId).isEmpty()) {
-            throw new ResponseStatusException(
-                    HttpStatus.NOT_FOUND,
-                    "Speaker not found with id: " + id
-            );
-        }
+        SpeakerWithStats existing = speakerRepository.findByIdWithStats(speakerId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "Speaker not found with id: " + id
+                ));
 
         // Check if speaker has talks
-        List<TedTalk> talks = tedTalkRepository.findBySpeakerId(speakerId);
-        if (!talks.isEmpty()) {
+        if (existing.totalTalks() > 0) {
             throw new ResponseStatusException(
                     HttpStatus.CONFLICT,
-                    "Cannot delete speaker with existing talks. Speaker has " + talks.size() + " talk(s)."
+                    "Cannot delete speaker with existing talks. Speaker has " + existing.totalTalks() + " talk(s)."
             );
         }
 
         speakerRepository.delete(speakerId);
+        eventPublisher.publishEvent(new SpeakersChangedEvent(SpeakersChangedEvent.Origin.DELETE, false));
         log.info("Speaker deleted successfully: {}", id);
     }
 
@@ -175,25 +194,30 @@ public class SpeakerService {
         }
     }
 
-    private SpeakerDto toDto(Speaker speaker) {
-        // Calculate statistics for this speaker
-        try {
-            SpeakerId speakerId = speaker.getId();
-            List<TedTalk> talks = tedTalkRepository.findBySpeakerId(speakerId);
-
-            long totalTalks = talks.size();
-            long totalViews = talks.stream()
-                    .mapToLong(talk -> talk.getViews().value())
-                    .sum();
-            long totalLikes = talks.stream()
-                    .mapToLong(talk -> talk.getLikes().value())
-                    .sum();
-
-            return SpeakerDto.fromDomain(speaker, totalTalks, totalViews, totalLikes);
-        } catch (Exception e) {
-            log.warn("Failed to calculate speaker statistics: {}", e.getMessage());
-            return SpeakerDto.fromDomainBasic(speaker);
-        }
+    /**
+     * Attach talk statistics to a page of speakers with a single aggregate query
+     */
+    private CursorPage<SpeakerDto> withStats(CursorPage<Speaker> page) {
+        Map<String, SpeakerAggregate> statsBySpeaker = tedTalkRepository.aggregateBySpeakers(
+                page.items().stream().map(Speaker::getName).toList());
+        return page.map(speaker -> toDto(speaker, statsBySpeaker.get(speaker.getName())));
+    }
+
+    private SpeakerDto toDto(Speaker speaker, SpeakerAggregate stats) {
+        return stats == null
+                ? SpeakerDto.fromDomainBasic(speaker)
+                : SpeakerDto.fromDomain(speaker, stats.talkCount(), stats.totalViews(), stats.totalLikes());
+    }
+
+    private SpeakerDto toDto(SpeakerWithStats speaker) {
+        return SpeakerDto.fromDomain(speaker.speaker(),
+                speaker.totalTalks(), speaker.totalViews(), speaker.totalLikes());
+    }
+
+    private SpeakerDto toDtoWithStats(Speaker saved) {
+        return speakerRepository.findByNameWithStats(saved.getName())
+                .map(this::toDto)
+                .orElseGet(() -> SpeakerDto.fromDomainBasic(saved));
     }
 }
 
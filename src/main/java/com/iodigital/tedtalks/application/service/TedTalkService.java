@@ -1,17 +1,22 @@
 package com.iodigital.tedtalks.application.service;
 
 import com.iodigital.tedtalks.application.dto.TedTalkDto;
+import com.iodigital.tedtalks.application.event.TalkDeltaEvent;
+import com.iodigital.tedtalks.application.event.TalksChangedEvent;
 import com.iodigital.tedtalks.presentation.rest.request.CreateTedTalkRequest;
 import com.iodigital.tedtalks.presentation.rest.request.UpdateTedTalkRequest;
 import com.iodigital.tedtalks.domain.model.Speaker;
 import com.iodigital.tedtalks.domain.model.TedTalk;
 import com.iodigital.tedtalks.domain.model.valueobject.*;
+import com.iodigital.tedtalks.domain.repository.CursorPage;
+import com.iodigital.tedtalks.domain.repository.PageCursor;
 import com.iodigital.tedtalks.domain.repository.TedTalkRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -22,12 +27,16 @@ import java.util.Optional;
 public class TedTalkService {
 
     private final TedTalkRepository tedTalkRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TedTalkService(TedTalkRepository tedTalkRepository) {
+    public TedTalkService(TedTalkRepository tedTalkRepository,
+                          ApplicationEventPublisher eventPublisher) {
         this.tedTalkRepository = tedTalkRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Cacheable("allTedTalks")
+    @Transactional(readOnly = true)
     public List<TedTalkDto> getAllTedTalks() {
         log.info("Fetching all TED talks from database (cache miss)");
         return tedTalkRepository.findAll().stream()
@@ -35,6 +44,14 @@ public class TedTalkService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<TedTalkDto> getTedTalksPage(String cursor, int size) {
+        log.debug("Fetching TED talks page after cursor: {}", cursor);
+        return tedTalkRepository.findPage(PageCursor.decode(cursor), size)
+                .map(TedTalkDto::fromDomain);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<TedTalkDto> getTedTalkById(String id) {
         log.debug("Fetching TED talk by id: {}", id);
         try {
@@ -47,6 +64,7 @@ public class TedTalkService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<TedTalkDto> getTedTalksBySpeakerName(String speakerName) {
         log.debug("Fetching TED talks by speaker: {}", speakerName);
         return tedTalkRepository.findBySpeakerName(speakerName).stream()
@@ -54,6 +72,7 @@ public class TedTalkService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<TedTalkDto> getTedTalksByYear(int year) {
         log.debug("Fetching TED talks by year: {}", year);
         return tedTalkRepository.findByYear(year).stream()
@@ -61,24 +80,26 @@ public class TedTalkService {
                 .toList();
     }
 
-    public List<TedTalkDto> searchByTitle(String titleKeyword) {
+    @Transactional(readOnly = true)
+    public List<TedTalkDto> searchByTitle(String titleKeyword, int limit) {
         log.debug("Searching TED talks by title keyword: {}", titleKeyword);
-        return tedTalkRepository.findAll().stream()
-                .filter(talk -> talk.getTitle().toLowerCase().contains(titleKeyword.toLowerCase()))
+        return tedTalkRepository.searchByTitle(titleKeyword, limit).stream()
                 .map(TedTalkDto::fromDomain)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public long count() {
         return tedTalkRepository.count();
     }
 
     /**
-     * Create a new TED talk
+     * Create a new TED talk. A talk with the same title, speaker and year is updated instead,
+     * keeping its id, and the incremental aggregates see it as replaced rather than added.
      */
-    @CacheEvict(value = {"allTedTalks", "topSpeakers", "mostInfluentialPerYear", "speakerAnalysis"}, allEntries = true)
+    @Transactional
     public TedTalkDto create(CreateTedTalkRequest request) {
-        log.info("Creating new TED talk: {} (will invalidate caches)", request.title());
+        log.info("Creating new TED talk: {}", request.title());
 
         // Parse and validate date
         TalkDate talkDate = parseTalkDate(request.date());
@@ -94,7 +115,17 @@ public class TedTalkService {
         );
 
         // Save to repository
+        Optional<TedTalk> stored = findSameTalk(tedTalk);
         TedTalk saved = tedTalkRepository.save(tedTalk);
+        if (saved.getId().equals(tedTalk.getId())) {
+            eventPublisher.publishEvent(TalkDeltaEvent.added(List.of(saved)));
+        } else if (stored.isPresent() && stored.get().getId().equals(saved.getId())) {
+            eventPublisher.publishEvent(TalkDeltaEvent.replaced(stored.get(), saved));
+        } else {
+            // Inserted concurrently after the lookup, so its previous metrics are unknown here
+            eventPublisher.publishEvent(TalkDeltaEvent.unknown());
+        }
+        eventPublisher.publishEvent(new TalksChangedEvent(TalksChangedEvent.Origin.CREATE));
 
         log.info("TED talk created successfully: {}", saved.getTitle());
         return TedTalkDto.fromDomain(saved);
@@ -103,9 +134,9 @@ public class TedTalkService {
     /**
      * Update an existing TED talk
      */
-    @CacheEvict(value = {"allTedTalks", "topSpeakers", "mostInfluentialPerYear", "speakerAnalysis"}, allEntries = true)
+    @Transactional
     public TedTalkDto update(String id, UpdateTedTalkRequest request) {
-        log.info("Updating TED talk with id: {} (will invalidate caches)", id);
+        log.info("Updating TED talk with id: {}", id);
 
         // Find existing talk
         TedTalkId tedTalkId = parseTedTalkId(id);
@@ -118,8 +149,9 @@ public class TedTalkService {
         // Parse and validate date
         TalkDate talkDate = parseTalkDate(request.date());
 
-        // Create updated domain object
-        TedTalk updated = TedTalk.create(
+        // Create updated domain object, keeping the persisted id stable
+        TedTalk updated = TedTalk.withId(
+                existing.getId(),
                 request.title(),
                 Speaker.create(request.speaker(), null),
                 talkDate,
@@ -130,6 +162,8 @@ public class TedTalkService {
 
         // Save to repository
         TedTalk saved = tedTalkRepository.save(updated);
+        eventPublisher.publishEvent(TalkDeltaEvent.replaced(existing, saved));
+        eventPublisher.publishEvent(new TalksChangedEvent(TalksChangedEvent.Origin.UPDATE));
 
         log.info("TED talk updated successfully: {}", saved.getTitle());
         return TedTalkDto.fromDomain(saved);
@@ -138,26 +172,31 @@ public class TedTalkService {
     /**
      * Delete a TED talk by ID
      */
-    @CacheEvict(value = {"allTedTalks", "topSpeakers", "mostInfluentialPerYear", "speakerAnalysis"}, allEntries = true)
+    @Transactional
     public void delete(String id) {
-        log.info("Deleting TED talk with id: {} (will invalidate caches)", id);
+        log.info("Deleting TED talk with id: {}", id);
 
         TedTalkId tedTalkId = parseTedTalkId(id);
 
         // Verify it exists before deleting
-        if (tedTalkRepository.findById(tedTalkId).isEmpty()) {
-            throw new ResponseStatusException(
-                    HttpStatus.NOT_FOUND,
-                    "TED talk not found with id: " + id
-            );
-        }
+        TedTalk existing = tedTalkRepository.findById(tedTalkId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "TED talk not found with id: " + id
+                ));
 
         tedTalkRepository.delete(tedTalkId);
+        eventPublisher.publishEvent(TalkDeltaEvent.removed(existing));
+        eventPublisher.publishEvent(new TalksChangedEvent(TalksChangedEvent.Origin.DELETE));
         log.info("TED talk deleted successfully: {}", id);
     }
 
     // Helper methods
 
+    private Optional<TedTalk> findSameTalk(TedTalk talk) {
+        return tedTalkRepository.findSameTalks(List.of(talk)).stream().findFirst();
+    }
+
     private TedTalkId parseTedTalkId(String id) {
         try {
             return TedTalkId.fromString(id);
@@ -0,0 +1,12 @@
+package com.iodigital.tedtalks.domain.exception;
+
+/**
+ * An analysis that cannot be answered yet, e.g. because the state it is served from is still
+ * being built. Retrying later succeeds.
+ */
+public class AnalysisUnavailableException extends RuntimeException {
+
+    public AnalysisUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.iodigital.tedtalks.domain.model;
 
+import com.iodigital.tedtalks.domain.model.valueobject.InfluenceWeights;
 import com.iodigital.tedtalks.domain.model.valueobject.Link;
 import com.iodigital.tedtalks.domain.model.valueobject.Likes;
 import com.iodigital.tedtalks.domain.model.valueobject.TalkDate;
@@ -57,6 +58,17 @@ public class TedTalk {
     }
 
     public double calculateInfluenceScore() {
-        return (views.value() * 0.7) + (likes.value() * 0.3);
+        return influenceScore(views.value(), likes.value());
+    }
+
+    public double calculateInfluenceScore(InfluenceWeights weights) {
+        return weights.score(views.value(), likes.value());
+    }
+
+    /**
+     * Influence formula on raw counts, for callers that aggregate projections instead of talks.
+     */
+    public static double influenceScore(long views, long likes) {
+        return InfluenceWeights.DEFAULT.score(views, likes);
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.iodigital.tedtalks.domain.model.valueobject;
+
+/**
+ * Weights of the influence formula {@code views * viewsWeight + likes * likesWeight}.
+ * {@link #DEFAULT} is the weighting stored in the {@code influence_score} column.
+ */
+public record InfluenceWeights(double viewsWeight, double likesWeight) {
+
+    // Must match the influence_score column generated by the database
+    public static final InfluenceWeights DEFAULT = new InfluenceWeights(0.7, 0.3);
+
+    public InfluenceWeights {
+        if (!Double.isFinite(viewsWeight) || !Double.isFinite(likesWeight)) {
+            throw new IllegalArgumentException("Influence weights must be finite numbers");
+        }
+        if (viewsWeight < 0 || likesWeight < 0) {
+            throw new IllegalArgumentException("Influence weights cannot be negative");
+        }
+        if (viewsWeight == 0 && likesWeight == 0) {
+            throw new IllegalArgumentException("At least one influence weight must be positive");
+        }
+        // -0.0 and 0.0 must be the same cache key
+        viewsWeight += 0.0;
+        likesWeight += 0.0;
+    }
+
+    public static InfluenceWeights of(double viewsWeight, double likesWeight) {
+        return new InfluenceWeights(viewsWeight, likesWeight);
+    }
+
+    public boolean isDefault() {
+        return equals(DEFAULT);
+    }
+
+    public double score(long views, long likes) {
+        return (views * viewsWeight) + (likes * likesWeight);
+    }
+}
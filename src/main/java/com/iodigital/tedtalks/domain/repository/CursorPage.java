@@ -0,0 +1,18 @@
+package com.iodigital.tedtalks.domain.repository;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset scan. {@code nextCursor} is null once the scan is exhausted.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+}
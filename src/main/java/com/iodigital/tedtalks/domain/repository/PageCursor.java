@@ -0,0 +1,46 @@
+package com.iodigital.tedtalks.domain.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in a table ordered by its internal key.
+ * Encoded as an opaque token so clients can resume a scan without knowing the key.
+ */
+public record PageCursor(long afterKey) {
+
+    private static final String PREFIX = "k:";
+
+    public PageCursor {
+        if (afterKey < 0) {
+            throw new IllegalArgumentException("Cursor key cannot be negative");
+        }
+    }
+
+    public static PageCursor start() {
+        return new PageCursor(0L);
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}; a null or blank token starts from the beginning.
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return start();
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new PageCursor(Long.parseLong(decoded.substring(PREFIX.length())));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + afterKey).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,18 @@
+package com.iodigital.tedtalks.domain.repository;
+
+/**
+ * Per-speaker totals computed by the store rather than from loaded talks.
+ */
+public record SpeakerAggregate(
+        String speaker,
+        long talkCount,
+        long totalViews,
+        long totalLikes,
+        double totalInfluence,
+        int firstYear,
+        int lastYear
+) {
+    public double averageInfluence() {
+        return talkCount == 0 ? 0.0 : totalInfluence / talkCount;
+    }
+}
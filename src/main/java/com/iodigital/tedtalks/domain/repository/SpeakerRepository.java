@@ -16,9 +16,30 @@ public interface SpeakerRepository {
 
     /**
      * Stream all speakers efficiently without loading all into memory at once.
+     * Call inside a read-only transaction and close the stream after use.
      */
     Stream<Speaker> streamAll();
 
+    /**
+     * Read the page of speakers that follows the cursor position, in stable key order
+     */
+    CursorPage<Speaker> findPage(PageCursor cursor, int size);
+
+    /**
+     * Find all speakers with their talk totals in a single query
+     */
+    List<SpeakerWithStats> findAllWithStats();
+
+    /**
+     * Find speaker by ID with their talk totals
+     */
+    Optional<SpeakerWithStats> findByIdWithStats(SpeakerId id);
+
+    /**
+     * Find speaker by name with their talk totals
+     */
+    Optional<SpeakerWithStats> findByNameWithStats(String name);
+
     /**
      * Find speaker by ID
      */
@@ -34,6 +55,11 @@ public interface SpeakerRepository {
      */
     List<Speaker> findByNameContaining(String namePattern);
 
+    /**
+     * Page of speakers whose name contains the fragment (case-insensitive), in stable key order
+     */
+    CursorPage<Speaker> searchByName(String nameFragment, PageCursor cursor, int size);
+
     /**
      * Save speaker
      */
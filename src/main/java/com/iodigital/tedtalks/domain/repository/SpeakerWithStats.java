@@ -0,0 +1,14 @@
+package com.iodigital.tedtalks.domain.repository;
+
+import com.iodigital.tedtalks.domain.model.Speaker;
+
+/**
+ * A speaker together with the totals of their talks, read in the same query.
+ */
+public record SpeakerWithStats(
+        Speaker speaker,
+        long totalTalks,
+        long totalViews,
+        long totalLikes
+) {
+}
@@ -0,0 +1,11 @@
+package com.iodigital.tedtalks.domain.repository;
+
+/**
+ * Receives the analytic columns of one talk without materializing a {@code TedTalk}.
+ * Called once per row by the projection scans of {@link TedTalkRepository}.
+ */
+@FunctionalInterface
+public interface TalkMetricsConsumer {
+
+    void accept(String speaker, int year, int month, long views, long likes);
+}
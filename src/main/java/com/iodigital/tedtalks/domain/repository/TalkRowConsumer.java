@@ -0,0 +1,14 @@
+package com.iodigital.tedtalks.domain.repository;
+
+import java.util.UUID;
+
+/**
+ * Receives every column of one talk without materializing a {@code TedTalk}.
+ * Called once per row by {@link TedTalkRepository#forEachTalkRow(TalkRowConsumer)}.
+ */
+@FunctionalInterface
+public interface TalkRowConsumer {
+
+    void accept(UUID publicId, String title, String speaker, int year, int month, long views, long likes,
+                String link);
+}
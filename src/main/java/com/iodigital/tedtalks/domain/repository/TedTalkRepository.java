@@ -4,7 +4,9 @@ import com.iodigital.tedtalks.domain.model.TedTalk;
 import com.iodigital.tedtalks.domain.model.valueobject.SpeakerId;
 import com.iodigital.tedtalks.domain.model.valueobject.TedTalkId;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 import java.util.function.Consumer;
@@ -15,17 +17,83 @@ public interface TedTalkRepository {
 
     /**
      * Stream all talks efficiently without loading all into memory at once.
-     * The stream should be closed after use to free resources.
+     * Rows are read through a database cursor, so call this inside a read-only transaction
+     * and close the stream after use to release the cursor.
      */
     Stream<TedTalk> streamAll();
 
     /**
      * Process talks in batches to avoid memory issues.
+     * Batches are read with keyset pagination, so the total work is proportional to the table size.
      * @param batchSize number of records to process at a time
      * @param processor consumer to process each batch
      */
     void processBatches(int batchSize, Consumer<List<TedTalk>> processor);
 
+    /**
+     * Read the page of talks that follows the cursor position, in stable key order.
+     */
+    CursorPage<TedTalk> findPage(PageCursor cursor, int size);
+
+    /**
+     * Full scan of the analytic columns only (speaker, year, month, views, likes),
+     * pushed row by row into the consumer. Cheaper than {@link #streamAll()} when the
+     * caller only aggregates.
+     */
+    void forEachTalkMetrics(TalkMetricsConsumer consumer);
+
+    /**
+     * Same projection as {@link #forEachTalkMetrics(TalkMetricsConsumer)}, restricted to one speaker.
+     */
+    void forEachTalkMetricsBySpeaker(String speakerName, TalkMetricsConsumer consumer);
+
+    /**
+     * Full scan of every column, pushed row by row into the consumer. For callers that copy
+     * the talks into their own columns and would only take apart the {@code TedTalk} objects
+     * of {@link #processBatches(int, Consumer)}.
+     */
+    void forEachTalkRow(TalkRowConsumer consumer);
+
+    /**
+     * Whether {@link #findTopSpeakerAggregates(int)}, {@link #findMostInfluentialPerYear()} and
+     * {@link #findYearAggregates()} are evaluated by the database engine (and are therefore
+     * cheaper than a full scan).
+     */
+    boolean supportsAggregatePushdown();
+
+    /**
+     * Speakers ordered by total influence, aggregated by the database.
+     */
+    List<SpeakerAggregate> findTopSpeakerAggregates(int limit);
+
+    /**
+     * The highest-influence talk of every year, selected by the database.
+     */
+    List<TedTalk> findMostInfluentialPerYear();
+
+    /**
+     * Talk totals of every year that has talks, ordered by year, aggregated by the database.
+     */
+    List<YearAggregate> findYearAggregates();
+
+    /**
+     * Talk totals of the given speakers in one query, keyed by speaker name.
+     * Speakers without talks are absent from the map.
+     */
+    Map<String, SpeakerAggregate> aggregateBySpeakers(Collection<String> speakerNames);
+
+    /**
+     * Bring pre-aggregated summaries up to date after talks changed.
+     * A no-op for stores that aggregate on read.
+     */
+    void refreshSummaries();
+
+    /**
+     * Talks whose title contains the keyword (case-insensitive), best match first;
+     * {@link Integer#MAX_VALUE} as the limit returns every match.
+     */
+    List<TedTalk> searchByTitle(String keyword, int limit);
+
     Optional<TedTalk> findById(TedTalkId id);
 
     List<TedTalk> findBySpeakerId(SpeakerId speakerId);
@@ -42,5 +110,17 @@ public interface TedTalkRepository {
 
     boolean existsByTitleAndSpeakerId(String title, SpeakerId speakerId);
 
+    /**
+     * Talks of the speaker with this exact title. Saving keeps one row per title and speaker, but
+     * rows stored before that may still hold the title in several years.
+     */
+    List<TedTalk> findByTitleAndSpeakerId(String title, SpeakerId speakerId);
+
+    /**
+     * Stored talks with the title, speaker name and year of any of the given talks, whatever
+     * their ids: the rows an upsert of the given talks would update. One lookup for a whole batch.
+     */
+    List<TedTalk> findSameTalks(Collection<TedTalk> talks);
+
     long count();
 }
\ No newline at end of file
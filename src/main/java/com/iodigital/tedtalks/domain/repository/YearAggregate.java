@@ -0,0 +1,13 @@
+package com.iodigital.tedtalks.domain.repository;
+
+/**
+ * Per-year totals computed by the store rather than from loaded talks.
+ */
+public record YearAggregate(
+        int year,
+        long talkCount,
+        long totalViews,
+        long totalLikes,
+        double totalInfluence,
+        double maxInfluence
+) {}
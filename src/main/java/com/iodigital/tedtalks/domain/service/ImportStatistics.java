@@ -11,12 +11,14 @@ public class ImportStatistics {
     private final AtomicLong totalRecords = new AtomicLong();
     private final AtomicLong successfulRecords = new AtomicLong();
     private final AtomicLong failedRecords = new AtomicLong();
+    private final AtomicLong updatedRecords = new AtomicLong();
     private final AtomicLong skippedRecords = new AtomicLong();
     private final ConcurrentHashMap<Long, List<ValidationError>> validationErrors = new ConcurrentHashMap<>();
 
     public void incrementTotal() { totalRecords.incrementAndGet(); }
     public void incrementSuccessful() { successfulRecords.incrementAndGet(); }
     public void incrementFailed() { failedRecords.incrementAndGet(); }
+    public void incrementUpdated() { updatedRecords.incrementAndGet(); }
     public void incrementSkipped() { skippedRecords.incrementAndGet(); }
 
     public void addValidationErrors(long rowNumber, List<ValidationError> errors) {
@@ -29,6 +31,7 @@ public class ImportStatistics {
     public long getTotal() { return totalRecords.get(); }
     public long getSuccessful() { return successfulRecords.get(); }
     public long getFailed() { return failedRecords.get(); }
+    public long getUpdated() { return updatedRecords.get(); }
     public long getSkipped() { return skippedRecords.get(); }
 
     public List<ValidationError> getAllValidationErrors() {
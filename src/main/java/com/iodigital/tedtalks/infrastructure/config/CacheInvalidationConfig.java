@@ -0,0 +1,33 @@
+package com.iodigital.tedtalks.infrastructure.config;
+
+import com.iodigital.tedtalks.application.cache.CacheInvalidator;
+import com.iodigital.tedtalks.application.port.ChangeFeed;
+import com.iodigital.tedtalks.infrastructure.notification.ChangeFeedSubscriber;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Subscribes this node to the change feed so writes made on other nodes evict its caches.
+ */
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ChangeFeedSubscriber changeFeedSubscriber(
+            ChangeFeed changeFeed,
+            CacheInvalidator cacheInvalidator,
+            ApplicationEventPublisher eventPublisher,
+            DataSource dataSource,
+            @Value("${app.cache.invalidation.poll-interval:1s}") Duration pollInterval,
+            @Value("${app.cache.invalidation.gap-timeout:30s}") Duration gapTimeout,
+            @Value("${app.cache.invalidation.retention:24h}") Duration retention) {
+        return new ChangeFeedSubscriber(changeFeed, cacheInvalidator, eventPublisher, dataSource,
+                pollInterval, gapTimeout, retention, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,39 @@
+package com.iodigital.tedtalks.infrastructure.config;
+
+import com.iodigital.tedtalks.application.port.ChangeFeed;
+import com.iodigital.tedtalks.infrastructure.persistence.columnar.ColumnarSnapshot;
+import com.iodigital.tedtalks.infrastructure.persistence.columnar.ColumnarTedTalkRepository;
+import com.iodigital.tedtalks.infrastructure.persistence.jdbc.TedTalkJdbcRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+
+/**
+ * With the {@code columnar} profile, talks are served from memory and the JDBC repository
+ * only receives writes and the few lookups the columns cannot answer. Unless the snapshot path
+ * is blank, the columns are also kept in a local file for fast restarts.
+ */
+@Configuration
+@Profile("columnar")
+public class ColumnarRepositoryConfig {
+
+    @Bean(initMethod = "load", destroyMethod = "writeSnapshot")
+    @Primary
+    public ColumnarTedTalkRepository columnarTedTalkRepository(
+            DataSource dataSource,
+            ChangeFeed changeFeed,
+            @Qualifier("analysisExecutor") Executor analysisExecutor,
+            @Value("${app.jdbc.stream-fetch-size:1000}") int streamFetchSize,
+            @Value("${app.columnar.snapshot-path:snapshots/ted-talks.columns}") String snapshotPath) {
+        ColumnarSnapshot snapshot = snapshotPath.isBlank() ? null : new ColumnarSnapshot(Path.of(snapshotPath));
+        return new ColumnarTedTalkRepository(new TedTalkJdbcRepository(dataSource, streamFetchSize),
+                changeFeed, snapshot, analysisExecutor);
+    }
+}
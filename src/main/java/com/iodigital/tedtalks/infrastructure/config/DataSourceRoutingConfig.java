@@ -0,0 +1,98 @@
+package com.iodigital.tedtalks.infrastructure.config;
+
+import com.iodigital.tedtalks.infrastructure.persistence.routing.ReadWriteRoutingDataSource;
+import com.iodigital.tedtalks.infrastructure.persistence.routing.ReadYourWritesListener;
+import com.iodigital.tedtalks.infrastructure.persistence.routing.ReplicaLagMonitor;
+import com.iodigital.tedtalks.infrastructure.persistence.routing.ReplicaReadPolicy;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Read/write splitting, enabled by setting {@code app.datasource.replica.url}.
+ * <p>
+ * Writes and Flyway use the {@code spring.datasource} pool; read-only transactions use the
+ * replica pool while its lag is within {@code max-lag} and no write committed during the last
+ * {@code read-your-writes-window}. For a local check, point the replica URL at the primary
+ * database: it then runs as a second pool on the same instance.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:#{null}}") String username,
+            @Value("${app.datasource.replica.password:#{null}}") String password) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username != null ? username : properties.determineUsername())
+                .password(password != null ? password : properties.determinePassword())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaReadPolicy replicaReadPolicy(
+            @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${app.datasource.replica.read-your-writes-window:10s}") Duration readYourWritesWindow) {
+        log.info("Routing read-only transactions to the replica (max lag {}, read-your-writes window {})",
+                maxLag, readYourWritesWindow);
+        return new ReplicaReadPolicy(maxLag, readYourWritesWindow, Clock.systemUTC());
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaReadPolicy policy,
+            @Value("${app.datasource.replica.lag-check-interval:5s}") Duration interval) {
+        return new ReplicaLagMonitor(replica, policy, interval);
+    }
+
+    @Bean
+    public ReadYourWritesListener readYourWritesListener(ReplicaReadPolicy policy) {
+        return new ReadYourWritesListener(policy);
+    }
+
+    /**
+     * The data source every repository and the transaction manager use.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaReadPolicy policy) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, policy));
+    }
+}
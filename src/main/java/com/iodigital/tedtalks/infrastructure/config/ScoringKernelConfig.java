@@ -0,0 +1,16 @@
+package com.iodigital.tedtalks.infrastructure.config;
+
+import com.iodigital.tedtalks.application.analysis.ScoringKernel;
+import com.iodigital.tedtalks.application.analysis.ScoringKernels;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ScoringKernelConfig {
+
+    @Bean
+    public ScoringKernel scoringKernel(@Value("${app.analysis.vector-kernel:true}") boolean preferVector) {
+        return ScoringKernels.select(preferVector);
+    }
+}
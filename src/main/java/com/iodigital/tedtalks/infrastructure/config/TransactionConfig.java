@@ -0,0 +1,42 @@
+package com.iodigital.tedtalks.infrastructure.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+@Configuration
+public class TransactionConfig {
+
+    /**
+     * Read-only transaction for background scans, so the JDBC cursor streams instead of buffering
+     * the whole result. The connection is fetched as soon as the transaction begins, even behind
+     * the routing datasource's lazy proxy, so a scan never waits for the pool after its callback
+     * started.
+     */
+    @Bean("readOnlyTransaction")
+    public TransactionOperations readOnlyTransaction(PlatformTransactionManager transactionManager,
+                                                     DataSource dataSource) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                return template.execute(status -> {
+                    Connection connection = DataSourceUtils.getConnection(dataSource);
+                    if (connection instanceof ConnectionProxy proxy) {
+                        proxy.getTargetConnection();
+                    }
+                    return action.doInTransaction(status);
+                });
+            }
+        };
+    }
+}
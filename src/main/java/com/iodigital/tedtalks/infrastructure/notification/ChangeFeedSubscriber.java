@@ -0,0 +1,250 @@
+package com.iodigital.tedtalks.infrastructure.notification;
+
+import com.iodigital.tedtalks.application.cache.CacheInvalidator;
+import com.iodigital.tedtalks.application.cache.ChangeKind;
+import com.iodigital.tedtalks.application.cache.DataChange;
+import com.iodigital.tedtalks.application.event.RemoteDataChangedEvent;
+import com.iodigital.tedtalks.application.port.ChangeFeed;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps this node's caches consistent with writes made on other nodes. Reads the change feed
+ * after the last id it has seen and evicts the caches of every change another node made.
+ * On PostgreSQL it LISTENs on the feed's NOTIFY channel and reads as soon as a change commits;
+ * elsewhere (H2 in tests) it polls. Either way the poll interval bounds how long a missed
+ * notification can go unnoticed. A {@link RemoteDataChangedEvent} follows every eviction.
+ */
+@Slf4j
+public class ChangeFeedSubscriber {
+
+    private static final String CHANNEL = "data_changes";
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_TRACKED_GAPS = 1000;
+    private static final Duration PRUNE_INTERVAL = Duration.ofHours(1);
+
+    private final ChangeFeed changeFeed;
+    private final CacheInvalidator cacheInvalidator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DataSource dataSource;
+    private final Duration pollInterval;
+    private final Duration gapTimeout;
+    private final Duration retention;
+    private final Clock clock;
+
+    // Only touched by the worker thread (or a test calling poll() directly)
+    private final Map<Long, Instant> pendingGaps = new HashMap<>();
+    private long lastSeenId;
+    private boolean positioned;
+    private Instant nextPrune;
+    private Connection listenConnection;
+    private boolean listenSupported = true;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ChangeFeedSubscriber(ChangeFeed changeFeed,
+                                CacheInvalidator cacheInvalidator,
+                                ApplicationEventPublisher eventPublisher,
+                                DataSource dataSource,
+                                Duration pollInterval,
+                                Duration gapTimeout,
+                                Duration retention,
+                                Clock clock) {
+        this.changeFeed = changeFeed;
+        this.cacheInvalidator = cacheInvalidator;
+        this.eventPublisher = eventPublisher;
+        this.dataSource = dataSource;
+        this.pollInterval = pollInterval;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+        this.clock = clock;
+        this.nextPrune = clock.instant();
+    }
+
+    /**
+     * Starts from the newest change: a starting node has empty caches, so older changes are irrelevant.
+     * When the feed cannot be read yet the worker keeps retrying instead of failing the startup.
+     */
+    public void start() {
+        try {
+            position();
+        } catch (DataAccessException e) {
+            log.warn("Reading the change feed failed at startup, retrying in {}: {}", pollInterval, e.getMessage());
+        }
+        running = true;
+        worker = new Thread(this::run, "change-feed-subscriber");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void position() {
+        lastSeenId = changeFeed.lastId();
+        positioned = true;
+        log.info("Watching the change feed after id {} (poll interval {})", lastSeenId, pollInterval);
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                try {
+                    if (!positioned) {
+                        position();
+                    }
+                    awaitChanges();
+                    poll();
+                } catch (DataAccessException | SQLException e) {
+                    log.warn("Reading the change feed failed, retrying in {}: {}", pollInterval, e.getMessage());
+                    closeListenConnection();
+                    Thread.sleep(pollInterval.toMillis());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeListenConnection();
+        }
+    }
+
+    /**
+     * Reads every change after the last one seen, evicts each affected cache once,
+     * and prunes old changes about once an hour.
+     */
+    void poll() {
+        Set<ChangeKind> stale = EnumSet.noneOf(ChangeKind.class);
+        List<DataChange> changes;
+        do {
+            changes = changeFeed.readAfter(lastSeenId, BATCH_SIZE);
+            for (DataChange change : changes) {
+                trackGaps(change.id());
+                lastSeenId = change.id();
+                collect(change, stale);
+            }
+        } while (changes.size() == BATCH_SIZE);
+
+        if (!pendingGaps.isEmpty()) {
+            for (DataChange change : changeFeed.readByIds(pendingGaps.keySet())) {
+                pendingGaps.remove(change.id());
+                collect(change, stale);
+            }
+            Instant now = clock.instant();
+            pendingGaps.values().removeIf(deadline -> deadline.isBefore(now));
+        }
+
+        if (!stale.isEmpty()) {
+            stale.forEach(cacheInvalidator::evict);
+            eventPublisher.publishEvent(new RemoteDataChangedEvent(stale));
+        }
+        pruneIfDue();
+    }
+
+    private void collect(DataChange change, Set<ChangeKind> stale) {
+        // The originating node evicted its own caches when the change committed
+        if (!changeFeed.nodeId().equals(change.originNode())) {
+            stale.add(change.kind());
+        }
+    }
+
+    /**
+     * Ids come from a sequence before commit, so a lower id can become visible after a higher one.
+     * Skipped ids are looked up again until they show up or the gap timeout passes (rolled back).
+     */
+    private void trackGaps(long id) {
+        long missing = id - lastSeenId - 1;
+        if (missing <= 0) {
+            return;
+        }
+        if (missing > MAX_TRACKED_GAPS) {
+            log.warn("Skipping {} missing change ids between {} and {}", missing, lastSeenId, id);
+            return;
+        }
+        Instant deadline = clock.instant().plus(gapTimeout);
+        for (long gap = lastSeenId + 1; gap < id; gap++) {
+            pendingGaps.put(gap, deadline);
+        }
+    }
+
+    private void pruneIfDue() {
+        Instant now = clock.instant();
+        if (now.isBefore(nextPrune)) {
+            return;
+        }
+        nextPrune = now.plus(PRUNE_INTERVAL);
+        int pruned = changeFeed.pruneBefore(now.minus(retention));
+        if (pruned > 0) {
+            log.debug("Pruned {} changes older than {}", pruned, retention);
+        }
+    }
+
+    /**
+     * Blocks until a change is announced or the poll interval passes.
+     */
+    private void awaitChanges() throws SQLException, InterruptedException {
+        PGConnection connection = listenConnection();
+        if (connection == null) {
+            Thread.sleep(pollInterval.toMillis());
+            return;
+        }
+        // The payload is not needed: the feed is read after every wake-up
+        connection.getNotifications((int) pollInterval.toMillis());
+    }
+
+    /**
+     * One connection is held for LISTEN for as long as the node runs.
+     */
+    private PGConnection listenConnection() throws SQLException {
+        if (listenConnection == null) {
+            if (!listenSupported) {
+                return null;
+            }
+            Connection connection = dataSource.getConnection();
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                connection.close();
+                listenSupported = false;
+                log.info("Database does not support LISTEN/NOTIFY, polling the change feed every {}", pollInterval);
+                return null;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+            listenConnection = connection;
+        }
+        return listenConnection.unwrap(PGConnection.class);
+    }
+
+    private void closeListenConnection() {
+        if (listenConnection != null) {
+            try {
+                listenConnection.close();
+            } catch (SQLException e) {
+                log.debug("Closing the LISTEN connection failed: {}", e.getMessage());
+            }
+            listenConnection = null;
+        }
+    }
+}
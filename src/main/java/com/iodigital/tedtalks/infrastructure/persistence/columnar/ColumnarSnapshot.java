@@ -0,0 +1,124 @@
+package com.iodigital.tedtalks.infrastructure.persistence.columnar;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.function.LongPredicate;
+import java.util.zip.CRC32;
+
+/**
+ * Local file holding a copy of {@link TalkColumns}, so a restarting node can serve talks without
+ * scanning the table. The file is memory-mapped on read and stamped with the change feed version
+ * the columns are current with; when the feed holds a change at or above the stamp, the database
+ * may have moved on and the file is ignored.
+ * <p>
+ * Layout: magic, format, version stamp, payload length, CRC32 of the payload, payload.
+ */
+@Slf4j
+public class ColumnarSnapshot {
+
+    private static final long MAGIC = 0x54454454_414C4B53L; // "TEDTALKS"
+    private static final int FORMAT = 1;
+    private static final int HEADER_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private final Path file;
+
+    public ColumnarSnapshot(Path file) {
+        this.file = file;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Copies the columns into a buffer, ready for {@link #write(ByteBuffer, long)}.
+     * Call under the lock guarding the columns; the file write then happens outside it.
+     *
+     * @throws IllegalStateException when the columns need more than 2 GB
+     */
+    ByteBuffer encode(TalkColumns columns) {
+        ByteBuffer payload = ByteBuffer.allocate(columns.serializedSize());
+        columns.writeTo(payload);
+        return payload.flip();
+    }
+
+    /**
+     * Replaces the file atomically, so a crash mid-write leaves the previous snapshot intact.
+     */
+    void write(ByteBuffer payload, long version) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putLong(MAGIC)
+                .putInt(FORMAT)
+                .putLong(version)
+                .putInt(payload.remaining())
+                .putInt((int) crc.getValue())
+                .flip();
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer[] buffers = {header, payload.duplicate()};
+                while (buffers[1].hasRemaining()) {
+                    channel.write(buffers);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * The columns stored in the file, if it exists, is intact and carries a stamp the caller
+     * still accepts as current.
+     */
+    Optional<TalkColumns> read(LongPredicate current) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.remaining() < HEADER_BYTES || mapped.getLong() != MAGIC || mapped.getInt() != FORMAT) {
+                log.warn("Ignoring snapshot {}: not a talk snapshot of format {}", file, FORMAT);
+                return Optional.empty();
+            }
+            long version = mapped.getLong();
+            if (!current.test(version)) {
+                log.info("Ignoring snapshot {}: the database changed since version {}", file, version);
+                return Optional.empty();
+            }
+            int length = mapped.getInt();
+            int checksum = mapped.getInt();
+            if (length != mapped.remaining()) {
+                log.warn("Ignoring snapshot {}: truncated", file);
+                return Optional.empty();
+            }
+            ByteBuffer payload = mapped.slice();
+            CRC32 crc = new CRC32();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                log.warn("Ignoring snapshot {}: checksum mismatch", file);
+                return Optional.empty();
+            }
+            return Optional.of(TalkColumns.readFrom(payload));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable snapshot {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
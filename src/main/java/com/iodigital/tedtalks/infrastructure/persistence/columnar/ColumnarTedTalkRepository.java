@@ -0,0 +1,712 @@
+package com.iodigital.tedtalks.infrastructure.persistence.columnar;
+
+import com.iodigital.tedtalks.application.analysis.TopK;
+import com.iodigital.tedtalks.application.cache.ChangeKind;
+import com.iodigital.tedtalks.application.event.DataChangeEvent;
+import com.iodigital.tedtalks.application.event.RemoteDataChangedEvent;
+import com.iodigital.tedtalks.application.event.TalksChangedEvent;
+import com.iodigital.tedtalks.application.port.ChangeFeed;
+import com.iodigital.tedtalks.domain.model.TedTalk;
+import com.iodigital.tedtalks.domain.model.valueobject.SpeakerId;
+import com.iodigital.tedtalks.domain.model.valueobject.TedTalkId;
+import com.iodigital.tedtalks.domain.repository.CursorPage;
+import com.iodigital.tedtalks.domain.repository.PageCursor;
+import com.iodigital.tedtalks.domain.repository.SpeakerAggregate;
+import com.iodigital.tedtalks.domain.repository.TalkMetricsConsumer;
+import com.iodigital.tedtalks.domain.repository.TalkRowConsumer;
+import com.iodigital.tedtalks.domain.repository.TedTalkRepository;
+import com.iodigital.tedtalks.domain.repository.YearAggregate;
+import com.iodigital.tedtalks.infrastructure.search.TrigramTitleIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.stream.Stream;
+
+/**
+ * Serves every talk read from {@link TalkColumns} held in memory; only writes, and the rare lookups
+ * by speaker id, reach the database through the delegate.
+ * <p>
+ * Writes go to the delegate first and are applied to memory once the surrounding transaction
+ * commits (immediately without one), so a rolled-back import never shows up. Changes made by
+ * other nodes, and speaker renames, arrive as events and trigger a full reload on the reload
+ * executor; reads keep using the current columns meanwhile, and events that arrive while a reload
+ * runs are coalesced into one more.
+ * <p>
+ * With a {@link ColumnarSnapshot}, the columns are saved to a local file after every import and
+ * on shutdown, and a restart restores them from that file when the database has not changed since.
+ */
+@Slf4j
+public class ColumnarTedTalkRepository implements TedTalkRepository {
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final TedTalkRepository delegate;
+    private final ChangeFeed changeFeed;
+    private final ColumnarSnapshot snapshot;
+    private final Executor reloadExecutor;
+    private final AtomicBoolean reloadRunning = new AtomicBoolean();
+    private final AtomicBoolean reloadRequested = new AtomicBoolean();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private TalkColumns columns = new TalkColumns();
+    // Writes applied while a reload is running, replayed onto the reloaded columns
+    private List<Consumer<TalkColumns>> pendingReplay;
+    private volatile TrigramTitleIndex titleIndex;
+    // Change feed version the columns reflect, apart from this node's own later writes
+    private long loadedVersion;
+
+    /**
+     * @param snapshot       local snapshot file, or null to always load from the database
+     * @param reloadExecutor runs the reloads requested by change events
+     */
+    public ColumnarTedTalkRepository(TedTalkRepository delegate, ChangeFeed changeFeed, ColumnarSnapshot snapshot,
+                                     Executor reloadExecutor) {
+        this.delegate = delegate;
+        this.changeFeed = changeFeed;
+        this.snapshot = snapshot;
+        this.reloadExecutor = reloadExecutor;
+    }
+
+    /**
+     * Startup load: restores the snapshot when the feed holds no change at or above its stamp,
+     * otherwise reads the table.
+     */
+    public synchronized void load() {
+        if (snapshot != null) {
+            long startTime = System.currentTimeMillis();
+            AtomicLong stamp = new AtomicLong();
+            Optional<TalkColumns> restored = snapshot.read(version -> {
+                stamp.set(version);
+                return changeFeed.countSince(version) == 0;
+            });
+            if (restored.isPresent()) {
+                lock.writeLock().lock();
+                try {
+                    columns = restored.get();
+                    titleIndex = null;
+                    loadedVersion = stamp.get();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.info("Restored {} talks from snapshot {} in {} ms", restored.get().liveCount(),
+                        snapshot.file(), System.currentTimeMillis() - startTime);
+                return;
+            }
+        }
+        reload();
+    }
+
+    /**
+     * Loads the whole table in keyset batches. Writes that land while loading are replayed onto
+     * the new columns before they replace the old ones, so none is lost.
+     */
+    public synchronized void reload() {
+        long startTime = System.currentTimeMillis();
+        // Read before the scan: changes below this version have ended and are in the scan
+        long version = changeFeed.version();
+        lock.writeLock().lock();
+        try {
+            pendingReplay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TalkColumns loaded = new TalkColumns();
+        try {
+            delegate.processBatches(LOAD_BATCH_SIZE, batch -> batch.forEach(loaded::upsert));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingReplay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingReplay.forEach(write -> write.accept(loaded));
+            pendingReplay = null;
+            columns = loaded;
+            titleIndex = null;
+            loadedVersion = version;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} talks into columnar memory in {} ms", loaded.liveCount(),
+                System.currentTimeMillis() - startTime);
+    }
+
+    @EventListener
+    public void onRemoteChanges(RemoteDataChangedEvent event) {
+        if (event.kinds().contains(ChangeKind.TALKS) || event.kinds().contains(ChangeKind.SPEAKER_RENAMED)) {
+            log.info("Reloading columnar talks after changes on another node: {}", event.kinds());
+            requestReload();
+        }
+    }
+
+    /**
+     * Speaker names are dictionary-encoded from the talks, so a rename on this node needs a reload too.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocalChange(DataChangeEvent event) {
+        if (event.changeKind() == ChangeKind.SPEAKER_RENAMED) {
+            requestReload();
+        }
+    }
+
+    /**
+     * Reloads on the reload executor; requests that arrive while one runs are coalesced into
+     * one more reload.
+     */
+    public void requestReload() {
+        reloadRequested.set(true);
+        if (!reloadRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            reloadExecutor.execute(this::runReloads);
+        } catch (RejectedExecutionException e) {
+            reloadRunning.set(false);
+            log.warn("Reloading columnar talks rejected: {}", e.getMessage());
+        }
+    }
+
+    private void runReloads() {
+        try {
+            while (reloadRequested.getAndSet(false)) {
+                try {
+                    reload();
+                } catch (RuntimeException e) {
+                    log.warn("Reloading columnar talks failed: {}", e.getMessage());
+                }
+            }
+        } finally {
+            reloadRunning.set(false);
+        }
+        // A request that arrived between the last check and the reset above
+        if (reloadRequested.get()) {
+            requestReload();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTalksChanged(TalksChangedEvent event) {
+        if (event.origin() == TalksChangedEvent.Origin.IMPORT) {
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * Saves the columns to the snapshot file, stamped with the feed version they reflect.
+     * Skipped while another node's change has not been loaded yet; the reload that follows
+     * it will be saved by the next import or on shutdown. Also skipped when the columns no
+     * longer fit in one snapshot file; every restart then loads from the database.
+     */
+    public synchronized void writeSnapshot() {
+        if (snapshot == null) {
+            return;
+        }
+        OptionalLong version = versionIncludingOwnChanges();
+        if (version.isEmpty()) {
+            log.debug("Skipping snapshot while changes from other nodes are pending");
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        ByteBuffer payload;
+        lock.readLock().lock();
+        try {
+            payload = snapshot.encode(columns);
+        } catch (IllegalStateException e) {
+            log.warn("Skipping snapshot {}: {}", snapshot.file(), e.getMessage());
+            return;
+        } finally {
+            lock.readLock().unlock();
+        }
+        try {
+            snapshot.write(payload, version.getAsLong());
+            loadedVersion = version.getAsLong();
+            log.info("Wrote {} KB snapshot {} at change {} in {} ms", payload.remaining() / 1024,
+                    snapshot.file(), version.getAsLong(), System.currentTimeMillis() - startTime);
+        } catch (IOException e) {
+            log.warn("Writing snapshot {} failed: {}", snapshot.file(), e.getMessage());
+        }
+    }
+
+    /**
+     * The current feed version when every change from the loaded one up to it was made by this
+     * node (and is therefore already applied), empty otherwise. Every change below the version
+     * read here has ended, so none of them can be missed by the count. Changes at or above it
+     * make the next startup reload instead of restoring.
+     */
+    private OptionalLong versionIncludingOwnChanges() {
+        long version = changeFeed.version();
+        if (changeFeed.countFromOtherNodes(loadedVersion, version) > 0) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(version);
+    }
+
+    // ---- writes: database first, memory after commit
+
+    @Override
+    public void saveAll(List<TedTalk> talks) {
+        delegate.saveAll(talks);
+        List<TedTalk> copy = List.copyOf(talks);
+        applyAfterCommit(target -> copy.forEach(target::upsert));
+    }
+
+    @Override
+    public TedTalk save(TedTalk talk) {
+        TedTalk saved = delegate.save(talk);
+        applyAfterCommit(target -> {
+            if (!target.replace(saved)) {
+                target.upsert(saved);
+            }
+        });
+        return saved;
+    }
+
+    @Override
+    public void delete(TedTalkId id) {
+        delegate.delete(id);
+        applyAfterCommit(target -> target.delete(id));
+    }
+
+    // The delegate is not a bean here, so the refresh's own transaction is started on this one
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void refreshSummaries() {
+        delegate.refreshSummaries();
+    }
+
+    @Override
+    public boolean existsByTitleAndSpeakerId(String title, SpeakerId speakerId) {
+        return delegate.existsByTitleAndSpeakerId(title, speakerId);
+    }
+
+    /**
+     * Talks do not carry the speaker's public id in memory; this lookup is rare and stays on the database.
+     */
+    @Override
+    public List<TedTalk> findBySpeakerId(SpeakerId speakerId) {
+        return delegate.findBySpeakerId(speakerId);
+    }
+
+    @Override
+    public List<TedTalk> findByTitleAndSpeakerId(String title, SpeakerId speakerId) {
+        return delegate.findByTitleAndSpeakerId(title, speakerId);
+    }
+
+    /**
+     * Stays on the database: inside an import the columns do not show the batches saved so far.
+     */
+    @Override
+    public List<TedTalk> findSameTalks(Collection<TedTalk> talks) {
+        return delegate.findSameTalks(talks);
+    }
+
+    private void applyAfterCommit(Consumer<TalkColumns> write) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(write);
+                }
+            });
+        } else {
+            apply(write);
+        }
+    }
+
+    private void apply(Consumer<TalkColumns> write) {
+        lock.writeLock().lock();
+        try {
+            write.accept(columns);
+            if (pendingReplay != null) {
+                pendingReplay.add(write);
+            }
+            titleIndex = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---- reads: memory only
+
+    @Override
+    public List<TedTalk> findAll() {
+        return select(row -> true);
+    }
+
+    /**
+     * Materializes a snapshot under the read lock; the stream then runs without holding it.
+     */
+    @Override
+    public Stream<TedTalk> streamAll() {
+        return findAll().stream();
+    }
+
+    @Override
+    public void processBatches(int batchSize, Consumer<List<TedTalk>> processor) {
+        CursorPage<TedTalk> page = findPage(PageCursor.start(), batchSize);
+        while (!page.items().isEmpty()) {
+            processor.accept(page.items());
+            if (!page.hasNext()) {
+                break;
+            }
+            page = findPage(PageCursor.decode(page.nextCursor()), batchSize);
+        }
+    }
+
+    /**
+     * Keyset page on the in-memory sequence number, which is stable across updates and compaction.
+     */
+    @Override
+    public CursorPage<TedTalk> findPage(PageCursor cursor, int size) {
+        lock.readLock().lock();
+        try {
+            TalkColumns data = columns;
+            List<TedTalk> talks = new ArrayList<>(size);
+            long lastKey = cursor.afterKey();
+            for (int row = data.firstRowAfter(cursor.afterKey()); row < data.size() && talks.size() < size; row++) {
+                if (!data.isDeleted(row)) {
+                    talks.add(data.toTalk(row));
+                    lastKey = data.seq(row);
+                }
+            }
+            String nextCursor = talks.size() < size ? null : new PageCursor(lastKey).encode();
+            return new CursorPage<>(talks, nextCursor);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void forEachTalkMetrics(TalkMetricsConsumer consumer) {
+        scanMetrics(-2, consumer);
+    }
+
+    @Override
+    public void forEachTalkMetricsBySpeaker(String speakerName, TalkMetricsConsumer consumer) {
+        lock.readLock().lock();
+        try {
+            int code = columns.speakerCode(speakerName);
+            if (code >= 0) {
+                scanMetrics(code, consumer);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the columns directly; only the strings of every row are decoded.
+     */
+    @Override
+    public void forEachTalkRow(TalkRowConsumer consumer) {
+        lock.readLock().lock();
+        try {
+            TalkColumns data = columns;
+            for (int row = 0; row < data.size(); row++) {
+                if (!data.isDeleted(row)) {
+                    consumer.accept(data.publicId(row), data.title(row), data.speakerName(data.speaker(row)),
+                            data.year(row), data.month(row), data.views(row), data.likes(row), data.link(row));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aggregates over the speaker codes with plain arrays, cheaper than the caller's
+     * hash-by-name aggregation.
+     */
+    @Override
+    public boolean supportsAggregatePushdown() {
+        return true;
+    }
+
+    @Override
+    public List<SpeakerAggregate> findTopSpeakerAggregates(int limit) {
+        TopK<SpeakerAggregate> best = new TopK<>(limit);
+        aggregateSpeakers(code -> true).forEach(aggregate -> best.offer(aggregate, aggregate.totalInfluence()));
+        return best.toSortedList();
+    }
+
+    @Override
+    public List<TedTalk> findMostInfluentialPerYear() {
+        lock.readLock().lock();
+        try {
+            TalkColumns data = columns;
+            Map<Integer, Integer> bestRowByYear = new HashMap<>();
+            for (int row = 0; row < data.size(); row++) {
+                if (data.isDeleted(row)) {
+                    continue;
+                }
+                Integer best = bestRowByYear.get(data.year(row));
+                if (best == null || influence(data, row) > influence(data, best)) {
+                    bestRowByYear.put(data.year(row), row);
+                }
+            }
+            return bestRowByYear.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .map(entry -> data.toTalk(entry.getValue()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<YearAggregate> findYearAggregates() {
+        lock.readLock().lock();
+        try {
+            TalkColumns data = columns;
+            int firstYear = Integer.MAX_VALUE;
+            int lastYear = Integer.MIN_VALUE;
+            for (int row = 0; row < data.size(); row++) {
+                if (!data.isDeleted(row)) {
+                    firstYear = Math.min(firstYear, data.year(row));
+                    lastYear = Math.max(lastYear, data.year(row));
+                }
+            }
+            if (firstYear > lastYear) {
+                return List.of();
+            }
+
+            int years = lastYear - firstYear + 1;
+            long[] talks = new long[years];
+            long[] views = new long[years];
+            long[] likes = new long[years];
+            double[] influence = new double[years];
+            double[] maxInfluence = new double[years];
+            for (int row = 0; row < data.size(); row++) {
+                if (data.isDeleted(row)) {
+                    continue;
+                }
+                int slot = data.year(row) - firstYear;
+                double score = influence(data, row);
+                maxInfluence[slot] = talks[slot] == 0 ? score : Math.max(maxInfluence[slot], score);
+                talks[slot]++;
+                views[slot] += data.views(row);
+                likes[slot] += data.likes(row);
+                influence[slot] += score;
+            }
+
+            List<YearAggregate> aggregates = new ArrayList<>();
+            for (int slot = 0; slot < years; slot++) {
+                if (talks[slot] > 0) {
+                    aggregates.add(new YearAggregate(firstYear + slot, talks[slot], views[slot], likes[slot],
+                            influence[slot], maxInfluence[slot]));
+                }
+            }
+            return aggregates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<String, SpeakerAggregate> aggregateBySpeakers(Collection<String> speakerNames) {
+        if (speakerNames.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, SpeakerAggregate> aggregates = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            boolean[] wanted = new boolean[columns.speakerCount()];
+            for (String name : speakerNames) {
+                int code = columns.speakerCode(name);
+                if (code >= 0) {
+                    wanted[code] = true;
+                }
+            }
+            aggregateSpeakers(code -> wanted[code])
+                    .forEach(aggregate -> aggregates.put(aggregate.speaker(), aggregate));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return aggregates;
+    }
+
+    /**
+     * Uses an in-memory trigram index over the titles, built on first use after a write.
+     */
+    @Override
+    public List<TedTalk> searchByTitle(String keyword, int limit) {
+        String normalized = keyword.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            TalkColumns data = columns;
+            TrigramTitleIndex index = titleIndex;
+            if (index == null) {
+                TrigramTitleIndex.Builder builder = TrigramTitleIndex.builder();
+                for (int row = 0; row < data.size(); row++) {
+                    if (!data.isDeleted(row)) {
+                        builder.add(row, data.title(row), influence(data, row));
+                    }
+                }
+                index = builder.build();
+                // Racing readers may each build it; any of the results is current under this read lock
+                titleIndex = index;
+            }
+            return index.search(normalized, limit).stream()
+                    .map(row -> data.toTalk(row.intValue()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<TedTalk> findById(TedTalkId id) {
+        lock.readLock().lock();
+        try {
+            int row = columns.rowOf(id);
+            return row < 0 ? Optional.empty() : Optional.of(columns.toTalk(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TedTalk> findByYear(int year) {
+        lock.readLock().lock();
+        try {
+            TalkColumns data = columns;
+            return select(row -> data.year(row) == year);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TedTalk> findBySpeakerName(String speakerName) {
+        lock.readLock().lock();
+        try {
+            TalkColumns data = columns;
+            int code = data.speakerCode(speakerName);
+            if (code < 0) {
+                return List.of();
+            }
+            return select(row -> data.speaker(row) == code).stream()
+                    .sorted(Comparator.comparingDouble((TedTalk talk) -> talk.calculateInfluenceScore()).reversed())
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return columns.liveCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<TedTalk> select(IntPredicate rowFilter) {
+        lock.readLock().lock();
+        try {
+            TalkColumns data = columns;
+            List<TedTalk> talks = new ArrayList<>();
+            for (int row = 0; row < data.size(); row++) {
+                if (!data.isDeleted(row) && rowFilter.test(row)) {
+                    talks.add(data.toTalk(row));
+                }
+            }
+            return talks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param speakerCode only rows of this speaker, or -2 for every row
+     */
+    private void scanMetrics(int speakerCode, TalkMetricsConsumer consumer) {
+        lock.readLock().lock();
+        try {
+            TalkColumns data = columns;
+            for (int row = 0; row < data.size(); row++) {
+                if (!data.isDeleted(row) && (speakerCode == -2 || data.speaker(row) == speakerCode)) {
+                    consumer.accept(data.speakerName(data.speaker(row)), data.year(row), data.month(row),
+                            data.views(row), data.likes(row));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<SpeakerAggregate> aggregateSpeakers(IntPredicate speakerFilter) {
+        lock.readLock().lock();
+        try {
+            TalkColumns data = columns;
+            int speakers = data.speakerCount();
+            long[] talks = new long[speakers];
+            long[] views = new long[speakers];
+            long[] likes = new long[speakers];
+            double[] influence = new double[speakers];
+            int[] firstYear = new int[speakers];
+            int[] lastYear = new int[speakers];
+
+            for (int row = 0; row < data.size(); row++) {
+                int code = data.speaker(row);
+                if (data.isDeleted(row) || !speakerFilter.test(code)) {
+                    continue;
+                }
+                int year = data.year(row);
+                firstYear[code] = talks[code] == 0 ? year : Math.min(firstYear[code], year);
+                lastYear[code] = talks[code] == 0 ? year : Math.max(lastYear[code], year);
+                talks[code]++;
+                views[code] += data.views(row);
+                likes[code] += data.likes(row);
+                influence[code] += influence(data, row);
+            }
+
+            List<SpeakerAggregate> aggregates = new ArrayList<>();
+            for (int code = 0; code < speakers; code++) {
+                if (talks[code] > 0) {
+                    aggregates.add(new SpeakerAggregate(data.speakerName(code), talks[code], views[code],
+                            likes[code], influence[code], firstYear[code], lastYear[code]));
+                }
+            }
+            return aggregates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static double influence(TalkColumns data, int row) {
+        return TedTalk.influenceScore(data.views(row), data.likes(row));
+    }
+}
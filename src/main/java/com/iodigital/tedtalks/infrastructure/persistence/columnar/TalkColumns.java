@@ -0,0 +1,459 @@
+package com.iodigital.tedtalks.infrastructure.persistence.columnar;
+
+import com.iodigital.tedtalks.domain.model.Speaker;
+import com.iodigital.tedtalks.domain.model.TedTalk;
+import com.iodigital.tedtalks.domain.model.valueobject.Likes;
+import com.iodigital.tedtalks.domain.model.valueobject.Link;
+import com.iodigital.tedtalks.domain.model.valueobject.TalkDate;
+import com.iodigital.tedtalks.domain.model.valueobject.TedTalkId;
+import com.iodigital.tedtalks.domain.model.valueobject.Views;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The talk dataset as parallel primitive columns. Row {@code r} of every array belongs to the
+ * same talk; rows are kept in insertion order, which is also the order of {@link #seq(int)}.
+ * <ul>
+ *   <li>speakers are dictionary-encoded: {@code speaker[r]} indexes {@link #speakerName(int)}</li>
+ *   <li>titles and links are UTF-8 bytes in one shared heap, addressed by offset and length</li>
+ *   <li>deletes only mark the row; {@link #compact()} reclaims deleted rows and replaced text</li>
+ * </ul>
+ * {@link #writeTo(ByteBuffer)} and {@link #readFrom(ByteBuffer)} copy the columns as they are,
+ * so a snapshot restores without re-encoding any talk.
+ * Not thread-safe; {@link ColumnarTedTalkRepository} guards it with a read/write lock.
+ */
+final class TalkColumns {
+
+    private static final int INITIAL_ROWS = 1024;
+
+    private int size;
+    private int deletedCount;
+    private long nextSeq = 1;
+    private long[] seq = new long[INITIAL_ROWS];
+    private long[] idHigh = new long[INITIAL_ROWS];
+    private long[] idLow = new long[INITIAL_ROWS];
+    private int[] speaker = new int[INITIAL_ROWS];
+    private int[] year = new int[INITIAL_ROWS];
+    private int[] month = new int[INITIAL_ROWS];
+    private long[] views = new long[INITIAL_ROWS];
+    private long[] likes = new long[INITIAL_ROWS];
+    private int[] titleOffset = new int[INITIAL_ROWS];
+    private int[] titleLength = new int[INITIAL_ROWS];
+    private int[] linkOffset = new int[INITIAL_ROWS];
+    private int[] linkLength = new int[INITIAL_ROWS];
+    private BitSet deleted = new BitSet();
+
+    private byte[] text = new byte[INITIAL_ROWS * 64];
+    private int textSize;
+    private int garbageBytes;
+
+    private final List<String> speakerNames = new ArrayList<>();
+    private final Map<String, Integer> speakerCodes = new HashMap<>();
+    private Map<UUID, Integer> rowsByPublicId = new HashMap<>();
+    // (speaker, year, title hash) -> first row with that key; collisions fall back to a scan
+    private Map<Long, Integer> rowsByNaturalKey = new HashMap<>();
+
+    int size() {
+        return size;
+    }
+
+    int liveCount() {
+        return size - deletedCount;
+    }
+
+    boolean isDeleted(int row) {
+        return deleted.get(row);
+    }
+
+    long seq(int row) {
+        return seq[row];
+    }
+
+    int speaker(int row) {
+        return speaker[row];
+    }
+
+    int year(int row) {
+        return year[row];
+    }
+
+    int month(int row) {
+        return month[row];
+    }
+
+    long views(int row) {
+        return views[row];
+    }
+
+    long likes(int row) {
+        return likes[row];
+    }
+
+    String title(int row) {
+        return new String(text, titleOffset[row], titleLength[row], StandardCharsets.UTF_8);
+    }
+
+    UUID publicId(int row) {
+        return new UUID(idHigh[row], idLow[row]);
+    }
+
+    String link(int row) {
+        return new String(text, linkOffset[row], linkLength[row], StandardCharsets.UTF_8);
+    }
+
+    String speakerName(int code) {
+        return speakerNames.get(code);
+    }
+
+    int speakerCount() {
+        return speakerNames.size();
+    }
+
+    /**
+     * Dictionary code of the speaker, or -1 when no talk ever referenced that name.
+     */
+    int speakerCode(String name) {
+        Integer code = speakerCodes.get(name);
+        return code != null ? code : -1;
+    }
+
+    int rowOf(TedTalkId id) {
+        Integer row = rowsByPublicId.get(id.value());
+        return row != null ? row : -1;
+    }
+
+    TedTalk toTalk(int row) {
+        return TedTalk.withId(
+                new TedTalkId(publicId(row)),
+                title(row),
+                Speaker.create(speakerNames.get(speaker[row]), null),
+                new TalkDate(year[row], month[row]),
+                Views.of(views[row]),
+                Likes.of(likes[row]),
+                Link.of(link(row))
+        );
+    }
+
+    /**
+     * Index of the first row whose sequence number is greater than the given one (binary search).
+     */
+    int firstRowAfter(long afterSeq) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (seq[mid] <= afterSeq) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Same effect as the database upsert: a talk with the same title, speaker and year keeps its
+     * row and public id and takes the new counts; anything else is appended.
+     */
+    void upsert(TedTalk talk) {
+        int speakerCode = encodeSpeaker(talk.getSpeaker().getName());
+        int row = findByNaturalKey(talk.getTitle(), speakerCode, talk.getDate().year());
+        if (row >= 0) {
+            views[row] = talk.getViews().value();
+            likes[row] = talk.getLikes().value();
+        } else {
+            append(talk, speakerCode);
+        }
+    }
+
+    /**
+     * Replaces every column of the row holding the talk's public id, keeping its position.
+     * Returns false when the id is unknown.
+     */
+    boolean replace(TedTalk talk) {
+        int row = rowOf(talk.getId());
+        if (row < 0) {
+            return false;
+        }
+        rowsByNaturalKey.remove(naturalKey(title(row), speaker[row], year[row]), row);
+        garbageBytes += titleLength[row] + linkLength[row];
+        writeRow(row, talk, encodeSpeaker(talk.getSpeaker().getName()));
+        compactIfWasteful();
+        return true;
+    }
+
+    void delete(TedTalkId id) {
+        int row = rowOf(id);
+        if (row < 0) {
+            return;
+        }
+        rowsByPublicId.remove(id.value());
+        rowsByNaturalKey.remove(naturalKey(title(row), speaker[row], year[row]), row);
+        deleted.set(row);
+        deletedCount++;
+        garbageBytes += titleLength[row] + linkLength[row];
+        compactIfWasteful();
+    }
+
+    private void compactIfWasteful() {
+        if (deletedCount > size / 4 || garbageBytes > textSize / 2) {
+            compact();
+        }
+    }
+
+    /**
+     * Drops deleted rows and unreferenced text, keeping row order and sequence numbers.
+     */
+    void compact() {
+        TalkColumns compacted = new TalkColumns();
+        compacted.ensureCapacity(liveCount());
+        for (int row = 0; row < size; row++) {
+            if (!deleted.get(row)) {
+                int target = compacted.append(toTalk(row), compacted.encodeSpeaker(speakerNames.get(speaker[row])));
+                compacted.seq[target] = seq[row];
+            }
+        }
+        compacted.nextSeq = nextSeq;
+        copyFrom(compacted);
+    }
+
+    /**
+     * Bytes {@link #writeTo(ByteBuffer)} needs.
+     */
+    int serializedSize() {
+        long bytes = Integer.BYTES + Long.BYTES + Integer.BYTES;
+        for (String name : speakerNames) {
+            bytes += Integer.BYTES + name.getBytes(StandardCharsets.UTF_8).length;
+        }
+        bytes += (long) size * (5 * Long.BYTES + 7 * Integer.BYTES);
+        bytes += Integer.BYTES + (long) deleted.toLongArray().length * Long.BYTES;
+        bytes += Integer.BYTES + textSize;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Columns too large to serialize: " + bytes + " bytes");
+        }
+        return (int) bytes;
+    }
+
+    void writeTo(ByteBuffer out) {
+        out.putInt(size);
+        out.putLong(nextSeq);
+        out.putInt(speakerNames.size());
+        for (String name : speakerNames) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            out.putInt(bytes.length);
+            out.put(bytes);
+        }
+        putLongs(out, seq, size);
+        putLongs(out, idHigh, size);
+        putLongs(out, idLow, size);
+        putLongs(out, views, size);
+        putLongs(out, likes, size);
+        putInts(out, speaker, size);
+        putInts(out, year, size);
+        putInts(out, month, size);
+        putInts(out, titleOffset, size);
+        putInts(out, titleLength, size);
+        putInts(out, linkOffset, size);
+        putInts(out, linkLength, size);
+        long[] deletedWords = deleted.toLongArray();
+        out.putInt(deletedWords.length);
+        putLongs(out, deletedWords, deletedWords.length);
+        out.putInt(textSize);
+        out.put(text, 0, textSize);
+    }
+
+    /**
+     * Reads columns written by {@link #writeTo(ByteBuffer)} and rebuilds the lookup maps.
+     */
+    static TalkColumns readFrom(ByteBuffer in) {
+        TalkColumns columns = new TalkColumns();
+        int rows = in.getInt();
+        columns.nextSeq = in.getLong();
+        int speakers = in.getInt();
+        for (int code = 0; code < speakers; code++) {
+            byte[] bytes = new byte[in.getInt()];
+            in.get(bytes);
+            columns.encodeSpeaker(new String(bytes, StandardCharsets.UTF_8));
+        }
+        columns.seq = getLongs(in, rows);
+        columns.idHigh = getLongs(in, rows);
+        columns.idLow = getLongs(in, rows);
+        columns.views = getLongs(in, rows);
+        columns.likes = getLongs(in, rows);
+        columns.speaker = getInts(in, rows);
+        columns.year = getInts(in, rows);
+        columns.month = getInts(in, rows);
+        columns.titleOffset = getInts(in, rows);
+        columns.titleLength = getInts(in, rows);
+        columns.linkOffset = getInts(in, rows);
+        columns.linkLength = getInts(in, rows);
+        columns.deleted = BitSet.valueOf(getLongs(in, in.getInt()));
+        columns.textSize = in.getInt();
+        columns.text = new byte[Math.max(columns.textSize, 1)];
+        in.get(columns.text, 0, columns.textSize);
+        columns.size = rows;
+
+        int liveBytes = 0;
+        for (int row = 0; row < rows; row++) {
+            if (columns.deleted.get(row)) {
+                columns.deletedCount++;
+                continue;
+            }
+            liveBytes += columns.titleLength[row] + columns.linkLength[row];
+            columns.rowsByPublicId.put(new UUID(columns.idHigh[row], columns.idLow[row]), row);
+            columns.rowsByNaturalKey.putIfAbsent(
+                    naturalKey(columns.title(row), columns.speaker[row], columns.year[row]), row);
+        }
+        columns.garbageBytes = columns.textSize - liveBytes;
+        return columns;
+    }
+
+    private static void putLongs(ByteBuffer out, long[] values, int count) {
+        out.asLongBuffer().put(values, 0, count);
+        out.position(out.position() + count * Long.BYTES);
+    }
+
+    private static void putInts(ByteBuffer out, int[] values, int count) {
+        out.asIntBuffer().put(values, 0, count);
+        out.position(out.position() + count * Integer.BYTES);
+    }
+
+    private static long[] getLongs(ByteBuffer in, int count) {
+        long[] values = new long[count];
+        in.asLongBuffer().get(values);
+        in.position(in.position() + count * Long.BYTES);
+        return values;
+    }
+
+    private static int[] getInts(ByteBuffer in, int count) {
+        int[] values = new int[count];
+        in.asIntBuffer().get(values);
+        in.position(in.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private void copyFrom(TalkColumns other) {
+        size = other.size;
+        deletedCount = 0;
+        nextSeq = other.nextSeq;
+        seq = other.seq;
+        idHigh = other.idHigh;
+        idLow = other.idLow;
+        speaker = other.speaker;
+        year = other.year;
+        month = other.month;
+        views = other.views;
+        likes = other.likes;
+        titleOffset = other.titleOffset;
+        titleLength = other.titleLength;
+        linkOffset = other.linkOffset;
+        linkLength = other.linkLength;
+        deleted = other.deleted;
+        text = other.text;
+        textSize = other.textSize;
+        garbageBytes = 0;
+        speakerNames.clear();
+        speakerNames.addAll(other.speakerNames);
+        speakerCodes.clear();
+        speakerCodes.putAll(other.speakerCodes);
+        rowsByPublicId = other.rowsByPublicId;
+        rowsByNaturalKey = other.rowsByNaturalKey;
+    }
+
+    private int append(TedTalk talk, int speakerCode) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        seq[row] = nextSeq++;
+        writeRow(row, talk, speakerCode);
+        return row;
+    }
+
+    private void writeRow(int row, TedTalk talk, int speakerCode) {
+        UUID publicId = talk.getId().value();
+        idHigh[row] = publicId.getMostSignificantBits();
+        idLow[row] = publicId.getLeastSignificantBits();
+        speaker[row] = speakerCode;
+        year[row] = talk.getDate().year();
+        month[row] = talk.getDate().month();
+        views[row] = talk.getViews().value();
+        likes[row] = talk.getLikes().value();
+
+        byte[] title = talk.getTitle().getBytes(StandardCharsets.UTF_8);
+        titleOffset[row] = appendText(title);
+        titleLength[row] = title.length;
+        byte[] link = talk.getLink().value().getBytes(StandardCharsets.UTF_8);
+        linkOffset[row] = appendText(link);
+        linkLength[row] = link.length;
+
+        rowsByPublicId.put(publicId, row);
+        rowsByNaturalKey.putIfAbsent(naturalKey(talk.getTitle(), speakerCode, year[row]), row);
+    }
+
+    private int findByNaturalKey(String title, int speakerCode, int talkYear) {
+        Integer candidate = rowsByNaturalKey.get(naturalKey(title, speakerCode, talkYear));
+        if (candidate == null) {
+            return -1;
+        }
+        if (matches(candidate, title, speakerCode, talkYear)) {
+            return candidate;
+        }
+        for (int row = 0; row < size; row++) {
+            if (!deleted.get(row) && matches(row, title, speakerCode, talkYear)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private boolean matches(int row, String title, int speakerCode, int talkYear) {
+        return speaker[row] == speakerCode && year[row] == talkYear && title(row).equals(title);
+    }
+
+    private static long naturalKey(String title, int speakerCode, int talkYear) {
+        return ((long) speakerCode << 32) ^ (31L * talkYear + title.hashCode());
+    }
+
+    private int encodeSpeaker(String name) {
+        return speakerCodes.computeIfAbsent(name, key -> {
+            speakerNames.add(key);
+            return speakerNames.size() - 1;
+        });
+    }
+
+    private int appendText(byte[] bytes) {
+        if (textSize + bytes.length > text.length) {
+            text = Arrays.copyOf(text, Math.max(text.length * 2, textSize + bytes.length));
+        }
+        System.arraycopy(bytes, 0, text, textSize, bytes.length);
+        int offset = textSize;
+        textSize += bytes.length;
+        return offset;
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows <= seq.length) {
+            return;
+        }
+        int capacity = Math.max(rows, seq.length * 2);
+        seq = Arrays.copyOf(seq, capacity);
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        speaker = Arrays.copyOf(speaker, capacity);
+        year = Arrays.copyOf(year, capacity);
+        month = Arrays.copyOf(month, capacity);
+        views = Arrays.copyOf(views, capacity);
+        likes = Arrays.copyOf(likes, capacity);
+        titleOffset = Arrays.copyOf(titleOffset, capacity);
+        titleLength = Arrays.copyOf(titleLength, capacity);
+        linkOffset = Arrays.copyOf(linkOffset, capacity);
+        linkLength = Arrays.copyOf(linkLength, capacity);
+    }
+}
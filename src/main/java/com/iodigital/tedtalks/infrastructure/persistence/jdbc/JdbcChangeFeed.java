@@ -0,0 +1,153 @@
+package com.iodigital.tedtalks.infrastructure.persistence.jdbc;
+
+import com.iodigital.tedtalks.application.cache.ChangeKind;
+import com.iodigital.tedtalks.application.cache.DataChange;
+import com.iodigital.tedtalks.application.port.ChangeFeed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Change feed on the data_changes table. On PostgreSQL a trigger on the table also sends a
+ * NOTIFY, which listening nodes use as a wake-up; the table stays the source of truth.
+ * <p>
+ * Versions are transaction ids: each change records the id of the transaction that appended it,
+ * and {@link #version()} is the current snapshot's xmin. Elsewhere (H2 in tests) the id column
+ * doubles as the transaction id and the version is one past the newest change.
+ */
+@Repository
+@Slf4j
+public class JdbcChangeFeed implements ChangeFeed {
+
+    private static final String INSERT_SQL = "INSERT INTO data_changes (kind, origin_node) VALUES (?, ?)";
+    private static final String SELECT_AFTER = "SELECT id, kind, origin_node FROM data_changes WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String SELECT_BY_IDS = "SELECT id, kind, origin_node FROM data_changes WHERE id IN (%s) ORDER BY id";
+    private static final String SELECT_LAST_ID = "SELECT COALESCE(MAX(id), 0) FROM data_changes";
+    private static final String SELECT_HORIZON = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+    private static final String SELECT_NEXT_XACT_ID = "SELECT COALESCE(MAX(xact_id), 0) + 1 FROM data_changes";
+    private static final String COUNT_FROM_OTHER_NODES =
+            "SELECT COUNT(*) FROM data_changes WHERE xact_id >= ? AND xact_id < ? AND origin_node <> ?";
+    private static final String COUNT_SINCE = "SELECT COUNT(*) FROM data_changes WHERE xact_id >= ?";
+    // The newest change stays, so countSince still sees it after everything older was pruned
+    private static final String DELETE_BEFORE = """
+        DELETE FROM data_changes
+        WHERE changed_at < ? AND xact_id < (SELECT MAX(xact_id) FROM data_changes)
+        """;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+    private volatile Boolean postgres;
+
+    public JdbcChangeFeed(DataSource dataSource,
+                          @Value("${app.cache.invalidation.node-id:}") String nodeId) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        log.info("Change feed node id: {}", this.nodeId);
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void append(ChangeKind kind) {
+        jdbcTemplate.update(INSERT_SQL, kind.name(), nodeId);
+    }
+
+    @Override
+    public List<DataChange> readAfter(long afterId, int limit) {
+        return jdbcTemplate.query(SELECT_AFTER, this::mapRowToDataChange, afterId, limit);
+    }
+
+    @Override
+    public List<DataChange> readByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+                SELECT_BY_IDS.formatted(String.join(",", Collections.nCopies(ids.size(), "?"))),
+                this::mapRowToDataChange,
+                ids.toArray()
+        );
+    }
+
+    @Override
+    public long lastId() {
+        Long lastId = jdbcTemplate.queryForObject(SELECT_LAST_ID, Long.class);
+        return lastId != null ? lastId : 0L;
+    }
+
+    @Override
+    public long version() {
+        Long version = jdbcTemplate.queryForObject(isPostgres() ? SELECT_HORIZON : SELECT_NEXT_XACT_ID, Long.class);
+        return version != null ? version : 0L;
+    }
+
+    @Override
+    public long countFromOtherNodes(long fromVersion, long toVersion) {
+        Long count = jdbcTemplate.queryForObject(COUNT_FROM_OTHER_NODES, Long.class,
+                fromVersion, toVersion, nodeId);
+        return count != null ? count : 0L;
+    }
+
+    @Override
+    public long countSince(long fromVersion) {
+        Long count = jdbcTemplate.queryForObject(COUNT_SINCE, Long.class, fromVersion);
+        return count != null ? count : 0L;
+    }
+
+    @Override
+    public int pruneBefore(Instant cutoff) {
+        return jdbcTemplate.update(DELETE_BEFORE, Timestamp.from(cutoff));
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(
+                        dataSource, DatabaseMetaData::getDatabaseProductName);
+                result = "PostgreSQL".equalsIgnoreCase(product);
+            } catch (MetaDataAccessException e) {
+                log.warn("Could not determine database product, using the newest change as version: {}",
+                        e.getMessage());
+                result = false;
+            }
+            postgres = result;
+        }
+        return result;
+    }
+
+    private DataChange mapRowToDataChange(ResultSet rs, int rowNum) throws SQLException {
+        return new DataChange(rs.getLong("id"), parseKind(rs.getString("kind")), rs.getString("origin_node"));
+    }
+
+    /**
+     * A kind this version does not know (written by a newer node during a rolling deploy)
+     * is treated as the broadest change.
+     */
+    private static ChangeKind parseKind(String kind) {
+        try {
+            return ChangeKind.valueOf(kind);
+        } catch (IllegalArgumentException e) {
+            return ChangeKind.TALKS;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.iodigital.tedtalks.infrastructure.persistence.jdbc;
+
+import com.iodigital.tedtalks.application.analysis.TopK;
+import com.iodigital.tedtalks.application.port.MetricsHistory;
+import com.iodigital.tedtalks.domain.model.valueobject.InfluenceWeights;
+import com.iodigital.tedtalks.domain.model.valueobject.TedTalkId;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Metrics history in the append-only talk_metric_history table, one {@link MetricSegment} per
+ * recorded batch. Segments refer to talks by their internal key, which is what keeps the entries
+ * a few bytes each; the public ids are resolved when recording and again for the ranked results.
+ */
+@Repository
+@Slf4j
+public class JdbcMetricsHistory implements MetricsHistory {
+
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    private static final String INSERT_SEGMENT =
+            "INSERT INTO talk_metric_history (entry_count, segment) VALUES (?, ?)";
+
+    private static final String SELECT_SEGMENTS_SINCE =
+            "SELECT entry_count, segment FROM talk_metric_history WHERE recorded_at >= ?";
+
+    private static final String SELECT_IDS_BY_PUBLIC_ID =
+            "SELECT id, public_id FROM ted_talks WHERE public_id IN (%s)";
+
+    private static final String SELECT_TALK_TOTALS =
+            "SELECT id, public_id, views, likes FROM ted_talks WHERE id IN (%s)";
+
+    // Every talk of the speakers that have a talk among the given ids
+    private static final String SELECT_GROWING_SPEAKER_TALKS = """
+        SELECT t.id, s.name, t.views, t.likes
+        FROM ted_talks t
+        JOIN speakers s ON s.id = t.speaker_id
+        WHERE t.speaker_id IN (SELECT speaker_id FROM ted_talks WHERE id = ANY(?))
+        """;
+
+    private final JdbcTemplate simpleJdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public JdbcMetricsHistory(DataSource dataSource,
+                              @Value("${app.jdbc.stream-fetch-size:1000}") int streamFetchSize) {
+        this.simpleJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(streamFetchSize);
+    }
+
+    @Override
+    public void record(List<MetricChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, Long> talkIds = new HashMap<>();
+        List<UUID> publicIds = changes.stream().map(change -> change.talk().value()).distinct().toList();
+        for (int from = 0; from < publicIds.size(); from += MAX_IDS_PER_QUERY) {
+            List<UUID> chunk = publicIds.subList(from, Math.min(publicIds.size(), from + MAX_IDS_PER_QUERY));
+            simpleJdbcTemplate.query(
+                    SELECT_IDS_BY_PUBLIC_ID.formatted(placeholders(chunk.size())),
+                    (RowCallbackHandler) rs -> talkIds.put(rs.getObject(2, UUID.class), rs.getLong(1)),
+                    chunk.toArray()
+            );
+        }
+
+        // A talk listed twice in one batch is one entry; its changes add up
+        Map<Long, MetricSegment.Entry> entries = new HashMap<>();
+        for (MetricChange change : changes) {
+            Long talkId = talkIds.get(change.talk().value());
+            if (talkId == null) {
+                log.debug("Not recording metrics of talk {}: no such row", change.talk());
+                continue;
+            }
+            entries.merge(talkId,
+                    new MetricSegment.Entry(talkId, change.created(), change.viewsDelta(), change.likesDelta()),
+                    (a, b) -> new MetricSegment.Entry(talkId, a.created() || b.created(),
+                            a.viewsDelta() + b.viewsDelta(), a.likesDelta() + b.likesDelta()));
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        byte[] segment = MetricSegment.encode(entries.values().toArray(new MetricSegment.Entry[0]));
+        simpleJdbcTemplate.update(INSERT_SEGMENT, entries.size(), segment);
+        log.debug("Recorded metric changes of {} talks in {} bytes", entries.size(), segment.length);
+    }
+
+    @Override
+    public List<TalkGrowth> fastestGrowingTalks(Instant since, int limit) {
+        Map<Long, long[]> growth = growthSince(since);
+        TopK<Long> best = new TopK<>(limit);
+        growth.forEach((talkId, gained) -> {
+            double influence = InfluenceWeights.DEFAULT.score(gained[0], gained[1]);
+            if (influence > 0) {
+                best.offer(talkId, influence);
+            }
+        });
+        List<Long> ranked = best.toSortedList();
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, TalkGrowth> byId = new HashMap<>();
+        simpleJdbcTemplate.query(
+                SELECT_TALK_TOTALS.formatted(placeholders(ranked.size())),
+                (RowCallbackHandler) rs -> {
+                    long[] gained = growth.get(rs.getLong(1));
+                    byId.put(rs.getLong(1), new TalkGrowth(new TedTalkId(rs.getObject(2, UUID.class)),
+                            rs.getLong(3), rs.getLong(4), gained[0], gained[1]));
+                },
+                ranked.toArray()
+        );
+
+        // Talks deleted since their growth was recorded drop out of the ranking
+        List<TalkGrowth> result = new ArrayList<>(ranked.size());
+        ranked.forEach(talkId -> {
+            TalkGrowth talk = byId.get(talkId);
+            if (talk != null) {
+                result.add(talk);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Talks are attributed to the speaker they have now, so a talk moved to another speaker
+     * takes its growth along.
+     */
+    @Override
+    public List<SpeakerGrowth> fastestGrowingSpeakers(Instant since, int limit) {
+        Map<Long, long[]> growth = growthSince(since);
+        if (growth.isEmpty()) {
+            return List.of();
+        }
+
+        // views, likes, views gained, likes gained; only speakers with a grown talk are read
+        Map<String, long[]> bySpeaker = new HashMap<>();
+        Object[] grownIds = growth.keySet().toArray();
+        PreparedStatementSetter grownIdsParameter =
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("BIGINT", grownIds));
+        streamingJdbcTemplate.query(SELECT_GROWING_SPEAKER_TALKS, grownIdsParameter, (RowCallbackHandler) rs -> {
+            long[] totals = bySpeaker.computeIfAbsent(rs.getString(2), speaker -> new long[4]);
+            totals[0] += rs.getLong(3);
+            totals[1] += rs.getLong(4);
+            long[] gained = growth.get(rs.getLong(1));
+            if (gained != null) {
+                totals[2] += gained[0];
+                totals[3] += gained[1];
+            }
+        });
+
+        TopK<SpeakerGrowth> best = new TopK<>(limit);
+        bySpeaker.forEach((speaker, totals) -> {
+            double influence = InfluenceWeights.DEFAULT.score(totals[2], totals[3]);
+            if (influence > 0 && best.accepts(influence)) {
+                best.offer(new SpeakerGrowth(speaker, totals[0], totals[1], totals[2], totals[3]), influence);
+            }
+        });
+        return best.toSortedList();
+    }
+
+    /**
+     * Views and likes each talk gained since the cutoff, decoded from the segments in one pass.
+     * Entries that created a talk set its starting point and add no growth.
+     */
+    private Map<Long, long[]> growthSince(Instant since) {
+        long startTime = System.currentTimeMillis();
+        Map<Long, long[]> growth = new HashMap<>();
+        long[] entries = new long[1];
+        streamingJdbcTemplate.query(SELECT_SEGMENTS_SINCE, (RowCallbackHandler) rs -> {
+            int entryCount = rs.getInt(1);
+            entries[0] += entryCount;
+            MetricSegment.decode(rs.getBytes(2), entryCount, (talkId, created, viewsDelta, likesDelta) -> {
+                if (!created) {
+                    long[] gained = growth.computeIfAbsent(talkId, id -> new long[2]);
+                    gained[0] += viewsDelta;
+                    gained[1] += likesDelta;
+                }
+            });
+        }, Timestamp.from(since));
+        log.debug("Decoded {} metric changes since {} in {} ms", entries[0], since,
+                System.currentTimeMillis() - startTime);
+        return growth;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
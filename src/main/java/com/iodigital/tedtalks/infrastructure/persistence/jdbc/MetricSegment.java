@@ -0,0 +1,110 @@
+package com.iodigital.tedtalks.infrastructure.persistence.jdbc;
+
+import java.util.Arrays;
+
+/**
+ * Encoding of one row of talk_metric_history: the metric changes of one import batch, sorted by
+ * talk id. Each entry is {@code varint(idGap << 1 | created)}, then the change in views and in
+ * likes as zigzag varints, so small ids, small gaps and small growth all take few bytes.
+ */
+final class MetricSegment {
+
+    private MetricSegment() {
+    }
+
+    /**
+     * Receives the entries of a segment in talk id order.
+     */
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long talkId, boolean created, long viewsDelta, long likesDelta);
+    }
+
+    record Entry(long talkId, boolean created, long viewsDelta, long likesDelta) {
+    }
+
+    static byte[] encode(Entry[] entries) {
+        Entry[] sorted = entries.clone();
+        Arrays.sort(sorted, (a, b) -> Long.compare(a.talkId(), b.talkId()));
+
+        Writer out = new Writer(sorted.length * 6);
+        long previousId = 0;
+        for (Entry entry : sorted) {
+            long gap = entry.talkId() - previousId;
+            if (gap < 0 || (gap == 0 && previousId != 0)) {
+                throw new IllegalArgumentException("Talk ids must be positive and distinct: " + entry.talkId());
+            }
+            out.varint(gap << 1 | (entry.created() ? 1 : 0));
+            out.varint(zigzag(entry.viewsDelta()));
+            out.varint(zigzag(entry.likesDelta()));
+            previousId = entry.talkId();
+        }
+        return out.toByteArray();
+    }
+
+    static void decode(byte[] segment, int entryCount, EntryConsumer consumer) {
+        Reader in = new Reader(segment);
+        long talkId = 0;
+        for (int i = 0; i < entryCount; i++) {
+            long header = in.varint();
+            talkId += header >>> 1;
+            consumer.accept(talkId, (header & 1) != 0, unzigzag(in.varint()), unzigzag(in.varint()));
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer {
+        private byte[] bytes;
+        private int size;
+
+        Writer(int capacity) {
+            this.bytes = new byte[Math.max(16, capacity)];
+        }
+
+        void varint(long value) {
+            if (size + 10 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position == bytes.length) {
+                    throw new IllegalArgumentException("Truncated metric segment");
+                }
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in metric segment");
+        }
+    }
+}
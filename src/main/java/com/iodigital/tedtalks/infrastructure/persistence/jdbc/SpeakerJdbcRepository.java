@@ -2,22 +2,24 @@ package com.iodigital.tedtalks.infrastructure.persistence.jdbc;
 
 import com.iodigital.tedtalks.domain.model.Speaker;
 import com.iodigital.tedtalks.domain.model.valueobject.SpeakerId;
+import com.iodigital.tedtalks.domain.repository.CursorPage;
+import com.iodigital.tedtalks.domain.repository.PageCursor;
 import com.iodigital.tedtalks.domain.repository.SpeakerRepository;
+import com.iodigital.tedtalks.domain.repository.SpeakerWithStats;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
-import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Stream;
 
 @Repository
@@ -26,16 +28,70 @@ import java.util.stream.Stream;
 public class SpeakerJdbcRepository implements SpeakerRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
 
-    private static final String INSERT_SQL = "INSERT INTO speakers (name, bio) VALUES (?, ?) ON CONFLICT (name) DO UPDATE SET bio = EXCLUDED.bio RETURNING id";
+    private static final String INSERT_SQL = "INSERT INTO speakers (public_id, name, bio) VALUES (?, ?, ?) ON CONFLICT (name) DO UPDATE SET bio = EXCLUDED.bio RETURNING public_id";
+    private static final String UPDATE_BY_PUBLIC_ID_SQL = "UPDATE speakers SET name = ?, bio = ?, updated_at = CURRENT_TIMESTAMP WHERE public_id = ?";
+    private static final String DELETE_BY_PUBLIC_ID_SQL = "DELETE FROM speakers WHERE public_id = ?";
     private static final String SELECT_ALL = "SELECT * FROM speakers";
+    private static final String SELECT_PAGE = "SELECT * FROM speakers WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String SELECT_BY_PUBLIC_ID = "SELECT * FROM speakers WHERE public_id = ?";
     private static final String SELECT_BY_NAME = "SELECT * FROM speakers WHERE name = ?";
     private static final String SELECT_BY_NAME_PATTERN = "SELECT * FROM speakers WHERE LOWER(name) LIKE LOWER(?)";
+    // Filtered by idx_speakers_name_trgm, then walked in key order like findPage
+    private static final String SEARCH_PAGE_BY_NAME = """
+        SELECT * FROM speakers
+        WHERE lower(name) LIKE ? ESCAPE '\\' AND id > ?
+        ORDER BY id
+        LIMIT ?
+        """;
+    // Reads the pre-aggregated speaker_stats view instead of grouping every talk; totals lag a
+    // single-talk write until the view's next refresh. Speakers without talks keep zero totals.
+    private static final String SELECT_ALL_WITH_STATS = """
+        SELECT s.*,
+               COALESCE(st.talk_count, 0) AS talk_count,
+               COALESCE(st.total_views, 0) AS total_views,
+               COALESCE(st.total_likes, 0) AS total_likes
+        FROM speakers s
+        LEFT JOIN speaker_stats st ON st.speaker_id = s.id
+        """;
+    // The speaker filter is repeated inside the derived table so only that speaker's talks are grouped
+    private static final String SELECT_BY_PUBLIC_ID_WITH_STATS = """
+        SELECT s.*,
+               COALESCE(t.talk_count, 0) AS talk_count,
+               COALESCE(t.total_views, 0) AS total_views,
+               COALESCE(t.total_likes, 0) AS total_likes
+        FROM speakers s
+        LEFT JOIN (
+            SELECT speaker_id, COUNT(*) AS talk_count, SUM(views) AS total_views, SUM(likes) AS total_likes
+            FROM ted_talks
+            WHERE speaker_id = (SELECT id FROM speakers WHERE public_id = ?)
+            GROUP BY speaker_id
+        ) t ON t.speaker_id = s.id
+        WHERE s.public_id = ?
+        """;
+    private static final String SELECT_BY_NAME_WITH_STATS = """
+        SELECT s.*,
+               COALESCE(t.talk_count, 0) AS talk_count,
+               COALESCE(t.total_views, 0) AS total_views,
+               COALESCE(t.total_likes, 0) AS total_likes
+        FROM speakers s
+        LEFT JOIN (
+            SELECT speaker_id, COUNT(*) AS talk_count, SUM(views) AS total_views, SUM(likes) AS total_likes
+            FROM ted_talks
+            WHERE speaker_id = (SELECT id FROM speakers WHERE name = ?)
+            GROUP BY speaker_id
+        ) t ON t.speaker_id = s.id
+        WHERE s.name = ?
+        """;
     private static final String EXISTS_BY_NAME = "SELECT COUNT(*) FROM speakers WHERE name = ?";
     private static final String COUNT_ALL = "SELECT COUNT(*) FROM speakers";
 
-    public SpeakerJdbcRepository(DataSource dataSource) {
+    public SpeakerJdbcRepository(DataSource dataSource,
+                                 @Value("${app.jdbc.stream-fetch-size:1000}") int streamFetchSize) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(streamFetchSize);
     }
 
     @Override
@@ -47,14 +103,50 @@ public class SpeakerJdbcRepository implements SpeakerRepository {
     @Override
     public Stream<Speaker> streamAll() {
         log.debug("Streaming all speakers");
-        return findAll().stream();
+        return streamingJdbcTemplate.queryForStream(SELECT_ALL, this::mapRowToSpeaker);
+    }
+
+    @Override
+    public CursorPage<Speaker> findPage(PageCursor cursor, int size) {
+        log.debug("Finding speakers page after key {} (size {})", cursor.afterKey(), size);
+        long[] lastKey = {cursor.afterKey()};
+        List<Speaker> speakers = jdbcTemplate.query(SELECT_PAGE, (rs, rowNum) -> {
+            lastKey[0] = rs.getLong("id");
+            return mapRowToSpeaker(rs, rowNum);
+        }, cursor.afterKey(), size);
+
+        String nextCursor = speakers.size() < size ? null : new PageCursor(lastKey[0]).encode();
+        return new CursorPage<>(speakers, nextCursor);
+    }
+
+    @Override
+    public List<SpeakerWithStats> findAllWithStats() {
+        log.debug("Finding all speakers with talk totals");
+        return jdbcTemplate.query(SELECT_ALL_WITH_STATS, this::mapRowToSpeakerWithStats);
+    }
+
+    @Override
+    public Optional<SpeakerWithStats> findByIdWithStats(SpeakerId id) {
+        log.debug("Finding speaker with talk totals by id: {}", id);
+        return jdbcTemplate.query(SELECT_BY_PUBLIC_ID_WITH_STATS, this::mapRowToSpeakerWithStats,
+                        id.value(), id.value())
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<SpeakerWithStats> findByNameWithStats(String name) {
+        log.debug("Finding speaker with talk totals by name: {}", name);
+        return jdbcTemplate.query(SELECT_BY_NAME_WITH_STATS, this::mapRowToSpeakerWithStats, name, name)
+                .stream()
+                .findFirst();
     }
 
     @Override
     public Optional<Speaker> findById(SpeakerId id) {
         log.debug("Finding speaker by id: {}", id);
         try {
-            Speaker speaker = jdbcTemplate.queryForObject(SELECT_BY_NAME, this::mapRowToSpeaker, id.value().toString());
+            Speaker speaker = jdbcTemplate.queryForObject(SELECT_BY_PUBLIC_ID, this::mapRowToSpeaker, id.value());
             return Optional.ofNullable(speaker);
         } catch (EmptyResultDataAccessException e) {
             return Optional.empty();
@@ -78,20 +170,38 @@ public class SpeakerJdbcRepository implements SpeakerRepository {
         return jdbcTemplate.query(SELECT_BY_NAME_PATTERN, this::mapRowToSpeaker, "%" + namePattern + "%");
     }
 
+    @Override
+    public CursorPage<Speaker> searchByName(String nameFragment, PageCursor cursor, int size) {
+        log.debug("Searching speakers by name fragment: {} after key {}", nameFragment, cursor.afterKey());
+        String pattern = "%" + escapeLike(nameFragment.toLowerCase(Locale.ROOT)) + "%";
+        long[] lastKey = {cursor.afterKey()};
+        List<Speaker> speakers = jdbcTemplate.query(SEARCH_PAGE_BY_NAME, (rs, rowNum) -> {
+            lastKey[0] = rs.getLong("id");
+            return mapRowToSpeaker(rs, rowNum);
+        }, pattern, cursor.afterKey(), size);
+
+        String nextCursor = speakers.size() < size ? null : new PageCursor(lastKey[0]).encode();
+        return new CursorPage<>(speakers, nextCursor);
+    }
+
+    /**
+     * Updates the speaker carrying this public id, or inserts it. When the name already exists
+     * the stored public id wins, so the returned speaker always carries the persisted id.
+     */
     @Override
     public Speaker save(Speaker speaker) {
         log.debug("Saving speaker: {}", speaker.getName());
 
-        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int updated = jdbcTemplate.update(UPDATE_BY_PUBLIC_ID_SQL,
+                speaker.getName(), speaker.getBio(), speaker.getId().value());
+        if (updated > 0) {
+            return speaker;
+        }
 
-        jdbcTemplate.update(connection -> {
-            PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
-            ps.setString(1, speaker.getName());
-            ps.setString(2, speaker.getBio());
-            return ps;
-        }, keyHolder);
+        UUID publicId = jdbcTemplate.queryForObject(INSERT_SQL, UUID.class,
+                speaker.getId().value(), speaker.getName(), speaker.getBio());
 
-        return speaker;
+        return Speaker.withId(new SpeakerId(publicId), speaker.getName(), speaker.getBio());
     }
 
     @Override
@@ -103,8 +213,7 @@ public class SpeakerJdbcRepository implements SpeakerRepository {
     @Override
     public void delete(SpeakerId id) {
         log.debug("Deleting speaker with id: {}", id);
-
-        log.warn("Delete by SpeakerId not fully implemented due to ID type mismatch");
+        jdbcTemplate.update(DELETE_BY_PUBLIC_ID_SQL, id.value());
     }
 
     @Override
@@ -119,12 +228,26 @@ public class SpeakerJdbcRepository implements SpeakerRepository {
         return count != null ? count : 0L;
     }
 
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private SpeakerWithStats mapRowToSpeakerWithStats(ResultSet rs, int rowNum) throws SQLException {
+        return new SpeakerWithStats(
+                mapRowToSpeaker(rs, rowNum),
+                rs.getLong("talk_count"),
+                rs.getLong("total_views"),
+                rs.getLong("total_likes")
+        );
+    }
+
     private Speaker mapRowToSpeaker(ResultSet rs, int rowNum) throws SQLException {
+        UUID publicId = rs.getObject("public_id", UUID.class);
         String name = rs.getString("name");
         String bio = rs.getString("bio");
 
-        // Create speaker from database data
-        return Speaker.create(name, bio);
+        // Rebuild speaker with its persisted id
+        return Speaker.withId(new SpeakerId(publicId), name, bio);
     }
 }
 
@@ -1,15 +1,34 @@
 package com.iodigital.tedtalks.infrastructure.persistence.jdbc;
 
+import com.iodigital.tedtalks.application.cache.ChangeKind;
+import com.iodigital.tedtalks.application.event.RemoteDataChangedEvent;
 import com.iodigital.tedtalks.domain.model.Speaker;
 import com.iodigital.tedtalks.domain.model.TedTalk;
 import com.iodigital.tedtalks.domain.model.valueobject.*;
+import com.iodigital.tedtalks.domain.repository.CursorPage;
+import com.iodigital.tedtalks.domain.repository.PageCursor;
+import com.iodigital.tedtalks.domain.repository.SpeakerAggregate;
+import com.iodigital.tedtalks.domain.repository.TalkMetricsConsumer;
+import com.iodigital.tedtalks.domain.repository.TalkRowConsumer;
 import com.iodigital.tedtalks.domain.repository.TedTalkRepository;
+import com.iodigital.tedtalks.domain.repository.YearAggregate;
+import com.iodigital.tedtalks.infrastructure.search.TrigramTitleIndex;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.sql.DataSource;
 import java.sql.*;
@@ -20,29 +39,187 @@ import java.util.stream.Stream;
 
 @Repository
 @Primary
+@Profile("!columnar")
 @Slf4j
 public class TedTalkJdbcRepository implements TedTalkRepository {
 
+    private static final int MAX_KEYS_PER_QUERY = 1000;
+
+    // The natural key is (title, speaker, year), so a talk whose year was corrected arrives under a
+    // new key: its row for another year is deleted and the talk inserted under that row's public
+    // id, instead of a second copy being added next to it
     private static final String INSERT_SQL = """
+        WITH moved AS (
+            DELETE FROM ted_talks
+            WHERE title = ? AND speaker_id = ? AND talk_year <> ?
+            RETURNING public_id
+        )
         INSERT INTO ted_talks (
-            title, author, date, talk_year, talk_month, 
+            public_id, title, speaker_id, date, talk_year, talk_month, 
             views, likes, link, created_at
-        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-        ON CONFLICT (title, author) 
+        ) VALUES (COALESCE((SELECT public_id FROM moved LIMIT 1), ?), ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (title, speaker_id, talk_year) 
         DO UPDATE SET 
             views = EXCLUDED.views,
             likes = EXCLUDED.likes,
             updated_at = CURRENT_TIMESTAMP
         """;
 
-    private static final String SELECT_BY_SPEAKER = """
-        SELECT * FROM ted_talks WHERE author = ? ORDER BY influence_score DESC
+    // Single-row form of INSERT_SQL; a conflicting row keeps its own public id, which is returned
+    private static final String UPSERT_RETURNING_ID_SQL = INSERT_SQL + """
+        RETURNING public_id
+        """;
+
+    private static final String UPDATE_BY_PUBLIC_ID_SQL = """
+        UPDATE ted_talks SET
+            title = ?, speaker_id = ?, date = ?, talk_year = ?, talk_month = ?,
+            views = ?, likes = ?, link = ?, updated_at = CURRENT_TIMESTAMP
+        WHERE public_id = ?
+        """;
+
+    private static final String SELECT_SPEAKER_IDS = """
+        SELECT id, name FROM speakers WHERE name IN (%s)
+        """;
+
+    private static final String INSERT_MISSING_SPEAKER = """
+        INSERT INTO speakers (public_id, name) VALUES (?, ?)
+        ON CONFLICT (name) DO NOTHING
+        """;
+
+    // ted_talks only stores speaker_id; the name is joined in from the (small) speakers table
+    private static final String SELECT_TALKS = """
+        SELECT t.*, s.name AS speaker_name
+        FROM ted_talks t
+        JOIN speakers s ON s.id = t.speaker_id
+        """;
+
+    private static final String SELECT_PAGE = SELECT_TALKS + """
+        WHERE t.id > ? ORDER BY t.id LIMIT ?
+        """;
+
+    private static final String SELECT_BY_PUBLIC_ID = SELECT_TALKS + """
+        WHERE t.public_id = ?
+        """;
+
+    private static final String SELECT_METRICS = """
+        SELECT s.name, t.talk_year, t.talk_month, t.views, t.likes
+        FROM ted_talks t
+        JOIN speakers s ON s.id = t.speaker_id
+        """;
+
+    private static final String SELECT_ROWS = """
+        SELECT t.public_id, t.title, s.name, t.talk_year, t.talk_month, t.views, t.likes, t.link
+        FROM ted_talks t
+        JOIN speakers s ON s.id = t.speaker_id
+        """;
+
+    private static final String SELECT_METRICS_BY_SPEAKER = SELECT_METRICS + """
+        WHERE s.name = ?
+        """;
+
+    private static final String SELECT_TOP_SPEAKER_AGGREGATES = """
+        SELECT s.name, st.talk_count, st.total_views, st.total_likes, st.total_influence,
+               st.first_year, st.last_year
+        FROM speaker_stats st
+        JOIN speakers s ON s.id = st.speaker_id
+        ORDER BY st.total_influence DESC
+        LIMIT ?
+        """;
+
+    private static final String SELECT_SPEAKER_AGGREGATES_BY_NAME = """
+        SELECT s.name, st.talk_count, st.total_views, st.total_likes, st.total_influence,
+               st.first_year, st.last_year
+        FROM speakers s
+        JOIN speaker_stats st ON st.speaker_id = s.id
+        WHERE s.name IN (%s)
+        """;
+
+    // Fallback for databases without the summary views
+    private static final String AGGREGATE_SPEAKERS_BY_NAME = """
+        SELECT s.name, COUNT(*), SUM(t.views), SUM(t.likes), SUM(t.influence_score),
+               MIN(t.talk_year), MAX(t.talk_year)
+        FROM speakers s
+        JOIN ted_talks t ON t.speaker_id = s.id
+        WHERE s.name IN (%s)
+        GROUP BY s.id, s.name
+        """;
+
+    // Joining on talk_year as well lets every probe use the (id, talk_year) key of one partition
+    private static final String SELECT_MOST_INFLUENTIAL_PER_YEAR = """
+        SELECT t.*, s.name AS speaker_name
+        FROM year_top_talk y
+        JOIN ted_talks t ON t.id = y.talk_id AND t.talk_year = y.talk_year
+        JOIN speakers s ON s.id = t.speaker_id
+        ORDER BY y.talk_year
+        """;
+
+    private static final String SELECT_YEAR_AGGREGATES = """
+        SELECT talk_year, talk_count, total_views, total_likes, total_influence, max_influence
+        FROM year_stats
+        ORDER BY talk_year
+        """;
+
+    // Fallback for databases without the summary views
+    private static final String AGGREGATE_YEARS = """
+        SELECT talk_year, COUNT(*), SUM(views), SUM(likes), SUM(influence_score), MAX(influence_score)
+        FROM ted_talks
+        GROUP BY talk_year
+        ORDER BY talk_year
+        """;
+
+    // Equality on the partition key: only the partition holding that decade is scanned
+    private static final String SELECT_BY_YEAR = SELECT_TALKS + """
+        WHERE t.talk_year = ?
+        """;
+
+    private static final List<String> SUMMARY_VIEWS = List.of("speaker_stats", "year_stats", "year_top_talk");
+
+    // LIKE on lower(title) is answered by idx_ted_talks_title_trgm; similarity() only ranks the matches
+    private static final String SEARCH_BY_TITLE = SELECT_TALKS + """
+        WHERE lower(t.title) LIKE ?
+        ORDER BY similarity(lower(t.title), ?) DESC, t.influence_score DESC
+        LIMIT ?
+        """;
+
+    private static final String SELECT_TITLES = """
+        SELECT id, title, influence_score FROM ted_talks
+        """;
+
+    private static final String SELECT_BY_SPEAKER = SELECT_TALKS + """
+        WHERE s.name = ? ORDER BY t.influence_score DESC
+        """;
+
+    private static final String SELECT_BY_SPEAKER_PUBLIC_ID = SELECT_TALKS + """
+        WHERE s.public_id = ? ORDER BY t.influence_score DESC
+        """;
+
+    private static final String EXISTS_BY_TITLE_AND_SPEAKER = """
+        SELECT COUNT(*) FROM ted_talks
+        WHERE title = ? AND speaker_id = (SELECT id FROM speakers WHERE public_id = ?)
+        """;
+
+    private static final String SELECT_BY_TITLE_AND_SPEAKER = SELECT_TALKS + """
+        WHERE t.title = ? AND s.public_id = ?
+        """;
+
+    private static final String SELECT_SAME_TALKS = SELECT_TALKS + """
+        WHERE (t.title, s.name, t.talk_year) IN (%s)
         """;
 
     private final JdbcTemplate simpleJdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final DataSource dataSource;
+    private volatile Boolean postgres;
+    private volatile TrigramTitleIndex titleIndex;
+    private long titleIndexVersion;
 
-    public TedTalkJdbcRepository(DataSource dataSource) {
+    public TedTalkJdbcRepository(DataSource dataSource,
+                                 @Value("${app.jdbc.stream-fetch-size:1000}") int streamFetchSize) {
+        this.dataSource = dataSource;
         this.simpleJdbcTemplate = new JdbcTemplate(dataSource);
+        // Separate template so only streaming reads use a server-side cursor fetch size
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(streamFetchSize);
     }
 
     @Override
@@ -51,6 +228,7 @@ public class TedTalkJdbcRepository implements TedTalkRepository {
             return;
         }
 
+        Map<String, Long> speakerIds = resolveSpeakerIds(talks);
         int[] updateCounts = simpleJdbcTemplate.batchUpdate(
                 INSERT_SQL,
                 new BatchPreparedStatementSetter() {
@@ -60,16 +238,21 @@ public class TedTalkJdbcRepository implements TedTalkRepository {
                     public void setValues(PreparedStatement ps, int i)
                             throws SQLException {
                         TedTalk talk = iterator.next();
+                        long speakerId = speakerIds.get(talk.getSpeaker().getName());
 
                         ps.setString(1, talk.getTitle());
-                        ps.setString(2, talk.getSpeaker().getName());
-                        ps.setDate(3, java.sql.Date.valueOf(talk.getDate().toLocalDate()));
-                        ps.setInt(4, talk.getDate().year());
-                        ps.setInt(5, talk.getDate().month());
-                        ps.setLong(6, talk.getViews().value());
-                        ps.setLong(7, talk.getLikes().value());
-                        ps.setString(8, talk.getLink().value());
-                        ps.setTimestamp(9, Timestamp.from(Instant.now()));
+                        ps.setLong(2, speakerId);
+                        ps.setInt(3, talk.getDate().year());
+                        ps.setObject(4, talk.getId().value());
+                        ps.setString(5, talk.getTitle());
+                        ps.setLong(6, speakerId);
+                        ps.setDate(7, java.sql.Date.valueOf(talk.getDate().toLocalDate()));
+                        ps.setInt(8, talk.getDate().year());
+                        ps.setInt(9, talk.getDate().month());
+                        ps.setLong(10, talk.getViews().value());
+                        ps.setLong(11, talk.getLikes().value());
+                        ps.setString(12, talk.getLink().value());
+                        ps.setTimestamp(13, Timestamp.from(Instant.now()));
                     }
 
                     @Override
@@ -81,6 +264,41 @@ public class TedTalkJdbcRepository implements TedTalkRepository {
 
         log.debug("Batch insert completed. Update counts: {}",
                 Arrays.toString(updateCounts));
+        invalidateTitleIndexAfterCommit();
+    }
+
+    /**
+     * Maps the speaker names of a batch to their internal keys with one lookup, inserting the
+     * speakers that do not exist yet. Only names missing from the first lookup are read twice.
+     */
+    private Map<String, Long> resolveSpeakerIds(List<TedTalk> talks) {
+        Map<String, Speaker> speakersByName = new LinkedHashMap<>();
+        talks.forEach(talk -> speakersByName.putIfAbsent(talk.getSpeaker().getName(), talk.getSpeaker()));
+
+        Map<String, Long> speakerIds = findSpeakerIds(speakersByName.keySet());
+        if (speakerIds.size() < speakersByName.size()) {
+            List<Speaker> missing = speakersByName.values().stream()
+                    .filter(speaker -> !speakerIds.containsKey(speaker.getName()))
+                    .toList();
+            log.debug("Creating {} speakers referenced by the batch", missing.size());
+            simpleJdbcTemplate.batchUpdate(INSERT_MISSING_SPEAKER, missing, missing.size(),
+                    (ps, speaker) -> {
+                        ps.setObject(1, speaker.getId().value());
+                        ps.setString(2, speaker.getName());
+                    });
+            speakerIds.putAll(findSpeakerIds(missing.stream().map(Speaker::getName).toList()));
+        }
+        return speakerIds;
+    }
+
+    private Map<String, Long> findSpeakerIds(Collection<String> names) {
+        Map<String, Long> speakerIds = new HashMap<>();
+        simpleJdbcTemplate.query(
+                SELECT_SPEAKER_IDS.formatted(placeholders(names.size())),
+                (RowCallbackHandler) rs -> speakerIds.put(rs.getString(2), rs.getLong(1)),
+                names.toArray()
+        );
+        return speakerIds;
     }
 
     @Override
@@ -94,9 +312,8 @@ public class TedTalkJdbcRepository implements TedTalkRepository {
 
     @Override
     public List<TedTalk> findByYear(int year) {
-        String sql = "SELECT * FROM ted_talks WHERE talk_year = ?";
         return simpleJdbcTemplate.query(
-                sql,
+                SELECT_BY_YEAR,
                 new Object[]{year},
                 this::mapRowToTedTalk
         );
@@ -105,42 +322,303 @@ public class TedTalkJdbcRepository implements TedTalkRepository {
     @Override
     public List<TedTalk> findAll() {
         return simpleJdbcTemplate.query(
-                "SELECT * FROM ted_talks",
+                SELECT_TALKS,
                 this::mapRowToTedTalk
         );
     }
 
+    /**
+     * Streams rows through a JDBC cursor. PostgreSQL only honours the fetch size with auto-commit
+     * off, so callers should invoke this inside a (read-only) transaction and close the stream.
+     */
     @Override
     public Stream<TedTalk> streamAll() {
         log.info("Streaming all TED talks from database");
-        return findAll().stream();
+        return streamingJdbcTemplate.queryForStream(
+                SELECT_TALKS,
+                this::mapRowToTedTalk
+        );
     }
 
     @Override
     public void processBatches(int batchSize, Consumer<List<TedTalk>> processor) {
         log.info("Processing TED talks in batches of {}", batchSize);
-        String sql = "SELECT * FROM ted_talks LIMIT ? OFFSET ?";
 
-        long totalCount = count();
-        int totalPages = (int) Math.ceil((double) totalCount / batchSize);
+        CursorPage<TedTalk> page = findPage(PageCursor.start(), batchSize);
+        int batches = 0;
+        while (!page.items().isEmpty()) {
+            processor.accept(page.items());
+            log.debug("Processed batch {}", ++batches);
 
-        for (int page = 0; page < totalPages; page++) {
-            int offset = page * batchSize;
-            List<TedTalk> batch = simpleJdbcTemplate.query(
-                    sql,
-                    new Object[]{batchSize, offset},
-                    this::mapRowToTedTalk
+            if (!page.hasNext()) {
+                break;
+            }
+            page = findPage(PageCursor.decode(page.nextCursor()), batchSize);
+        }
+    }
+
+    /**
+     * Keyset page on the primary key: each page is an index range scan starting after the
+     * last key seen, so deep pages cost the same as the first and concurrent inserts or
+     * deletes never shift rows between pages.
+     */
+    @Override
+    public CursorPage<TedTalk> findPage(PageCursor cursor, int size) {
+        long[] lastKey = {cursor.afterKey()};
+        List<TedTalk> talks = simpleJdbcTemplate.query(
+                SELECT_PAGE,
+                (rs, rowNum) -> {
+                    lastKey[0] = rs.getLong("id");
+                    return mapRowToTedTalk(rs, rowNum);
+                },
+                cursor.afterKey(),
+                size
+        );
+
+        String nextCursor = talks.size() < size ? null : new PageCursor(lastKey[0]).encode();
+        return new CursorPage<>(talks, nextCursor);
+    }
+
+    @Override
+    public void forEachTalkMetrics(TalkMetricsConsumer consumer) {
+        log.info("Scanning TED talk metrics projection");
+        streamingJdbcTemplate.query(SELECT_METRICS, metricsHandler(consumer));
+    }
+
+    @Override
+    public void forEachTalkMetricsBySpeaker(String speakerName, TalkMetricsConsumer consumer) {
+        simpleJdbcTemplate.query(SELECT_METRICS_BY_SPEAKER, metricsHandler(consumer), speakerName);
+    }
+
+    @Override
+    public void forEachTalkRow(TalkRowConsumer consumer) {
+        log.info("Scanning TED talk rows");
+        streamingJdbcTemplate.query(SELECT_ROWS, (RowCallbackHandler) rs -> consumer.accept(
+                rs.getObject(1, UUID.class),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getInt(4),
+                rs.getInt(5),
+                rs.getLong(6),
+                rs.getLong(7),
+                rs.getString(8)
+        ));
+    }
+
+    /**
+     * The aggregate queries read the summary materialized views, so pushdown is only
+     * advertised on PostgreSQL.
+     */
+    @Override
+    public boolean supportsAggregatePushdown() {
+        return isPostgres();
+    }
+
+    @Override
+    public List<SpeakerAggregate> findTopSpeakerAggregates(int limit) {
+        log.debug("Aggregating top {} speakers in the database", limit);
+        return simpleJdbcTemplate.query(SELECT_TOP_SPEAKER_AGGREGATES, this::mapRowToSpeakerAggregate, limit);
+    }
+
+    @Override
+    public List<TedTalk> findMostInfluentialPerYear() {
+        log.debug("Selecting most influential talk per year in the database");
+        return simpleJdbcTemplate.query(SELECT_MOST_INFLUENTIAL_PER_YEAR, this::mapRowToTedTalk);
+    }
+
+    @Override
+    public List<YearAggregate> findYearAggregates() {
+        log.debug("Aggregating talks per year in the database");
+        return simpleJdbcTemplate.query(isPostgres() ? SELECT_YEAR_AGGREGATES : AGGREGATE_YEARS,
+                (rs, rowNum) -> new YearAggregate(rs.getInt(1), rs.getLong(2), rs.getLong(3),
+                        rs.getLong(4), rs.getDouble(5), rs.getDouble(6)));
+    }
+
+    @Override
+    public Map<String, SpeakerAggregate> aggregateBySpeakers(Collection<String> speakerNames) {
+        if (speakerNames.isEmpty()) {
+            return Map.of();
+        }
+
+        String sql = (isPostgres() ? SELECT_SPEAKER_AGGREGATES_BY_NAME : AGGREGATE_SPEAKERS_BY_NAME)
+                .formatted(placeholders(speakerNames.size()));
+        Map<String, SpeakerAggregate> aggregates = new HashMap<>();
+        simpleJdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            SpeakerAggregate aggregate = mapRowToSpeakerAggregate(rs, 0);
+            aggregates.put(aggregate.speaker(), aggregate);
+        }, speakerNames.toArray());
+        return aggregates;
+    }
+
+    /**
+     * Recomputes the summary views without blocking readers. Costs one scan of ted_talks,
+     * which is why callers refresh once per committed change rather than once per batch.
+     * Always in a transaction of its own: callers run after the write they follow has committed.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void refreshSummaries() {
+        if (!isPostgres()) {
+            return;
+        }
+        SUMMARY_VIEWS.forEach(view ->
+                simpleJdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY " + view));
+    }
+
+    /**
+     * Uses the trigram GIN index on PostgreSQL. Elsewhere the titles are loaded once into an
+     * in-memory trigram index, which is dropped whenever a write through this repository commits
+     * or another node reports changed talks.
+     */
+    @Override
+    public List<TedTalk> searchByTitle(String keyword, int limit) {
+        String normalized = keyword.toLowerCase(Locale.ROOT);
+        if (isPostgres()) {
+            return simpleJdbcTemplate.query(
+                    SEARCH_BY_TITLE,
+                    this::mapRowToTedTalk,
+                    "%" + escapeLike(normalized) + "%",
+                    normalized,
+                    limit
+            );
+        }
+
+        List<Long> ids = titleIndex().search(normalized, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, TedTalk> talksById = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += MAX_KEYS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_KEYS_PER_QUERY));
+            simpleJdbcTemplate.query(
+                    SELECT_TALKS + "WHERE t.id IN (" + placeholders(chunk.size()) + ")",
+                    (RowCallbackHandler) rs -> talksById.put(rs.getLong("id"), mapRowToTedTalk(rs, 0)),
+                    chunk.toArray()
             );
+        }
+        return ids.stream()
+                .map(talksById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private TrigramTitleIndex titleIndex() {
+        TrigramTitleIndex index = titleIndex;
+        if (index != null) {
+            return index;
+        }
+
+        long version;
+        synchronized (this) {
+            version = titleIndexVersion;
+        }
+
+        long startTime = System.currentTimeMillis();
+        TrigramTitleIndex.Builder builder = TrigramTitleIndex.builder();
+        streamingJdbcTemplate.query(SELECT_TITLES, (RowCallbackHandler) rs ->
+                builder.add(rs.getLong(1), rs.getString(2), rs.getDouble(3)));
+        index = builder.build();
+        log.info("Built in-memory title index over {} talks in {} ms", index.size(),
+                System.currentTimeMillis() - startTime);
+
+        synchronized (this) {
+            // A write during the build makes this index stale; use it once but do not keep it
+            if (titleIndexVersion == version) {
+                titleIndex = index;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Writes on other nodes never pass through this repository, so their titles are only seen
+     * once the change feed reports them.
+     */
+    @EventListener
+    public void onRemoteChanges(RemoteDataChangedEvent event) {
+        // The index holds titles and scores only, so a speaker rename leaves it current
+        if (event.kinds().contains(ChangeKind.TALKS)) {
+            invalidateTitleIndex();
+        }
+    }
 
-            processor.accept(batch);
-            log.debug("Processed batch {}/{}", page + 1, totalPages);
+    /**
+     * Drops the index once the write is visible: dropped before the commit, a concurrent build
+     * could still read the old titles and keep its index.
+     */
+    private void invalidateTitleIndexAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateTitleIndex();
+                }
+            });
+        } else {
+            invalidateTitleIndex();
         }
     }
 
+    private synchronized void invalidateTitleIndex() {
+        titleIndexVersion++;
+        titleIndex = null;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(
+                        dataSource, DatabaseMetaData::getDatabaseProductName);
+                result = "PostgreSQL".equalsIgnoreCase(product);
+            } catch (MetaDataAccessException e) {
+                log.warn("Could not determine database product, disabling SQL pushdown: {}", e.getMessage());
+                result = false;
+            }
+            postgres = result;
+        }
+        return result;
+    }
+
+    /**
+     * Reads the projection by column index straight into the consumer; no domain objects are built.
+     */
+    private RowCallbackHandler metricsHandler(TalkMetricsConsumer consumer) {
+        return rs -> consumer.accept(
+                rs.getString(1),
+                rs.getInt(2),
+                rs.getInt(3),
+                rs.getLong(4),
+                rs.getLong(5)
+        );
+    }
+
+    private SpeakerAggregate mapRowToSpeakerAggregate(ResultSet rs, int rowNum) throws SQLException {
+        return new SpeakerAggregate(
+                rs.getString(1),
+                rs.getLong(2),
+                rs.getLong(3),
+                rs.getLong(4),
+                rs.getDouble(5),
+                rs.getInt(6),
+                rs.getInt(7)
+        );
+    }
+
     private TedTalk mapRowToTedTalk(ResultSet rs, int rowNum) throws SQLException {
-        Speaker speaker = Speaker.create(rs.getString("author"), null);
+        Speaker speaker = Speaker.create(rs.getString("speaker_name"), null);
 
-        return TedTalk.create(
+        return TedTalk.withId(
+                new TedTalkId(rs.getObject("public_id", UUID.class)),
                 rs.getString("title"),
                 speaker,
                 new TalkDate(rs.getInt("talk_year"), rs.getInt("talk_month")),
@@ -150,18 +628,64 @@ public class TedTalkJdbcRepository implements TedTalkRepository {
         );
     }
 
+    /**
+     * Updates the row carrying the talk's public id in place, or inserts it when no such row exists.
+     * Keeping the public id on update is what makes the ids handed out by the API stable. When the
+     * insert meets an existing row with the same title, speaker and year, that row is updated and
+     * the talk is returned with the row's public id; a row with the same title and speaker in
+     * another year is replaced and its public id carried over.
+     */
     @Override
     public TedTalk save(TedTalk talk) {
-        saveAll(List.of(talk));
-        return talk;
+        long speakerId = resolveSpeakerIds(List.of(talk)).get(talk.getSpeaker().getName());
+        int updated = simpleJdbcTemplate.update(
+                UPDATE_BY_PUBLIC_ID_SQL,
+                talk.getTitle(),
+                speakerId,
+                java.sql.Date.valueOf(talk.getDate().toLocalDate()),
+                talk.getDate().year(),
+                talk.getDate().month(),
+                talk.getViews().value(),
+                talk.getLikes().value(),
+                talk.getLink().value(),
+                talk.getId().value()
+        );
+
+        invalidateTitleIndexAfterCommit();
+        if (updated > 0) {
+            return talk;
+        }
+
+        UUID publicId = simpleJdbcTemplate.queryForObject(
+                UPSERT_RETURNING_ID_SQL,
+                UUID.class,
+                talk.getTitle(),
+                speakerId,
+                talk.getDate().year(),
+                talk.getId().value(),
+                talk.getTitle(),
+                speakerId,
+                java.sql.Date.valueOf(talk.getDate().toLocalDate()),
+                talk.getDate().year(),
+                talk.getDate().month(),
+                talk.getViews().value(),
+                talk.getLikes().value(),
+                talk.getLink().value(),
+                Timestamp.from(Instant.now())
+        );
+        return talk.getId().value().equals(publicId) ? talk : withId(talk, new TedTalkId(publicId));
+    }
+
+    private static TedTalk withId(TedTalk talk, TedTalkId id) {
+        return TedTalk.withId(id, talk.getTitle(), talk.getSpeaker(), talk.getDate(),
+                talk.getViews(), talk.getLikes(), talk.getLink());
     }
 
     @Override
     public Optional<TedTalk> findById(TedTalkId id) {
-        String sql = "SELECT * FROM ted_talks WHERE id = ?";
         try {
             TedTalk talk = simpleJdbcTemplate.queryForObject(
-                    sql,
+                    SELECT_BY_PUBLIC_ID,
                     new Object[]{id.value()},
                     this::mapRowToTedTalk
             );
@@ -173,26 +697,52 @@ public class TedTalkJdbcRepository implements TedTalkRepository {
 
     @Override
     public void delete(TedTalkId id) {
-        simpleJdbcTemplate.update("DELETE FROM ted_talks WHERE id = ?", id.value());
+        simpleJdbcTemplate.update("DELETE FROM ted_talks WHERE public_id = ?", id.value());
+        invalidateTitleIndexAfterCommit();
     }
 
     @Override
     public boolean existsByTitleAndSpeakerId(String title, SpeakerId speakerId) {
-        String sql = "SELECT COUNT(*) FROM ted_talks WHERE title = ? AND author = ?";
         Integer count = simpleJdbcTemplate.queryForObject(
-                sql,
-                new Object[]{title, speakerId.value().toString()},
+                EXISTS_BY_TITLE_AND_SPEAKER,
+                new Object[]{title, speakerId.value()},
                 Integer.class
         );
         return count != null && count > 0;
     }
 
+    @Override
+    public List<TedTalk> findByTitleAndSpeakerId(String title, SpeakerId speakerId) {
+        return simpleJdbcTemplate.query(
+                SELECT_BY_TITLE_AND_SPEAKER,
+                this::mapRowToTedTalk,
+                title,
+                speakerId.value()
+        );
+    }
+
+    @Override
+    public List<TedTalk> findSameTalks(Collection<TedTalk> talks) {
+        List<Object[]> keys = talks.stream()
+                .map(talk -> new Object[]{talk.getTitle(), talk.getSpeaker().getName(), talk.getDate().year()})
+                .toList();
+        List<TedTalk> found = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += MAX_KEYS_PER_QUERY) {
+            List<Object[]> chunk = keys.subList(from, Math.min(keys.size(), from + MAX_KEYS_PER_QUERY));
+            found.addAll(simpleJdbcTemplate.query(
+                    SELECT_SAME_TALKS.formatted(String.join(",", Collections.nCopies(chunk.size(), "(?, ?, ?)"))),
+                    this::mapRowToTedTalk,
+                    chunk.stream().flatMap(Arrays::stream).toArray()
+            ));
+        }
+        return found;
+    }
+
     @Override
     public List<TedTalk> findBySpeakerId(SpeakerId speakerId) {
-        String sql = "SELECT * FROM ted_talks WHERE author = ? ORDER BY influence_score DESC";
         return simpleJdbcTemplate.query(
-                sql,
-                new Object[]{speakerId.value().toString()},
+                SELECT_BY_SPEAKER_PUBLIC_ID,
+                new Object[]{speakerId.value()},
                 this::mapRowToTedTalk
         );
     }
@@ -0,0 +1,9 @@
+package com.iodigital.tedtalks.infrastructure.persistence.routing;
+
+/**
+ * Lookup keys of {@link ReadWriteRoutingDataSource}.
+ */
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
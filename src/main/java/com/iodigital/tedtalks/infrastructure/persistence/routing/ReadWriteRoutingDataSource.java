@@ -0,0 +1,47 @@
+package com.iodigital.tedtalks.infrastructure.persistence.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else, including statements
+ * outside a transaction, to the primary.
+ * <p>
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager asks for a connection before it marks the transaction read-only,
+ * and the lazy proxy defers the lookup to the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaReadPolicy policy;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaReadPolicy policy) {
+        this.policy = policy;
+        setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return DataSourceRole.PRIMARY;
+        }
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return policy.replicaReadable() ? DataSourceRole.REPLICA : DataSourceRole.PRIMARY;
+        }
+
+        // A read-write transaction (e.g. an import) pins reads to the primary once it commits
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                policy.recordWrite();
+            }
+        });
+        return DataSourceRole.PRIMARY;
+    }
+}
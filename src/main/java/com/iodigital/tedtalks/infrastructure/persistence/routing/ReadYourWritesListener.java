@@ -0,0 +1,22 @@
+package com.iodigital.tedtalks.infrastructure.persistence.routing;
+
+import com.iodigital.tedtalks.application.event.TalksChangedEvent;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pins reads to the primary after talk writes that run outside a read-write transaction,
+ * such as the single-talk create, update and delete endpoints.
+ */
+public class ReadYourWritesListener {
+
+    private final ReplicaReadPolicy policy;
+
+    public ReadYourWritesListener(ReplicaReadPolicy policy) {
+        this.policy = policy;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTalksChanged(TalksChangedEvent event) {
+        policy.recordWrite();
+    }
+}
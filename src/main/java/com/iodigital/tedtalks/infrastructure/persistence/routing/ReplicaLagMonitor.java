@@ -0,0 +1,64 @@
+package com.iodigital.tedtalks.infrastructure.persistence.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the replica's replay lag and feeds it into the {@link ReplicaReadPolicy}.
+ * A database that is not in recovery (e.g. the primary reached under a second pool name)
+ * reports zero lag, and so does a standby that has replayed everything it received.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String LAG_SQL = """
+        SELECT CASE
+                   WHEN NOT pg_is_in_recovery() THEN 0
+                   WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                   ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+               END
+        """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final ReplicaReadPolicy policy;
+    private final Duration interval;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource replica, ReplicaReadPolicy policy, Duration interval) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.policy = policy;
+        this.interval = interval;
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkLag, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void checkLag() {
+        try {
+            Double lagMillis = replicaJdbcTemplate.queryForObject(LAG_SQL, Double.class);
+            policy.updateLag(Duration.ofMillis(lagMillis == null ? 0L : lagMillis.longValue()));
+        } catch (DataAccessException e) {
+            log.debug("Replica lag check failed: {}", e.getMessage());
+            policy.markReplicaUnavailable();
+        }
+    }
+}
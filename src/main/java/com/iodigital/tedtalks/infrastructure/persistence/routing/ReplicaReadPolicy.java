@@ -0,0 +1,58 @@
+package com.iodigital.tedtalks.infrastructure.persistence.routing;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Decides whether a read-only transaction may use the replica.
+ * <p>
+ * Reads stay on the primary while the replica lags more than the tolerance (or its lag is
+ * unknown), and for a short window after any write committed, so a client that just created
+ * a talk or ran an import reads its own writes.
+ */
+@Slf4j
+public class ReplicaReadPolicy {
+
+    private final Duration maxLag;
+    private final Duration readYourWritesWindow;
+    private final Clock clock;
+
+    private volatile boolean replicaHealthy = true;
+    private volatile long pinnedUntilMillis;
+
+    public ReplicaReadPolicy(Duration maxLag, Duration readYourWritesWindow, Clock clock) {
+        this.maxLag = maxLag;
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.clock = clock;
+    }
+
+    public boolean replicaReadable() {
+        return replicaHealthy && clock.millis() >= pinnedUntilMillis;
+    }
+
+    /**
+     * Pin reads to the primary for the read-your-writes window, starting now.
+     */
+    public void recordWrite() {
+        pinnedUntilMillis = clock.millis() + readYourWritesWindow.toMillis();
+    }
+
+    public void updateLag(Duration lag) {
+        boolean healthy = lag.compareTo(maxLag) <= 0;
+        if (healthy != replicaHealthy) {
+            log.warn("Replica lag {} ms is {} the {} ms tolerance, routing reads to the {}",
+                    lag.toMillis(), healthy ? "back within" : "above", maxLag.toMillis(),
+                    healthy ? "replica" : "primary");
+        }
+        replicaHealthy = healthy;
+    }
+
+    public void markReplicaUnavailable() {
+        if (replicaHealthy) {
+            log.warn("Replica lag unknown, routing reads to the primary");
+        }
+        replicaHealthy = false;
+    }
+}
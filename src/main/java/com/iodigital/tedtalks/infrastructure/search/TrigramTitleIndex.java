@@ -0,0 +1,205 @@
+package com.iodigital.tedtalks.infrastructure.search;
+
+import java.util.*;
+
+/**
+ * Immutable in-memory trigram index over talk titles, for databases without {@code pg_trgm}.
+ * <p>
+ * A keyword of three or more characters is answered by intersecting the posting lists of its
+ * trigrams and verifying the substring match on the survivors, so only candidate titles are
+ * touched. Shorter keywords fall back to a scan. Matches are ranked like {@code pg_trgm}'s
+ * {@code similarity()}: shared padded trigrams over the union, ties broken by influence score.
+ */
+public final class TrigramTitleIndex {
+
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final long[] keys;
+    private final String[] titles;
+    private final double[] influence;
+    private final Map<Long, int[]> postings;
+
+    private TrigramTitleIndex(long[] keys, String[] titles, double[] influence, Map<Long, int[]> postings) {
+        this.keys = keys;
+        this.titles = titles;
+        this.influence = influence;
+        this.postings = postings;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Keys of the titles containing the keyword (case-insensitive), best match first.
+     */
+    public List<Long> search(String keyword, int limit) {
+        String query = normalize(keyword);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Set<Long> queryTrigrams = paddedTrigrams(query);
+        Comparator<Match> ranking = Comparator.comparingDouble(Match::score)
+                .thenComparingDouble(match -> influence[match.doc()]);
+        int[] candidates = candidates(query);
+        int count = candidates == null ? keys.length : candidates.length;
+        // The limit may be unbounded; never more than the candidates can be kept
+        PriorityQueue<Match> best = new PriorityQueue<>(Math.min(limit, count) + 1, ranking);
+        for (int i = 0; i < count; i++) {
+            int doc = candidates == null ? i : candidates[i];
+            if (!titles[doc].contains(query)) {
+                continue;
+            }
+            best.add(new Match(doc, similarity(queryTrigrams, paddedTrigrams(titles[doc]))));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        Long[] result = new Long[best.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = keys[best.poll().doc()];
+        }
+        return Arrays.asList(result);
+    }
+
+    /**
+     * Documents holding every interior trigram of the query, or {@code null} when the query
+     * is too short to have one and every document is a candidate.
+     */
+    private int[] candidates(String query) {
+        if (query.length() < 3) {
+            return null;
+        }
+
+        List<int[]> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            int[] list = postings.getOrDefault(trigram(query, i), NO_POSTINGS);
+            if (list.length == 0) {
+                return NO_POSTINGS;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.length));
+
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static double similarity(Set<Long> a, Set<Long> b) {
+        int shared = 0;
+        for (Long trigram : a) {
+            if (b.contains(trigram)) {
+                shared++;
+            }
+        }
+        int union = a.size() + b.size() - shared;
+        return union == 0 ? 0.0 : (double) shared / union;
+    }
+
+    private static Set<Long> paddedTrigrams(String text) {
+        String padded = "  " + text + " ";
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(trigram(padded, i));
+        }
+        return trigrams;
+    }
+
+    private static long trigram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32)
+                | ((long) text.charAt(offset + 1) << 16)
+                | text.charAt(offset + 2);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private record Match(int doc, double score) {
+    }
+
+    public static final class Builder {
+        private final List<Long> keys = new ArrayList<>();
+        private final List<String> titles = new ArrayList<>();
+        private final List<Double> influence = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder add(long key, String title, double influenceScore) {
+            keys.add(key);
+            titles.add(normalize(title));
+            influence.add(influenceScore);
+            return this;
+        }
+
+        public TrigramTitleIndex build() {
+            int size = keys.size();
+            long[] keyArray = new long[size];
+            String[] titleArray = titles.toArray(new String[0]);
+            double[] influenceArray = new double[size];
+
+            // Documents are visited in order, so every posting list comes out sorted
+            Map<Long, PostingList> lists = new HashMap<>();
+            for (int doc = 0; doc < size; doc++) {
+                keyArray[doc] = keys.get(doc);
+                influenceArray[doc] = influence.get(doc);
+
+                String title = titleArray[doc];
+                for (int i = 0; i + 3 <= title.length(); i++) {
+                    lists.computeIfAbsent(trigram(title, i), t -> new PostingList()).add(doc);
+                }
+            }
+
+            Map<Long, int[]> postings = new HashMap<>(lists.size() * 2);
+            lists.forEach((trigram, list) -> postings.put(trigram, list.toArray()));
+            return new TrigramTitleIndex(keyArray, titleArray, influenceArray, postings);
+        }
+    }
+
+    private static final class PostingList {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            // A title repeating a trigram lists the document once
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(docs, size);
+        }
+    }
+}
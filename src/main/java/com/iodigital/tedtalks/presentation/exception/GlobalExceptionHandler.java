@@ -1,5 +1,6 @@
 package com.iodigital.tedtalks.presentation.exception;
 
+import com.iodigital.tedtalks.domain.exception.AnalysisUnavailableException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -144,6 +145,16 @@ public class GlobalExceptionHandler {
         return new ErrorResponse(e.getMessage(), null);
     }
 
+    /**
+     * Handle analyses that cannot be answered yet (e.g. still being built)
+     */
+    @ExceptionHandler(AnalysisUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleAnalysisUnavailable(AnalysisUnavailableException e) {
+        log.warn("Analysis unavailable: {}", e.getMessage());
+        return new ErrorResponse(e.getMessage(), null);
+    }
+
     /**
      * Catch-all handler for any unhandled exceptions
      */
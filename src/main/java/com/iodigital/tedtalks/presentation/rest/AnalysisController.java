@@ -1,8 +1,16 @@
 package com.iodigital.tedtalks.presentation.rest;
 
+import com.iodigital.tedtalks.application.dto.ApproximateTopSpeakersDto;
+import com.iodigital.tedtalks.application.dto.DistributionDto;
+import com.iodigital.tedtalks.application.dto.RollupQuery;
+import com.iodigital.tedtalks.application.dto.RollupRowDto;
 import com.iodigital.tedtalks.application.dto.SpeakerInfluenceDto;
 import com.iodigital.tedtalks.application.dto.TedTalkDto;
+import com.iodigital.tedtalks.application.dto.TrendingSpeakerDto;
+import com.iodigital.tedtalks.application.dto.TrendingTalkDto;
 import com.iodigital.tedtalks.application.port.TedTalkAnalyzer;
+import com.iodigital.tedtalks.domain.model.valueobject.InfluenceWeights;
+import com.iodigital.tedtalks.domain.model.valueobject.TalkDate;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.Max;
@@ -13,8 +21,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 @RestController
@@ -30,13 +42,23 @@ public class AnalysisController {
     }
 
     @GetMapping("/speakers/top")
-    @Operation(summary = "Get top influential speakers")
+    @Operation(summary = "Get top influential speakers",
+            description = "viewsWeight and likesWeight rank by a custom influence formula (defaults 0.7 and 0.3); "
+                    + "mode is exact (the default) or approximate")
     public CompletableFuture<ResponseEntity<List<SpeakerInfluenceDto>>> getTopSpeakers(
-            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit,
+            @RequestParam(required = false) Double viewsWeight,
+            @RequestParam(required = false) Double likesWeight,
+            @RequestParam(required = false) String mode) {
 
-        log.info("Fetching top {} influential speakers (async)", limit);
+        // mode=approximate is mapped to getApproximateTopSpeakers
+        if (mode != null && !mode.equals("exact")) {
+            throw new IllegalArgumentException("Unknown mode '" + mode + "', expected exact or approximate");
+        }
+        InfluenceWeights weights = weights(viewsWeight, likesWeight);
+        log.info("Fetching top {} influential speakers weighted {} (async)", limit, weights);
 
-        return CompletableFuture.supplyAsync(() -> analyzer.getTopInfluentialSpeakers(limit))
+        return CompletableFuture.supplyAsync(() -> analyzer.getTopInfluentialSpeakers(limit, weights))
                 .thenApply(result -> {
                     log.debug("Analysis completed for {} speakers", result.size());
                     return ResponseEntity.ok(result);
@@ -51,13 +73,80 @@ public class AnalysisController {
                 });
     }
 
+    @GetMapping(value = "/speakers/top", params = "mode=approximate")
+    @Operation(summary = "Estimate top influential speakers in constant memory, with error bounds")
+    public ResponseEntity<ApproximateTopSpeakersDto> getApproximateTopSpeakers(
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+
+        log.info("Estimating top {} influential speakers", limit);
+
+        return ResponseEntity.ok(analyzer.getApproximateTopInfluentialSpeakers(limit));
+    }
+
+    @GetMapping("/speakers/top/years")
+    @Operation(summary = "Get top influential speakers by their talks in a range of years")
+    public ResponseEntity<List<SpeakerInfluenceDto>> getTopSpeakersBetweenYears(
+            @RequestParam int from,
+            @RequestParam int to,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+
+        if (from > to) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        log.info("Fetching top {} influential speakers of {} to {}", limit, from, to);
+
+        return ResponseEntity.ok(analyzer.getTopInfluentialSpeakersBetween(from, to, limit));
+    }
+
+    @GetMapping("/talks/top/recent")
+    @Operation(summary = "Get the most influential talks of the last N months, including the current one")
+    public ResponseEntity<List<TedTalkDto>> getTopRecentTalks(
+            @RequestParam @Min(1) @Max(1200) int months,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+
+        YearMonth current = YearMonth.now();
+        YearMonth first = current.minusMonths(months - 1L);
+        log.info("Fetching top {} talks since {}", limit, first);
+
+        return ResponseEntity.ok(analyzer.getTopTalksBetween(
+                new TalkDate(first.getYear(), first.getMonthValue()),
+                new TalkDate(current.getYear(), current.getMonthValue()),
+                limit));
+    }
+
+    @GetMapping("/talks/trending")
+    @Operation(summary = "Get the talks that gained the most influence through imports of the last N days")
+    public ResponseEntity<List<TrendingTalkDto>> getTrendingTalks(
+            @RequestParam(defaultValue = "30") @Min(1) @Max(3650) int days,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+
+        log.info("Fetching top {} trending talks of the last {} days", limit, days);
+
+        return ResponseEntity.ok(analyzer.getTrendingTalks(Instant.now().minus(Duration.ofDays(days)), limit));
+    }
+
+    @GetMapping("/speakers/trending")
+    @Operation(summary = "Get the speakers whose talks gained the most influence through imports of the last N days")
+    public ResponseEntity<List<TrendingSpeakerDto>> getTrendingSpeakers(
+            @RequestParam(defaultValue = "30") @Min(1) @Max(3650) int days,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+
+        log.info("Fetching top {} trending speakers of the last {} days", limit, days);
+
+        return ResponseEntity.ok(analyzer.getTrendingSpeakers(Instant.now().minus(Duration.ofDays(days)), limit));
+    }
+
     @GetMapping("/talks/most-influential-per-year")
-    @Operation(summary = "Get most influential talk per year")
-    public CompletableFuture<ResponseEntity<Map<Integer, TedTalkDto>>> getMostInfluentialPerYear() {
+    @Operation(summary = "Get most influential talk per year",
+            description = "viewsWeight and likesWeight rank by a custom influence formula (defaults 0.7 and 0.3)")
+    public CompletableFuture<ResponseEntity<Map<Integer, TedTalkDto>>> getMostInfluentialPerYear(
+            @RequestParam(required = false) Double viewsWeight,
+            @RequestParam(required = false) Double likesWeight) {
 
-        log.info("Fetching most influential talk per year (async)");
+        InfluenceWeights weights = weights(viewsWeight, likesWeight);
+        log.info("Fetching most influential talk per year weighted {} (async)", weights);
 
-        return CompletableFuture.supplyAsync(() -> analyzer.getMostInfluentialTalkPerYear())
+        return CompletableFuture.supplyAsync(() -> analyzer.getMostInfluentialTalkPerYear(weights))
                 .thenApply(result -> {
                     log.debug("Analysis completed for {} years", result.size());
                     return ResponseEntity.ok(result);
@@ -86,5 +175,72 @@ public class AnalysisController {
                         "Speaker not found: " + speaker
                 ));
     }
-}
 
+    @GetMapping("/distribution")
+    @Operation(summary = "Get p50/p90/p99 of views and likes, optionally for a range of years")
+    public ResponseEntity<DistributionDto> getDistribution(
+            @RequestParam(required = false) Integer from,
+            @RequestParam(required = false) Integer to) {
+
+        if ((from == null) != (to == null)) {
+            throw new IllegalArgumentException("from and to must be given together");
+        }
+        if (from != null && from > to) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        log.info("Fetching distribution of views and likes{}", from == null ? "" : " of " + from + " to " + to);
+
+        return (from == null ? analyzer.getDistribution() : analyzer.getDistributionBetween(from, to))
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No talks in range"));
+    }
+
+    @GetMapping("/speakers/{speaker}/distribution")
+    @Operation(summary = "Get p50/p90/p99 of views and likes of a speaker's talks")
+    public ResponseEntity<DistributionDto> getSpeakerDistribution(@PathVariable String speaker) {
+
+        log.info("Fetching distribution of views and likes for speaker: {}", speaker);
+
+        return analyzer.getSpeakerDistribution(speaker)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "Speaker not found: " + speaker
+                ));
+    }
+
+    @GetMapping("/rollup")
+    @Operation(summary = "Get talk counts, views, likes and influence grouped by any of year, month and speaker",
+            description = "Without groupBy the totals over all matching talks; sortBy orders by a measure, highest first")
+    public ResponseEntity<List<RollupRowDto>> getRollup(
+            @RequestParam(required = false) List<RollupQuery.Dimension> groupBy,
+            @RequestParam(required = false) Integer fromYear,
+            @RequestParam(required = false) Integer toYear,
+            @RequestParam(required = false) Integer fromMonth,
+            @RequestParam(required = false) Integer toMonth,
+            @RequestParam(required = false) List<String> speaker,
+            @RequestParam(required = false) RollupQuery.Measure sortBy,
+            @RequestParam(defaultValue = "1000") @Min(1) @Max(10000) int limit) {
+
+        RollupQuery query = new RollupQuery(
+                groupBy == null ? null : Set.copyOf(groupBy),
+                fromYear, toYear, fromMonth, toMonth,
+                speaker == null ? null : Set.copyOf(speaker),
+                sortBy, limit);
+        log.info("Fetching rollup {}", query);
+
+        return ResponseEntity.ok(analyzer.getRollup(query));
+    }
+
+    /**
+     * A weight left out keeps its default; invalid weights fail here, before going async, as 400.
+     */
+    private static InfluenceWeights weights(Double viewsWeight, Double likesWeight) {
+        if (viewsWeight == null && likesWeight == null) {
+            return InfluenceWeights.DEFAULT;
+        }
+        return InfluenceWeights.of(
+                viewsWeight != null ? viewsWeight : InfluenceWeights.DEFAULT.viewsWeight(),
+                likesWeight != null ? likesWeight : InfluenceWeights.DEFAULT.likesWeight());
+    }
+}
@@ -5,9 +5,13 @@ import com.iodigital.tedtalks.application.dto.TedTalkDto;
 import com.iodigital.tedtalks.presentation.rest.request.CreateSpeakerRequest;
 import com.iodigital.tedtalks.presentation.rest.request.UpdateSpeakerRequest;
 import com.iodigital.tedtalks.application.service.SpeakerService;
+import com.iodigital.tedtalks.domain.repository.CursorPage;
+import com.iodigital.tedtalks.presentation.rest.response.CursorPageResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -36,6 +40,16 @@ public class SpeakerController {
         return ResponseEntity.ok(speakers);
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get speakers page by page using a resumable cursor")
+    public ResponseEntity<CursorPageResponse<SpeakerDto>> getSpeakersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int size) {
+        log.debug("Fetching speakers page after cursor: {}", cursor);
+        CursorPage<SpeakerDto> page = speakerService.getSpeakersPage(cursor, size);
+        return ResponseEntity.ok(CursorPageResponse.from(page));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get speaker by ID")
     public ResponseEntity<SpeakerDto> getSpeakerById(@PathVariable String id) {
@@ -61,12 +75,14 @@ public class SpeakerController {
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search speakers by name pattern")
-    public ResponseEntity<List<SpeakerDto>> searchSpeakers(
-            @RequestParam String name) {
+    @Operation(summary = "Search speakers by name fragment, page by page using a resumable cursor")
+    public ResponseEntity<CursorPageResponse<SpeakerDto>> searchSpeakers(
+            @RequestParam String name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int size) {
         log.debug("Searching speakers by name: {}", name);
-        List<SpeakerDto> speakers = speakerService.searchSpeakers(name);
-        return ResponseEntity.ok(speakers);
+        CursorPage<SpeakerDto> page = speakerService.searchSpeakers(name, cursor, size);
+        return ResponseEntity.ok(CursorPageResponse.from(page));
     }
 
     @GetMapping("/{id}/talks")
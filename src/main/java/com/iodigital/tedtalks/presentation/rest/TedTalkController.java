@@ -4,9 +4,13 @@ import com.iodigital.tedtalks.application.dto.TedTalkDto;
 import com.iodigital.tedtalks.presentation.rest.request.CreateTedTalkRequest;
 import com.iodigital.tedtalks.presentation.rest.request.UpdateTedTalkRequest;
 import com.iodigital.tedtalks.application.service.TedTalkService;
+import com.iodigital.tedtalks.domain.repository.CursorPage;
+import com.iodigital.tedtalks.presentation.rest.response.CursorPageResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -35,6 +39,16 @@ public class TedTalkController {
         return ResponseEntity.ok(talks);
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get TED talks page by page using a resumable cursor")
+    public ResponseEntity<CursorPageResponse<TedTalkDto>> getTedTalksPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int size) {
+        log.debug("Fetching TED talks page after cursor: {}", cursor);
+        CursorPage<TedTalkDto> page = tedTalkService.getTedTalksPage(cursor, size);
+        return ResponseEntity.ok(CursorPageResponse.from(page));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get TED talk by ID")
     public ResponseEntity<TedTalkDto> getTedTalkById(@PathVariable String id) {
@@ -66,11 +80,12 @@ public class TedTalkController {
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search TED talks by title")
+    @Operation(summary = "Search TED talks by title, best matches first; every match unless a limit is given")
     public ResponseEntity<List<TedTalkDto>> searchByTitle(
-            @RequestParam String title) {
+            @RequestParam String title,
+            @RequestParam(required = false) @Min(1) Integer limit) {
         log.debug("Searching TED talks by title: {}", title);
-        List<TedTalkDto> talks = tedTalkService.searchByTitle(title);
+        List<TedTalkDto> talks = tedTalkService.searchByTitle(title, limit != null ? limit : Integer.MAX_VALUE);
         return ResponseEntity.ok(talks);
     }
 
@@ -0,0 +1,19 @@
+package com.iodigital.tedtalks.presentation.rest.response;
+
+import com.iodigital.tedtalks.domain.repository.CursorPage;
+
+import java.util.List;
+
+/**
+ * Response DTO for one page of a keyset-paginated listing.
+ * Pass {@code nextCursor} back as the {@code cursor} parameter to fetch the following page.
+ */
+public record CursorPageResponse<T>(
+        List<T> items,
+        int size,
+        String nextCursor
+) {
+    public static <T> CursorPageResponse<T> from(CursorPage<T> page) {
+        return new CursorPageResponse<>(page.items(), page.items().size(), page.nextCursor());
+    }
+}
@@ -0,0 +1,41 @@
+-- Global uniqueness of ted_talks.public_id
+-- Since V6 partitioned ted_talks, the unique index on public_id has to include talk_year, so two
+-- talks in different years could share a public id and every lookup by public id could match
+-- both. This table holds one row per talk keyed by public_id alone and is kept in step with
+-- ted_talks by a trigger, so a duplicate public id fails the writing statement.
+
+CREATE TABLE IF NOT EXISTS ted_talk_public_ids (
+    public_id UUID PRIMARY KEY,
+    talk_year INTEGER NOT NULL
+);
+
+-- Fails if V6 already let a duplicate in; those rows have to be given new public ids by hand
+INSERT INTO ted_talk_public_ids (public_id, talk_year)
+SELECT public_id, talk_year FROM ted_talks;
+
+-- AFTER triggers only see rows that were written: an upsert that updated an existing talk does
+-- not fire the insert branch, and an update moving a talk to another partition fires the delete
+-- and insert branches instead of the update one
+CREATE OR REPLACE FUNCTION sync_ted_talk_public_id()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        DELETE FROM ted_talk_public_ids WHERE public_id = OLD.public_id;
+        RETURN OLD;
+    ELSIF TG_OP = 'INSERT' THEN
+        INSERT INTO ted_talk_public_ids (public_id, talk_year) VALUES (NEW.public_id, NEW.talk_year);
+    ELSIF NEW.public_id <> OLD.public_id OR NEW.talk_year <> OLD.talk_year THEN
+        DELETE FROM ted_talk_public_ids WHERE public_id = OLD.public_id;
+        INSERT INTO ted_talk_public_ids (public_id, talk_year) VALUES (NEW.public_id, NEW.talk_year);
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER sync_ted_talk_public_id
+    AFTER INSERT OR UPDATE OF public_id, talk_year OR DELETE ON ted_talks
+    FOR EACH ROW
+    EXECUTE FUNCTION sync_ted_talk_public_id();
+
+COMMENT ON TABLE ted_talk_public_ids IS 'One row per talk; its primary key makes ted_talks.public_id unique across partitions';
+COMMENT ON COLUMN ted_talk_public_ids.talk_year IS 'Partition key of the talk, for lookups that want to prune';
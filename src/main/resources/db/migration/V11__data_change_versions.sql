@@ -0,0 +1,18 @@
+-- Commit-safe versions for the change feed
+-- data_changes ids come from a sequence: a transaction that drew a lower id can commit after one
+-- with a higher id, and MAX(id) drops when old rows are pruned, so ids cannot stamp a copy of the
+-- data. Each change now records the 64-bit id of the transaction that appended it, which
+-- PostgreSQL hands out from its own counter without any shared row, so appending writers never
+-- wait for each other. A reader takes its snapshot's xmin, pg_snapshot_xmin(pg_current_snapshot()),
+-- as a horizon: every transaction below it has committed or rolled back, so data read afterwards
+-- holds every change stamped below it.
+
+ALTER TABLE data_changes ADD COLUMN IF NOT EXISTS xact_id BIGINT;
+-- Changes recorded before this migration all ended long ago; 0 is below every horizon
+UPDATE data_changes SET xact_id = 0;
+ALTER TABLE data_changes ALTER COLUMN xact_id SET DEFAULT (pg_current_xact_id()::text::bigint);
+ALTER TABLE data_changes ALTER COLUMN xact_id SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_data_changes_xact_id ON data_changes(xact_id);
+
+COMMENT ON COLUMN data_changes.xact_id IS 'Transaction that appended the change; compared with snapshot xmin horizons';
@@ -0,0 +1,18 @@
+-- Per-year talk totals
+-- The per-year companion of speaker_stats: O(#years) rows that answer a rollup by year without
+-- scanning ted_talks. Refreshed CONCURRENTLY together with the other summary views, which needs
+-- the unique index on talk_year.
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS year_stats AS
+SELECT talk_year,
+       COUNT(*)             AS talk_count,
+       SUM(views)           AS total_views,
+       SUM(likes)           AS total_likes,
+       SUM(influence_score) AS total_influence,
+       MAX(influence_score) AS max_influence
+FROM ted_talks
+GROUP BY talk_year;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_year_stats_year ON year_stats(talk_year);
+
+COMMENT ON MATERIALIZED VIEW year_stats IS 'Per-year talk totals, refreshed after writes';
@@ -0,0 +1,18 @@
+-- Stable public identifiers for talks and speakers
+-- The BIGSERIAL keys stay internal; the UUIDs handed out by the API are persisted here
+-- so that GET /tedtalks/{id} and GET /speakers/{id} resolve with a single index lookup.
+
+-- 1. TED_TALKS public id (gen_random_uuid() is built in since PostgreSQL 13)
+ALTER TABLE ted_talks
+    ADD COLUMN IF NOT EXISTS public_id UUID NOT NULL DEFAULT gen_random_uuid();
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_ted_talks_public_id ON ted_talks(public_id);
+
+-- 2. SPEAKERS public id
+ALTER TABLE speakers
+    ADD COLUMN IF NOT EXISTS public_id UUID NOT NULL DEFAULT gen_random_uuid();
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_speakers_public_id ON speakers(public_id);
+
+COMMENT ON COLUMN ted_talks.public_id IS 'Stable external identifier exposed by the REST API';
+COMMENT ON COLUMN speakers.public_id IS 'Stable external identifier exposed by the REST API';
@@ -0,0 +1,33 @@
+-- Pre-aggregated summaries for the analytics endpoints
+-- Analytics read O(#speakers) / O(#years) rows from these views instead of scanning ted_talks.
+-- They are refreshed CONCURRENTLY after every committed write or import, which needs a unique index
+-- on each view and keeps them readable while the refresh runs.
+
+-- 1. Per-speaker totals
+CREATE MATERIALIZED VIEW IF NOT EXISTS speaker_stats AS
+SELECT author               AS speaker,
+       COUNT(*)             AS talk_count,
+       SUM(views)           AS total_views,
+       SUM(likes)           AS total_likes,
+       SUM(influence_score) AS total_influence,
+       MIN(talk_year)       AS first_year,
+       MAX(talk_year)       AS last_year
+FROM ted_talks
+GROUP BY author;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_speaker_stats_speaker ON speaker_stats(speaker);
+CREATE INDEX IF NOT EXISTS idx_speaker_stats_influence ON speaker_stats(total_influence DESC);
+
+-- 2. Highest-influence talk of every year (ties broken by the oldest row)
+CREATE MATERIALIZED VIEW IF NOT EXISTS year_top_talk AS
+SELECT DISTINCT ON (talk_year)
+       talk_year,
+       id AS talk_id,
+       influence_score
+FROM ted_talks
+ORDER BY talk_year, influence_score DESC, id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_year_top_talk_year ON year_top_talk(talk_year);
+
+COMMENT ON MATERIALIZED VIEW speaker_stats IS 'Per-speaker talk totals, refreshed after writes';
+COMMENT ON MATERIALIZED VIEW year_top_talk IS 'Most influential talk per year, refreshed after writes';
@@ -0,0 +1,8 @@
+-- Indexed title search
+-- Substring search on titles (LIKE '%keyword%') cannot use a b-tree; a trigram GIN index on the
+-- lower-cased title can, and pg_trgm's similarity() ranks the matches.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_ted_talks_title_trgm
+    ON ted_talks USING gin (lower(title) gin_trgm_ops);
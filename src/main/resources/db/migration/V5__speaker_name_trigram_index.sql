@@ -0,0 +1,8 @@
+-- Indexed speaker name search
+-- LOWER(name) LIKE '%fragment%' cannot use idx_speakers_name; a trigram GIN index on the
+-- lower-cased name can (pg_trgm is created by V4).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_speakers_name_trgm
+    ON speakers USING gin (lower(name) gin_trgm_ops);
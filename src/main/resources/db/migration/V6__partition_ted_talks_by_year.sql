@@ -0,0 +1,114 @@
+-- Range-partition ted_talks by decade of talk_year
+-- Imports append mostly to the newest partition, so index maintenance and vacuum work on a small
+-- heap, and queries filtering on talk_year only touch the partitions that can match.
+--
+-- Partitioned tables need the partition key in every unique constraint:
+--   * the primary key becomes (id, talk_year); id stays unique through its sequence
+--   * the natural key becomes (title, author, talk_year); a talk's year is part of its identity
+--   * public_id uniqueness is enforced together with talk_year (UUIDs are random per row)
+
+-- 1. The summary views depend on ted_talks; they are recreated at the end
+DROP MATERIALIZED VIEW IF EXISTS year_top_talk;
+DROP MATERIALIZED VIEW IF EXISTS speaker_stats;
+
+-- 2. Move the current heap aside and free its index and constraint names
+ALTER TABLE ted_talks RENAME TO ted_talks_unpartitioned;
+ALTER TABLE ted_talks_unpartitioned RENAME CONSTRAINT ted_talks_pkey TO ted_talks_unpartitioned_pkey;
+DROP TRIGGER IF EXISTS update_ted_talks_updated_at ON ted_talks_unpartitioned;
+DROP INDEX IF EXISTS idx_ted_talks_author;
+DROP INDEX IF EXISTS idx_ted_talks_year;
+DROP INDEX IF EXISTS idx_ted_talks_year_month;
+DROP INDEX IF EXISTS idx_ted_talks_influence;
+DROP INDEX IF EXISTS idx_ted_talks_year_influence;
+DROP INDEX IF EXISTS idx_ted_talks_date;
+DROP INDEX IF EXISTS uq_ted_talks_public_id;
+DROP INDEX IF EXISTS idx_ted_talks_title_trgm;
+
+-- 3. Partitioned table, reusing the existing id sequence
+CREATE TABLE ted_talks (
+    id BIGINT NOT NULL DEFAULT nextval('ted_talks_id_seq'),
+    public_id UUID NOT NULL DEFAULT gen_random_uuid(),
+    title VARCHAR(500) NOT NULL,
+    author VARCHAR(200) NOT NULL,
+    date DATE NOT NULL,
+    talk_year INTEGER NOT NULL,
+    talk_month INTEGER NOT NULL,
+    views BIGINT NOT NULL CHECK (views >= 0),
+    likes BIGINT NOT NULL CHECK (likes >= 0),
+    link TEXT NOT NULL,
+    influence_score DOUBLE PRECISION GENERATED ALWAYS AS
+        (views * 0.7 + likes * 0.3) STORED,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT ted_talks_pkey PRIMARY KEY (id, talk_year),
+    CONSTRAINT uq_title_author_year UNIQUE (title, author, talk_year)
+) PARTITION BY RANGE (talk_year);
+
+ALTER SEQUENCE ted_talks_id_seq OWNED BY ted_talks.id;
+
+-- 4. One partition per decade; the default partition catches anything outside the ranges
+CREATE TABLE ted_talks_before_1990 PARTITION OF ted_talks FOR VALUES FROM (MINVALUE) TO (1990);
+CREATE TABLE ted_talks_1990s PARTITION OF ted_talks FOR VALUES FROM (1990) TO (2000);
+CREATE TABLE ted_talks_2000s PARTITION OF ted_talks FOR VALUES FROM (2000) TO (2010);
+CREATE TABLE ted_talks_2010s PARTITION OF ted_talks FOR VALUES FROM (2010) TO (2020);
+CREATE TABLE ted_talks_2020s PARTITION OF ted_talks FOR VALUES FROM (2020) TO (2030);
+CREATE TABLE ted_talks_2030s PARTITION OF ted_talks FOR VALUES FROM (2030) TO (2040);
+CREATE TABLE ted_talks_default PARTITION OF ted_talks DEFAULT;
+
+-- 5. Copy the data, then drop the old heap
+INSERT INTO ted_talks (id, public_id, title, author, date, talk_year, talk_month,
+                       views, likes, link, created_at, updated_at)
+SELECT id, public_id, title, author, date, talk_year, talk_month,
+       views, likes, link, created_at, updated_at
+FROM ted_talks_unpartitioned;
+
+DROP TABLE ted_talks_unpartitioned;
+
+-- 6. Indexes are declared on the parent and created on every partition
+--    (a plain talk_year index is no longer needed: pruning selects the decade)
+CREATE UNIQUE INDEX IF NOT EXISTS uq_ted_talks_public_id ON ted_talks(public_id, talk_year);
+CREATE INDEX IF NOT EXISTS idx_ted_talks_author ON ted_talks(author);
+CREATE INDEX IF NOT EXISTS idx_ted_talks_year_month ON ted_talks(talk_year, talk_month);
+CREATE INDEX IF NOT EXISTS idx_ted_talks_influence ON ted_talks(influence_score DESC);
+CREATE INDEX IF NOT EXISTS idx_ted_talks_year_influence ON ted_talks(talk_year, influence_score DESC);
+CREATE INDEX IF NOT EXISTS idx_ted_talks_date ON ted_talks(date);
+CREATE INDEX IF NOT EXISTS idx_ted_talks_title_trgm ON ted_talks USING gin (lower(title) gin_trgm_ops);
+
+CREATE TRIGGER update_ted_talks_updated_at
+    BEFORE UPDATE ON ted_talks
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
+
+COMMENT ON TABLE ted_talks IS 'TED Talks, range-partitioned by decade of talk_year';
+COMMENT ON COLUMN ted_talks.influence_score IS 'Calculated as: views * 0.7 + likes * 0.3';
+COMMENT ON COLUMN ted_talks.public_id IS 'Stable external identifier exposed by the REST API';
+
+-- 7. Recreate the summary views (same definitions as V3)
+CREATE MATERIALIZED VIEW IF NOT EXISTS speaker_stats AS
+SELECT author               AS speaker,
+       COUNT(*)             AS talk_count,
+       SUM(views)           AS total_views,
+       SUM(likes)           AS total_likes,
+       SUM(influence_score) AS total_influence,
+       MIN(talk_year)       AS first_year,
+       MAX(talk_year)       AS last_year
+FROM ted_talks
+GROUP BY author;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_speaker_stats_speaker ON speaker_stats(speaker);
+CREATE INDEX IF NOT EXISTS idx_speaker_stats_influence ON speaker_stats(total_influence DESC);
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS year_top_talk AS
+SELECT DISTINCT ON (talk_year)
+       talk_year,
+       id AS talk_id,
+       influence_score
+FROM ted_talks
+ORDER BY talk_year, influence_score DESC, id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_year_top_talk_year ON year_top_talk(talk_year);
+
+COMMENT ON MATERIALIZED VIEW speaker_stats IS 'Per-speaker talk totals, refreshed after writes';
+COMMENT ON MATERIALIZED VIEW year_top_talk IS 'Most influential talk per year, refreshed after writes';
+
+ANALYZE ted_talks;
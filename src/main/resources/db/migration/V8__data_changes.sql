@@ -0,0 +1,30 @@
+-- Change feed for cross-node cache invalidation
+-- Every committed write or import appends one row in the same transaction. Each application node
+-- reads the rows after the last id it has seen and evicts the caches the change affects, so the
+-- feed is both the notification and the catch-up log for a node that missed notifications.
+
+CREATE TABLE IF NOT EXISTS data_changes (
+    id BIGSERIAL PRIMARY KEY,
+    kind VARCHAR(32) NOT NULL,
+    origin_node VARCHAR(64) NOT NULL,
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_data_changes_changed_at ON data_changes(changed_at);
+
+-- Wake listening nodes; NOTIFY is delivered when the appending transaction commits
+CREATE OR REPLACE FUNCTION notify_data_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('data_changes', NEW.id::text);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER data_changes_notify
+    AFTER INSERT ON data_changes
+    FOR EACH ROW
+    EXECUTE FUNCTION notify_data_change();
+
+COMMENT ON TABLE data_changes IS 'Committed data changes, read by every node to invalidate its caches';
+COMMENT ON COLUMN data_changes.origin_node IS 'Node that made the change; it has already evicted its own caches';
@@ -0,0 +1,18 @@
+-- History of talk views and likes across imports
+-- Each import batch that changes talk metrics appends one row holding the changes as a compact
+-- segment: entries sorted by talk id, each a varint id gap (low bit set for a talk the batch
+-- created) followed by the zigzag varint change in views and likes. A changed talk costs about
+-- six bytes per import, so years of daily imports stay in the tens of megabytes. Rows are never
+-- updated; trending analyses decode the segments of their window in one pass.
+
+CREATE TABLE IF NOT EXISTS talk_metric_history (
+    id BIGSERIAL PRIMARY KEY,
+    recorded_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    entry_count INT NOT NULL,
+    segment BYTEA NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_talk_metric_history_recorded_at ON talk_metric_history(recorded_at);
+
+COMMENT ON TABLE talk_metric_history IS 'Append-only, delta and varint encoded changes of talk views and likes';
+COMMENT ON COLUMN talk_metric_history.segment IS 'Per talk: varint(id gap << 1 | created), zigzag varint views change, zigzag varint likes change';
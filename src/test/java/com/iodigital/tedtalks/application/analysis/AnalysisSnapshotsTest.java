@@ -0,0 +1,226 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import com.iodigital.tedtalks.application.dto.TedTalkDto;
+import com.iodigital.tedtalks.application.event.SpeakersChangedEvent;
+import com.iodigital.tedtalks.application.event.TalksChangedEvent;
+import com.iodigital.tedtalks.domain.model.Speaker;
+import com.iodigital.tedtalks.domain.model.TedTalk;
+import com.iodigital.tedtalks.domain.model.valueobject.*;
+import com.iodigital.tedtalks.domain.repository.SpeakerAggregate;
+import com.iodigital.tedtalks.domain.repository.TalkRowConsumer;
+import com.iodigital.tedtalks.domain.repository.TedTalkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Analysis Snapshot Tests")
+class AnalysisSnapshotsTest {
+
+    @Mock
+    private TedTalkRepository repository;
+
+    private final List<Runnable> queuedTasks = new ArrayList<>();
+    private final List<TedTalk> talks = new ArrayList<>();
+    private AnalysisSnapshots snapshots;
+
+    @BeforeEach
+    void setUp() {
+        snapshots = new AnalysisSnapshots(repository, queuedTasks::add,
+                TransactionOperations.withoutTransaction(), new ScalarScoringKernel(), AnalysisMemoryMode.EXACT);
+        lenient().doAnswer(invocation -> {
+            TalkRowConsumer consumer = invocation.getArgument(0);
+            List.copyOf(talks).forEach(talk -> consumer.accept(talk.getId().value(), talk.getTitle(),
+                    talk.getSpeaker().getName(), talk.getDate().year(), talk.getDate().month(),
+                    talk.getViews().value(), talk.getLikes().value(), talk.getLink().value()));
+            return null;
+        }).when(repository).forEachTalkRow(any());
+    }
+
+    @Test
+    @DisplayName("Should precompute speaker totals, ranking and best talk per year")
+    void shouldPrecomputeAnalyses() {
+        // Given
+        talks.add(talk("Climate Action", "Al Gore", 2006, 1000, 100));
+        talks.add(talk("Climate Update", "Al Gore", 2016, 2000, 200));
+        talks.add(talk("Future of Work", "Jane Smith", 2016, 5000, 500));
+
+        // When
+        snapshots.rebuild();
+
+        // Then
+        AnalysisSnapshot snapshot = snapshots.current().orElseThrow();
+        assertThat(snapshot.talkCount()).isEqualTo(3);
+        assertThat(snapshot.topSpeakers(10)).extracting(SpeakerAggregate::speaker)
+                .containsExactly("Jane Smith", "Al Gore");
+        SpeakerAggregate alGore = snapshot.speaker("Al Gore").orElseThrow();
+        assertThat(alGore.talkCount()).isEqualTo(2);
+        assertThat(alGore.totalViews()).isEqualTo(3000);
+        assertThat(alGore.firstYear()).isEqualTo(2006);
+        assertThat(alGore.lastYear()).isEqualTo(2016);
+        Map<Integer, TedTalkDto> perYear = snapshot.mostInfluentialPerYear();
+        assertThat(perYear).containsOnlyKeys(2006, 2016);
+        assertThat(perYear.get(2016).title()).isEqualTo("Future of Work");
+        assertThat(perYear.get(2016).influenceScore()).isEqualTo(TedTalk.influenceScore(5000, 500));
+    }
+
+    @Test
+    @DisplayName("Should rank by custom weights and match the default ranking for the default weights")
+    void shouldRankByCustomWeights() {
+        // Given
+        talks.add(talk("Viral Talk", "Al Gore", 2016, 9000, 100));
+        talks.add(talk("Beloved Talk", "Jane Smith", 2016, 5000, 4000));
+        snapshots.rebuild();
+        AnalysisSnapshot snapshot = snapshots.current().orElseThrow();
+        InfluenceWeights likesHeavy = InfluenceWeights.of(0.1, 0.9);
+
+        // When
+        AnalysisSnapshot.Ranking weighted = snapshot.ranking(likesHeavy);
+        AnalysisSnapshot.Ranking recomputedDefault = snapshot.ranking(InfluenceWeights.of(0.7, 0.3));
+
+        // Then
+        assertThat(snapshot.topSpeakers(10)).extracting(SpeakerAggregate::speaker)
+                .containsExactly("Al Gore", "Jane Smith");
+        assertThat(weighted.topSpeakers(10)).extracting(SpeakerAggregate::speaker)
+                .containsExactly("Jane Smith", "Al Gore");
+        assertThat(weighted.topSpeakers(1).get(0).totalInfluence()).isEqualTo(likesHeavy.score(5000, 4000));
+        assertThat(weighted.mostInfluentialPerYear().get(2016).title()).isEqualTo("Beloved Talk");
+        assertThat(snapshot.ranking(InfluenceWeights.of(0.1, 0.9))).isSameAs(weighted);
+        assertThat(recomputedDefault.topSpeakers(10)).isEqualTo(snapshot.topSpeakers(10));
+        assertThat(recomputedDefault.mostInfluentialPerYear()).isEqualTo(snapshot.mostInfluentialPerYear());
+    }
+
+    @Test
+    @DisplayName("Should rank speakers by their talks within a year range")
+    void shouldRankSpeakersWithinYearRange() {
+        // Given
+        talks.add(talk("Climate Action", "Al Gore", 2006, 9000, 900));
+        talks.add(talk("Climate Update", "Al Gore", 2016, 1000, 100));
+        talks.add(talk("Climate Outlook", "Al Gore", 2018, 1000, 100));
+        talks.add(talk("Future of Work", "Jane Smith", 2016, 5000, 500));
+        snapshots.rebuild();
+        AnalysisSnapshot snapshot = snapshots.current().orElseThrow();
+
+        // When
+        List<SpeakerAggregate> recent = snapshot.topSpeakers(2010, 2020, 10);
+
+        // Then
+        assertThat(snapshot.topSpeakers(10)).extracting(SpeakerAggregate::speaker)
+                .containsExactly("Al Gore", "Jane Smith");
+        assertThat(recent).extracting(SpeakerAggregate::speaker).containsExactly("Jane Smith", "Al Gore");
+        SpeakerAggregate alGore = recent.get(1);
+        assertThat(alGore.talkCount()).isEqualTo(2);
+        assertThat(alGore.totalViews()).isEqualTo(2000);
+        assertThat(alGore.firstYear()).isEqualTo(2016);
+        assertThat(alGore.lastYear()).isEqualTo(2018);
+        assertThat(snapshot.topSpeakers(2007, 2015, 10)).isEmpty();
+        assertThat(snapshot.topSpeakers(2010, 2020, 10)).isSameAs(recent);
+    }
+
+    @Test
+    @DisplayName("Should return the best talks of a month range, best first")
+    void shouldReturnBestTalksOfMonthRange() {
+        // Given
+        talks.add(talk("January", "Al Gore", new TalkDate(2020, 1), 1000, 100));
+        talks.add(talk("March", "Jane Smith", new TalkDate(2020, 3), 3000, 300));
+        talks.add(talk("Also March", "Al Gore", new TalkDate(2020, 3), 500, 50));
+        talks.add(talk("May", "Jane Smith", new TalkDate(2020, 5), 2000, 200));
+        talks.add(talk("June", "Al Gore", new TalkDate(2020, 6), 9000, 900));
+        snapshots.rebuild();
+        AnalysisSnapshot snapshot = snapshots.current().orElseThrow();
+
+        // When
+        List<TedTalkDto> best = snapshot.topTalks(new TalkDate(2020, 1), new TalkDate(2020, 5), 3);
+
+        // Then
+        assertThat(best).extracting(TedTalkDto::title).containsExactly("March", "May", "January");
+        assertThat(snapshot.topTalks(new TalkDate(2019, 1), new TalkDate(2030, 12), 10)).hasSize(5);
+        assertThat(snapshot.topTalks(new TalkDate(2021, 1), new TalkDate(2021, 12), 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep serving the published snapshot until a rebuild completes")
+    void shouldSwapSnapshotOnlyWhenRebuilt() {
+        // Given
+        talks.add(talk("Climate Action", "Al Gore", 2006, 1000, 100));
+        snapshots.rebuild();
+        AnalysisSnapshot first = snapshots.current().orElseThrow();
+
+        // When
+        talks.add(talk("Future of Work", "Jane Smith", 2016, 5000, 500));
+        snapshots.onLocalChange(new TalksChangedEvent(TalksChangedEvent.Origin.IMPORT));
+
+        // Then
+        assertThat(snapshots.current()).containsSame(first);
+        queuedTasks.remove(0).run();
+        AnalysisSnapshot second = snapshots.current().orElseThrow();
+        assertThat(second.epoch()).isEqualTo(first.epoch() + 1);
+        assertThat(second.talkCount()).isEqualTo(2);
+        assertThat(first.talkCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should rank by influence highest first, keeping equal values in index order")
+    void shouldRankByInfluence() {
+        // Given
+        double[] influence = {5.0, 0.0, 7.5, 5.0, 1e9, 5.0 + 1e-9, 0.0, 7.5};
+
+        // When
+        int[] order = AnalysisSnapshot.rankByInfluence(influence);
+
+        // Then
+        assertThat(order).containsExactly(4, 2, 7, 5, 0, 3, 1, 6);
+    }
+
+    @Test
+    @DisplayName("Should coalesce rebuild requests that arrive while one is pending")
+    void shouldCoalesceRebuildRequests() {
+        // When
+        snapshots.requestRebuild();
+        snapshots.requestRebuild();
+        snapshots.onLocalChange(new TalksChangedEvent(TalksChangedEvent.Origin.CREATE));
+
+        // Then
+        assertThat(queuedTasks).hasSize(1);
+        queuedTasks.remove(0).run();
+        verify(repository, times(1)).forEachTalkRow(any());
+        assertThat(snapshots.current()).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should not rebuild for speaker profile changes")
+    void shouldIgnoreSpeakerProfileChanges() {
+        // When
+        snapshots.onLocalChange(new SpeakersChangedEvent(SpeakersChangedEvent.Origin.UPDATE, false));
+
+        // Then
+        assertThat(queuedTasks).isEmpty();
+    }
+
+    private static TedTalk talk(String title, String speaker, int year, long views, long likes) {
+        return talk(title, speaker, new TalkDate(year, 1), views, likes);
+    }
+
+    private static TedTalk talk(String title, String speaker, TalkDate date, long views, long likes) {
+        return TedTalk.create(
+                title,
+                Speaker.create(speaker, null),
+                date,
+                Views.of(views),
+                Likes.of(likes),
+                Link.of("https://ted.com/talks/" + date)
+        );
+    }
+}
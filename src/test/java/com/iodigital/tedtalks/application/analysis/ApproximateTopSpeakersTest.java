@@ -0,0 +1,107 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import com.iodigital.tedtalks.application.event.TalkDeltaEvent;
+import com.iodigital.tedtalks.domain.model.Speaker;
+import com.iodigital.tedtalks.domain.model.TedTalk;
+import com.iodigital.tedtalks.domain.model.valueobject.*;
+import com.iodigital.tedtalks.domain.repository.SpeakerAggregate;
+import com.iodigital.tedtalks.domain.repository.TalkMetricsConsumer;
+import com.iodigital.tedtalks.domain.repository.TedTalkRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Approximate Top Speakers Tests")
+class ApproximateTopSpeakersTest {
+
+    private static final int TALKS = 200_000;
+    private static final int SPEAKERS = 50_000;
+    private static final int COUNTERS = 1_000;
+
+    @Mock
+    private TedTalkRepository repository;
+
+    @Test
+    @DisplayName("Should find the same top speakers as the exact engine, within the reported bounds")
+    void shouldMatchExactEngine() {
+        // Given - a skewed speaker distribution with 50x more speakers than counters
+        doAnswer(invocation -> {
+            TalkMetricsConsumer consumer = invocation.getArgument(0);
+            Random random = new Random(42);
+            for (int i = 0; i < TALKS; i++) {
+                int speaker = (int) Math.pow(SPEAKERS, random.nextDouble());
+                long views = random.nextInt(5_000_000);
+                consumer.accept("speaker-" + speaker, 2000 + random.nextInt(20), 1, views, views / 20);
+            }
+            return null;
+        }).when(repository).forEachTalkMetrics(any());
+        SpeakerAggregates exact = new SpeakerAggregates(repository, Runnable::run,
+                TransactionOperations.withoutTransaction(), AnalysisMemoryMode.EXACT);
+        ApproximateTopSpeakers approximate = new ApproximateTopSpeakers(repository, Runnable::run,
+                TransactionOperations.withoutTransaction(), COUNTERS);
+
+        // When
+        exact.rebuild();
+        approximate.rebuild();
+
+        // Then
+        List<SpeakerAggregate> exactTop = exact.top(10);
+        ApproximateTopSpeakers.Result result = approximate.top(10);
+        assertThat(result.speakers()).extracting(SpaceSaving.Entry::item)
+                .containsExactlyElementsOf(exactTop.stream().map(SpeakerAggregate::speaker).toList());
+        Map<String, SpeakerAggregate> exactBySpeaker = exactTop.stream()
+                .collect(Collectors.toMap(SpeakerAggregate::speaker, Function.identity()));
+        for (SpaceSaving.Entry<String> entry : result.speakers()) {
+            double trueInfluence = exactBySpeaker.get(entry.item()).totalInfluence();
+            assertThat(trueInfluence).isLessThanOrEqualTo(entry.estimate() * (1 + 1e-9));
+            assertThat(trueInfluence).isGreaterThanOrEqualTo((entry.estimate() - entry.maxError()) * (1 - 1e-9));
+            assertThat(entry.guaranteed()).isTrue();
+        }
+        assertThat(result.counters()).isEqualTo(COUNTERS);
+        assertThat(result.maxUntrackedInfluence()).isLessThan(exactTop.get(9).totalInfluence());
+    }
+
+    @Test
+    @DisplayName("Should follow talk writes after the startup pass")
+    void shouldApplyWrites() {
+        // Given
+        ApproximateTopSpeakers approximate = new ApproximateTopSpeakers(repository, Runnable::run,
+                TransactionOperations.withoutTransaction(), 10);
+        approximate.rebuild();
+
+        // When
+        approximate.onTalkDelta(TalkDeltaEvent.added(List.of(talk("Al Gore", 2006, 1000, 100))));
+
+        // Then
+        assertThat(approximate.isReady()).isTrue();
+        SpaceSaving.Entry<String> alGore = approximate.top(1).speakers().get(0);
+        assertThat(alGore.item()).isEqualTo("Al Gore");
+        assertThat(alGore.estimate()).isCloseTo(730, within(1e-9));
+    }
+
+    private static TedTalk talk(String speaker, int year, long views, long likes) {
+        return TedTalk.create(
+                speaker + " " + year,
+                Speaker.create(speaker, null),
+                new TalkDate(year, 1),
+                Views.of(views),
+                Likes.of(likes),
+                Link.of("https://ted.com/talks/" + year)
+        );
+    }
+}
@@ -0,0 +1,97 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import com.iodigital.tedtalks.application.analysis.DistributionSketches.Distribution;
+import com.iodigital.tedtalks.application.event.TalkDeltaEvent;
+import com.iodigital.tedtalks.domain.model.Speaker;
+import com.iodigital.tedtalks.domain.model.TedTalk;
+import com.iodigital.tedtalks.domain.model.valueobject.*;
+import com.iodigital.tedtalks.domain.repository.TalkMetricsConsumer;
+import com.iodigital.tedtalks.domain.repository.TedTalkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Distribution Sketches Tests")
+class DistributionSketchesTest {
+
+    @Mock
+    private TedTalkRepository repository;
+
+    private DistributionSketches sketches;
+
+    @BeforeEach
+    void setUp() {
+        sketches = new DistributionSketches(repository, Runnable::run,
+                TransactionOperations.withoutTransaction(), AnalysisMemoryMode.EXACT);
+    }
+
+    @Test
+    @DisplayName("Should sketch talks overall and per year range")
+    void shouldSketchFromDatabase() {
+        // Given
+        doAnswer(invocation -> {
+            TalkMetricsConsumer consumer = invocation.getArgument(0);
+            consumer.accept("Al Gore", 2006, 2, 1_000, 100);
+            consumer.accept("Al Gore", 2016, 3, 2_000, 200);
+            consumer.accept("Jane Smith", 2016, 1, 5_000, 500);
+            consumer.accept("Jane Smith", 2020, 1, 9_000, 900);
+            return null;
+        }).when(repository).forEachTalkMetrics(any());
+
+        // When
+        sketches.rebuild();
+
+        // Then
+        assertThat(sketches.isReady()).isTrue();
+        assertThat(sketches.overall().count()).isEqualTo(4);
+        Distribution recent = sketches.years(2010, 2020);
+        assertThat(recent.count()).isEqualTo(3);
+        assertThat((double) recent.views().quantile(0.0)).isCloseTo(2_000, within(20.0));
+        assertThat((double) recent.likes().quantile(1.0)).isCloseTo(900, within(9.0));
+        assertThat(sketches.years(2021, 2030).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should follow talks being added, replaced and removed")
+    void shouldApplyWritesIncrementally() {
+        // Given
+        sketches.rebuild();
+        TedTalk first = talk("Al Gore", 2006, 1_000, 100);
+        TedTalk second = talk("Al Gore", 2016, 2_000, 200);
+        sketches.onTalkDelta(TalkDeltaEvent.added(List.of(first, second)));
+
+        // When
+        sketches.onTalkDelta(TalkDeltaEvent.replaced(second, talk("Al Gore", 2016, 8_000, 800)));
+        sketches.onTalkDelta(TalkDeltaEvent.removed(first));
+
+        // Then
+        Distribution recent = sketches.years(2016, 2016);
+        assertThat(recent.count()).isEqualTo(1);
+        assertThat((double) recent.views().quantile(0.5)).isCloseTo(8_000, within(80.0));
+        assertThat(sketches.years(2000, 2010).isEmpty()).isTrue();
+        assertThat(sketches.overall().count()).isEqualTo(1);
+    }
+
+    private static TedTalk talk(String speaker, int year, long views, long likes) {
+        return TedTalk.create(
+                speaker + " " + year,
+                Speaker.create(speaker, null),
+                new TalkDate(year, 1),
+                Views.of(views),
+                Likes.of(likes),
+                Link.of("https://ted.com/talks/" + year)
+        );
+    }
+}
@@ -0,0 +1,99 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Quantile Sketch Tests")
+class QuantileSketchTest {
+
+    private static final double[] QUANTILES = {0.0, 0.25, 0.5, 0.9, 0.99, 1.0};
+
+    @Test
+    @DisplayName("Should stay within the relative error bound of exact quantiles")
+    void shouldStayWithinErrorBound() {
+        // Given
+        Random random = new Random(11);
+        long[] values = new long[100_000];
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            // Heavy-tailed, like talk views
+            values[i] = (long) Math.exp(random.nextDouble() * 18);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        // When / Then
+        for (double q : QUANTILES) {
+            long exact = values[(int) Math.floor(q * (values.length - 1))];
+            assertThat((double) sketch.quantile(q))
+                    .isCloseTo(exact, within(exact * sketch.relativeAccuracy() + 0.5));
+        }
+    }
+
+    @Test
+    @DisplayName("Should merge into the same quantiles as one sketch of all values")
+    void shouldMergeLikeOneSketch() {
+        // Given
+        Random random = new Random(5);
+        QuantileSketch all = new QuantileSketch();
+        QuantileSketch first = new QuantileSketch();
+        QuantileSketch second = new QuantileSketch();
+        for (int i = 0; i < 10_000; i++) {
+            long low = random.nextInt(1_000);
+            long high = 1_000_000 + random.nextInt(1_000_000);
+            all.add(low);
+            all.add(high);
+            first.add(low);
+            second.add(high);
+        }
+
+        // When
+        QuantileSketch merged = first.copy().merge(second);
+
+        // Then
+        assertThat(merged.count()).isEqualTo(all.count());
+        for (double q : QUANTILES) {
+            assertThat(merged.quantile(q)).isEqualTo(all.quantile(q));
+        }
+        assertThat(first.count()).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("Should take back removed values and count zeros exactly")
+    void shouldRemoveValues() {
+        // Given
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(0);
+        sketch.add(0);
+        sketch.add(1_000);
+        sketch.add(50_000_000);
+
+        // When
+        sketch.remove(50_000_000);
+
+        // Then
+        assertThat(sketch.count()).isEqualTo(3);
+        assertThat(sketch.quantile(0.5)).isZero();
+        assertThat((double) sketch.quantile(1.0)).isCloseTo(1_000, within(10.0));
+    }
+
+    @Test
+    @DisplayName("Should reject negative values and quantiles of an empty sketch")
+    void shouldRejectInvalidUse() {
+        // Given
+        QuantileSketch sketch = new QuantileSketch();
+
+        // When / Then
+        assertThatThrownBy(() -> sketch.add(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sketch.quantile(0.5)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new QuantileSketch(0.01).merge(new QuantileSketch(0.02)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
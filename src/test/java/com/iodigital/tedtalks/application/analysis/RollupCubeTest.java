@@ -0,0 +1,213 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import com.iodigital.tedtalks.application.dto.RollupQuery;
+import com.iodigital.tedtalks.application.dto.RollupQuery.Dimension;
+import com.iodigital.tedtalks.application.dto.RollupQuery.Measure;
+import com.iodigital.tedtalks.application.dto.RollupRowDto;
+import com.iodigital.tedtalks.domain.model.TedTalk;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Rollup Cube Tests")
+class RollupCubeTest {
+
+    @Test
+    @DisplayName("Should total every group in dimension order")
+    void shouldTotalGroupsInDimensionOrder() {
+        // Given
+        RollupCube cube = RollupCube.builder()
+                .add("Ken Robinson", 2006, 2, 1_000, 100)
+                .add("Brene Brown", 2010, 6, 500, 50)
+                .add("Amy Cuddy", 2012, 6, 800, 40)
+                .add("Brene Brown", 2012, 3, 300, 30)
+                .add("Brene Brown", 2012, 3, 200, 10)
+                .build();
+
+        // When
+        List<RollupRowDto> byYear = cube.query(query(Set.of(Dimension.YEAR), null));
+        List<RollupRowDto> bySpeaker = cube.query(query(Set.of(Dimension.SPEAKER), null));
+
+        // Then
+        assertThat(byYear).extracting(RollupRowDto::year).containsExactly(2006, 2010, 2012);
+        assertThat(byYear.get(2).talks()).isEqualTo(3);
+        assertThat(byYear.get(2).totalViews()).isEqualTo(1_300);
+        assertThat(byYear.get(2).totalLikes()).isEqualTo(80);
+        assertThat(byYear.get(2).maxInfluence()).isEqualTo(TedTalk.influenceScore(800, 40));
+        assertThat(byYear.get(2).month()).isNull();
+        assertThat(byYear.get(2).speaker()).isNull();
+        assertThat(bySpeaker).extracting(RollupRowDto::speaker)
+                .containsExactly("Amy Cuddy", "Brene Brown", "Ken Robinson");
+        assertThat(bySpeaker.get(1).totalInfluence()).isCloseTo(
+                TedTalk.influenceScore(500, 50) + TedTalk.influenceScore(300, 30) + TedTalk.influenceScore(200, 10),
+                within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should match a scan of the talks for every grouping, filter and sort")
+    void shouldMatchScanForEveryQuery() {
+        // Given
+        Random random = new Random(7);
+        List<Talk> talks = new ArrayList<>();
+        RollupCube.Builder builder = RollupCube.builder();
+        for (int i = 0; i < 20_000; i++) {
+            Talk talk = new Talk("Speaker " + random.nextInt(500), 1990 + random.nextInt(30), 1 + random.nextInt(12),
+                    random.nextInt(1_000_000), random.nextInt(50_000));
+            talks.add(talk);
+            builder.add(talk.speaker(), talk.year(), talk.month(), talk.views(), talk.likes());
+        }
+        RollupCube cube = builder.build();
+
+        for (Set<Dimension> groupBy : groupings()) {
+            for (int filters = 0; filters < 16; filters++) {
+                for (Measure sortBy : new Measure[]{null, Measure.VIEWS, Measure.MAX_INFLUENCE}) {
+                    RollupQuery query = new RollupQuery(
+                            groupBy,
+                            (filters & 1) != 0 ? 2000 : null,
+                            (filters & 2) != 0 ? 2010 : null,
+                            (filters & 4) != 0 ? 3 : null,
+                            (filters & 4) != 0 ? 9 : null,
+                            (filters & 8) != 0 ? Set.of("Speaker 1", "Speaker 42", "Nobody") : null,
+                            sortBy,
+                            sortBy == null ? 50 : 7);
+
+                    // When
+                    List<RollupRowDto> rows = cube.query(query);
+
+                    // Then
+                    List<RollupRowDto> expected = scan(talks, query);
+                    assertThat(rows).as("%s", query).hasSameSizeAs(expected);
+                    for (int i = 0; i < rows.size(); i++) {
+                        RollupRowDto row = rows.get(i);
+                        RollupRowDto want = expected.get(i);
+                        if (sortBy == null) {
+                            assertThat(row.year()).isEqualTo(want.year());
+                            assertThat(row.month()).isEqualTo(want.month());
+                            assertThat(row.speaker()).isEqualTo(want.speaker());
+                            assertThat(row.talks()).isEqualTo(want.talks());
+                            assertThat(row.totalLikes()).isEqualTo(want.totalLikes());
+                            assertThat(row.totalInfluence())
+                                    .isCloseTo(want.totalInfluence(), within(1e-9 * Math.max(1, want.totalInfluence())));
+                        }
+                        assertThat(row.totalViews()).isEqualTo(want.totalViews());
+                        assertThat(row.maxInfluence()).isEqualTo(want.maxInfluence());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should build speaker cells on first use and rebuild them after they were dropped")
+    void shouldBuildSpeakerCuboidsOnDemand() {
+        // Given
+        RollupCube cube = RollupCube.builder()
+                .add("Ken Robinson", 2006, 2, 1_000, 100)
+                .add("Brene Brown", 2010, 6, 500, 50)
+                .add("Brene Brown", 2012, 3, 300, 30)
+                .build();
+        int withoutSpeakers = cube.cellCount();
+
+        // When
+        List<RollupRowDto> bySpeaker = cube.query(query(Set.of(Dimension.SPEAKER), null));
+
+        // Then
+        assertThat(cube.cellCount()).isEqualTo(withoutSpeakers + 2);
+        cube.dropSpeakerCuboids();
+        assertThat(cube.cellCount()).isEqualTo(withoutSpeakers);
+        assertThat(cube.query(query(Set.of(Dimension.SPEAKER), null))).isEqualTo(bySpeaker);
+    }
+
+    @Test
+    @DisplayName("Should return nothing when none of the requested speakers is known")
+    void shouldReturnNothingForUnknownSpeakers() {
+        // Given
+        RollupCube cube = RollupCube.builder().add("Ken Robinson", 2006, 2, 1_000, 100).build();
+
+        // When
+        List<RollupRowDto> rows = cube.query(new RollupQuery(Set.of(Dimension.YEAR), null, null, null, null,
+                Set.of("Nobody"), null, 10));
+
+        // Then
+        assertThat(rows).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject inverted ranges and months outside 1 to 12")
+    void shouldRejectInvalidQueries() {
+        assertThatThrownBy(() -> new RollupQuery(null, 2010, 2000, null, null, null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RollupQuery(null, null, null, 13, null, null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RollupQuery(null, null, null, 9, 3, null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RollupQuery query(Set<Dimension> groupBy, Measure sortBy) {
+        return new RollupQuery(groupBy, null, null, null, null, null, sortBy, 100);
+    }
+
+    private static List<Set<Dimension>> groupings() {
+        List<Set<Dimension>> groupings = new ArrayList<>();
+        for (int mask = 0; mask < 8; mask++) {
+            Set<Dimension> groupBy = EnumSet.noneOf(Dimension.class);
+            for (Dimension dimension : Dimension.values()) {
+                if ((mask & 1 << dimension.ordinal()) != 0) {
+                    groupBy.add(dimension);
+                }
+            }
+            groupings.add(groupBy);
+        }
+        return groupings;
+    }
+
+    /**
+     * The query answered by grouping the matching talks in a sorted map.
+     */
+    private static List<RollupRowDto> scan(List<Talk> talks, RollupQuery query) {
+        boolean byYear = query.groupBy().contains(Dimension.YEAR);
+        boolean byMonth = query.groupBy().contains(Dimension.MONTH);
+        boolean bySpeaker = query.groupBy().contains(Dimension.SPEAKER);
+        TreeMap<String, RollupRowDto> groups = new TreeMap<>();
+        for (Talk talk : talks) {
+            if (query.fromYear() != null && talk.year() < query.fromYear()
+                    || query.toYear() != null && talk.year() > query.toYear()
+                    || query.fromMonth() != null && talk.month() < query.fromMonth()
+                    || query.toMonth() != null && talk.month() > query.toMonth()
+                    || !query.speakers().isEmpty() && !query.speakers().contains(talk.speaker())) {
+                continue;
+            }
+            String key = (byYear ? "%05d".formatted(talk.year()) : "") + "|"
+                    + (byMonth ? "%02d".formatted(talk.month()) : "") + "|"
+                    + (bySpeaker ? talk.speaker() : "");
+            double influence = TedTalk.influenceScore(talk.views(), talk.likes());
+            groups.merge(key,
+                    new RollupRowDto(byYear ? talk.year() : null, byMonth ? talk.month() : null,
+                            bySpeaker ? talk.speaker() : null, 1, talk.views(), talk.likes(), influence, influence),
+                    (a, b) -> new RollupRowDto(a.year(), a.month(), a.speaker(), a.talks() + b.talks(),
+                            a.totalViews() + b.totalViews(), a.totalLikes() + b.totalLikes(),
+                            a.totalInfluence() + b.totalInfluence(), Math.max(a.maxInfluence(), b.maxInfluence())));
+        }
+        List<RollupRowDto> rows = new ArrayList<>(groups.values());
+        if (query.sortBy() == Measure.VIEWS) {
+            rows.sort(Comparator.comparingLong(RollupRowDto::totalViews).reversed());
+        } else if (query.sortBy() == Measure.MAX_INFLUENCE) {
+            rows.sort(Comparator.comparingDouble(RollupRowDto::maxInfluence).reversed());
+        }
+        return rows.subList(0, Math.min(query.limit(), rows.size()));
+    }
+
+    private record Talk(String speaker, int year, int month, long views, long likes) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import com.iodigital.tedtalks.domain.model.TedTalk;
+import com.iodigital.tedtalks.domain.model.valueobject.InfluenceWeights;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("Scoring Kernel Tests")
+class ScoringKernelTest {
+
+    // Not a multiple of any vector width, so the scalar tail is exercised too
+    private static final int LENGTH = 10_007;
+
+    private final ScoringKernel scalar = new ScalarScoringKernel();
+    private long[] views;
+    private long[] likes;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(7);
+        views = new long[LENGTH];
+        likes = new long[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            views[i] = random.nextLong(50_000_000_000L);
+            likes[i] = random.nextLong(1_000_000_000L);
+        }
+    }
+
+    @Test
+    @DisplayName("Scalar kernel should match the influence formula")
+    void scalarShouldMatchFormula() {
+        // Given
+        double[] scores = new double[LENGTH];
+
+        // When
+        scalar.scores(views, likes, InfluenceWeights.DEFAULT, scores, LENGTH);
+
+        // Then
+        for (int i = 0; i < LENGTH; i++) {
+            assertThat(scores[i]).isEqualTo(TedTalk.influenceScore(views[i], likes[i]));
+        }
+    }
+
+    @Test
+    @DisplayName("Vector kernel should produce exactly the scalar results")
+    void vectorShouldMatchScalar() {
+        // Given
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(),
+                "Run with --add-modules jdk.incubator.vector");
+        ScoringKernel vector = new VectorScoringKernel();
+        double[] expected = new double[LENGTH];
+        double[] actual = new double[LENGTH];
+
+        // When
+        scalar.scores(views, likes, InfluenceWeights.DEFAULT, expected, LENGTH);
+        vector.scores(views, likes, InfluenceWeights.DEFAULT, actual, LENGTH);
+
+        // Then
+        assertThat(actual).containsExactly(expected);
+        assertThat(vector.argmax(actual, 0, LENGTH)).isEqualTo(scalar.argmax(expected, 0, LENGTH));
+        assertThat(vector.argmax(actual, 13, 5_000)).isEqualTo(scalar.argmax(expected, 13, 5_000));
+        assertThat(vector.argmax(actual, 3, 5)).isEqualTo(scalar.argmax(expected, 3, 5));
+    }
+
+    @Test
+    @DisplayName("Argmax should return the first of equal maxima and -1 for an empty range")
+    void argmaxShouldPreferFirstMaximum() {
+        // Given
+        double[] values = {1.0, 5.0, 2.0, 5.0, 3.0};
+
+        // When / Then
+        assertThat(scalar.argmax(values, 0, values.length)).isEqualTo(1);
+        assertThat(scalar.argmax(values, 2, values.length)).isEqualTo(3);
+        assertThat(scalar.argmax(values, 2, 2)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should sum values per group")
+    void shouldSumPerGroup() {
+        // Given
+        int[] groups = {0, 2, 0, 1, 2};
+        double[] values = {1.0, 2.0, 3.0, 4.0, 5.0};
+        double[] sums = new double[3];
+
+        // When
+        scalar.groupSums(groups, values, sums, values.length);
+
+        // Then
+        assertThat(sums).containsExactly(4.0, 4.0, 7.0);
+    }
+}
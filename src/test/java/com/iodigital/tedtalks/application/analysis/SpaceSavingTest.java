@@ -0,0 +1,73 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SpaceSaving Sketch Tests")
+class SpaceSavingTest {
+
+    @Test
+    @DisplayName("Should be exact while there are no more items than counters")
+    void shouldBeExactWithinCapacity() {
+        // Given
+        SpaceSaving<String> sketch = new SpaceSaving<>(10);
+
+        // When
+        sketch.add("a", 5);
+        sketch.add("b", 7);
+        sketch.add("a", 4);
+        sketch.add("c", 1);
+        sketch.subtract("b", 2);
+
+        // Then
+        assertThat(sketch.top(2)).containsExactly(
+                new SpaceSaving.Entry<>("a", 9, 0, true),
+                new SpaceSaving.Entry<>("b", 5, 0, true));
+        assertThat(sketch.floor()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep every true total within the reported bounds under adds and subtractions")
+    void shouldRespectErrorBounds() {
+        // Given
+        Random random = new Random(1);
+        SpaceSaving<Integer> sketch = new SpaceSaving<>(200);
+        Map<Integer, Double> exact = new HashMap<>();
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            int item = (int) Math.pow(10_000, random.nextDouble());
+            double weight = random.nextDouble() * 1_000;
+            sketch.add(item, weight);
+            exact.merge(item, weight, Double::sum);
+            if (random.nextInt(10) == 0) {
+                double takenBack = weight / 2;
+                sketch.subtract(item, takenBack);
+                exact.merge(item, -takenBack, Double::sum);
+            }
+        }
+
+        // Then
+        List<SpaceSaving.Entry<Integer>> tracked = sketch.top(200);
+        for (SpaceSaving.Entry<Integer> entry : tracked) {
+            double trueTotal = exact.get(entry.item());
+            assertThat(trueTotal).isLessThanOrEqualTo(entry.estimate() + 1e-3);
+            assertThat(trueTotal).isGreaterThanOrEqualTo(entry.estimate() - entry.maxError() - 1e-3);
+        }
+        Set<Integer> trackedItems = tracked.stream().map(SpaceSaving.Entry::item).collect(Collectors.toSet());
+        exact.forEach((item, total) -> {
+            if (!trackedItems.contains(item)) {
+                assertThat(total).isLessThanOrEqualTo(sketch.floor() + 1e-3);
+            }
+        });
+    }
+}
@@ -0,0 +1,273 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import com.iodigital.tedtalks.application.event.TalkDeltaEvent;
+import com.iodigital.tedtalks.domain.model.Speaker;
+import com.iodigital.tedtalks.domain.model.TedTalk;
+import com.iodigital.tedtalks.domain.model.valueobject.*;
+import com.iodigital.tedtalks.domain.repository.SpeakerAggregate;
+import com.iodigital.tedtalks.domain.repository.TalkMetricsConsumer;
+import com.iodigital.tedtalks.domain.repository.TedTalkRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Speaker Aggregates Tests")
+class SpeakerAggregatesTest {
+
+    @Mock
+    private TedTalkRepository repository;
+
+    private SpeakerAggregates aggregates;
+
+    @BeforeEach
+    void setUp() {
+        aggregates = new SpeakerAggregates(repository, Runnable::run,
+                TransactionOperations.withoutTransaction(), AnalysisMemoryMode.EXACT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should scan inside the read-only transaction so the cursor streams")
+    void shouldScanInsideTransaction() {
+        // Given
+        List<String> steps = new ArrayList<>();
+        TransactionOperations transaction = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                steps.add("begin");
+                try {
+                    return action.doInTransaction(null);
+                } finally {
+                    steps.add("end");
+                }
+            }
+        };
+        doAnswer(invocation -> {
+            steps.add("scan");
+            return null;
+        }).when(repository).forEachTalkMetrics(any());
+        SpeakerAggregates scanned = new SpeakerAggregates(repository, Runnable::run, transaction,
+                AnalysisMemoryMode.EXACT);
+
+        // When
+        scanned.rebuild();
+
+        // Then
+        assertThat(steps).containsExactly("begin", "scan", "end");
+        assertThat(scanned.isReady()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should build speaker totals from the database and rank them by influence")
+    void shouldBuildAndRankFromDatabase() {
+        // Given
+        doAnswer(invocation -> {
+            TalkMetricsConsumer consumer = invocation.getArgument(0);
+            consumer.accept("Al Gore", 2006, 2, 1000, 100);
+            consumer.accept("Al Gore", 2016, 3, 2000, 200);
+            consumer.accept("Jane Smith", 2020, 1, 5000, 500);
+            consumer.accept("Bob Lee", 2019, 1, 10, 1);
+            return null;
+        }).when(repository).forEachTalkMetrics(any());
+
+        // When
+        aggregates.rebuild();
+
+        // Then
+        assertThat(aggregates.isReady()).isTrue();
+        assertThat(aggregates.top(2)).extracting(SpeakerAggregate::speaker)
+                .containsExactly("Jane Smith", "Al Gore");
+        SpeakerAggregate alGore = aggregates.find("Al Gore").orElseThrow();
+        assertThat(alGore.talkCount()).isEqualTo(2);
+        assertThat(alGore.totalViews()).isEqualTo(3000);
+        assertThat(alGore.totalLikes()).isEqualTo(300);
+        assertThat(alGore.totalInfluence()).isEqualTo(TedTalk.influenceScore(3000, 300));
+        assertThat(alGore.firstYear()).isEqualTo(2006);
+        assertThat(alGore.lastYear()).isEqualTo(2016);
+    }
+
+    @Test
+    @DisplayName("Should re-rank a speaker when talks are added, replaced and removed")
+    void shouldApplyWritesIncrementally() {
+        // Given
+        aggregates.rebuild();
+        TedTalk first = talk("Al Gore", 2006, 1000, 100);
+        TedTalk second = talk("Al Gore", 2016, 2000, 200);
+        TedTalk other = talk("Jane Smith", 2020, 2500, 250);
+        aggregates.onTalkDelta(TalkDeltaEvent.added(List.of(first, second, other)));
+        assertThat(aggregates.top(1)).extracting(SpeakerAggregate::speaker).containsExactly("Al Gore");
+
+        // When
+        aggregates.onTalkDelta(TalkDeltaEvent.replaced(second, talk("Al Gore", 2016, 500, 50)));
+        aggregates.onTalkDelta(TalkDeltaEvent.removed(first));
+
+        // Then
+        assertThat(aggregates.top(2)).extracting(SpeakerAggregate::speaker)
+                .containsExactly("Jane Smith", "Al Gore");
+        SpeakerAggregate alGore = aggregates.find("Al Gore").orElseThrow();
+        assertThat(alGore.talkCount()).isEqualTo(1);
+        assertThat(alGore.totalViews()).isEqualTo(500);
+        assertThat(alGore.firstYear()).isEqualTo(2016);
+    }
+
+    @Test
+    @DisplayName("Should drop a speaker whose last talk was removed")
+    void shouldDropSpeakerWithoutTalks() {
+        // Given
+        aggregates.rebuild();
+        TedTalk only = talk("Al Gore", 2006, 1000, 100);
+        aggregates.onTalkDelta(TalkDeltaEvent.added(List.of(only)));
+
+        // When
+        aggregates.onTalkDelta(TalkDeltaEvent.removed(only));
+
+        // Then
+        assertThat(aggregates.find("Al Gore")).isEmpty();
+        assertThat(aggregates.top(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should neither build nor apply writes in approximate mode")
+    void shouldStayEmptyInApproximateMode() {
+        // Given
+        SpeakerAggregates disabled = new SpeakerAggregates(repository, Runnable::run,
+                TransactionOperations.withoutTransaction(), AnalysisMemoryMode.APPROXIMATE);
+
+        // When
+        disabled.onApplicationReady();
+        disabled.onTalkDelta(TalkDeltaEvent.added(List.of(talk("Al Gore", 2006, 1000, 100))));
+
+        // Then
+        assertThat(disabled.isReady()).isFalse();
+        assertThat(disabled.find("Al Gore")).isEmpty();
+        verify(repository, never()).forEachTalkMetrics(any());
+    }
+
+    @Test
+    @DisplayName("Should apply a write only after its transaction commits")
+    void shouldApplyWritesAfterCommit() {
+        // Given
+        aggregates.rebuild();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        aggregates.onTalkDelta(TalkDeltaEvent.added(List.of(talk("Al Gore", 2006, 1000, 100))));
+
+        // Then
+        assertThat(aggregates.find("Al Gore")).isEmpty();
+        commit(TransactionSynchronizationManager.getSynchronizations());
+        assertThat(aggregates.find("Al Gore")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should not count a write the rebuild scan already saw")
+    void shouldNotCountScannedWriteTwice() throws Exception {
+        // Given - a transaction reaching its commit before the rebuild starts
+        doAnswer(invocation -> {
+            TalkMetricsConsumer consumer = invocation.getArgument(0);
+            consumer.accept("Al Gore", 2006, 1, 1000, 100);
+            return null;
+        }).when(repository).forEachTalkMetrics(any());
+        TransactionSynchronizationManager.initSynchronization();
+        aggregates.onTalkDelta(TalkDeltaEvent.added(List.of(talk("Al Gore", 2006, 1000, 100))));
+        List<TransactionSynchronization> transaction = TransactionSynchronizationManager.getSynchronizations();
+        transaction.forEach(synchronization -> synchronization.beforeCommit(false));
+
+        // When - the rebuild waits at the commit gate until the write is delivered
+        Thread rebuild = new Thread(aggregates::rebuild);
+        rebuild.start();
+        rebuild.join(200);
+        assertThat(rebuild.isAlive()).isTrue();
+        transaction.forEach(TransactionSynchronization::afterCommit);
+        transaction.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        rebuild.join();
+
+        // Then
+        assertThat(aggregates.find("Al Gore").orElseThrow().talkCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replay a write that commits while the rebuild scans")
+    void shouldReplayWriteCommittedDuringScan() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        doAnswer(invocation -> {
+            TalkMetricsConsumer consumer = invocation.getArgument(0);
+            consumer.accept("Al Gore", 2006, 1, 1000, 100);
+            aggregates.onTalkDelta(TalkDeltaEvent.added(List.of(talk("Al Gore", 2016, 2000, 200))));
+            commit(TransactionSynchronizationManager.getSynchronizations());
+            return null;
+        }).when(repository).forEachTalkMetrics(any());
+
+        // When
+        aggregates.rebuild();
+
+        // Then
+        SpeakerAggregate alGore = aggregates.find("Al Gore").orElseThrow();
+        assertThat(alGore.talkCount()).isEqualTo(2);
+        assertThat(alGore.totalViews()).isEqualTo(3000);
+    }
+
+    @Test
+    @DisplayName("Should apply a re-imported batch of talks as replacements")
+    void shouldReplaceTalksInBulk() {
+        // Given
+        aggregates.rebuild();
+        TedTalk first = talk("Al Gore", 2006, 1000, 100);
+        TedTalk second = talk("Jane Smith", 2020, 2000, 200);
+        aggregates.onTalkDelta(TalkDeltaEvent.added(List.of(first, second)));
+
+        // When
+        aggregates.onTalkDelta(TalkDeltaEvent.replaced(List.of(first, second),
+                List.of(talk("Al Gore", 2006, 4000, 400), talk("Jane Smith", 2020, 2500, 250))));
+
+        // Then - same talk counts, new totals
+        assertThat(aggregates.top(2)).extracting(SpeakerAggregate::speaker)
+                .containsExactly("Al Gore", "Jane Smith");
+        SpeakerAggregate alGore = aggregates.find("Al Gore").orElseThrow();
+        assertThat(alGore.talkCount()).isEqualTo(1);
+        assertThat(alGore.totalViews()).isEqualTo(4000);
+        assertThat(alGore.totalLikes()).isEqualTo(400);
+    }
+
+    private static void commit(List<TransactionSynchronization> transaction) {
+        transaction.forEach(synchronization -> synchronization.beforeCommit(false));
+        transaction.forEach(TransactionSynchronization::afterCommit);
+        transaction.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private static TedTalk talk(String speaker, int year, long views, long likes) {
+        return TedTalk.create(
+                speaker + " " + year,
+                Speaker.create(speaker, null),
+                new TalkDate(year, 1),
+                Views.of(views),
+                Likes.of(likes),
+                Link.of("https://ted.com/talks/" + year)
+        );
+    }
+}
@@ -0,0 +1,88 @@
+package com.iodigital.tedtalks.application.analysis;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Top-K Heap Tests")
+class TopKTest {
+
+    @Test
+    @DisplayName("Should keep the highest scores, best first")
+    void shouldKeepHighestScores() {
+        // Given
+        TopK<String> topK = new TopK<>(3);
+
+        // When
+        topK.offer("c", 3.0);
+        topK.offer("a", 1.0);
+        topK.offer("e", 5.0);
+        topK.offer("b", 2.0);
+        topK.offer("d", 4.0);
+
+        // Then
+        assertThat(topK.toSortedList()).containsExactly("e", "d", "c");
+        assertThat(topK.accepts(2.5)).isFalse();
+        assertThat(topK.accepts(3.5)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should return everything when fewer than k items were offered")
+    void shouldReturnAllWhenUnderfilled() {
+        // Given
+        TopK<String> topK = new TopK<>(10);
+        topK.offer("low", 1.0);
+        topK.offer("high", 2.0);
+
+        // When
+        List<String> result = topK.toSortedList();
+
+        // Then
+        assertThat(result).containsExactly("high", "low");
+        assertThat(topK.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should give the same result for merged partitions as for one pass")
+    void shouldMergePartitions() {
+        // Given
+        double[] scores = new Random(42).doubles(10_000).toArray();
+        TopK<Integer> single = new TopK<>(25);
+        TopK<Integer> left = new TopK<>(25);
+        TopK<Integer> right = new TopK<>(25);
+        for (int i = 0; i < scores.length; i++) {
+            single.offer(i, scores[i]);
+            (i < scores.length / 2 ? left : right).offer(i, scores[i]);
+        }
+
+        // When
+        List<Integer> merged = left.merge(right).toSortedList();
+
+        // Then
+        List<Integer> expected = IntStream.range(0, scores.length).boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> scores[i]).reversed())
+                .limit(25)
+                .toList();
+        assertThat(merged).isEqualTo(expected);
+        assertThat(single.toSortedList()).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should keep nothing when k is zero")
+    void shouldKeepNothingForZero() {
+        // Given
+        TopK<String> topK = new TopK<>(0);
+
+        // When
+        topK.offer("a", 1.0);
+
+        // Then
+        assertThat(topK.toSortedList()).isEmpty();
+    }
+}
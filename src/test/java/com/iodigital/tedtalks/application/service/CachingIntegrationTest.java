@@ -108,10 +108,11 @@ class CachingIntegrationTest {
     @Test
     @DisplayName("Should verify cache manager has required caches")
     void shouldHaveRequiredCaches() {
-        // Then - Check for core caches (allSpeakers only exists when SpeakerService is invoked)
+        // Then - Check for core caches (allSpeakers only exists when SpeakerService is invoked);
+        // influence analyses come from SpeakerAggregates and AnalysisSnapshots instead of a cache
         assertThat(cacheManager.getCacheNames())
-                .contains("allTedTalks", "topSpeakers",
-                         "mostInfluentialPerYear", "speakerAnalysis");
+                .contains("allTedTalks")
+                .doesNotContain("topSpeakers", "mostInfluentialPerYear", "speakerAnalysis");
     }
 
     @Test
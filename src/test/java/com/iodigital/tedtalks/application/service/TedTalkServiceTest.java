@@ -1,6 +1,7 @@
 package com.iodigital.tedtalks.application.service;
 
 import com.iodigital.tedtalks.application.dto.TedTalkDto;
+import com.iodigital.tedtalks.application.event.TalkDeltaEvent;
 import com.iodigital.tedtalks.domain.model.Speaker;
 import com.iodigital.tedtalks.domain.model.TedTalk;
 import com.iodigital.tedtalks.domain.model.valueobject.*;
@@ -10,9 +11,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -21,6 +24,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +34,9 @@ class TedTalkServiceTest {
     @Mock
     private TedTalkRepository tedTalkRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TedTalkService tedTalkService;
 
@@ -99,15 +106,47 @@ class TedTalkServiceTest {
                 5000L,
                 "https://ted.com/talks/new"
         );
-        when(tedTalkRepository.save(any(TedTalk.class))).thenReturn(testTalk);
+        when(tedTalkRepository.save(any(TedTalk.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
         TedTalkDto result = tedTalkService.create(request);
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.title()).isEqualTo("Test Talk");
+        assertThat(result.title()).isEqualTo("New Talk");
         verify(tedTalkRepository, times(1)).save(any(TedTalk.class));
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues().get(0)).isInstanceOfSatisfying(TalkDeltaEvent.class, delta -> {
+            assertThat(delta.removed()).isEmpty();
+            assertThat(delta.added()).extracting(TedTalk::getTitle).containsExactly("New Talk");
+        });
+    }
+
+    @Test
+    @DisplayName("Should treat creating an existing talk as replacing it")
+    void shouldReplaceExistingTalkOnCreate() {
+        // Given
+        CreateTedTalkRequest request = new CreateTedTalkRequest(
+                "Test Talk",
+                "Test Speaker",
+                "January 2020",
+                2000000L,
+                60000L,
+                "https://ted.com/talks/test"
+        );
+        TedTalk stored = TedTalk.withId(testTalk.getId(), testTalk.getTitle(), testTalk.getSpeaker(),
+                testTalk.getDate(), Views.of(2000000L), Likes.of(60000L), testTalk.getLink());
+        when(tedTalkRepository.findSameTalks(anyCollection())).thenReturn(List.of(testTalk));
+        when(tedTalkRepository.save(any(TedTalk.class))).thenReturn(stored);
+
+        // When
+        TedTalkDto result = tedTalkService.create(request);
+
+        // Then
+        assertThat(result.id()).isEqualTo(testTalk.getId().toString());
+        verify(eventPublisher).publishEvent(TalkDeltaEvent.replaced(testTalk, stored));
+        verify(tedTalkRepository, never()).findBySpeakerName(any());
     }
 
     @Test
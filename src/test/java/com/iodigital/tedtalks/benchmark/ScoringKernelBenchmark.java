@@ -0,0 +1,91 @@
+package com.iodigital.tedtalks.benchmark;
+
+import com.iodigital.tedtalks.application.analysis.ScalarScoringKernel;
+import com.iodigital.tedtalks.application.analysis.ScoringKernel;
+import com.iodigital.tedtalks.application.analysis.VectorScoringKernel;
+import com.iodigital.tedtalks.domain.model.valueobject.InfluenceWeights;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scalar against Vector API scoring kernels: scoring every talk, the best talk, and per-speaker
+ * influence sums.
+ * <p>
+ * Run after {@code mvn test-compile}:
+ * <pre>
+ * mvn -q dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java --add-modules jdk.incubator.vector -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     org.openjdk.jmh.Main ScoringKernelBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g", "--add-modules", "jdk.incubator.vector"})
+public class ScoringKernelBenchmark {
+
+    private static final int SPEAKERS = 10_000;
+
+    @Param({"1000000", "10000000"})
+    public int talks;
+
+    @Param({"scalar", "vector"})
+    public String kernelName;
+
+    private ScoringKernel kernel;
+    private long[] views;
+    private long[] likes;
+    private int[] speakers;
+    private double[] scores;
+    private double[] sums;
+
+    @Setup
+    public void setUp() {
+        kernel = "vector".equals(kernelName) ? new VectorScoringKernel() : new ScalarScoringKernel();
+        Random random = new Random(42);
+        views = new long[talks];
+        likes = new long[talks];
+        speakers = new int[talks];
+        for (int i = 0; i < talks; i++) {
+            views[i] = random.nextInt(100_000_000);
+            likes[i] = views[i] / (10 + random.nextInt(90));
+            speakers[i] = random.nextInt(SPEAKERS);
+        }
+        scores = new double[talks];
+        sums = new double[SPEAKERS];
+        kernel.scores(views, likes, InfluenceWeights.DEFAULT, scores, talks);
+    }
+
+    @Benchmark
+    public double[] scores() {
+        kernel.scores(views, likes, InfluenceWeights.DEFAULT, scores, talks);
+        return scores;
+    }
+
+    @Benchmark
+    public int argmax() {
+        return kernel.argmax(scores, 0, talks);
+    }
+
+    @Benchmark
+    public double[] groupSums() {
+        Arrays.fill(sums, 0);
+        kernel.groupSums(speakers, scores, sums, talks);
+        return sums;
+    }
+}
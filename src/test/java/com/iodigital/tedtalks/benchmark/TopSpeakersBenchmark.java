@@ -0,0 +1,98 @@
+package com.iodigital.tedtalks.benchmark;
+
+import com.iodigital.tedtalks.application.analysis.TopK;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selecting the top 100 speakers by influence: full sort then limit (the previous approach),
+ * one bounded heap, and four partition heaps merged.
+ * <p>
+ * Run after {@code mvn test-compile}:
+ * <pre>
+ * mvn -q dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main TopSpeakersBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+public class TopSpeakersBenchmark {
+
+    private static final int LIMIT = 100;
+    private static final int PARTITIONS = 4;
+
+    @Param({"10000", "1000000", "10000000"})
+    public int speakers;
+
+    private Speaker[] data;
+
+    public record Speaker(String name, double influence) {
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        data = new Speaker[speakers];
+        for (int i = 0; i < speakers; i++) {
+            data[i] = new Speaker("speaker-" + i, random.nextDouble() * 1_000_000);
+        }
+    }
+
+    @Benchmark
+    public List<Speaker> sortThenLimit() {
+        return Arrays.stream(data)
+                .sorted(Comparator.comparingDouble(Speaker::influence).reversed())
+                .limit(LIMIT)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Speaker> singleHeap() {
+        return topK(0, data.length).toSortedList();
+    }
+
+    @Benchmark
+    public List<Speaker> partitionedHeaps() {
+        int partitionSize = (data.length + PARTITIONS - 1) / PARTITIONS;
+        @SuppressWarnings("unchecked")
+        CompletableFuture<TopK<Speaker>>[] others = new CompletableFuture[PARTITIONS - 1];
+        for (int partition = 1; partition < PARTITIONS; partition++) {
+            int from = Math.min(data.length, partition * partitionSize);
+            int to = Math.min(data.length, from + partitionSize);
+            others[partition - 1] = CompletableFuture.supplyAsync(() -> topK(from, to));
+        }
+        TopK<Speaker> best = topK(0, Math.min(data.length, partitionSize));
+        for (CompletableFuture<TopK<Speaker>> other : others) {
+            best.merge(other.join());
+        }
+        return best.toSortedList();
+    }
+
+    private TopK<Speaker> topK(int from, int to) {
+        TopK<Speaker> best = new TopK<>(LIMIT);
+        for (int i = from; i < to; i++) {
+            best.offer(data[i], data[i].influence());
+        }
+        return best;
+    }
+}
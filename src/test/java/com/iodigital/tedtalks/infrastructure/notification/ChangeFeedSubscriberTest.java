@@ -0,0 +1,142 @@
+package com.iodigital.tedtalks.infrastructure.notification;
+
+import com.iodigital.tedtalks.application.cache.CacheInvalidator;
+import com.iodigital.tedtalks.application.cache.ChangeKind;
+import com.iodigital.tedtalks.application.event.RemoteDataChangedEvent;
+import com.iodigital.tedtalks.infrastructure.persistence.jdbc.JdbcChangeFeed;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Two nodes share one in-memory H2 change feed; node B polls what node A appends.
+ */
+@DisplayName("Change Feed Subscriber Tests")
+class ChangeFeedSubscriberTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcChangeFeed nodeA;
+    private ConcurrentMapCacheManager nodeBCaches;
+    private ChangeFeedSubscriber nodeBSubscriber;
+    private List<Object> nodeBEvents;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:changes-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE data_changes (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    kind VARCHAR(32) NOT NULL,
+                    origin_node VARCHAR(64) NOT NULL,
+                    changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+                    xact_id BIGINT GENERATED ALWAYS AS (id)
+                )
+                """);
+
+        nodeA = new JdbcChangeFeed(dataSource, "node-a");
+        JdbcChangeFeed nodeB = new JdbcChangeFeed(dataSource, "node-b");
+        nodeBCaches = new ConcurrentMapCacheManager();
+        nodeBEvents = new ArrayList<>();
+        nodeBSubscriber = new ChangeFeedSubscriber(nodeB, new CacheInvalidator(nodeBCaches), nodeBEvents::add,
+                dataSource,
+                Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofHours(24),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+
+        for (String cacheName : ChangeKind.TALKS.cacheNames()) {
+            nodeBCaches.getCache(cacheName).put("key", "cached");
+        }
+    }
+
+    @Test
+    @DisplayName("Should start even when the change feed cannot be read yet")
+    void shouldStartWhenFeedIsUnreadable() {
+        // Given
+        jdbcTemplate.execute("ALTER TABLE data_changes RENAME TO data_changes_pending");
+
+        // When/Then - The worker retries instead of failing the context
+        try {
+            assertThatCode(nodeBSubscriber::start).doesNotThrowAnyException();
+        } finally {
+            nodeBSubscriber.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should evict every talk-derived cache when another node changes talks")
+    void shouldEvictAffectedCachesForRemoteChange() {
+        // Given
+        nodeA.append(ChangeKind.TALKS);
+
+        // When
+        nodeBSubscriber.poll();
+
+        // Then
+        ChangeKind.TALKS.cacheNames().forEach(cacheName ->
+                assertThat(nodeBCaches.getCache(cacheName).get("key")).isNull());
+        assertThat(nodeBEvents).containsExactly(new RemoteDataChangedEvent(Set.of(ChangeKind.TALKS)));
+    }
+
+    @Test
+    @DisplayName("Should evict only the speaker list for a speaker profile change")
+    void shouldEvictOnlySpeakerListForProfileChange() {
+        // Given
+        nodeA.append(ChangeKind.SPEAKER_PROFILE);
+
+        // When
+        nodeBSubscriber.poll();
+
+        // Then
+        assertThat(nodeBCaches.getCache("allSpeakers").get("key")).isNull();
+        assertThat(nodeBCaches.getCache("allTedTalks").get("key")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should ignore changes this node made itself")
+    void shouldIgnoreOwnChanges() {
+        // Given
+        jdbcTemplate.update("INSERT INTO data_changes (kind, origin_node) VALUES ('TALKS', 'node-b')");
+
+        // When
+        nodeBSubscriber.poll();
+
+        // Then
+        assertThat(nodeBCaches.getCache("allTedTalks").get("key")).isNotNull();
+        assertThat(nodeBEvents).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should pick up a change that commits after a higher id was already seen")
+    void shouldPickUpLateCommittedChange() {
+        // Given - Id 2 is visible before id 1 committed
+        jdbcTemplate.update("INSERT INTO data_changes (id, kind, origin_node) VALUES (2, 'SPEAKER_PROFILE', 'node-a')");
+        nodeBSubscriber.poll();
+        assertThat(nodeBCaches.getCache("allTedTalks").get("key")).isNotNull();
+
+        // When
+        jdbcTemplate.update("INSERT INTO data_changes (id, kind, origin_node) VALUES (1, 'TALKS', 'node-a')");
+        nodeBSubscriber.poll();
+
+        // Then
+        assertThat(nodeBCaches.getCache("allTedTalks").get("key")).isNull();
+    }
+}
@@ -0,0 +1,145 @@
+package com.iodigital.tedtalks.infrastructure.persistence.columnar;
+
+import com.iodigital.tedtalks.application.port.ChangeFeed;
+import com.iodigital.tedtalks.domain.model.TedTalk;
+import com.iodigital.tedtalks.domain.repository.TedTalkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.iodigital.tedtalks.infrastructure.persistence.columnar.ColumnarTedTalkRepositoryTest.talk;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Columnar Snapshot Tests")
+class ColumnarSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private TedTalkRepository delegate;
+
+    @Mock
+    private ChangeFeed changeFeed;
+
+    private ColumnarSnapshot snapshot;
+    private TedTalk first;
+    private TedTalk second;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = new ColumnarSnapshot(tempDir.resolve("talks.columns"));
+        first = talk("Climate Action", "Al Gore", 2020, 1000, 100);
+        second = talk("Future of Work", "Jane Smith", 2021, 3000, 300);
+    }
+
+    @Test
+    @DisplayName("Should restart from the snapshot when the database has not changed")
+    void shouldRestoreMatchingSnapshot() {
+        // Given
+        when(changeFeed.version()).thenReturn(7L);
+        givenDatabaseHolds(first, second);
+        ColumnarTedTalkRepository previousNode = node(delegate);
+        previousNode.load();
+        previousNode.delete(first.getId());
+        previousNode.writeSnapshot();
+        TedTalkRepository emptyDatabase = mock(TedTalkRepository.class);
+
+        // When
+        ColumnarTedTalkRepository restarted = node(emptyDatabase);
+        restarted.load();
+
+        // Then
+        verifyNoInteractions(emptyDatabase);
+        assertThat(restarted.count()).isEqualTo(1);
+        assertThat(restarted.findById(first.getId())).isEmpty();
+        assertThat(restarted.findById(second.getId())).map(TedTalk::getTitle).contains("Future of Work");
+        assertThat(restarted.findBySpeakerName("Jane Smith")).hasSize(1);
+        assertThat(restarted.searchByTitle("work", 10)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should load from the database when the snapshot is stale")
+    void shouldIgnoreStaleSnapshot() {
+        // Given
+        when(changeFeed.version()).thenReturn(7L);
+        givenDatabaseHolds(first);
+        ColumnarTedTalkRepository previousNode = node(delegate);
+        previousNode.load();
+        previousNode.writeSnapshot();
+        when(changeFeed.countSince(7L)).thenReturn(1L);
+        givenDatabaseHolds(first, second);
+
+        // When
+        ColumnarTedTalkRepository restarted = node(delegate);
+        restarted.load();
+
+        // Then
+        verify(delegate, times(2)).processBatches(anyInt(), any());
+        assertThat(restarted.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not write a snapshot while another node's change is not loaded")
+    void shouldSkipSnapshotWithForeignChangePending() {
+        // Given
+        when(changeFeed.version()).thenReturn(7L);
+        givenDatabaseHolds(first);
+        ColumnarTedTalkRepository node = node(delegate);
+        node.load();
+        when(changeFeed.version()).thenReturn(9L);
+        when(changeFeed.countFromOtherNodes(7L, 9L)).thenReturn(1L);
+
+        // When
+        node.writeSnapshot();
+
+        // Then
+        assertThat(snapshot.file()).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should ignore a corrupted snapshot file")
+    void shouldIgnoreCorruptedSnapshot() throws Exception {
+        // Given
+        when(changeFeed.version()).thenReturn(7L);
+        givenDatabaseHolds(first);
+        ColumnarTedTalkRepository previousNode = node(delegate);
+        previousNode.load();
+        previousNode.writeSnapshot();
+        byte[] bytes = Files.readAllBytes(snapshot.file());
+        bytes[bytes.length - 1] ^= 0x7F;
+        Files.write(snapshot.file(), bytes);
+
+        // When
+        ColumnarTedTalkRepository restarted = node(delegate);
+        restarted.load();
+
+        // Then
+        verify(delegate, times(2)).processBatches(anyInt(), any());
+        assertThat(restarted.count()).isEqualTo(1);
+    }
+
+    private ColumnarTedTalkRepository node(TedTalkRepository database) {
+        return new ColumnarTedTalkRepository(database, changeFeed, snapshot, Runnable::run);
+    }
+
+    private void givenDatabaseHolds(TedTalk... talks) {
+        doAnswer(invocation -> {
+            invocation.<Consumer<List<TedTalk>>>getArgument(1).accept(List.of(talks));
+            return null;
+        }).when(delegate).processBatches(anyInt(), any());
+    }
+}
@@ -0,0 +1,234 @@
+package com.iodigital.tedtalks.infrastructure.persistence.columnar;
+
+import com.iodigital.tedtalks.application.cache.ChangeKind;
+import com.iodigital.tedtalks.application.event.RemoteDataChangedEvent;
+import com.iodigital.tedtalks.application.port.ChangeFeed;
+import com.iodigital.tedtalks.domain.model.Speaker;
+import com.iodigital.tedtalks.domain.model.TedTalk;
+import com.iodigital.tedtalks.domain.model.valueobject.*;
+import com.iodigital.tedtalks.domain.repository.CursorPage;
+import com.iodigital.tedtalks.domain.repository.PageCursor;
+import com.iodigital.tedtalks.domain.repository.SpeakerAggregate;
+import com.iodigital.tedtalks.domain.repository.TedTalkRepository;
+import com.iodigital.tedtalks.domain.repository.YearAggregate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Columnar TedTalk Repository Tests")
+class ColumnarTedTalkRepositoryTest {
+
+    @Mock
+    private TedTalkRepository delegate;
+
+    @Mock
+    private ChangeFeed changeFeed;
+
+    private ColumnarTedTalkRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ColumnarTedTalkRepository(delegate, changeFeed, null, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve loaded talks from memory without reading the database again")
+    void shouldServeLoadedTalksFromMemory() {
+        // Given
+        TedTalk first = talk("Climate Action", "Al Gore", 2020, 1000, 100);
+        TedTalk second = talk("Future of Work", "Jane Smith", 2021, 3000, 300);
+        givenDatabaseHolds(first, second);
+
+        // When
+        repository.load();
+
+        // Then
+        assertThat(repository.count()).isEqualTo(2);
+        assertThat(repository.findById(first.getId())).map(TedTalk::getTitle).contains("Climate Action");
+        assertThat(repository.findByYear(2021)).extracting(TedTalk::getId)
+                .containsExactly(second.getId());
+        assertThat(repository.findBySpeakerName("Al Gore")).extracting(TedTalk::getId)
+                .containsExactly(first.getId());
+        assertThat(repository.searchByTitle("climate", 10)).extracting(TedTalk::getId)
+                .containsExactly(first.getId());
+        verify(delegate, times(1)).processBatches(anyInt(), any());
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    @DisplayName("Should page through talks in insertion order")
+    void shouldPageThroughTalksInOrder() {
+        // Given
+        TedTalk first = talk("Talk A", "Speaker 1", 2019, 10, 1);
+        TedTalk second = talk("Talk B", "Speaker 2", 2020, 20, 2);
+        TedTalk third = talk("Talk C", "Speaker 3", 2021, 30, 3);
+        givenDatabaseHolds(first, second, third);
+        repository.load();
+
+        // When
+        CursorPage<TedTalk> firstPage = repository.findPage(PageCursor.start(), 2);
+        CursorPage<TedTalk> secondPage = repository.findPage(PageCursor.decode(firstPage.nextCursor()), 2);
+
+        // Then
+        assertThat(firstPage.items()).extracting(TedTalk::getId)
+                .containsExactly(first.getId(), second.getId());
+        assertThat(secondPage.items()).extracting(TedTalk::getId)
+                .containsExactly(third.getId());
+        assertThat(secondPage.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should write through to the database and update counts of an existing talk")
+    void shouldWriteThroughAndUpsert() {
+        // Given
+        TedTalk existing = talk("Climate Action", "Al Gore", 2020, 1000, 100);
+        givenDatabaseHolds(existing);
+        repository.load();
+        TedTalk reimported = talk("Climate Action", "Al Gore", 2020, 5000, 500);
+
+        // When
+        repository.saveAll(List.of(reimported));
+
+        // Then
+        verify(delegate).saveAll(List.of(reimported));
+        assertThat(repository.count()).isEqualTo(1);
+        TedTalk stored = repository.findById(existing.getId()).orElseThrow();
+        assertThat(stored.getViews().value()).isEqualTo(5000);
+        assertThat(stored.getLikes().value()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("Should apply writes to memory only after the transaction commits")
+    void shouldApplyWritesAfterCommit() {
+        // Given
+        givenDatabaseHolds();
+        repository.load();
+        TedTalk created = talk("New Talk", "New Speaker", 2022, 100, 10);
+        when(delegate.save(created)).thenReturn(created);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        repository.save(created);
+
+        // Then
+        assertThat(repository.findById(created.getId())).isEmpty();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(repository.findById(created.getId())).map(TedTalk::getTitle).contains("New Talk");
+    }
+
+    @Test
+    @DisplayName("Should forget deleted talks and aggregate the remaining ones per speaker")
+    void shouldDeleteAndAggregate() {
+        // Given
+        TedTalk first = talk("Talk A", "Al Gore", 2019, 1000, 100);
+        TedTalk second = talk("Talk B", "Al Gore", 2021, 2000, 200);
+        TedTalk third = talk("Talk C", "Jane Smith", 2020, 500, 50);
+        givenDatabaseHolds(first, second, third);
+        repository.load();
+
+        // When
+        repository.delete(third.getId());
+
+        // Then
+        verify(delegate).delete(third.getId());
+        assertThat(repository.findById(third.getId())).isEmpty();
+        Map<String, SpeakerAggregate> aggregates = repository.aggregateBySpeakers(List.of("Al Gore", "Jane Smith"));
+        assertThat(aggregates).containsOnlyKeys("Al Gore");
+        SpeakerAggregate alGore = aggregates.get("Al Gore");
+        assertThat(alGore.talkCount()).isEqualTo(2);
+        assertThat(alGore.totalViews()).isEqualTo(3000);
+        assertThat(alGore.firstYear()).isEqualTo(2019);
+        assertThat(alGore.lastYear()).isEqualTo(2021);
+        assertThat(repository.findMostInfluentialPerYear()).extracting(TedTalk::getId)
+                .containsExactly(first.getId(), second.getId());
+    }
+
+    @Test
+    @DisplayName("Should total the talks of every year in year order")
+    void shouldAggregatePerYear() {
+        // Given
+        givenDatabaseHolds(
+                talk("Talk A", "Al Gore", 2021, 1000, 100),
+                talk("Talk B", "Jane Smith", 2019, 2000, 200),
+                talk("Talk C", "Al Gore", 2021, 500, 50));
+        repository.load();
+
+        // When
+        List<YearAggregate> years = repository.findYearAggregates();
+
+        // Then
+        assertThat(years).extracting(YearAggregate::year).containsExactly(2019, 2021);
+        YearAggregate latest = years.get(1);
+        assertThat(latest.talkCount()).isEqualTo(2);
+        assertThat(latest.totalViews()).isEqualTo(1500);
+        assertThat(latest.totalLikes()).isEqualTo(150);
+        assertThat(latest.maxInfluence()).isEqualTo(TedTalk.influenceScore(1000, 100));
+    }
+
+    @Test
+    @DisplayName("Should reload off the calling thread and coalesce changes that arrive meanwhile")
+    void shouldCoalesceReloadsOnExecutor() {
+        // Given
+        List<Runnable> queued = new ArrayList<>();
+        repository = new ColumnarTedTalkRepository(delegate, changeFeed, null, queued::add);
+        givenDatabaseHolds(talk("Talk A", "Al Gore", 2019, 1000, 100));
+        repository.load();
+        TedTalk added = talk("Talk B", "Jane Smith", 2021, 2000, 200);
+        givenDatabaseHolds(talk("Talk A", "Al Gore", 2019, 1000, 100), added);
+        RemoteDataChangedEvent event = new RemoteDataChangedEvent(Set.of(ChangeKind.TALKS));
+
+        // When
+        repository.onRemoteChanges(event);
+        repository.onRemoteChanges(event);
+
+        // Then
+        assertThat(queued).hasSize(1);
+        assertThat(repository.count()).isEqualTo(1);
+        queued.get(0).run();
+        assertThat(repository.count()).isEqualTo(2);
+        verify(delegate, times(2)).processBatches(anyInt(), any());
+    }
+
+    private void givenDatabaseHolds(TedTalk... talks) {
+        doAnswer(invocation -> {
+            invocation.<Consumer<List<TedTalk>>>getArgument(1).accept(List.of(talks));
+            return null;
+        }).when(delegate).processBatches(anyInt(), any());
+    }
+
+    static TedTalk talk(String title, String speaker, int year, long views, long likes) {
+        return TedTalk.create(
+                title,
+                Speaker.create(speaker, null),
+                new TalkDate(year, 1),
+                Views.of(views),
+                Likes.of(likes),
+                Link.of("https://ted.com/talks/" + title.toLowerCase().replace(' ', '_'))
+        );
+    }
+}
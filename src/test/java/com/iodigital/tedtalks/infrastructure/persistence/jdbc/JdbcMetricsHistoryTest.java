@@ -0,0 +1,121 @@
+package com.iodigital.tedtalks.infrastructure.persistence.jdbc;
+
+import com.iodigital.tedtalks.application.port.MetricsHistory.MetricChange;
+import com.iodigital.tedtalks.application.port.MetricsHistory.SpeakerGrowth;
+import com.iodigital.tedtalks.application.port.MetricsHistory.TalkGrowth;
+import com.iodigital.tedtalks.domain.model.Speaker;
+import com.iodigital.tedtalks.domain.model.TedTalk;
+import com.iodigital.tedtalks.domain.model.valueobject.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({TedTalkH2Repository.class, JdbcMetricsHistory.class})
+@DisplayName("JDBC Metrics History Integration Tests")
+class JdbcMetricsHistoryTest {
+
+    @Autowired
+    private TedTalkH2Repository repository;
+
+    @Autowired
+    private JdbcMetricsHistory history;
+
+    @Test
+    @DisplayName("Should rank talks and speakers by the growth recorded after their first import")
+    @Sql(scripts = "/schema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void shouldRankByRecordedGrowth() {
+        // Given - a first import creates three talks
+        repository.saveAll(List.of(
+                talk("Talk A", "Speaker 1", 1_000, 50),
+                talk("Talk B", "Speaker 2", 2_000, 100),
+                talk("Talk C", "Speaker 1", 1_000_000, 40_000)
+        ));
+        Map<String, TedTalk> created = storedTalks();
+        history.record(created.values().stream().map(MetricChange::created).toList());
+
+        // When - a re-import raises the metrics of two of them
+        repository.saveAll(List.of(
+                talk("Talk A", "Speaker 1", 5_000, 150),
+                talk("Talk B", "Speaker 2", 2_500, 110)
+        ));
+        Map<String, TedTalk> updated = storedTalks();
+        history.record(List.of(
+                MetricChange.updated(created.get("Talk A"), updated.get("Talk A")),
+                MetricChange.updated(created.get("Talk B"), updated.get("Talk B"))
+        ));
+
+        // Then - creating Talk C set its starting point and is no growth
+        Instant since = Instant.now().minus(Duration.ofHours(1));
+        assertThat(history.fastestGrowingTalks(since, 10)).containsExactly(
+                new TalkGrowth(updated.get("Talk A").getId(), 5_000, 150, 4_000, 100),
+                new TalkGrowth(updated.get("Talk B").getId(), 2_500, 110, 500, 10)
+        );
+        assertThat(history.fastestGrowingSpeakers(since, 1)).containsExactly(
+                new SpeakerGrowth("Speaker 1", 1_005_000, 40_150, 4_000, 100)
+        );
+    }
+
+    @Test
+    @DisplayName("Should leave changes recorded before the window out")
+    @Sql(scripts = "/schema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void shouldOnlyReadTheWindow() {
+        // Given
+        repository.saveAll(List.of(talk("Talk A", "Speaker 1", 1_000, 50)));
+        TedTalk before = storedTalks().get("Talk A");
+        repository.saveAll(List.of(talk("Talk A", "Speaker 1", 9_000, 90)));
+        history.record(List.of(MetricChange.updated(before, storedTalks().get("Talk A"))));
+
+        // When
+        List<TalkGrowth> growth = history.fastestGrowingTalks(Instant.now().plus(Duration.ofHours(1)), 10);
+
+        // Then
+        assertThat(growth).isEmpty();
+        assertThat(history.fastestGrowingSpeakers(Instant.now().plus(Duration.ofHours(1)), 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore changes of talks that do not exist")
+    @Sql(scripts = "/schema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void shouldIgnoreUnknownTalks() {
+        // Given
+        TedTalk unsaved = talk("Talk X", "Speaker 9", 1_000, 10);
+
+        // When
+        history.record(List.of(new MetricChange(unsaved.getId(), false, 500, 5)));
+
+        // Then
+        assertThat(history.fastestGrowingTalks(Instant.now().minus(Duration.ofHours(1)), 10)).isEmpty();
+    }
+
+    private Map<String, TedTalk> storedTalks() {
+        return repository.findAll().stream().collect(Collectors.toMap(TedTalk::getTitle, Function.identity()));
+    }
+
+    private static TedTalk talk(String title, String speaker, long views, long likes) {
+        return TedTalk.create(
+                title,
+                Speaker.create(speaker, null),
+                new TalkDate(2020, 1),
+                Views.of(views),
+                Likes.of(likes),
+                Link.of("https://ted.com/talks/" + title.toLowerCase().replace(" ", "-"))
+        );
+    }
+}
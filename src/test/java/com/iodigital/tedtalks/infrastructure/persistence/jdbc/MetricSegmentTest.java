@@ -0,0 +1,78 @@
+package com.iodigital.tedtalks.infrastructure.persistence.jdbc;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Metric Segment Tests")
+class MetricSegmentTest {
+
+    @Test
+    @DisplayName("Should decode the entries it encoded in talk id order")
+    void shouldRoundTrip() {
+        // Given
+        MetricSegment.Entry[] entries = {
+                new MetricSegment.Entry(42, false, 1_500, 40),
+                new MetricSegment.Entry(7, true, 12_000_000, 350_000),
+                new MetricSegment.Entry(43, false, -200, -3),
+                new MetricSegment.Entry(Long.MAX_VALUE / 2, false, Long.MIN_VALUE, Long.MAX_VALUE)
+        };
+
+        // When
+        byte[] segment = MetricSegment.encode(entries);
+        List<MetricSegment.Entry> decoded = new ArrayList<>();
+        MetricSegment.decode(segment, entries.length, (talkId, created, viewsDelta, likesDelta) ->
+                decoded.add(new MetricSegment.Entry(talkId, created, viewsDelta, likesDelta)));
+
+        // Then
+        assertThat(decoded).containsExactly(entries[1], entries[0], entries[2], entries[3]);
+    }
+
+    @Test
+    @DisplayName("Should take a few bytes per talk for a daily import")
+    void shouldBeCompact() {
+        // Given - 5,000 consecutive talks gaining up to 50,000 views and 1,000 likes a day
+        Random random = new Random(7);
+        MetricSegment.Entry[] entries = new MetricSegment.Entry[5_000];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new MetricSegment.Entry(i + 1, false, random.nextInt(50_000), random.nextInt(1_000));
+        }
+
+        // When
+        byte[] segment = MetricSegment.encode(entries);
+
+        // Then - a (bigint, bigint, bigint) row would take 24 bytes before any row overhead
+        assertThat(segment.length).isLessThanOrEqualTo(6 * entries.length);
+    }
+
+    @Test
+    @DisplayName("Should reject a talk listed twice")
+    void shouldRejectDuplicateTalks() {
+        // Given
+        MetricSegment.Entry[] entries = {
+                new MetricSegment.Entry(5, false, 1, 1),
+                new MetricSegment.Entry(5, false, 2, 2)
+        };
+
+        // When/Then
+        assertThatThrownBy(() -> MetricSegment.encode(entries))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a truncated segment")
+    void shouldRejectTruncatedSegment() {
+        // Given
+        byte[] segment = MetricSegment.encode(new MetricSegment.Entry[]{new MetricSegment.Entry(1, true, 1_000_000, 1)});
+
+        // When/Then
+        assertThatThrownBy(() -> MetricSegment.decode(segment, 2, (talkId, created, viewsDelta, likesDelta) -> {
+        })).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,108 @@
+package com.iodigital.tedtalks.infrastructure.persistence.jdbc;
+
+import com.iodigital.tedtalks.domain.model.Speaker;
+import com.iodigital.tedtalks.domain.repository.SpeakerWithStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(SpeakerJdbcRepository.class)
+@Sql(scripts = "/schema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@DisplayName("Speaker JDBC Repository Integration Tests")
+class SpeakerJdbcRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SpeakerJdbcRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO speakers (name) VALUES ('Hans Rosling'), ('Brene Brown'), ('No Talks Yet')");
+        jdbcTemplate.update("""
+                INSERT INTO ted_talks (title, speaker_id, date, talk_year, talk_month, views, likes, link)
+                VALUES ('Talk 1', (SELECT id FROM speakers WHERE name = 'Hans Rosling'),
+                        DATE '2006-02-01', 2006, 2, 1000, 100, 'https://ted.com/1'),
+                       ('Talk 2', (SELECT id FROM speakers WHERE name = 'Hans Rosling'),
+                        DATE '2007-03-01', 2007, 3, 2000, 200, 'https://ted.com/2'),
+                       ('Talk 3', (SELECT id FROM speakers WHERE name = 'Brene Brown'),
+                        DATE '2010-06-01', 2010, 6, 4000, 400, 'https://ted.com/3')
+                """);
+    }
+
+    @Test
+    @DisplayName("Should return every speaker with talk totals from one query")
+    void shouldFindAllSpeakersWithStats() {
+        // When
+        List<SpeakerWithStats> speakers = repository.findAllWithStats();
+
+        // Then - Speakers without talks are kept with zero totals
+        assertThat(speakers).hasSize(3);
+        assertThat(speakers)
+                .filteredOn(stats -> stats.speaker().getName().equals("Hans Rosling"))
+                .singleElement()
+                .satisfies(stats -> {
+                    assertThat(stats.totalTalks()).isEqualTo(2L);
+                    assertThat(stats.totalViews()).isEqualTo(3000L);
+                    assertThat(stats.totalLikes()).isEqualTo(300L);
+                });
+        assertThat(speakers)
+                .filteredOn(stats -> stats.speaker().getName().equals("No Talks Yet"))
+                .singleElement()
+                .satisfies(stats -> assertThat(stats.totalTalks()).isZero());
+    }
+
+    @Test
+    @DisplayName("Should find one speaker with talk totals by name and by id")
+    void shouldFindSpeakerWithStatsByNameAndId() {
+        // When
+        Optional<SpeakerWithStats> byName = repository.findByNameWithStats("Brene Brown");
+        Optional<SpeakerWithStats> byId = repository.findByIdWithStats(byName.orElseThrow().speaker().getId());
+
+        // Then
+        assertThat(byName.get().totalViews()).isEqualTo(4000L);
+        assertThat(byId).hasValueSatisfying(stats -> {
+            assertThat(stats.speaker().getName()).isEqualTo("Brene Brown");
+            assertThat(stats.totalTalks()).isEqualTo(1L);
+        });
+    }
+
+    @Test
+    @DisplayName("Should keep talk totals when a speaker is renamed")
+    void shouldKeepTalksWhenSpeakerIsRenamed() {
+        // Given
+        Speaker speaker = repository.findByName("Hans Rosling").orElseThrow();
+
+        // When - Talks reference the speaker by key, so only the speakers row changes
+        repository.save(Speaker.withId(speaker.getId(), "Hans Rosling Sr.", speaker.getBio()));
+
+        // Then
+        assertThat(repository.findByNameWithStats("Hans Rosling Sr.")).hasValueSatisfying(stats -> {
+            assertThat(stats.totalTalks()).isEqualTo(2L);
+            assertThat(stats.totalViews()).isEqualTo(3000L);
+        });
+    }
+
+    @Test
+    @DisplayName("Should return empty when the speaker does not exist")
+    void shouldReturnEmptyForUnknownSpeaker() {
+        // When/Then
+        assertThat(repository.findByNameWithStats("Unknown")).isEmpty();
+    }
+}
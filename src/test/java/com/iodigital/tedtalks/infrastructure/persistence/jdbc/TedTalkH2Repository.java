@@ -3,9 +3,16 @@ package com.iodigital.tedtalks.infrastructure.persistence.jdbc;
 import com.iodigital.tedtalks.domain.model.Speaker;
 import com.iodigital.tedtalks.domain.model.TedTalk;
 import com.iodigital.tedtalks.domain.model.valueobject.*;
+import com.iodigital.tedtalks.domain.repository.CursorPage;
+import com.iodigital.tedtalks.domain.repository.PageCursor;
+import com.iodigital.tedtalks.domain.repository.SpeakerAggregate;
+import com.iodigital.tedtalks.domain.repository.TalkMetricsConsumer;
+import com.iodigital.tedtalks.domain.repository.TalkRowConsumer;
+import com.iodigital.tedtalks.domain.repository.YearAggregate;
 import org.springframework.context.annotation.Profile;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
@@ -13,25 +20,43 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 /**
  * H2-compatible repository for testing
- * Uses MERGE instead of ON CONFLICT
+ * Upserts with plain statements instead of ON CONFLICT
  */
 @Repository
 @Profile("test")
 public class TedTalkH2Repository implements com.iodigital.tedtalks.domain.repository.TedTalkRepository {
 
-    private static final String MERGE_SQL = """
-        MERGE INTO ted_talks (
-            title, author, date, talk_year, talk_month,
+    private static final String INSERT_SQL = """
+        INSERT INTO ted_talks (
+            public_id, title, speaker_id, date, talk_year, talk_month,
             views, likes, link, influence_score, created_at
-        ) KEY(title, author)
-        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String MERGE_SPEAKER_SQL = "MERGE INTO speakers (name) KEY(name) VALUES (?)";
+
+    private static final String SELECT_TALKS = """
+        SELECT t.*, s.name AS speaker_name
+        FROM ted_talks t
+        JOIN speakers s ON s.id = t.speaker_id
+        """;
+
+    private static final String SELECT_METRICS = """
+        SELECT s.name, t.talk_year, t.talk_month, t.views, t.likes
+        FROM ted_talks t
+        JOIN speakers s ON s.id = t.speaker_id
         """;
 
     private final JdbcTemplate jdbcTemplate;
@@ -42,34 +67,110 @@ public class TedTalkH2Repository implements com.iodigital.tedtalks.domain.reposi
 
     @Override
     public void saveAll(List<TedTalk> talks) {
+        Map<String, Long> speakerIds = new HashMap<>();
         for (TedTalk talk : talks) {
-            double influenceScore = talk.calculateInfluenceScore();
+            upsert(talk, speakerIds.computeIfAbsent(talk.getSpeaker().getName(), this::resolveSpeakerId));
+        }
+    }
+
+    private long resolveSpeakerId(String name) {
+        jdbcTemplate.update(MERGE_SPEAKER_SQL, name);
+        return jdbcTemplate.queryForObject("SELECT id FROM speakers WHERE name = ?", Long.class, name);
+    }
+
+    /**
+     * Same outcome as the PostgreSQL upsert: a talk meeting an existing (title, speaker, year)
+     * row updates it and comes back with that row's public id.
+     */
+    @Override
+    public TedTalk save(TedTalk talk) {
+        long speakerId = resolveSpeakerId(talk.getSpeaker().getName());
+        int updated = jdbcTemplate.update(
+                "UPDATE ted_talks SET title = ?, speaker_id = ?, date = ?, talk_year = ?, talk_month = ?, "
+                        + "views = ?, likes = ?, link = ?, influence_score = ? WHERE public_id = ?",
+                talk.getTitle(),
+                speakerId,
+                java.sql.Date.valueOf(talk.getDate().toLocalDate()),
+                talk.getDate().year(),
+                talk.getDate().month(),
+                talk.getViews().value(),
+                talk.getLikes().value(),
+                talk.getLink().value(),
+                talk.calculateInfluenceScore(),
+                talk.getId().value()
+        );
+        if (updated > 0) {
+            return talk;
+        }
+
+        TedTalkId storedId = upsert(talk, speakerId);
+        return storedId.equals(talk.getId()) ? talk : TedTalk.withId(storedId, talk.getTitle(),
+                talk.getSpeaker(), talk.getDate(), talk.getViews(), talk.getLikes(), talk.getLink());
+    }
+
+    /**
+     * Same outcome as the PostgreSQL upsert: the talk's rows for other years are deleted and the
+     * talk inserted under one of their public ids, unless a (title, speaker, year) row already
+     * exists, which is updated instead. Returns the public id the talk is stored under.
+     */
+    private TedTalkId upsert(TedTalk talk, long speakerId) {
+        List<UUID> moved = jdbcTemplate.queryForList(
+                "SELECT public_id FROM ted_talks WHERE title = ? AND speaker_id = ? AND talk_year <> ?",
+                UUID.class,
+                talk.getTitle(),
+                speakerId,
+                talk.getDate().year()
+        );
+        if (!moved.isEmpty()) {
+            jdbcTemplate.update(
+                    "DELETE FROM ted_talks WHERE title = ? AND speaker_id = ? AND talk_year <> ?",
+                    talk.getTitle(),
+                    speakerId,
+                    talk.getDate().year()
+            );
+        }
+
+        List<UUID> existing = jdbcTemplate.queryForList(
+                "SELECT public_id FROM ted_talks WHERE title = ? AND speaker_id = ? AND talk_year = ?",
+                UUID.class,
+                talk.getTitle(),
+                speakerId,
+                talk.getDate().year()
+        );
+        if (existing.isEmpty()) {
+            TedTalkId id = moved.isEmpty() ? talk.getId() : new TedTalkId(moved.get(0));
             jdbcTemplate.update(
-                    MERGE_SQL,
+                    INSERT_SQL,
+                    id.value(),
                     talk.getTitle(),
-                    talk.getSpeaker().getName(),
+                    speakerId,
                     java.sql.Date.valueOf(talk.getDate().toLocalDate()),
                     talk.getDate().year(),
                     talk.getDate().month(),
                     talk.getViews().value(),
                     talk.getLikes().value(),
                     talk.getLink().value(),
-                    influenceScore,
+                    talk.calculateInfluenceScore(),
                     Timestamp.from(Instant.now())
             );
+            return id;
         }
-    }
 
-    @Override
-    public TedTalk save(TedTalk talk) {
-        saveAll(List.of(talk));
-        return talk;
+        TedTalkId storedId = new TedTalkId(existing.get(0));
+        jdbcTemplate.update(
+                "UPDATE ted_talks SET views = ?, likes = ?, influence_score = ? WHERE public_id = ?",
+                talk.getViews().value(),
+                talk.getLikes().value(),
+                talk.calculateInfluenceScore(),
+                storedId.value()
+        );
+        return storedId;
     }
 
     @Override
     public List<TedTalk> findAll() {
         return jdbcTemplate.query(
-                "SELECT * FROM ted_talks",
+                SELECT_TALKS,
                 this::mapRowToTedTalk
         );
     }
@@ -81,15 +182,153 @@ public class TedTalkH2Repository implements com.iodigital.tedtalks.domain.reposi
 
     @Override
     public void processBatches(int batchSize, Consumer<List<TedTalk>> processor) {
-        // Simple implementation for tests
-        processor.accept(findAll());
+        CursorPage<TedTalk> page = findPage(PageCursor.start(), batchSize);
+        while (!page.items().isEmpty()) {
+            processor.accept(page.items());
+            if (!page.hasNext()) {
+                break;
+            }
+            page = findPage(PageCursor.decode(page.nextCursor()), batchSize);
+        }
+    }
+
+    @Override
+    public CursorPage<TedTalk> findPage(PageCursor cursor, int size) {
+        long[] lastKey = {cursor.afterKey()};
+        List<TedTalk> talks = jdbcTemplate.query(
+                SELECT_TALKS + "WHERE t.id > ? ORDER BY t.id LIMIT ?",
+                (rs, rowNum) -> {
+                    lastKey[0] = rs.getLong("id");
+                    return mapRowToTedTalk(rs, rowNum);
+                },
+                cursor.afterKey(),
+                size
+        );
+        String nextCursor = talks.size() < size ? null : new PageCursor(lastKey[0]).encode();
+        return new CursorPage<>(talks, nextCursor);
+    }
+
+    @Override
+    public void forEachTalkMetrics(TalkMetricsConsumer consumer) {
+        jdbcTemplate.query(
+                SELECT_METRICS,
+                (RowCallbackHandler) rs -> consumer.accept(
+                        rs.getString(1), rs.getInt(2), rs.getInt(3), rs.getLong(4), rs.getLong(5))
+        );
+    }
+
+    @Override
+    public void forEachTalkMetricsBySpeaker(String speakerName, TalkMetricsConsumer consumer) {
+        jdbcTemplate.query(
+                SELECT_METRICS + "WHERE s.name = ?",
+                (RowCallbackHandler) rs -> consumer.accept(
+                        rs.getString(1), rs.getInt(2), rs.getInt(3), rs.getLong(4), rs.getLong(5)),
+                speakerName
+        );
+    }
+
+    @Override
+    public void forEachTalkRow(TalkRowConsumer consumer) {
+        jdbcTemplate.query(
+                "SELECT t.public_id, t.title, s.name, t.talk_year, t.talk_month, t.views, t.likes, t.link "
+                        + "FROM ted_talks t JOIN speakers s ON s.id = t.speaker_id",
+                (RowCallbackHandler) rs -> consumer.accept(rs.getObject(1, UUID.class), rs.getString(2),
+                        rs.getString(3), rs.getInt(4), rs.getInt(5), rs.getLong(6), rs.getLong(7), rs.getString(8))
+        );
+    }
+
+    @Override
+    public boolean supportsAggregatePushdown() {
+        return false;
+    }
+
+    @Override
+    public List<SpeakerAggregate> findTopSpeakerAggregates(int limit) {
+        return jdbcTemplate.query("""
+                SELECT s.name, COUNT(*), SUM(t.views), SUM(t.likes), SUM(t.influence_score),
+                       MIN(t.talk_year), MAX(t.talk_year)
+                FROM ted_talks t
+                JOIN speakers s ON s.id = t.speaker_id
+                GROUP BY s.id, s.name
+                ORDER BY SUM(t.influence_score) DESC
+                LIMIT ?
+                """,
+                (rs, rowNum) -> new SpeakerAggregate(
+                        rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getLong(4),
+                        rs.getDouble(5), rs.getInt(6), rs.getInt(7)),
+                limit
+        );
+    }
+
+    @Override
+    public List<TedTalk> findMostInfluentialPerYear() {
+        return jdbcTemplate.query("""
+                SELECT * FROM (
+                    SELECT t.*, s.name AS speaker_name,
+                           ROW_NUMBER() OVER (PARTITION BY t.talk_year ORDER BY t.influence_score DESC) AS rn
+                    FROM ted_talks t
+                    JOIN speakers s ON s.id = t.speaker_id
+                ) ranked
+                WHERE rn = 1
+                ORDER BY talk_year
+                """,
+                this::mapRowToTedTalk
+        );
+    }
+
+    @Override
+    public Map<String, SpeakerAggregate> aggregateBySpeakers(Collection<String> speakerNames) {
+        Map<String, SpeakerAggregate> aggregates = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT s.name, COUNT(*), SUM(t.views), SUM(t.likes), SUM(t.influence_score),
+                       MIN(t.talk_year), MAX(t.talk_year)
+                FROM ted_talks t
+                JOIN speakers s ON s.id = t.speaker_id
+                GROUP BY s.id, s.name
+                """,
+                (RowCallbackHandler) rs -> {
+                    if (speakerNames.contains(rs.getString(1))) {
+                        aggregates.put(rs.getString(1), new SpeakerAggregate(
+                                rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getLong(4),
+                                rs.getDouble(5), rs.getInt(6), rs.getInt(7)));
+                    }
+                }
+        );
+        return aggregates;
+    }
+
+    @Override
+    public List<YearAggregate> findYearAggregates() {
+        return jdbcTemplate.query("""
+                SELECT talk_year, COUNT(*), SUM(views), SUM(likes), SUM(influence_score), MAX(influence_score)
+                FROM ted_talks
+                GROUP BY talk_year
+                ORDER BY talk_year
+                """,
+                (rs, rowNum) -> new YearAggregate(rs.getInt(1), rs.getLong(2), rs.getLong(3),
+                        rs.getLong(4), rs.getDouble(5), rs.getDouble(6)));
+    }
+
+    @Override
+    public void refreshSummaries() {
+        // Aggregates are computed on read
+    }
+
+    @Override
+    public List<TedTalk> searchByTitle(String keyword, int limit) {
+        return jdbcTemplate.query(
+                SELECT_TALKS + "WHERE LOWER(t.title) LIKE ? ORDER BY t.influence_score DESC LIMIT ?",
+                this::mapRowToTedTalk,
+                "%" + keyword.toLowerCase() + "%",
+                limit
+        );
     }
 
     @Override
     public Optional<TedTalk> findById(TedTalkId id) {
         try {
             TedTalk talk = jdbcTemplate.queryForObject(
-                    "SELECT * FROM ted_talks WHERE id = ?",
+                    SELECT_TALKS + "WHERE t.public_id = ?",
                     this::mapRowToTedTalk,
                     id.value()
             );
@@ -99,19 +338,44 @@ public class TedTalkH2Repository implements com.iodigital.tedtalks.domain.reposi
         }
     }
 
+    @Override
+    public List<TedTalk> findByTitleAndSpeakerId(String title, SpeakerId speakerId) {
+        return jdbcTemplate.query(
+                SELECT_TALKS + "WHERE t.title = ? AND s.public_id = ?",
+                this::mapRowToTedTalk,
+                title,
+                speakerId.value()
+        );
+    }
+
+    @Override
+    public List<TedTalk> findSameTalks(Collection<TedTalk> talks) {
+        if (talks.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+                SELECT_TALKS + "WHERE (t.title, s.name, t.talk_year) IN ("
+                        + String.join(",", Collections.nCopies(talks.size(), "(?, ?, ?)")) + ")",
+                this::mapRowToTedTalk,
+                talks.stream()
+                        .flatMap(talk -> Stream.of(talk.getTitle(), talk.getSpeaker().getName(), talk.getDate().year()))
+                        .toArray()
+        );
+    }
+
     @Override
     public List<TedTalk> findBySpeakerId(SpeakerId speakerId) {
         return jdbcTemplate.query(
-                "SELECT * FROM ted_talks WHERE author = ?",
+                SELECT_TALKS + "WHERE s.public_id = ?",
                 this::mapRowToTedTalk,
-                speakerId.value().toString()
+                speakerId.value()
         );
     }
 
     @Override
     public List<TedTalk> findByYear(int year) {
         return jdbcTemplate.query(
-                "SELECT * FROM ted_talks WHERE talk_year = ?",
+                SELECT_TALKS + "WHERE t.talk_year = ?",
                 this::mapRowToTedTalk,
                 year
         );
@@ -120,7 +384,7 @@ public class TedTalkH2Repository implements com.iodigital.tedtalks.domain.reposi
     @Override
     public List<TedTalk> findBySpeakerName(String speakerName) {
         return jdbcTemplate.query(
-                "SELECT * FROM ted_talks WHERE author = ?",
+                SELECT_TALKS + "WHERE s.name = ?",
                 this::mapRowToTedTalk,
                 speakerName
         );
@@ -128,16 +392,16 @@ public class TedTalkH2Repository implements com.iodigital.tedtalks.domain.reposi
 
     @Override
     public void delete(TedTalkId id) {
-        jdbcTemplate.update("DELETE FROM ted_talks WHERE id = ?", id.value());
+        jdbcTemplate.update("DELETE FROM ted_talks WHERE public_id = ?", id.value());
     }
 
     @Override
     public boolean existsByTitleAndSpeakerId(String title, SpeakerId speakerId) {
         Integer count = jdbcTemplate.queryForObject(
-                "SELECT COUNT(*) FROM ted_talks WHERE title = ? AND author = ?",
+                "SELECT COUNT(*) FROM ted_talks WHERE title = ? AND speaker_id = (SELECT id FROM speakers WHERE public_id = ?)",
                 Integer.class,
                 title,
-                speakerId.value().toString()
+                speakerId.value()
         );
         return count != null && count > 0;
     }
@@ -152,9 +416,10 @@ public class TedTalkH2Repository implements com.iodigital.tedtalks.domain.reposi
     }
 
     private TedTalk mapRowToTedTalk(ResultSet rs, int rowNum) throws SQLException {
-        Speaker speaker = Speaker.create(rs.getString("author"), null);
+        Speaker speaker = Speaker.create(rs.getString("speaker_name"), null);
 
-        return TedTalk.create(
+        return TedTalk.withId(
+                new TedTalkId(rs.getObject("public_id", UUID.class)),
                 rs.getString("title"),
                 speaker,
                 new TalkDate(rs.getInt("talk_year"), rs.getInt("talk_month")),
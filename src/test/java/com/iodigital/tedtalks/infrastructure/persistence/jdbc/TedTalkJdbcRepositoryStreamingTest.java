@@ -0,0 +1,101 @@
+package com.iodigital.tedtalks.infrastructure.persistence.jdbc;
+
+import com.iodigital.tedtalks.domain.model.TedTalk;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streams a file-backed H2 table through {@link TedTalkJdbcRepository#streamAll()}.
+ * The default row count keeps the build fast; the full memory check is
+ * {@code mvn test -Dtest=TedTalkJdbcRepositoryStreamingTest -Dstream.rows=10000000 -DargLine=-Xmx128m},
+ * which only passes if rows are never materialized into a list.
+ */
+@DisplayName("TedTalk JDBC Repository Streaming Tests")
+class TedTalkJdbcRepositoryStreamingTest {
+
+    private static final long ROWS = Long.getLong("stream.rows", 50_000L);
+    private static final int SPEAKERS = 1_000;
+
+    @TempDir
+    Path tempDir;
+
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:file:" + tempDir.resolve("streaming")
+                + ";INIT=CREATE SCHEMA IF NOT EXISTS tedtalks\\;SET SCHEMA tedtalks");
+        dataSource.setUser("sa");
+
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("""
+                INSERT INTO speakers (name)
+                SELECT 'Speaker ' || X FROM SYSTEM_RANGE(0, ?)
+                """, SPEAKERS - 1);
+        jdbcTemplate.update("""
+                INSERT INTO ted_talks (title, speaker_id, date, talk_year, talk_month, views, likes, link)
+                SELECT 'Talk ' || r.X, s.id, DATE '2020-01-01', 2020, 1, r.X, r.X / 10,
+                       'https://ted.com/talks/' || r.X
+                FROM SYSTEM_RANGE(1, ?) r
+                JOIN speakers s ON s.name = 'Speaker ' || MOD(r.X, ?)
+                """, ROWS, SPEAKERS);
+    }
+
+    @Test
+    @DisplayName("Should aggregate every row through a cursor inside a read-only transaction")
+    void shouldStreamAllRowsThroughCursor() {
+        // Given
+        TedTalkJdbcRepository repository = new TedTalkJdbcRepository(dataSource, 500);
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+
+        // When - Keep only per-speaker totals, never the talks themselves
+        Map<String, Long> viewsBySpeaker = readOnly.execute(status -> {
+            Map<String, Long> totals = new HashMap<>();
+            try (Stream<TedTalk> talks = repository.streamAll()) {
+                talks.forEach(talk -> totals.merge(talk.getSpeaker().getName(), talk.getViews().value(), Long::sum));
+            }
+            return totals;
+        });
+
+        // Then
+        assertThat(viewsBySpeaker).hasSize((int) Math.min(SPEAKERS, ROWS));
+        assertThat(viewsBySpeaker.values().stream().mapToLong(Long::longValue).sum())
+                .isEqualTo(ROWS * (ROWS + 1) / 2);
+    }
+
+    @Test
+    @DisplayName("Should stop reading when the stream is closed early")
+    void shouldStopReadingWhenClosedEarly() {
+        // Given
+        TedTalkJdbcRepository repository = new TedTalkJdbcRepository(dataSource, 100);
+
+        // When
+        long taken;
+        try (Stream<TedTalk> talks = repository.streamAll()) {
+            taken = talks.limit(10).count();
+        }
+
+        // Then - The connection is released and usable for the next query
+        assertThat(taken).isEqualTo(Math.min(10, ROWS));
+        assertThat(repository.count()).isEqualTo(ROWS);
+    }
+}
@@ -3,6 +3,9 @@ package com.iodigital.tedtalks.infrastructure.persistence.jdbc;
 import com.iodigital.tedtalks.domain.model.Speaker;
 import com.iodigital.tedtalks.domain.model.TedTalk;
 import com.iodigital.tedtalks.domain.model.valueobject.*;
+import com.iodigital.tedtalks.domain.repository.CursorPage;
+import com.iodigital.tedtalks.domain.repository.PageCursor;
+import com.iodigital.tedtalks.domain.repository.SpeakerAggregate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,6 +18,7 @@ import org.springframework.test.context.jdbc.Sql;
 
 import javax.sql.DataSource;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -148,14 +152,162 @@ class TedTalkJdbcRepositoryTest {
     void shouldHandleDuplicatesWithUpsert() {
         // Given
         TedTalk talk1 = createTestTalk("Same Talk", "Same Speaker", "January 2020", 1000000L, 50000L);
-        repository.save(talk1);
+        TedTalk saved1 = repository.save(talk1);
 
         // When - Save same talk with different stats
         TedTalk talk2 = createTestTalk("Same Talk", "Same Speaker", "January 2020", 2000000L, 75000L);
-        repository.save(talk2);
+        TedTalk saved2 = repository.save(talk2);
 
-        // Then - Should have only 1 record (updated)
+        // Then - Should have only 1 record (updated), still found by the id handed out first
         assertThat(repository.count()).isEqualTo(1L);
+        assertThat(saved2.getId()).isEqualTo(saved1.getId());
+        assertThat(repository.findById(saved2.getId()))
+                .hasValueSatisfying(talk -> assertThat(talk.getViews().value()).isEqualTo(2000000L));
+    }
+
+    @Test
+    @DisplayName("Should replace a talk whose year was corrected instead of adding a second one")
+    @Sql(scripts = "/schema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void shouldReplaceTalkWhenYearChanges() {
+        // Given
+        TedTalk saved = repository.save(createTestTalk("Moved Talk", "Same Speaker", "January 2019"));
+
+        // When - The import lists the same talk under its corrected year
+        repository.saveAll(List.of(createTestTalk("Moved Talk", "Same Speaker", "January 2020")));
+
+        // Then - One row, in the new year, under the id handed out first
+        assertThat(repository.count()).isEqualTo(1L);
+        assertThat(repository.findById(saved.getId()))
+                .hasValueSatisfying(talk -> assertThat(talk.getDate().year()).isEqualTo(2020));
+    }
+
+    @Test
+    @DisplayName("Should find talk by its persisted id")
+    @Sql(scripts = "/schema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void shouldFindTalkByPersistedId() {
+        // Given
+        repository.save(createTestTalk("Stable Talk", "Stable Speaker", "January 2020"));
+        TedTalkId persistedId = repository.findAll().get(0).getId();
+
+        // When
+        var found = repository.findById(persistedId);
+
+        // Then - Same id on every read
+        assertThat(found).isPresent();
+        assertThat(found.get().getId()).isEqualTo(persistedId);
+        assertThat(repository.findAll().get(0).getId()).isEqualTo(persistedId);
+    }
+
+    @Test
+    @DisplayName("Should page through all talks with a resumable cursor")
+    @Sql(scripts = "/schema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void shouldPageThroughTalksWithCursor() {
+        // Given
+        repository.saveAll(List.of(
+                createTestTalk("Talk 1", "Speaker 1", "January 2020"),
+                createTestTalk("Talk 2", "Speaker 2", "February 2020"),
+                createTestTalk("Talk 3", "Speaker 3", "March 2020"),
+                createTestTalk("Talk 4", "Speaker 4", "April 2020"),
+                createTestTalk("Talk 5", "Speaker 5", "May 2020")
+        ));
+
+        // When
+        CursorPage<TedTalk> first = repository.findPage(PageCursor.start(), 2);
+        CursorPage<TedTalk> second = repository.findPage(PageCursor.decode(first.nextCursor()), 2);
+        CursorPage<TedTalk> last = repository.findPage(PageCursor.decode(second.nextCursor()), 2);
+
+        // Then - Every row exactly once, in key order
+        assertThat(first.items()).extracting(TedTalk::getTitle).containsExactly("Talk 1", "Talk 2");
+        assertThat(second.items()).extracting(TedTalk::getTitle).containsExactly("Talk 3", "Talk 4");
+        assertThat(last.items()).extracting(TedTalk::getTitle).containsExactly("Talk 5");
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should process every talk exactly once in batches")
+    @Sql(scripts = "/schema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void shouldProcessAllTalksInBatches() {
+        // Given
+        repository.saveAll(List.of(
+                createTestTalk("Talk 1", "Speaker 1", "January 2020"),
+                createTestTalk("Talk 2", "Speaker 2", "February 2020"),
+                createTestTalk("Talk 3", "Speaker 3", "March 2020")
+        ));
+        List<String> processed = new java.util.ArrayList<>();
+
+        // When
+        repository.processBatches(2, batch -> batch.forEach(talk -> processed.add(talk.getTitle())));
+
+        // Then
+        assertThat(processed).containsExactly("Talk 1", "Talk 2", "Talk 3");
+    }
+
+    @Test
+    @DisplayName("Should push the metrics projection of every talk into the consumer")
+    @Sql(scripts = "/schema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void shouldScanMetricsProjection() {
+        // Given
+        repository.saveAll(List.of(
+                createTestTalk("Talk 1", "Speaker 1", "January 2020", 1000L, 100L),
+                createTestTalk("Talk 2", "Speaker 1", "March 2021", 2000L, 200L),
+                createTestTalk("Talk 3", "Speaker 2", "May 2021", 4000L, 400L)
+        ));
+        long[] totals = new long[3];
+
+        // When
+        repository.forEachTalkMetricsBySpeaker("Speaker 1", (speaker, year, month, views, likes) -> {
+            totals[0]++;
+            totals[1] += views;
+            totals[2] += likes;
+        });
+
+        // Then
+        assertThat(totals).containsExactly(2L, 3000L, 300L);
+    }
+
+    @Test
+    @DisplayName("Should aggregate speakers and pick the top talk per year in the database")
+    @Sql(scripts = "/schema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void shouldAggregateInDatabase() {
+        // Given
+        repository.saveAll(List.of(
+                createTestTalk("Talk 1", "Speaker 1", "January 2020", 1000L, 100L),
+                createTestTalk("Talk 2", "Speaker 1", "March 2021", 2000L, 200L),
+                createTestTalk("Talk 3", "Speaker 2", "May 2021", 4000L, 400L)
+        ));
+
+        // When
+        List<SpeakerAggregate> top = repository.findTopSpeakerAggregates(1);
+        List<TedTalk> perYear = repository.findMostInfluentialPerYear();
+
+        // Then
+        assertThat(top).singleElement().satisfies(aggregate -> {
+            assertThat(aggregate.speaker()).isEqualTo("Speaker 2");
+            assertThat(aggregate.talkCount()).isEqualTo(1L);
+            assertThat(aggregate.totalViews()).isEqualTo(4000L);
+        });
+        assertThat(perYear).extracting(TedTalk::getTitle).containsExactly("Talk 1", "Talk 3");
+    }
+
+    @Test
+    @DisplayName("Should aggregate only the requested speakers in one query")
+    @Sql(scripts = "/schema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void shouldAggregateRequestedSpeakers() {
+        // Given
+        repository.saveAll(List.of(
+                createTestTalk("Talk 1", "Speaker 1", "January 2020", 1000L, 100L),
+                createTestTalk("Talk 2", "Speaker 1", "March 2021", 2000L, 200L),
+                createTestTalk("Talk 3", "Speaker 2", "May 2021", 4000L, 400L)
+        ));
+
+        // When
+        Map<String, SpeakerAggregate> aggregates =
+                repository.aggregateBySpeakers(List.of("Speaker 1", "Speaker without talks"));
+
+        // Then
+        assertThat(aggregates).containsOnlyKeys("Speaker 1");
+        assertThat(aggregates.get("Speaker 1").talkCount()).isEqualTo(2L);
+        assertThat(aggregates.get("Speaker 1").totalLikes()).isEqualTo(300L);
     }
 
     @Test
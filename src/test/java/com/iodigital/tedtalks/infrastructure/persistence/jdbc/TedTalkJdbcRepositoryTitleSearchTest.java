@@ -0,0 +1,110 @@
+package com.iodigital.tedtalks.infrastructure.persistence.jdbc;
+
+import com.iodigital.tedtalks.application.cache.ChangeKind;
+import com.iodigital.tedtalks.application.event.RemoteDataChangedEvent;
+import com.iodigital.tedtalks.domain.model.TedTalk;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Title search through the in-memory trigram index, which {@link TedTalkJdbcRepository} uses on
+ * databases other than PostgreSQL.
+ */
+@DisplayName("TedTalk JDBC Repository Title Search Tests")
+class TedTalkJdbcRepositoryTitleSearchTest {
+
+    private static final int TALKS = 2_500;
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TedTalkJdbcRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID()
+                + ";DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS tedtalks\\;SET SCHEMA tedtalks");
+        dataSource.setUser("sa");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO speakers (name) VALUES ('Speaker')");
+        jdbcTemplate.update("""
+                INSERT INTO ted_talks (title, speaker_id, date, talk_year, talk_month, views, likes, link)
+                SELECT 'Climate talk ' || r.X, s.id, DATE '2020-01-01', 2020, 1, r.X, r.X / 10,
+                       'https://ted.com/talks/' || r.X
+                FROM SYSTEM_RANGE(1, ?) r
+                CROSS JOIN speakers s
+                """, TALKS);
+        repository = new TedTalkJdbcRepository(dataSource, 500);
+    }
+
+    @Test
+    @DisplayName("Should return every match when the limit is unbounded")
+    void shouldReturnEveryMatchWithoutLimit() {
+        // When - More matches than one id lookup takes
+        List<TedTalk> talks = repository.searchByTitle("climate", Integer.MAX_VALUE);
+
+        // Then
+        assertThat(talks).hasSize(TALKS);
+        assertThat(repository.searchByTitle("climate", 10)).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("Should not keep an index built before a write committed")
+    void shouldDropIndexBuiltBeforeCommit() {
+        // Given
+        TedTalk deleted = repository.searchByTitle("climate talk 2500", 1).get(0);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        // When - Another request builds the index while the writing transaction is still open
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("""
+                    INSERT INTO ted_talks (title, speaker_id, date, talk_year, talk_month, views, likes, link)
+                    SELECT 'The power of vulnerability', id, DATE '2010-06-01', 2010, 6, 100, 10,
+                           'https://ted.com/talks/vulnerability'
+                    FROM speakers
+                    """);
+            repository.delete(deleted.getId());
+            CompletableFuture.runAsync(() -> repository.searchByTitle("climate", 1)).join();
+        });
+
+        // Then
+        assertThat(repository.searchByTitle("vulnerability", Integer.MAX_VALUE)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should see talks written by another node once it reports them")
+    void shouldRebuildIndexAfterRemoteChanges() {
+        // Given - The index is built, then a talk arrives without passing through this repository
+        assertThat(repository.searchByTitle("vulnerability", Integer.MAX_VALUE)).isEmpty();
+        jdbcTemplate.update("""
+                INSERT INTO ted_talks (title, speaker_id, date, talk_year, talk_month, views, likes, link)
+                SELECT 'The power of vulnerability', id, DATE '2010-06-01', 2010, 6, 100, 10,
+                       'https://ted.com/talks/vulnerability'
+                FROM speakers
+                """);
+
+        // When
+        repository.onRemoteChanges(new RemoteDataChangedEvent(Set.of(ChangeKind.TALKS)));
+
+        // Then
+        assertThat(repository.searchByTitle("vulnerability", Integer.MAX_VALUE))
+                .extracting(TedTalk::getTitle)
+                .containsExactly("The power of vulnerability");
+    }
+}
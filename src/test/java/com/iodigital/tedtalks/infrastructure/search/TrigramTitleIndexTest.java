@@ -0,0 +1,96 @@
+package com.iodigital.tedtalks.infrastructure.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Trigram Title Index Tests")
+class TrigramTitleIndexTest {
+
+    private TrigramTitleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = TrigramTitleIndex.builder()
+                .add(1L, "The climate crisis", 10.0)
+                .add(2L, "Climate", 5.0)
+                .add(3L, "How to fix climate change for good", 50.0)
+                .add(4L, "Do schools kill creativity?", 100.0)
+                .add(5L, "The power of vulnerability", 80.0)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should find every title containing the keyword, ignoring case")
+    void shouldFindTitlesContainingKeyword() {
+        // When
+        List<Long> result = index.search("CLIMATE", 10);
+
+        // Then
+        assertThat(result).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should rank closer matches first")
+    void shouldRankCloserMatchesFirst() {
+        // When
+        List<Long> result = index.search("climate", 10);
+
+        // Then - The exact title wins, the longest title ranks last despite its influence
+        assertThat(result).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should stop at the limit keeping the best matches")
+    void shouldApplyLimit() {
+        // When
+        List<Long> result = index.search("climate", 2);
+
+        // Then
+        assertThat(result).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should return every match when the limit is unbounded")
+    void shouldReturnEveryMatchWithoutLimit() {
+        // When
+        List<Long> result = index.search("climate", Integer.MAX_VALUE);
+
+        // Then
+        assertThat(result).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should require the keyword as a substring, not just shared trigrams")
+    void shouldRequireSubstringMatch() {
+        // When - Every trigram of the keyword occurs in title 3, but not in this order
+        List<Long> result = index.search("change climate", 10);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should answer keywords shorter than a trigram by scanning")
+    void shouldHandleShortKeywords() {
+        // When
+        List<Long> result = index.search("do", 10);
+
+        // Then
+        assertThat(result).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Should return nothing for unknown keywords")
+    void shouldReturnEmptyForUnknownKeyword() {
+        // When
+        List<Long> result = index.search("quantum", 10);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+}
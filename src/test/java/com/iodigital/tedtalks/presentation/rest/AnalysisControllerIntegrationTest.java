@@ -1,6 +1,7 @@
 package com.iodigital.tedtalks.presentation.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iodigital.tedtalks.application.analysis.ApproximateTopSpeakers;
 import com.iodigital.tedtalks.presentation.rest.request.CreateTedTalkRequest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -31,6 +32,9 @@ class AnalysisControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ApproximateTopSpeakers approximateTopSpeakers;
+
     @Test
     @DisplayName("Should return top influential speakers")
     void shouldReturnTopInfluentialSpeakers() throws Exception {
@@ -82,5 +86,146 @@ class AnalysisControllerIntegrationTest {
                         .param("limit", "500"))
                 .andExpect(status().isBadRequest());
     }
-}
 
+    @Test
+    @DisplayName("Should rank top speakers by custom influence weights")
+    void shouldRankTopSpeakersByCustomWeights() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/analysis/speakers/top")
+                        .param("limit", "5")
+                        .param("viewsWeight", "0.2")
+                        .param("likesWeight", "0.8"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should reject negative influence weights")
+    void shouldRejectNegativeWeights() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/analysis/talks/most-influential-per-year")
+                        .param("likesWeight", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return top speakers of a year range")
+    void shouldReturnTopSpeakersOfYearRange() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/analysis/speakers/top/years")
+                        .param("from", "2010")
+                        .param("to", "2015"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should reject a year range that ends before it starts")
+    void shouldRejectReversedYearRange() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/analysis/speakers/top/years")
+                        .param("from", "2015")
+                        .param("to", "2010"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return top talks of the last months")
+    void shouldReturnTopRecentTalks() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/analysis/talks/top/recent")
+                        .param("months", "12")
+                        .param("limit", "5"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should return 404 for the distribution of a non-existent speaker")
+    void shouldReturn404ForDistributionOfNonExistentSpeaker() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/analysis/speakers/{speaker}/distribution", "NonExistent Speaker"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should require both ends of a distribution year range")
+    void shouldRequireBothEndsOfDistributionRange() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/analysis/distribution")
+                        .param("from", "2010"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return approximate top speakers with their error bounds")
+    void shouldReturnApproximateTopSpeakers() throws Exception {
+        // Given - built on the analysis executor once the application is ready
+        approximateTopSpeakers.rebuild();
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/analysis/speakers/top")
+                        .param("mode", "approximate")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.speakers").isArray())
+                .andExpect(jsonPath("$.maxUntrackedInfluence").isNumber());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown top speakers mode")
+    void shouldRejectUnknownMode() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/analysis/speakers/top")
+                        .param("mode", "approximat"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return trending talks and speakers")
+    void shouldReturnTrendingTalksAndSpeakers() throws Exception {
+        // When/Then - Should return 200 OK (may be empty array)
+        mockMvc.perform(get("/api/v1/analysis/talks/trending")
+                        .param("days", "30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+        mockMvc.perform(get("/api/v1/analysis/speakers/trending")
+                        .param("days", "30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    @DisplayName("Should validate the trending window")
+    void shouldValidateTrendingWindow() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/analysis/talks/trending")
+                        .param("days", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return a rollup grouped by year")
+    void shouldReturnRollupByYear() throws Exception {
+        // When/Then - Should return 200 OK (may be empty array)
+        mockMvc.perform(get("/api/v1/analysis/rollup")
+                        .param("groupBy", "YEAR", "SPEAKER")
+                        .param("sortBy", "VIEWS")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    @DisplayName("Should reject an inverted year range or an invalid month in a rollup")
+    void shouldValidateRollupQuery() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/analysis/rollup")
+                        .param("fromYear", "2010")
+                        .param("toYear", "2000"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/analysis/rollup")
+                        .param("fromMonth", "13"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/analysis/rollup")
+                        .param("groupBy", "DECADE"))
+                .andExpect(status().isBadRequest());
+    }
+}
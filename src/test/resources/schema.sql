@@ -4,11 +4,22 @@ CREATE SCHEMA IF NOT EXISTS tedtalks;
 
 SET SCHEMA tedtalks;
 
+-- SPEAKERS TABLE
+CREATE TABLE IF NOT EXISTS speakers (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    public_id UUID DEFAULT RANDOM_UUID() NOT NULL UNIQUE,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    bio TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
 -- TED_TALKS TABLE (simplified for H2 compatibility)
 CREATE TABLE IF NOT EXISTS ted_talks (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    public_id UUID DEFAULT RANDOM_UUID() NOT NULL UNIQUE,
     title VARCHAR(500) NOT NULL,
-    author VARCHAR(255) NOT NULL,
+    speaker_id BIGINT NOT NULL REFERENCES speakers(id),
     date DATE NOT NULL,
     talk_year INT NOT NULL,
     talk_month INT NOT NULL,
@@ -18,20 +29,40 @@ CREATE TABLE IF NOT EXISTS ted_talks (
     influence_score DOUBLE DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    UNIQUE(title, author)
-);
-
--- SPEAKERS TABLE
-CREATE TABLE IF NOT EXISTS speakers (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    name VARCHAR(255) NOT NULL UNIQUE,
-    bio TEXT,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    UNIQUE(title, speaker_id, talk_year)
 );
 
 -- Indexes for performance
 CREATE INDEX IF NOT EXISTS idx_talks_year ON ted_talks(talk_year);
-CREATE INDEX IF NOT EXISTS idx_talks_author ON ted_talks(author);
+CREATE INDEX IF NOT EXISTS idx_talks_speaker ON ted_talks(speaker_id);
 CREATE INDEX IF NOT EXISTS idx_talks_influence ON ted_talks(influence_score);
 
+-- SPEAKER_STATS VIEW (a plain view stands in for the materialized view)
+CREATE OR REPLACE VIEW speaker_stats AS
+SELECT speaker_id,
+       COUNT(*)             AS talk_count,
+       SUM(views)           AS total_views,
+       SUM(likes)           AS total_likes,
+       SUM(influence_score) AS total_influence,
+       MIN(talk_year)       AS first_year,
+       MAX(talk_year)       AS last_year
+FROM ted_talks
+GROUP BY speaker_id;
+
+-- TALK_METRIC_HISTORY TABLE
+CREATE TABLE IF NOT EXISTS talk_metric_history (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    recorded_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    entry_count INT NOT NULL,
+    segment VARBINARY NOT NULL
+);
+
+-- DATA_CHANGES TABLE (polled instead of LISTEN/NOTIFY)
+CREATE TABLE IF NOT EXISTS data_changes (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    kind VARCHAR(32) NOT NULL,
+    origin_node VARCHAR(64) NOT NULL,
+    changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    -- No transaction ids in H2: the feed treats every change as its own transaction
+    xact_id BIGINT GENERATED ALWAYS AS (id)
+);
@@ -23,21 +23,21 @@ echo "   Expected: ~4,414"
 echo ""
 
 echo "3. Checking for duplicate talks..."
-DUPLICATES=$(psql -U tedtalks_user -d tedtalks -t -c "SELECT COUNT(*) - COUNT(DISTINCT (title, author)) FROM tedtalks.ted_talks;")
+DUPLICATES=$(psql -U tedtalks_user -d tedtalks -t -c "SELECT COUNT(*) - COUNT(DISTINCT (title, speaker_id)) FROM tedtalks.ted_talks;")
 echo "   Duplicates: $DUPLICATES"
 echo "   Expected: 0"
 echo ""
 
 echo "4. Top 5 most viewed talks..."
-psql -U tedtalks_user -d tedtalks -c "SELECT title, author, views FROM tedtalks.ted_talks ORDER BY views DESC LIMIT 5;"
+psql -U tedtalks_user -d tedtalks -c "SELECT t.title, s.name AS author, t.views FROM tedtalks.ted_talks t JOIN tedtalks.speakers s ON s.id = t.speaker_id ORDER BY t.views DESC LIMIT 5;"
 echo ""
 
 echo "5. Top 5 speakers by talk count..."
-psql -U tedtalks_user -d tedtalks -c "SELECT s.name, COUNT(t.id) as talk_count FROM tedtalks.speakers s JOIN tedtalks.ted_talks t ON t.author = s.name GROUP BY s.name ORDER BY talk_count DESC LIMIT 5;"
+psql -U tedtalks_user -d tedtalks -c "SELECT s.name, COUNT(t.id) as talk_count FROM tedtalks.speakers s JOIN tedtalks.ted_talks t ON t.speaker_id = s.id GROUP BY s.id, s.name ORDER BY talk_count DESC LIMIT 5;"
 echo ""
 
 echo "6. Sample of recent talks..."
-psql -U tedtalks_user -d tedtalks -c "SELECT id, title, author, date, views FROM tedtalks.ted_talks ORDER BY id LIMIT 5;"
+psql -U tedtalks_user -d tedtalks -c "SELECT t.id, t.title, s.name AS author, t.date, t.views FROM tedtalks.ted_talks t JOIN tedtalks.speakers s ON s.id = t.speaker_id ORDER BY t.id LIMIT 5;"
 echo ""
 
 echo "============================================"